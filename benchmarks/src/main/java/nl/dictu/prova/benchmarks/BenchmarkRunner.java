@@ -0,0 +1,73 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Entry point of the benchmarks jar. Accepts the regular JMH command line
+ * options, but publishes the results as JSON to {@link #DEFAULT_RESULT_FILE}
+ * unless another result format or file is given (-rf, -rff). The JSON files of
+ * different releases can be compared to track regressions.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class BenchmarkRunner
+{
+  public final static String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+
+  /**
+   * Run the selected benchmarks
+   *
+   * @param args
+   * @throws Exception
+   */
+  public static void main(String[] args) throws Exception
+  {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+    if(commandLineOptions.shouldHelp() || commandLineOptions.shouldList()
+       || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats())
+    {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+
+    if( !commandLineOptions.getResultFormat().hasValue())
+    {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+
+    if( !commandLineOptions.getResult().hasValue())
+    {
+      options.result(DEFAULT_RESULT_FILE);
+    }
+
+    new Runner(options.build()).run();
+  }
+}
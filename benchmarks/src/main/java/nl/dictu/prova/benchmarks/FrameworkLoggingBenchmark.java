@@ -0,0 +1,109 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures the cost of the accessors of the framework model when TRACE and
+ * DEBUG logging are disabled. Run with '-prof gc' to verify that these
+ * accessors don't allocate (gc.alloc.rate.norm should be ~0 B/op).
+ *
+ * @author Sjoerd Boerhout
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dprova.log.level=info")
+public class FrameworkLoggingBenchmark
+{
+  private TestSuite leafTestSuite;
+  private TestCase testCase;
+  private NoOpTestAction testAction;
+
+
+  @Setup
+  public void setUp()
+  {
+    TestSuite testSuite = new TestSuite("Root");
+
+    for(int depth = 1; depth <= 5; depth++)
+    {
+      TestSuite child = new TestSuite("Level-" + depth);
+      testSuite.addTestSuite(child);
+      testSuite = child;
+    }
+
+    leafTestSuite = testSuite;
+
+    testCase = new TestCase("TestCase");
+    leafTestSuite.addTestCase(testCase);
+
+    testAction = new NoOpTestAction(1);
+    testAction.setParent(testCase);
+    testAction.setAttribute("xpath", "//input[@id='name']");
+  }
+
+
+  @Benchmark
+  public void testSuiteAccessors(Blackhole blackhole)
+  {
+    blackhole.consume(leafTestSuite.getId());
+    blackhole.consume(leafTestSuite.getParent());
+    blackhole.consume(leafTestSuite.hasParent());
+    blackhole.consume(leafTestSuite.getRootParent());
+  }
+
+
+  @Benchmark
+  public void testCaseAccessors(Blackhole blackhole)
+  {
+    blackhole.consume(testCase.getId());
+    blackhole.consume(testCase.getParent());
+    blackhole.consume(testCase.getTestCaseStatus());
+    blackhole.consume(testCase.getTestActions());
+  }
+
+
+  @Benchmark
+  public void testActionAccessors(Blackhole blackhole)
+  {
+    blackhole.consume(testAction.getId());
+    blackhole.consume(testAction.getParent());
+    blackhole.consume(testAction.isAttributeSet("xpath"));
+    blackhole.consume(testAction.getAttribute("xpath"));
+  }
+}
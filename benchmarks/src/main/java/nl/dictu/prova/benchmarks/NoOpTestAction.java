@@ -0,0 +1,83 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.benchmarks;
+
+import java.security.InvalidParameterException;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+
+/**
+ * Test action without side effects that always passes. Used to measure the
+ * overhead of the framework itself.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class NoOpTestAction extends TestAction
+{
+  private final static Logger LOGGER = LogManager.getLogger(NoOpTestAction.class.getName());
+
+
+  /**
+   * Constructor
+   *
+   * @param id
+   * @throws InvalidParameterException
+   */
+  public NoOpTestAction(Integer id) throws InvalidParameterException
+  {
+    super(LOGGER, id);
+  }
+
+
+  /**
+   * Check if the given attribute is set on this test action
+   *
+   * @param key
+   * @return
+   */
+  public boolean isAttributeSet(String key)
+  {
+    return hasAttribute(key);
+  }
+
+
+  @Override
+  public TestStatus execute()
+  {
+    return TestStatus.PASSED;
+  }
+
+
+  @Override
+  public boolean isValid()
+  {
+    return true;
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return "NoOp action " + getId();
+  }
+}
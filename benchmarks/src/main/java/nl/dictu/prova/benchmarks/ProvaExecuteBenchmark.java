@@ -0,0 +1,106 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import nl.dictu.prova.Config;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * End-to-end dry run of the test runner. All test cases are executed with a
+ * no-op output plug-in, so the result is the overhead of scheduling,
+ * executing and reporting the test cases.
+ *
+ * @author Sjoerd Boerhout
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dprova.log.level=warn")
+public class ProvaExecuteBenchmark
+{
+  @Param({"1000"})
+  public int numberOfTestCases;
+
+  @Param({"5"})
+  public int actionsPerTestCase;
+
+  @Param({"platform", "virtual"})
+  public String threadsMode;
+
+  private Prova prova;
+
+
+  /**
+   * Test cases can only be executed once, so every invocation gets a new test
+   * runner with a new structure of test cases.
+   */
+  @Setup(Level.Invocation)
+  public void setUp()
+  {
+    NoOpOutputPlugin outputPlugin = new NoOpOutputPlugin();
+
+    prova = new Prova();
+    prova.setProperty(Config.PROVA_THREADS_MODE, threadsMode);
+    prova.addOutputPlugin(outputPlugin, TestType.WEB);
+
+    TestSuite testSuite = new TestSuite("TestSuite");
+
+    for(int i = 0; i < numberOfTestCases; i++)
+    {
+      TestCase testCase = new TestCase("TestCase-" + i);
+      testCase.setTestType(TestType.WEB);
+
+      for(int j = 0; j < actionsPerTestCase; j++)
+      {
+        testCase.addTestAction(outputPlugin.getTestAction("NoOp"));
+      }
+
+      testSuite.addTestCase(testCase);
+    }
+
+    prova.addTestSuite(testSuite, null);
+  }
+
+
+  @Benchmark
+  public void execute() throws Exception
+  {
+    prova.execute();
+  }
+}
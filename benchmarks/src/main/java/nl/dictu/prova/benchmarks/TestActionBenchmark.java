@@ -0,0 +1,129 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.benchmarks;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures setting and reading the attributes of a test action.
+ * Run with '-prof gc' to compare the memory of a test action with three
+ * attributes (createTestAction) with the same attributes and an empty set of
+ * return variables stored in properties (createPropertiesBaseline), as test
+ * actions did before. See gc.alloc.rate.norm (B/op).
+ *
+ * @author Sjoerd Boerhout
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dprova.log.level=warn")
+public class TestActionBenchmark
+{
+  private final static String[] KEYS = new String[]{"xpath", "text", "timeout"};
+
+  private NoOpTestAction testAction;
+  private int next = 0;
+
+
+  @Setup
+  public void setUp()
+  {
+    testAction = new NoOpTestAction(1);
+
+    for(String key : KEYS)
+    {
+      testAction.setAttribute(key, key + "-value");
+    }
+  }
+
+
+  private String nextKey()
+  {
+    next = (next + 1) % KEYS.length;
+
+    return KEYS[next];
+  }
+
+
+  @Benchmark
+  public void setAttribute()
+  {
+    String key = nextKey();
+
+    testAction.setAttribute(key, key);
+  }
+
+
+  @Benchmark
+  public String getAttribute()
+  {
+    return testAction.getAttribute(nextKey());
+  }
+
+
+  @Benchmark
+  public boolean hasAttribute()
+  {
+    return testAction.isAttributeSet(nextKey());
+  }
+
+
+  @Benchmark
+  public NoOpTestAction createTestAction()
+  {
+    NoOpTestAction newTestAction = new NoOpTestAction(2);
+
+    for(String key : KEYS)
+    {
+      newTestAction.setAttribute(key, key);
+    }
+
+    return newTestAction;
+  }
+
+
+  @Benchmark
+  public Properties[] createPropertiesBaseline()
+  {
+    Properties attributes = new Properties();
+    Properties returnVariables = new Properties();
+
+    for(String key : KEYS)
+    {
+      attributes.put(key, key);
+    }
+
+    return new Properties[]{attributes, returnVariables};
+  }
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import nl.dictu.prova.framework.TestCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures setting and reading the variables of a test case.
+ *
+ * @author Sjoerd Boerhout
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dprova.log.level=warn")
+public class TestCaseBenchmark
+{
+  @Param({"10", "100"})
+  public int numberOfVariables;
+
+  private TestCase testCase;
+  private String[] keys;
+  private int next = 0;
+
+
+  @Setup
+  public void setUp()
+  {
+    testCase = new TestCase("TestCase");
+    keys = new String[numberOfVariables];
+
+    for(int i = 0; i < numberOfVariables; i++)
+    {
+      keys[i] = "variable-" + i;
+      testCase.setVariable(keys[i], "value-" + i);
+    }
+  }
+
+
+  private String nextKey()
+  {
+    next = (next + 1) % keys.length;
+
+    return keys[next];
+  }
+
+
+  @Benchmark
+  public void setVariable()
+  {
+    String key = nextKey();
+
+    testCase.setVariable(key, key);
+  }
+
+
+  @Benchmark
+  public String getVariable()
+  {
+    return testCase.getVariable(nextKey());
+  }
+
+
+  @Benchmark
+  public boolean hasVariable()
+  {
+    return testCase.hasVariable(nextKey());
+  }
+}
@@ -0,0 +1,133 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures building large structures of test suites and test cases and
+ * looking up test cases in them.
+ *
+ * @author Sjoerd Boerhout
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dprova.log.level=warn")
+public class TestSuiteBenchmark
+{
+  @Param({"10", "30"})
+  public int testSuitesPerLevel;
+
+  @Param({"10"})
+  public int testCasesPerTestSuite;
+
+  private TestSuite rootTestSuite;
+  private String firstTestCaseId;
+  private String lastTestCaseId;
+
+
+  @Setup
+  public void setUp()
+  {
+    rootTestSuite = buildTestSuiteTree(testSuitesPerLevel, testCasesPerTestSuite);
+
+    firstTestCaseId = "TestCase-0-0-0";
+    lastTestCaseId = "TestCase-" + (testSuitesPerLevel - 1) + "-" + (testSuitesPerLevel - 1)
+                     + "-" + (testCasesPerTestSuite - 1);
+  }
+
+
+  /**
+   * Build a structure of two levels of test suites below a root test suite,
+   * each test suite on the lowest level with the given number of test cases.
+   *
+   * @param testSuitesPerLevel
+   * @param testCasesPerTestSuite
+   * @return
+   */
+  static TestSuite buildTestSuiteTree(int testSuitesPerLevel, int testCasesPerTestSuite)
+  {
+    TestSuite rootTestSuite = new TestSuite("Root");
+
+    for(int i = 0; i < testSuitesPerLevel; i++)
+    {
+      TestSuite testSuite = new TestSuite("TestSuite-" + i);
+      rootTestSuite.addTestSuite(testSuite);
+
+      for(int j = 0; j < testSuitesPerLevel; j++)
+      {
+        TestSuite subTestSuite = new TestSuite("TestSuite-" + i + "-" + j);
+        testSuite.addTestSuite(subTestSuite);
+
+        for(int k = 0; k < testCasesPerTestSuite; k++)
+        {
+          subTestSuite.addTestCase(new TestCase("TestCase-" + i + "-" + j + "-" + k));
+        }
+      }
+    }
+
+    return rootTestSuite;
+  }
+
+
+  @Benchmark
+  public TestSuite buildTestSuiteTree()
+  {
+    return buildTestSuiteTree(testSuitesPerLevel, testCasesPerTestSuite);
+  }
+
+
+  @Benchmark
+  public boolean hasTestCaseFirst()
+  {
+    return rootTestSuite.hasTestCase(firstTestCaseId, true);
+  }
+
+
+  @Benchmark
+  public boolean hasTestCaseLast()
+  {
+    return rootTestSuite.hasTestCase(lastTestCaseId, true);
+  }
+
+
+  @Benchmark
+  public boolean hasTestCaseMissing()
+  {
+    return rootTestSuite.hasTestCase("TestCase-missing", true);
+  }
+}
@@ -29,4 +29,20 @@ package nl.dictu.prova;
 public class Config
 {
 
+  /*
+   * Execution of test cases
+   */
+  public final static String PROVA_THREADS = "prova.threads";
+  public final static String PROVA_THREADS_MODE = "prova.threads.mode";
+  public final static String PROVA_THREADS_MODE_PLATFORM = "platform";
+  public final static String PROVA_THREADS_MODE_VIRTUAL = "virtual";
+
+  /*
+   * Maximum number of concurrent test cases per test type and per output
+   * plug-in. Append the (lower case) test type or the name of the plug-in,
+   * for example: prova.threads.type.web
+   */
+  public final static String PROVA_THREADS_TYPE = "prova.threads.type";
+  public final static String PROVA_THREADS_PLUGIN = "prova.threads.plugin";
+
 }
@@ -20,9 +20,15 @@
 package nl.dictu.prova;
 
 import java.security.InvalidParameterException;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
 import nl.dictu.prova.framework.TestSuite;
 import nl.dictu.prova.plugins.input.InputPlugin;
 import nl.dictu.prova.plugins.output.OutputPlugin;
@@ -46,6 +52,7 @@ public class Prova implements TestRunner
   LinkedHashMap<String, InputPlugin> inputPlugins;
   LinkedHashMap<String, OutputPlugin> outputPlugins;
   LinkedHashMap<String, ReportingPlugin> reportingPlugins;
+  HashMap<TestSuite, InputPlugin> testSuiteInputPlugins;
 
   TestSuite rootTestSuite;
 
@@ -59,7 +66,14 @@ public class Prova implements TestRunner
    */
   public Prova()
   {
+    inputPlugins = new LinkedHashMap<>();
+    outputPlugins = new LinkedHashMap<>();
+    reportingPlugins = new LinkedHashMap<>();
+    testSuiteInputPlugins = new HashMap<>();
 
+    rootTestSuite = new TestSuite("Prova");
+
+    properties = new Properties();
   }
 
 
@@ -92,13 +106,483 @@ public class Prova implements TestRunner
 
 
   /**
-   * Run the test suites
+   * Run the test suites.
+   * All test cases in the structure of test suites are independent and are
+   * divided over a pool of worker threads. The size of the pool is configured
+   * with property {@link Config#PROVA_THREADS} (default: number of available
+   * processors). The actions of a single test case are always executed in
+   * order by one worker: setup, test and teardown.
+   * Test cases are started as soon as all test suites and test cases they
+   * depend on are finished. See {@link TestScheduler}.
+   * With property {@link Config#PROVA_THREADS_MODE} set to 'virtual' each test
+   * case runs on its own virtual thread instead.
    *
    * @throws Exception
    */
   public void execute() throws Exception
   {
+    ExecutorService executorService = createExecutorService();
+
+    try
+    {
+      TestScheduler testScheduler = new TestScheduler(this, rootTestSuite, executorService,
+                                                      this::executeTestCase,
+                                                      this::blockTestCase);
+
+      logStartTestSuites(rootTestSuite);
+
+      testScheduler.execute();
+
+      logEndTestSuites(rootTestSuite);
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+
+  /**
+   * Create the executor service for the test cases as configured with
+   * property {@link Config#PROVA_THREADS_MODE}:
+   * - platform: A pool of {@link Config#PROVA_THREADS} platform threads
+   * - virtual:  A new virtual thread per test case
+   * Virtual threads require a Java runtime with support for them. On older
+   * runtimes a pool of platform threads is used.
+   *
+   * @return
+   * @throws InvalidParameterException
+   */
+  private ExecutorService createExecutorService() throws InvalidParameterException
+  {
+    String threadsMode = hasProperty(Config.PROVA_THREADS_MODE)
+                         ? getProperty(Config.PROVA_THREADS_MODE).trim()
+                         : Config.PROVA_THREADS_MODE_PLATFORM;
+
+    if(threadsMode.equalsIgnoreCase(Config.PROVA_THREADS_MODE_VIRTUAL))
+    {
+      try
+      {
+        ExecutorService executorService = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+
+        LOGGER.info("Execute {} test case(s) with a virtual thread per test case",
+                    () -> rootTestSuite.numberOfTestCases(true));
+
+        return executorService;
+      }
+      catch(ReflectiveOperationException eX)
+      {
+        LOGGER.warn("Virtual threads are not supported by Java {}. Using platform threads.",
+                    () -> System.getProperty("java.version"));
+      }
+    }
+    else if( !threadsMode.equalsIgnoreCase(Config.PROVA_THREADS_MODE_PLATFORM))
+    {
+      LOGGER.error("Invalid value for property '{}' ({})", () -> Config.PROVA_THREADS_MODE,
+                   () -> threadsMode);
+
+      throw new InvalidParameterException("Invalid value for property '"
+                                          + Config.PROVA_THREADS_MODE + "'");
+    }
+
+    int numberOfThreads = getNumberOfThreads();
+
+    LOGGER.info("Execute {} test case(s) with {} worker thread(s)",
+                () -> rootTestSuite.numberOfTestCases(true), () -> numberOfThreads);
+
+    return Executors.newFixedThreadPool(numberOfThreads);
+  }
+
+
+  /**
+   * Get the number of worker threads to execute test cases with.
+   *
+   * @return
+   * @throws InvalidParameterException
+   */
+  private int getNumberOfThreads() throws InvalidParameterException
+  {
+    if( !hasProperty(Config.PROVA_THREADS))
+    {
+      return Runtime.getRuntime().availableProcessors();
+    }
+
+    try
+    {
+      int numberOfThreads = Integer.parseInt(getProperty(Config.PROVA_THREADS).trim());
+
+      if(numberOfThreads > 0)
+      {
+        return numberOfThreads;
+      }
+    }
+    catch(NumberFormatException eX)
+    {
+      LOGGER.debug("Invalid number of threads ({})", () -> eX.getMessage());
+    }
+
+    LOGGER.error("Invalid value for property '{}' ({})", () -> Config.PROVA_THREADS,
+                 () -> getProperty(Config.PROVA_THREADS));
+
+    throw new InvalidParameterException("Invalid value for property '" + Config.PROVA_THREADS
+                                        + "'");
+  }
+
+
+  /**
+   * Report the start of {@link testSuite} and all its sub-test suites
+   *
+   * @param testSuite
+   */
+  private void logStartTestSuites(TestSuite testSuite)
+  {
+    logStartTestSuite(testSuite);
+
+    testSuite.getTestSuites().values().forEach((subTestSuite) -> logStartTestSuites(subTestSuite));
+  }
+
+
+  /**
+   * Report the end of all sub-test suites of {@link testSuite} and the test
+   * suite itself
+   *
+   * @param testSuite
+   */
+  private void logEndTestSuites(TestSuite testSuite)
+  {
+    testSuite.getTestSuites().values().forEach((subTestSuite) -> logEndTestSuites(subTestSuite));
+
+    logEndTestSuite(testSuite);
+  }
+
+
+  /**
+   * Execute the given test case. The actions of a test case read by an input
+   * plug-in are loaded just before the test case is executed and released
+   * right after it is finished, so only the test cases that are running are
+   * kept in memory. When loading fails the test case is blocked.
+   *
+   * @param testCase
+   */
+  private void executeTestCase(TestCase testCase)
+  {
+    LOGGER.debug("Execute test case '{}'", () -> testCase.getId());
+
+    InputPlugin inputPlugin = getInputPlugin(testCase);
+
+    logStartTestCase(testCase);
 
+    try
+    {
+      TestStatus testStatus = TestStatus.BLOCKED;
+
+      if(loadTestCase(testCase, inputPlugin))
+      {
+        testStatus = executeTestActions(testCase);
+      }
+
+      testCase.completeTestCaseStatus(testStatus);
+
+      logEndTestCase(testCase);
+    }
+    finally
+    {
+      if(inputPlugin != null)
+      {
+        testCase.releaseTestActions();
+      }
+    }
+  }
+
+
+  /**
+   * Load the actions of the given test case with the input plug-in it was
+   * read by. Returns false when loading failed. Test cases without an input
+   * plug-in are loaded already.
+   *
+   * @param testCase
+   * @param inputPlugin
+   * @return
+   */
+  private boolean loadTestCase(TestCase testCase, InputPlugin inputPlugin)
+  {
+    if(inputPlugin == null)
+    {
+      return true;
+    }
+
+    try
+    {
+      inputPlugin.loadTestCase(testCase);
+
+      return true;
+    }
+    catch(Exception eX)
+    {
+      LOGGER.error("Loading of test case '{}' by '{}' failed ({})", () -> testCase.getId(),
+                   () -> inputPlugin.getName(), () -> eX.getMessage());
+
+      return false;
+    }
+  }
+
+
+  /**
+   * Execute the setup, test and teardown actions of the given test case and
+   * return the resulting test status. The output plug-ins of the test type of
+   * the test case are prepared before and cleaned up after the actions. When a
+   * setup (action) doesn't pass the test case is blocked and the test actions
+   * are skipped. The first test action that doesn't pass fails the test case.
+   * The output plug-ins are notified of the action that didn't pass before the
+   * teardown actions are executed. Teardown actions are always executed.
+   *
+   * @param testCase
+   * @return
+   */
+  private TestStatus executeTestActions(TestCase testCase)
+  {
+    TestStatus testStatus = TestStatus.PASSED;
+    LinkedList<OutputPlugin> testCaseOutputPlugins = getOutputPlugins(testCase.getTestType());
+
+    try
+    {
+      testCaseOutputPlugins.forEach((outputPlugin) -> outputPlugin.setUp(testCase));
+    }
+    catch(Exception eX)
+    {
+      LOGGER.error("Setup of test case '{}' failed ({})", () -> testCase.getId(),
+                   () -> eX.getMessage());
+
+      testStatus = TestStatus.BLOCKED;
+    }
+
+    for(TestAction setUpAction : testCase.getSetUpActions())
+    {
+      if(testStatus != TestStatus.PASSED)
+      {
+        break;
+      }
+
+      TestStatus actionStatus = executeTestAction(setUpAction);
+
+      synchronized(reportingPlugins)
+      {
+        reportingPlugins.values().forEach((plugin) -> plugin.logSetupAction(setUpAction));
+      }
+
+      if(actionStatus != TestStatus.PASSED)
+      {
+        testStatus = TestStatus.BLOCKED;
+        notifyTestActionFailed(testCaseOutputPlugins, testCase, setUpAction);
+        break;
+      }
+    }
+
+    if(testStatus == TestStatus.PASSED)
+    {
+      for(TestAction testAction : testCase.getTestActions())
+      {
+        TestStatus actionStatus = executeTestAction(testAction);
+
+        synchronized(reportingPlugins)
+        {
+          reportingPlugins.values().forEach((plugin) -> plugin.logTestAction(testAction));
+        }
+
+        if(actionStatus != TestStatus.PASSED)
+        {
+          testStatus = TestStatus.FAILED;
+          notifyTestActionFailed(testCaseOutputPlugins, testCase, testAction);
+          break;
+        }
+      }
+    }
+
+    for(TestAction tearDownAction : testCase.getTearDownActions())
+    {
+      executeTestAction(tearDownAction);
+
+      synchronized(reportingPlugins)
+      {
+        reportingPlugins.values().forEach((plugin) -> plugin.logTearDownAction(tearDownAction));
+      }
+    }
+
+    for(OutputPlugin outputPlugin : testCaseOutputPlugins)
+    {
+      try
+      {
+        outputPlugin.tearDown(testCase);
+      }
+      catch(Exception eX)
+      {
+        LOGGER.error("Teardown of test case '{}' by '{}' failed ({})", () -> testCase.getId(),
+                     () -> outputPlugin.getName(), () -> eX.getMessage());
+      }
+    }
+
+    return testStatus;
+  }
+
+
+  /**
+   * Notify the given output plug-ins that {@link testAction} of
+   * {@link testCase} didn't pass
+   *
+   * @param outputPlugins
+   * @param testCase
+   * @param testAction
+   */
+  private void notifyTestActionFailed(LinkedList<OutputPlugin> outputPlugins,
+                                      TestCase testCase, TestAction testAction)
+  {
+    for(OutputPlugin outputPlugin : outputPlugins)
+    {
+      try
+      {
+        outputPlugin.testActionFailed(testCase, testAction);
+      }
+      catch(Exception eX)
+      {
+        LOGGER.error("Failure handling of test case '{}' by '{}' failed ({})",
+                     () -> testCase.getId(), () -> outputPlugin.getName(),
+                     () -> eX.getMessage());
+      }
+    }
+  }
+
+
+  /**
+   * Return the input plug-in that read the given test case or null when the
+   * test case was not added by an input plug-in.
+   *
+   * @param testCase
+   * @return
+   */
+  private InputPlugin getInputPlugin(TestCase testCase)
+  {
+    for(TestSuite testSuite = testCase.getParent(); testSuite != null;
+        testSuite = testSuite.getParent())
+    {
+      InputPlugin inputPlugin = testSuiteInputPlugins.get(testSuite);
+
+      if(inputPlugin != null)
+      {
+        return inputPlugin;
+      }
+    }
+
+    return null;
+  }
+
+
+  /**
+   * Report the given test case as blocked without executing it. Used when a
+   * test case depends on a test case that didn't pass.
+   *
+   * @param testCase
+   */
+  private void blockTestCase(TestCase testCase)
+  {
+    LOGGER.info("Test case '{}' is blocked by a dependency", () -> testCase.getId());
+
+    logStartTestCase(testCase);
+
+    testCase.completeTestCaseStatus(TestStatus.BLOCKED);
+
+    logEndTestCase(testCase);
+  }
+
+
+  /**
+   * Execute a single test action. Exceptions are caught and reported as a
+   * failed action. The result is published as the final status of the action
+   * before it is reported.
+   *
+   * @param testAction
+   * @return
+   */
+  private TestStatus executeTestAction(TestAction testAction)
+  {
+    TestStatus testStatus;
+
+    try
+    {
+      testStatus = testAction.execute();
+    }
+    catch(Exception eX)
+    {
+      LOGGER.error("Execution of test action '{}' failed ({})", () -> testAction.getId(),
+                   () -> eX.getMessage());
+
+      testStatus = null;
+    }
+
+    if(testStatus == null || testStatus == TestStatus.NOTRUN)
+    {
+      testStatus = TestStatus.FAILED;
+    }
+
+    testAction.completeStatus(testStatus);
+
+    return testStatus;
+  }
+
+
+  /**
+   * Report the start of the given test suite to all reporting plug-ins
+   *
+   * @param testSuite
+   */
+  private void logStartTestSuite(TestSuite testSuite)
+  {
+    synchronized(reportingPlugins)
+    {
+      reportingPlugins.values().forEach((plugin) -> plugin.logStartTestSuite(testSuite));
+    }
+  }
+
+
+  /**
+   * Report the end of the given test suite to all reporting plug-ins
+   *
+   * @param testSuite
+   */
+  private void logEndTestSuite(TestSuite testSuite)
+  {
+    synchronized(reportingPlugins)
+    {
+      reportingPlugins.values().forEach((plugin) -> plugin.logEndTestSuite(testSuite));
+    }
+  }
+
+
+  /**
+   * Report the start of the given test case to all reporting plug-ins
+   *
+   * @param testCase
+   */
+  private void logStartTestCase(TestCase testCase)
+  {
+    synchronized(reportingPlugins)
+    {
+      reportingPlugins.values().forEach((plugin) -> plugin.logStartTestCase(testCase));
+    }
+  }
+
+
+  /**
+   * Report the end of the given test case to all reporting plug-ins
+   *
+   * @param testCase
+   */
+  private void logEndTestCase(TestCase testCase)
+  {
+    synchronized(reportingPlugins)
+    {
+      reportingPlugins.values().forEach((plugin) -> plugin.logEndTestCase(testCase));
+    }
   }
 
 
@@ -130,91 +614,176 @@ public class Prova implements TestRunner
   @Override
   public LinkedList<InputPlugin> getInputPlugins()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new LinkedList<>(inputPlugins.values());
   }
 
 
   @Override
   public LinkedList<OutputPlugin> getOutputPlugins()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new LinkedList<>(outputPlugins.values());
   }
 
 
   @Override
   public LinkedList<OutputPlugin> getOutputPlugins(TestType testType)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LinkedList<OutputPlugin> plugins = new LinkedList<>();
+
+    if(testType != null && outputPlugins.containsKey(testType.name()))
+    {
+      plugins.add(outputPlugins.get(testType.name()));
+    }
+
+    return plugins;
   }
 
 
   @Override
   public LinkedList<ReportingPlugin> getReportingPlugins()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new LinkedList<>(reportingPlugins.values());
   }
 
 
   @Override
   public void addInputPlugin(InputPlugin inputPlugin)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(inputPlugin == null)
+    {
+      throw new InvalidParameterException("Input plug-in can not be null");
+    }
+
+    LOGGER.debug("Add input plug-in '{}'", () -> inputPlugin.getName());
+
+    inputPlugins.put(inputPlugin.getName(), inputPlugin);
   }
 
 
   @Override
   public void addOutputPlugin(OutputPlugin outputPlugin, TestType testType)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(outputPlugin == null || testType == null)
+    {
+      throw new InvalidParameterException("Output plug-in and test type can not be null");
+    }
+
+    LOGGER.debug("Add output plug-in '{}' for test type '{}'", () -> outputPlugin.getName(),
+                 () -> testType.name());
+
+    outputPlugins.put(testType.name(), outputPlugin);
   }
 
 
   @Override
   public void addReportingPlugin(ReportingPlugin reportingPlugin)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(reportingPlugin == null)
+    {
+      throw new InvalidParameterException("Reporting plug-in can not be null");
+    }
+
+    LOGGER.debug("Add reporting plug-in '{}'", () -> reportingPlugin.getName());
+
+    synchronized(reportingPlugins)
+    {
+      reportingPlugins.put(reportingPlugin.getName(), reportingPlugin);
+    }
   }
 
 
   @Override
   public void addTestSuite(TestSuite testSuite, InputPlugin inputPlugin)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(testSuite == null)
+    {
+      throw new InvalidParameterException("Test suite can not be null");
+    }
+
+    LOGGER.debug("Add test suite '{}'", () -> testSuite.getId());
+
+    rootTestSuite.addTestSuite(testSuite);
+
+    if(inputPlugin != null)
+    {
+      testSuiteInputPlugins.put(testSuite, inputPlugin);
+    }
   }
 
 
   @Override
   public void setProperty(String key, String value) throws NullPointerException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(key == null || value == null)
+    {
+      throw new NullPointerException("Key and value of a property can not be null");
+    }
+
+    LOGGER.trace("Set property '{}' to '{}'", () -> key, () -> value);
+
+    properties.setProperty(key, value);
   }
 
 
   @Override
   public boolean hasProperty(String key)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return key != null && properties.containsKey(key);
   }
 
 
   @Override
   public String getProperty(String key) throws InvalidParameterException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if( !hasProperty(key))
+    {
+      throw new InvalidParameterException("Property '" + key + "' not found");
+    }
+
+    return properties.getProperty(key);
   }
 
 
   @Override
   public void start()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LOGGER.debug("Start test run");
+
+    thread = new Thread(() ->
+    {
+      try
+      {
+        setUp();
+        execute();
+        tearDown();
+      }
+      catch(Exception eX)
+      {
+        LOGGER.error("Test run failed ({})", () -> eX.getMessage());
+      }
+    }, "Prova");
+
+    thread.start();
   }
 
 
   @Override
   public void join()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(thread == null)
+    {
+      return;
+    }
+
+    try
+    {
+      thread.join();
+    }
+    catch(InterruptedException eX)
+    {
+      LOGGER.warn("Interrupted while waiting for the test run to finish");
+      Thread.currentThread().interrupt();
+    }
   }
 
 }
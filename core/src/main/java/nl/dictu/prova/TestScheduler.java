@@ -0,0 +1,482 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Schedules the test cases of a structure of test suites with respect to the
+ * declared dependencies of test suites and test cases.
+ * A test case inherits the dependencies of all its (parent) test suites. A
+ * dependency on a test suite is a dependency on all test cases in that test
+ * suite and its sub-test suites.
+ * All test cases without unfinished dependencies are executed in parallel.
+ * When a test case doesn't pass, all test cases depending on it are blocked.
+ * <p>
+ * The number of concurrent test cases can be limited per test type
+ * ({@link Config#PROVA_THREADS_TYPE}) and per output plug-in
+ * ({@link Config#PROVA_THREADS_PLUGIN}). Test cases ready for execution are
+ * queued per test type and the queues are served round robin, so a test type
+ * that reached its limit doesn't hold back test cases of other types.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestScheduler
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestScheduler.class.
+          getName());
+
+  private final TestRunner testRunner;
+  private final ExecutorService executorService;
+  private final Consumer<TestCase> executeTestCase;
+  private final Consumer<TestCase> blockTestCase;
+
+  private final LinkedList<Node> nodes = new LinkedList<>();
+  private final LinkedHashMap<String, LinkedList<Node>> testSuiteNodes = new LinkedHashMap<>();
+  private final LinkedHashMap<String, LinkedList<Node>> testCaseNodes = new LinkedHashMap<>();
+
+  private final LinkedHashMap<TestType, Budget> testTypeBudgets = new LinkedHashMap<>();
+  private final LinkedHashMap<OutputPlugin, Budget> outputPluginBudgets = new LinkedHashMap<>();
+  private final LinkedHashMap<String, ArrayDeque<Node>> readyQueues = new LinkedHashMap<>();
+
+  private CountDownLatch finished;
+
+
+  /**
+   * Constructor. Builds and validates the dependency graph of all test cases
+   * in {@link rootTestSuite}.
+   *
+   * @param testRunner      Provides the configured limits and output plug-ins
+   * @param rootTestSuite
+   * @param executorService
+   * @param executeTestCase Executes a test case
+   * @param blockTestCase   Reports a test case as blocked by a dependency
+   * @throws InvalidParameterException
+   */
+  public TestScheduler(TestRunner testRunner, TestSuite rootTestSuite,
+                       ExecutorService executorService, Consumer<TestCase> executeTestCase,
+                       Consumer<TestCase> blockTestCase) throws InvalidParameterException
+  {
+    if(testRunner == null || rootTestSuite == null || executorService == null
+       || executeTestCase == null || blockTestCase == null)
+    {
+      throw new InvalidParameterException("Parameters of the test scheduler can not be null");
+    }
+
+    this.testRunner = testRunner;
+    this.executorService = executorService;
+    this.executeTestCase = executeTestCase;
+    this.blockTestCase = blockTestCase;
+
+    addTestSuite(rootTestSuite, new LinkedList<>(), new LinkedHashSet<>());
+    resolveDependencies();
+    sortTopological();
+  }
+
+
+  /**
+   * Add a node for every test case in {@link testSuite} and its sub-test
+   * suites.
+   *
+   * @param testSuite
+   * @param parents
+   * @param dependencies Dependencies inherited from the parent test suites
+   */
+  private void addTestSuite(TestSuite testSuite, LinkedList<TestSuite> parents,
+                            LinkedHashSet<String> dependencies)
+  {
+    parents.addLast(testSuite);
+
+    LinkedHashSet<String> testSuiteDependencies = new LinkedHashSet<>(dependencies);
+    testSuiteDependencies.addAll(testSuite.getDependencies());
+
+    for(TestCase testCase : testSuite.getTestCases().values())
+    {
+      Node node = new Node(testCase);
+
+      addBudgets(node);
+      node.dependencies.addAll(testSuiteDependencies);
+      node.dependencies.addAll(testCase.getDependencies());
+
+      nodes.add(node);
+      testCaseNodes.computeIfAbsent(testCase.getId(), (id) -> new LinkedList<>()).add(node);
+
+      for(TestSuite parent : parents)
+      {
+        testSuiteNodes.computeIfAbsent(parent.getId(), (id) -> new LinkedList<>()).add(node);
+      }
+    }
+
+    for(TestSuite subTestSuite : testSuite.getTestSuites().values())
+    {
+      testSuiteNodes.putIfAbsent(subTestSuite.getId(), new LinkedList<>());
+      addTestSuite(subTestSuite, parents, testSuiteDependencies);
+    }
+
+    parents.removeLast();
+  }
+
+
+  /**
+   * Add the configured budgets for the test type of {@link node} and the
+   * output plug-in(s) of that test type to the node.
+   *
+   * @param node
+   * @throws InvalidParameterException
+   */
+  private void addBudgets(Node node) throws InvalidParameterException
+  {
+    TestType testType = node.testCase.getTestType();
+
+    if(testType == null)
+    {
+      return;
+    }
+
+    if( !testTypeBudgets.containsKey(testType))
+    {
+      testTypeBudgets.put(testType, getBudget(Config.PROVA_THREADS_TYPE + "."
+                                              + testType.name().toLowerCase()));
+    }
+
+    if(testTypeBudgets.get(testType) != null)
+    {
+      node.budgets.add(testTypeBudgets.get(testType));
+    }
+
+    for(OutputPlugin outputPlugin : testRunner.getOutputPlugins(testType))
+    {
+      if( !outputPluginBudgets.containsKey(outputPlugin))
+      {
+        outputPluginBudgets.put(outputPlugin, getBudget(Config.PROVA_THREADS_PLUGIN + "."
+                                                        + outputPlugin.getName()));
+      }
+
+      if(outputPluginBudgets.get(outputPlugin) != null)
+      {
+        node.budgets.add(outputPluginBudgets.get(outputPlugin));
+      }
+    }
+  }
+
+
+  /**
+   * Create a budget with the limit configured in property {@link key}.
+   * Returns NULL when the property is not set.
+   *
+   * @param key
+   * @return
+   * @throws InvalidParameterException
+   */
+  private Budget getBudget(String key) throws InvalidParameterException
+  {
+    if( !testRunner.hasProperty(key))
+    {
+      return null;
+    }
+
+    try
+    {
+      int limit = Integer.parseInt(testRunner.getProperty(key).trim());
+
+      if(limit > 0)
+      {
+        LOGGER.debug("Limit concurrent test cases for '{}' to {}", () -> key, () -> limit);
+
+        return new Budget(limit);
+      }
+    }
+    catch(NumberFormatException eX)
+    {
+      LOGGER.debug("Invalid limit ({})", () -> eX.getMessage());
+    }
+
+    LOGGER.error("Invalid value for property '{}' ({})", () -> key,
+                 () -> testRunner.getProperty(key));
+
+    throw new InvalidParameterException("Invalid value for property '" + key + "'");
+  }
+
+
+  /**
+   * Translate the declared dependencies to edges between the test cases.
+   *
+   * @throws InvalidParameterException
+   */
+  private void resolveDependencies() throws InvalidParameterException
+  {
+    for(Node node : nodes)
+    {
+      for(String dependency : node.dependencies)
+      {
+        LinkedList<Node> upstream = testSuiteNodes.containsKey(dependency)
+                                    ? testSuiteNodes.get(dependency)
+                                    : testCaseNodes.get(dependency);
+
+        if(upstream == null)
+        {
+          LOGGER.error("Test case '{}' depends on unknown test suite or test case '{}'",
+                       () -> node.testCase.getId(), () -> dependency);
+
+          throw new InvalidParameterException("Unknown dependency '" + dependency
+                                              + "' of test case '" + node.testCase.getId() + "'");
+        }
+
+        node.upstream.addAll(upstream);
+      }
+
+      for(Node upstream : node.upstream)
+      {
+        upstream.downstream.add(node);
+      }
+
+      node.pending.set(node.upstream.size());
+    }
+  }
+
+
+  /**
+   * Sort the test cases in topological order to detect circular dependencies.
+   *
+   * @throws InvalidParameterException
+   */
+  private void sortTopological() throws InvalidParameterException
+  {
+    int sorted = 0;
+    LinkedHashMap<Node, Integer> pending = new LinkedHashMap<>();
+    LinkedList<Node> ready = new LinkedList<>();
+
+    for(Node node : nodes)
+    {
+      pending.put(node, node.upstream.size());
+
+      if(node.upstream.isEmpty())
+      {
+        ready.add(node);
+      }
+    }
+
+    while( !ready.isEmpty())
+    {
+      Node node = ready.removeFirst();
+      sorted++;
+
+      for(Node downstream : node.downstream)
+      {
+        if(pending.merge(downstream, -1, Integer::sum) == 0)
+        {
+          ready.add(downstream);
+        }
+      }
+    }
+
+    if(sorted < nodes.size())
+    {
+      LOGGER.error("Circular dependency between test cases detected");
+
+      throw new InvalidParameterException("Circular dependency between test cases detected");
+    }
+  }
+
+
+  /**
+   * Execute all test cases and wait until all test cases are finished.
+   *
+   * @throws InterruptedException
+   */
+  public void execute() throws InterruptedException
+  {
+    LOGGER.debug("Schedule {} test case(s)", () -> nodes.size());
+
+    finished = new CountDownLatch(nodes.size());
+
+    synchronized(readyQueues)
+    {
+      for(Node node : nodes)
+      {
+        if(node.upstream.isEmpty())
+        {
+          enqueue(node);
+        }
+      }
+
+      dispatch();
+    }
+
+    finished.await();
+  }
+
+
+  /**
+   * Add {@link node} to the queue of ready test cases of its test type.
+   * Caller must hold the lock on {@link readyQueues}.
+   *
+   * @param node
+   */
+  private void enqueue(Node node)
+  {
+    String queue = node.testCase.getTestType() == null ? "" : node.testCase.getTestType().name();
+
+    readyQueues.computeIfAbsent(queue, (key) -> new ArrayDeque<>()).addLast(node);
+  }
+
+
+  /**
+   * Submit ready test cases to the executor service as long as their budgets
+   * allow it. The queues are served round robin, one test case at a time.
+   * Caller must hold the lock on {@link readyQueues}.
+   */
+  private void dispatch()
+  {
+    boolean submitted = true;
+
+    while(submitted)
+    {
+      submitted = false;
+
+      for(ArrayDeque<Node> queue : readyQueues.values())
+      {
+        Node node = queue.peekFirst();
+
+        if(node != null && node.budgets.stream().allMatch((budget) -> budget.running < budget.limit))
+        {
+          queue.removeFirst();
+          node.budgets.forEach((budget) -> budget.running++);
+
+          executorService.submit(() -> run(node));
+          submitted = true;
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Execute (or block) the test case of {@link node} and release the test
+   * cases depending on it.
+   *
+   * @param node
+   */
+  private void run(Node node)
+  {
+    try
+    {
+      if(node.upstreamFailed)
+      {
+        blockTestCase.accept(node.testCase);
+      }
+      else
+      {
+        executeTestCase.accept(node.testCase);
+      }
+    }
+    catch(Exception eX)
+    {
+      LOGGER.error("Execution of test case '{}' failed ({})", () -> node.testCase.getId(),
+                   () -> eX.getMessage());
+
+      node.testCase.completeTestCaseStatus(TestStatus.FAILED);
+    }
+    finally
+    {
+      boolean passed = node.testCase.getTestCaseStatus() == TestStatus.PASSED;
+
+      synchronized(readyQueues)
+      {
+        node.budgets.forEach((budget) -> budget.running--);
+
+        for(Node downstream : node.downstream)
+        {
+          if( !passed)
+          {
+            downstream.upstreamFailed = true;
+          }
+
+          if(downstream.pending.decrementAndGet() == 0)
+          {
+            enqueue(downstream);
+          }
+        }
+
+        dispatch();
+      }
+
+      finished.countDown();
+    }
+  }
+
+
+  /**
+   * A test case in the dependency graph
+   */
+  private static class Node
+  {
+
+    private final TestCase testCase;
+    private final LinkedHashSet<String> dependencies = new LinkedHashSet<>();
+    private final LinkedList<Budget> budgets = new LinkedList<>();
+    private final LinkedHashSet<Node> upstream = new LinkedHashSet<>();
+    private final LinkedHashSet<Node> downstream = new LinkedHashSet<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean upstreamFailed = false;
+
+
+    private Node(TestCase testCase)
+    {
+      this.testCase = testCase;
+    }
+
+  }
+
+
+  /**
+   * Maximum and actual number of concurrently running test cases of a test
+   * type or output plug-in. Guarded by the lock on {@link readyQueues}.
+   */
+  private static class Budget
+  {
+
+    private final int limit;
+    private int running = 0;
+
+
+    private Budget(int limit)
+    {
+      this.limit = limit;
+    }
+
+  }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.framework;
+
+import java.util.Properties;
+
+
+/**
+ * Small map of string keys to string values, stored in one flat array of
+ * alternating keys and values. Keys are interned, so a lookup with a constant
+ * key usually matches on identity. Test actions typically have only a few
+ * attributes, for which a linear scan is faster and far smaller than a
+ * hash table.
+ * This class is not synchronized.
+ *
+ * @author Sjoerd Boerhout
+ */
+class CompactStringMap
+{
+  private final static String[] EMPTY = new String[0];
+
+  private String[] entries = EMPTY;
+  private int size = 0;
+
+
+  /**
+   * Return the number of keys in this map
+   *
+   * @return
+   */
+  int size()
+  {
+    return size;
+  }
+
+
+  /**
+   * Return the index of {@link key} in the entries array or -1 when the key
+   * is not in this map.
+   *
+   * @param key
+   * @return
+   */
+  private int indexOf(String key)
+  {
+    if(key == null)
+    {
+      return -1;
+    }
+
+    int end = size << 1;
+
+    for(int i = 0; i < end; i += 2)
+    {
+      if(entries[i] == key)
+      {
+        return i;
+      }
+    }
+
+    for(int i = 0; i < end; i += 2)
+    {
+      if(entries[i].equals(key))
+      {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+
+  /**
+   * Check if {@link key} is in this map
+   *
+   * @param key
+   * @return
+   */
+  boolean containsKey(String key)
+  {
+    return indexOf(key) >= 0;
+  }
+
+
+  /**
+   * Return the value of {@link key} or null when the key is not in this map
+   *
+   * @param key
+   * @return
+   */
+  String get(String key)
+  {
+    int index = indexOf(key);
+
+    return index < 0 ? null : entries[index + 1];
+  }
+
+
+  /**
+   * Set {@link key} to {@link value}. Both must be not null.
+   *
+   * @param key
+   * @param value
+   */
+  void put(String key, String value)
+  {
+    int index = indexOf(key);
+
+    if(index >= 0)
+    {
+      entries[index + 1] = value;
+      return;
+    }
+
+    index = size << 1;
+
+    if(index == entries.length)
+    {
+      String[] newEntries = new String[entries.length == 0 ? 4 : entries.length << 1];
+      System.arraycopy(entries, 0, newEntries, 0, entries.length);
+      entries = newEntries;
+    }
+
+    entries[index] = key.intern();
+    entries[index + 1] = value;
+    size++;
+  }
+
+
+  /**
+   * Return a copy of this map as properties
+   *
+   * @return
+   */
+  Properties toProperties()
+  {
+    Properties properties = new Properties();
+
+    for(int i = 0; i < size << 1; i += 2)
+    {
+      properties.setProperty(entries[i], entries[i + 1]);
+    }
+
+    return properties;
+  }
+}
@@ -23,6 +23,7 @@ import java.io.File;
 import java.nio.file.InvalidPathException;
 import java.security.InvalidParameterException;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -42,14 +43,14 @@ public abstract class TestAction
 
   private Integer id;
   private TestCase parent;
-  private TestStatus status;
+  private final AtomicReference<TestStatus> status = new AtomicReference<>(TestStatus.NOTRUN);
 
   private long startTime = 0;
   private long endTime = 0;
   private Exception lastException;
 
-  private Properties attributes = new Properties();;
-  private Properties returnVariables = new Properties();;
+  private final CompactStringMap attributes = new CompactStringMap();
+  private final CompactStringMap returnVariables = new CompactStringMap();
   private File resultFile;
 
 
@@ -76,7 +77,6 @@ public abstract class TestAction
 
     LOGGER = newLogger;
     setId(id);
-    status = TestStatus.NOTRUN;
   }
 
 
@@ -88,17 +88,26 @@ public abstract class TestAction
    */
   private void setId(Integer id) throws InvalidParameterException
   {
-    LOGGER.trace("Set id of test action to '{}'", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set id of test action to '{}'", id);
+    }
 
     if(id == null)
     {
-      LOGGER.debug("Id can not be null ({})", () -> id);
+      if(LOGGER.isDebugEnabled())
+      {
+        LOGGER.debug("Id can not be null ({})", id);
+      }
       throw new InvalidParameterException("Id can not be null");
     }
 
     if(id < 0)
     {
-      LOGGER.debug("Invalid test action Id. ({})", () -> id);
+      if(LOGGER.isDebugEnabled())
+      {
+        LOGGER.debug("Invalid test action Id. ({})", id);
+      }
       throw new InvalidParameterException("Invalid test action Id (" + id + ")");
     }
 
@@ -113,7 +122,10 @@ public abstract class TestAction
    */
   public Integer getId()
   {
-    LOGGER.trace("Request for action id '{}'", () -> this.id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for action id '{}'", this.id);
+    }
 
     return id;
   }
@@ -127,12 +139,18 @@ public abstract class TestAction
    */
   public void setParent(TestCase parent) throws InvalidParameterException
   {
-    LOGGER.trace("Set the parent of this test action to ({})",
-                 (parent == null ? "null" : parent.getId()));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set the parent of this test action to ({})",
+                   (parent == null ? "null" : parent.getId()));
+    }
 
     if(parent == null)
     {
-      LOGGER.debug("Parent can not be null ({})", () -> id);
+      if(LOGGER.isDebugEnabled())
+      {
+        LOGGER.debug("Parent can not be null ({})", id);
+      }
       throw new InvalidParameterException("Parent can not be null");
     }
 
@@ -147,8 +165,11 @@ public abstract class TestAction
    */
   public TestCase getParent()
   {
-    LOGGER.trace("Get the parent of this test action to ({})",
-                 (parent == null ? "null" : parent.getId()));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get the parent of this test action to ({})",
+                   (parent == null ? "null" : parent.getId()));
+    }
 
     return this.parent;
   }
@@ -162,7 +183,10 @@ public abstract class TestAction
   {
     startTime = System.currentTimeMillis();
 
-    LOGGER.trace("Starting test action execution at '{}'", startTime);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Starting test action execution at '{}'", startTime);
+    }
 
     return startTime;
   }
@@ -175,7 +199,10 @@ public abstract class TestAction
   {
     endTime = System.currentTimeMillis();
 
-    LOGGER.trace("Stopped test action execution at '{}'", endTime);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Stopped test action execution at '{}'", endTime);
+    }
 
     return endTime;
   }
@@ -186,8 +213,11 @@ public abstract class TestAction
    */
   protected long getExecutionTime() throws InvalidParameterException
   {
-    LOGGER.trace("Request for execution time calculation. Start: {}ms, End: {}ms", () -> startTime,
-                 () -> endTime);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for execution time calculation. Start: {}ms, End: {}ms", startTime,
+                   endTime);
+    }
 
     if(startTime < 1)
     {
@@ -201,31 +231,65 @@ public abstract class TestAction
 
     long executionTime = (endTime - startTime);
 
-    LOGGER.trace("Calculated test action execution time: {}ms", executionTime);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Calculated test action execution time: {}ms", executionTime);
+    }
 
     return executionTime;
   }
 
 
   /**
-   * Update the status of this test action
+   * Update the status of this test action. Like
+   * {@link #completeStatus(TestStatus)} the status only changes from 'NotRun'
+   * to a final status; an action that has a final status keeps it.
    *
-   * @param newStatus
-   * @return
+   * @param testStatus
+   * @return the status of this test action after the update
    * @throws InvalidParameterException
    */
   protected TestStatus updateStatus(TestStatus testStatus) throws InvalidParameterException
   {
-    LOGGER.debug("Updating testaction Status to '{}'", () -> testStatus);
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Updating testaction Status to '{}'", testStatus);
+    }
 
     if(testStatus == null)
     {
       throw new InvalidParameterException("Testaction status 'null' not allowed!");
     }
 
-    status = testStatus;
+    completeStatus(testStatus);
+
+    return status.get();
+  }
+
+
+  /**
+   * Set the final status of this test action when it has not run yet. The
+   * transition from 'NotRun' to 'Passed', 'Failed' or 'Blocked' is atomic and
+   * happens at most once. Returns false when the test action already has a
+   * final status, in which case the status is left unchanged.
+   *
+   * @param testStatus
+   * @return
+   * @throws InvalidParameterException
+   */
+  public boolean completeStatus(TestStatus testStatus) throws InvalidParameterException
+  {
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Completing testaction with status '{}'", testStatus);
+    }
+
+    if(testStatus == null || testStatus == TestStatus.NOTRUN)
+    {
+      throw new InvalidParameterException("Invalid final testaction status (" + testStatus + ")");
+    }
 
-    return status;
+    return status.compareAndSet(TestStatus.NOTRUN, testStatus);
   }
 
 
@@ -236,7 +300,7 @@ public abstract class TestAction
    */
   public TestStatus getStatus()
   {
-    return status;
+    return status.get();
   }
 
 
@@ -249,7 +313,10 @@ public abstract class TestAction
    */
   public void setAttribute(String key, String value) throws InvalidParameterException
   {
-    LOGGER.trace("Set value of attribute with key '{}' to '{}'", () -> key, () -> value);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set value of attribute with key '{}' to '{}'", key, value);
+    }
 
     if(key == null || value == null || key.trim().length() < 1)
     {
@@ -270,9 +337,12 @@ public abstract class TestAction
    */
   protected boolean hasAttribute(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Has attribute: '{}': ({})", () -> key,
-                 () -> (key != null && attributes.containsKey(key)) ? attributes.getProperty(key)
-                                                                    : "No");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Has attribute: '{}': ({})", key,
+                   attributes.containsKey(key) ? attributes.get(key)
+                                                                : "No");
+    }
 
     return attributes.containsKey(key);
   }
@@ -287,27 +357,30 @@ public abstract class TestAction
    */
   public String getAttribute(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Get value of attribute: '{}' ({})", () -> key,
-                 () -> (key != null && attributes.containsKey(key)) ? attributes.getProperty(key)
-                                                                    : "Not found");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get value of attribute: '{}' ({})", key,
+                   attributes.containsKey(key) ? attributes.get(key)
+                                                                : "Not found");
+    }
 
     if( !attributes.containsKey(key))
     {
       throw new InvalidParameterException("No attribute with value '" + key + "' found!");
     }
 
-    return attributes.getProperty(key);
+    return attributes.get(key);
   }
 
 
   /**
-   * Get the attributes of this action
+   * Get a copy of the attributes of this action
    *
    * @return
    */
   protected Properties getAttributes()
   {
-    return this.attributes;
+    return attributes.toProperties();
   }
 
 
@@ -320,7 +393,10 @@ public abstract class TestAction
    */
   protected void setReturnVariable(String key, String value) throws InvalidParameterException
   {
-    LOGGER.trace("Set value of return value with key '{}' to '{}'", () -> key, () -> value);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set value of return value with key '{}' to '{}'", key, value);
+    }
 
     if(key == null || value == null || key.trim().length() < 1)
     {
@@ -328,18 +404,18 @@ public abstract class TestAction
                                           + value + ")");
     }
 
-    this.returnVariables.put(key.trim(), value);
+    returnVariables.put(key.trim(), value);
   }
 
 
   /**
-   * Get the return variables of this action
+   * Get a copy of the return variables of this action
    *
    * @return
    */
   protected Properties getReturnVariables()
   {
-    return this.returnVariables;
+    return returnVariables.toProperties();
   }
 
 
@@ -351,8 +427,11 @@ public abstract class TestAction
    */
   protected void setResultFile(File retFile) throws InvalidPathException
   {
-    LOGGER.trace("Set result file to '{}'",
-                 () -> retFile != null ? retFile.getAbsolutePath() : "null");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set result file to '{}'",
+                   retFile != null ? retFile.getAbsolutePath() : "null");
+    }
 
     this.resultFile = retFile;
   }
@@ -20,9 +20,14 @@
 package nl.dictu.prova.framework;
 
 import java.security.InvalidParameterException;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import nl.dictu.prova.TestType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -41,14 +46,21 @@ public class TestCase
   private final static Logger LOGGER = LogManager.getLogger(TestCase.class.getName());
 
   private String id;
-  private TestStatus testStatus = TestStatus.NOTRUN;
+  private TestSuite parent = null;
+  private TestType testType = null;
+  private final AtomicReference<TestStatus> testStatus = new AtomicReference<>(TestStatus.NOTRUN);
 
-  private Properties headers = new Properties();
+  // Shared headers are copied before they are changed
+  private volatile Map<String, String> headers = new ConcurrentHashMap<>();
+  private boolean sharedHeaders = false;
   private Properties variables = new Properties();
+  private VariableStore variableStore = null;
+  private int variableRow = -1;
+  private LinkedHashSet<String> dependencies = new LinkedHashSet<>();
 
-  private LinkedList<TestAction> setUpActions = new LinkedList<TestAction>();
-  private LinkedList<TestAction> testActions = new LinkedList<TestAction>();
-  private LinkedList<TestAction> tearDownActions = new LinkedList<TestAction>();
+  private final LinkedList<TestAction> setUpActions = new LinkedList<TestAction>();
+  private final LinkedList<TestAction> testActions = new LinkedList<TestAction>();
+  private final LinkedList<TestAction> tearDownActions = new LinkedList<TestAction>();
 
 
   /**
@@ -60,7 +72,10 @@ public class TestCase
    */
   public TestCase(String id) throws InvalidParameterException
   {
-    LOGGER.debug("Creation of new testcase with test id '{}'", () -> id);
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Creation of new testcase with test id '{}'", id);
+    }
 
     setId(id);
   }
@@ -74,17 +89,26 @@ public class TestCase
    */
   private void setId(String id) throws InvalidParameterException
   {
-    LOGGER.trace("Set id of test case to '{}'", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set id of test case to '{}'", id);
+    }
 
     if(id == null)
     {
-      LOGGER.debug("Id can not be null ({})", () -> id);
+      if(LOGGER.isDebugEnabled())
+      {
+        LOGGER.debug("Id can not be null ({})", id);
+      }
       throw new InvalidParameterException("Id can not be null");
     }
 
     if(id.trim().length() < 1)
     {
-      LOGGER.debug("Invalid testcase Id ({})", () -> id);
+      if(LOGGER.isDebugEnabled())
+      {
+        LOGGER.debug("Invalid testcase Id ({})", id);
+      }
       throw new InvalidParameterException("Invalid testcase Id (" + id + ")");
     }
 
@@ -99,12 +123,80 @@ public class TestCase
    */
   public String getId()
   {
-    LOGGER.trace("Request for test id '{}'", () -> this.id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for test id '{}'", this.id);
+    }
 
     return id;
   }
 
 
+  /**
+   * Set the test suite this test case belongs to.
+   * NOTE: Do not directly call this function! Use the addTestCase() function
+   * of the test suite.
+   *
+   * @param testSuite
+   */
+  protected void setParent(TestSuite testSuite)
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set the parent of test case '{}' to ({})", id,
+                   testSuite == null ? "null" : testSuite.getId());
+    }
+
+    parent = testSuite;
+  }
+
+
+  /**
+   * Get the test suite this test case belongs to. Returns NULL when the test
+   * case isn't added to a test suite.
+   *
+   * @return
+   */
+  public TestSuite getParent()
+  {
+    return parent;
+  }
+
+
+  /**
+   * Set the type of this test case. The type determines which output plug-in
+   * executes the test case.
+   *
+   * @param testType
+   * @throws InvalidParameterException
+   */
+  public void setTestType(TestType testType) throws InvalidParameterException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set type of test case '{}' to '{}'", id, testType);
+    }
+
+    if(testType == null)
+    {
+      throw new InvalidParameterException("TestType null not allowed!");
+    }
+
+    this.testType = testType;
+  }
+
+
+  /**
+   * Return the type of this test case. Returns NULL when no type is set.
+   *
+   * @return
+   */
+  public TestType getTestType()
+  {
+    return testType;
+  }
+
+
   /**
    * Return the status of this test case
    *
@@ -112,34 +204,81 @@ public class TestCase
    */
   public TestStatus getTestCaseStatus()
   {
-    LOGGER.debug("Request for test status '{}'", () -> testStatus);
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Request for test status '{}'", testStatus.get());
+    }
 
-    return testStatus;
+    return testStatus.get();
   }
 
 
   /**
-   * Update the test status because of an external cause.
-   * Accepted new states:
-   * - Blocked
+   * Update the test status because of an external cause, for example a
+   * failed dependency. Like {@link #completeTestCaseStatus(TestStatus)} the
+   * status only changes from 'NotRun' to a final status; a test case that
+   * has a final status keeps it.
    *
    * @param testStatus
-   * @param reason
-   * @return
+   * @return the status of the test case after the update
    * @throws InvalidParameterException
    */
   public TestStatus updateTestCaseStatus(TestStatus testStatus) throws InvalidParameterException
   {
-    LOGGER.debug("Updating testStatus to '{}'", () -> testStatus);
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Updating testStatus to '{}'", testStatus);
+    }
 
     if(testStatus == null)
     {
       throw new InvalidParameterException("TestStatus null not allowed!");
     }
 
-    this.testStatus = testStatus;
+    completeTestCaseStatus(testStatus);
 
-    return this.testStatus;
+    return this.testStatus.get();
+  }
+
+
+  /**
+   * Set the final status of a test case that has not run yet. The transition
+   * from 'NotRun' to 'Passed', 'Failed' or 'Blocked' is atomic and happens at
+   * most once. Returns false when the test case already has a final status,
+   * in which case the status is left unchanged.
+   *
+   * @param testStatus
+   * @return
+   * @throws InvalidParameterException
+   */
+  public boolean completeTestCaseStatus(TestStatus testStatus) throws InvalidParameterException
+  {
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Completing test case '{}' with status '{}'", id, testStatus);
+    }
+
+    if(testStatus == null || testStatus == TestStatus.NOTRUN)
+    {
+      throw new InvalidParameterException("Invalid final test status (" + testStatus + ")");
+    }
+
+    if( !this.testStatus.compareAndSet(TestStatus.NOTRUN, testStatus))
+    {
+      if(LOGGER.isDebugEnabled())
+      {
+        LOGGER.debug("Test case '{}' already completed with status '{}'", id,
+                     this.testStatus.get());
+      }
+      return false;
+    }
+
+    if(parent != null)
+    {
+      parent.updateTestStatusCount(TestStatus.NOTRUN, testStatus);
+    }
+
+    return true;
   }
 
 
@@ -151,20 +290,26 @@ public class TestCase
    */
   public void addSetUpAction(TestAction setUpAction) throws InvalidParameterException
   {
-    LOGGER.debug("Add setup action '{}'",
-                 () -> setUpAction == null ? "null" : setUpAction.toString());
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Add setup action '{}'",
+                   setUpAction == null ? "null" : setUpAction.toString());
+    }
 
     if(setUpAction == null)
     {
       throw new InvalidParameterException("Setup action can not be 'null'");
     }
 
-    if(setUpActions.contains(setUpAction))
+    synchronized(setUpActions)
     {
-      throw new InvalidParameterException("Action '" + setUpAction.getId() + "' already added to test case.");
-    }
+      if(setUpActions.contains(setUpAction))
+      {
+        throw new InvalidParameterException("Action '" + setUpAction.getId() + "' already added to test case.");
+      }
 
-    setUpActions.add(setUpAction);
+      setUpActions.add(setUpAction);
+    }
   }
 
 
@@ -176,19 +321,25 @@ public class TestCase
    */
   public void addTestAction(TestAction testAction) throws InvalidParameterException
   {
-    LOGGER.debug("Add test action '{}'", () -> testAction == null ? "null" : testAction.toString());
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Add test action '{}'", testAction == null ? "null" : testAction.toString());
+    }
 
     if(testAction == null)
     {
       throw new InvalidParameterException("Setup action can not be 'null'");
     }
 
-    if(testActions.contains(testAction))
+    synchronized(testActions)
     {
-      throw new InvalidParameterException("Action '" + testAction.getId() + "' already added to test case.");
+      if(testActions.contains(testAction))
+      {
+        throw new InvalidParameterException("Action '" + testAction.getId() + "' already added to test case.");
+      }
+
+      testActions.add(testAction);
     }
-    
-    testActions.add(testAction);
   }
 
 
@@ -200,59 +351,117 @@ public class TestCase
    */
   public void addTearDownAction(TestAction tearDownAction) throws InvalidParameterException
   {
-    LOGGER.debug("Add teardown action '{}'",
-                 () -> tearDownAction == null ? "null" : tearDownAction.toString());
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Add teardown action '{}'",
+                   tearDownAction == null ? "null" : tearDownAction.toString());
+    }
 
     if(tearDownAction == null)
     {
       throw new InvalidParameterException("Setup action can not be 'null'");
     }
 
-    if(tearDownActions.contains(tearDownAction))
+    synchronized(tearDownActions)
     {
-      throw new InvalidParameterException("Action '" + tearDownAction.getId() + "' already added to test case.");
-    }
+      if(tearDownActions.contains(tearDownAction))
+      {
+        throw new InvalidParameterException("Action '" + tearDownAction.getId() + "' already added to test case.");
+      }
 
-    tearDownActions.add(tearDownAction);
+      tearDownActions.add(tearDownAction);
+    }
   }
 
 
   /**
-   * Return a list of the setup actions in this test case
+   * Return a copy of the list of the setup actions in this test case. The copy
+   * is not affected by {@link #releaseTestActions()}.
    *
    * @return
    */
   public LinkedList<TestAction> getSetUpActions()
   {
-    LOGGER.trace("Request for all setup actions (size: {})", () -> setUpActions.size());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for all setup actions (size: {})", setUpActions.size());
+    }
 
-    return setUpActions;
+    synchronized(setUpActions)
+    {
+      return new LinkedList<>(setUpActions);
+    }
   }
 
 
   /**
-   * Return a list of the test actions in this test case
+   * Return a copy of the list of the test actions in this test case. The copy
+   * is not affected by {@link #releaseTestActions()}.
    *
    * @return
    */
   public LinkedList<TestAction> getTestActions()
   {
-    LOGGER.trace("Request for all test actions (size: {})", () -> testActions.size());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for all test actions (size: {})", testActions.size());
+    }
 
-    return testActions;
+    synchronized(testActions)
+    {
+      return new LinkedList<>(testActions);
+    }
   }
 
 
   /**
-   * Return a list of the teardown actions in this test case
+   * Return a copy of the list of the teardown actions in this test case. The copy
+   * is not affected by {@link #releaseTestActions()}.
    *
    * @return
    */
   public LinkedList<TestAction> getTearDownActions()
   {
-    LOGGER.trace("Request for all teardown actions (size: {})", () -> tearDownActions.size());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Request for all teardown actions (size: {})", tearDownActions.size());
+    }
 
-    return tearDownActions;
+    synchronized(tearDownActions)
+    {
+      return new LinkedList<>(tearDownActions);
+    }
+  }
+
+
+  /**
+   * Release the setup, test and teardown actions and the variables of this
+   * test case. The id, headers and status are kept. Called by the test runner
+   * when a test case loaded by an input plug-in is finished.
+   */
+  public void releaseTestActions()
+  {
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Release the actions of test case '{}'", id);
+    }
+
+    synchronized(setUpActions)
+    {
+      setUpActions.clear();
+    }
+
+    synchronized(testActions)
+    {
+      testActions.clear();
+    }
+
+    synchronized(tearDownActions)
+    {
+      tearDownActions.clear();
+    }
+
+    variables.clear();
   }
 
 
@@ -265,7 +474,10 @@ public class TestCase
    */
   public void setHeader(String key, String value) throws InvalidParameterException
   {
-    LOGGER.trace("Set value of header with key '{}' to '{}'", () -> key, () -> value);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set value of header with key '{}' to '{}'", key, value);
+    }
 
     if(key == null || value == null || key.trim().length() < 1)
     {
@@ -273,7 +485,45 @@ public class TestCase
                                           + ")");
     }
 
-    headers.put(key.trim(), value);
+    synchronized(this)
+    {
+      if(sharedHeaders)
+      {
+        headers = new ConcurrentHashMap<>(headers);
+        sharedHeaders = false;
+      }
+
+      headers.put(key.trim(), value);
+    }
+  }
+
+
+  /**
+   * Use {@link headers} as the headers of this test case without copying
+   * them, so test cases created from one template can share one map. The
+   * keys must be trimmed and the map must not be changed afterwards;
+   * {@link #setHeader(String, String)} copies the map before it changes it.
+   *
+   * @param headers
+   * @throws InvalidParameterException
+   */
+  public void shareHeaders(Map<String, String> headers) throws InvalidParameterException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Share {} header(s)", headers == null ? "null" : headers.size());
+    }
+
+    if(headers == null)
+    {
+      throw new InvalidParameterException("Headers can not be null");
+    }
+
+    synchronized(this)
+    {
+      this.headers = headers;
+      sharedHeaders = true;
+    }
   }
 
 
@@ -286,8 +536,11 @@ public class TestCase
    */
   public boolean hasHeader(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Has header: '{}': ({})", () -> key,
-                 () -> headers.containsKey(key) ? headers.getProperty(key) : "No");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Has header: '{}': ({})", key,
+                   headers.containsKey(key) ? headers.get(key) : "No");
+    }
 
     return headers.containsKey(key);
   }
@@ -302,15 +555,18 @@ public class TestCase
    */
   public String getHeader(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Get value of header: '{}' ({})", () -> key,
-                 () -> headers.containsKey(key) ? headers.getProperty(key) : "Not found");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get value of header: '{}' ({})", key,
+                   headers.containsKey(key) ? headers.get(key) : "Not found");
+    }
 
     if( !headers.containsKey(key))
     {
       throw new NoSuchElementException("No header with value '" + key + "' found!");
     }
 
-    return headers.getProperty(key);
+    return headers.get(key);
   }
 
 
@@ -323,7 +579,10 @@ public class TestCase
    */
   public void setVariable(String key, String value) throws InvalidParameterException
   {
-    LOGGER.trace("Set value of variable with key '{}' to '{}'", () -> key, () -> value);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set value of variable with key '{}' to '{}'", key, value);
+    }
 
     if(key == null || value == null || key.trim().length() < 1)
     {
@@ -344,15 +603,18 @@ public class TestCase
    */
   public boolean hasVariable(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Get value of variable: '{}' ({})", () -> key,
-                 () -> variables.containsKey(key) ? variables.getProperty(key) : "Not found");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get value of variable: '{}' ({})", key,
+                   variables.containsKey(key) ? variables.getProperty(key) : "Not found");
+    }
 
     if(key == null)
     {
       throw new InvalidParameterException("Key 'null' not allowed");
     }
 
-    return variables.containsKey(key);
+    return variables.containsKey(key) || getStoredVariable(key) != null;
   }
 
 
@@ -365,13 +627,108 @@ public class TestCase
    */
   public String getVariable(String key) throws InvalidParameterException
   {
-    LOGGER.trace("Get value of variable: '{}' ({})", () -> key,
-                 () -> variables.containsKey(key) ? variables.getProperty(key) : "Not found");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get value of variable: '{}' ({})", key,
+                   variables.containsKey(key) ? variables.getProperty(key) : "Not found");
+    }
+
+    if(variables.containsKey(key))
+    {
+      return variables.getProperty(key);
+    }
+
+    String value = getStoredVariable(key);
+
+    if(value == null) throw new NoSuchElementException("No variable with value '"
+                                                         + key + "' found!");
+
+    return value;
+  }
+
+
+  /**
+   * Bind this test case to row {@link row} of {@link variableStore}. Variables
+   * that are not set in the test case itself are resolved against that row.
+   * Pass null to remove the binding.
+   *
+   * @param variableStore
+   * @param row
+   * @throws InvalidParameterException
+   */
+  public void setVariableStore(VariableStore variableStore, int row)
+          throws InvalidParameterException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Bind variables of test case '{}' to row {}", id, row);
+    }
+
+    if(variableStore != null && (row < 0 || row >= variableStore.numberOfRows()))
+    {
+      throw new InvalidParameterException("Invalid row in variable store (" + row + ")");
+    }
+
+    this.variableStore = variableStore;
+    this.variableRow = variableStore != null ? row : -1;
+  }
+
+
+  /**
+   * Return the value of variable {@link key} in the bound variable store, or
+   * null when it is not found there.
+   *
+   * @param key
+   * @return
+   */
+  private String getStoredVariable(String key)
+  {
+    if(variableStore == null || key == null)
+    {
+      return null;
+    }
+
+    return variableStore.getVariable(variableRow, key);
+  }
+
+
+  /**
+   * Declare that this test case depends on the test suite or test case with
+   * {@link id}. This test case will not be executed before the given test
+   * suite (including all its sub-test suites) or test case is finished.
+   *
+   * @param id
+   * @throws InvalidParameterException
+   */
+  public void addDependency(String id) throws InvalidParameterException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Add dependency '{}' to test case '{}'", id, this.id);
+    }
 
-    if( !variables.containsKey(key)) throw new NoSuchElementException("No variable with value '"
-                                                                         + key + "' found!");
+    if(id == null || id.trim().length() < 1)
+    {
+      throw new InvalidParameterException("Invalid dependency (" + id + ")");
+    }
+
+    if(id.trim().equals(this.id))
+    {
+      throw new InvalidParameterException("Test case '" + id + "' can not depend on itself");
+    }
+
+    dependencies.add(id.trim());
+  }
 
-    return variables.getProperty(key);
+
+  /**
+   * Return the ids of the test suites and test cases this test case depends on
+   *
+   * @return
+   */
+  public LinkedHashSet<String> getDependencies()
+  {
+    return dependencies;
   }
 
 }
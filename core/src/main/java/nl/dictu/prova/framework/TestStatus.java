@@ -80,7 +80,10 @@ public enum TestStatus
    */
   public static TestStatus lookup(String name) throws IllegalArgumentException
   {
-    LOGGER.trace("Lookup for enum with value '{}'", name);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Lookup for enum with value '{}'", name);
+    }
 
     try
     {
@@ -90,7 +93,10 @@ public enum TestStatus
       {
         if(testStatus.name().equalsIgnoreCase(name))
         {
-          LOGGER.trace("Found enum with value '{}'", name);
+          if(LOGGER.isTraceEnabled())
+          {
+            LOGGER.trace("Found enum with value '{}'", name);
+          }
 
           return testStatus;
         }
@@ -101,7 +107,10 @@ public enum TestStatus
       LOGGER.error("'{}' not found in TestStatus. ({})", name, eX);
     }
 
-    LOGGER.trace("Lookup for enum with value '{}' failed.", name);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Lookup for enum with value '{}' failed.", name);
+    }
 
     throw new IllegalArgumentException(name + " not found in TestStatus");
   }
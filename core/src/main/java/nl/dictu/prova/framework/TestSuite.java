@@ -20,15 +20,28 @@ package nl.dictu.prova.framework;
 
 import java.security.InvalidParameterException;
 import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.LinkedHashSet;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 
 /**
  * A test suite is a container for sub-test suites and test cases. It is a
- * container with an unique ID and optional a parent test suite
+ * container with an unique ID and optional a parent test suite.
+ * Each test suite keeps an index of all test suites and test cases below it,
+ * so lookups in the whole structure don't have to walk the tree. The number
+ * of test cases below a test suite (in total and per test status) is kept up
+ * to date in the same way. Ids of test suites and of test cases are unique
+ * in the whole structure: adding a test case or test suite with an id that
+ * is already used anywhere in the structure is refused.
+ * The indexes are concurrent maps, so lookups are safe from any thread. The
+ * structure itself must be changed by one thread at a time, e.g. a builder
+ * task changes only the test suite it builds until it is added to its parent,
+ * and the watcher of the msExcel plug-in leaves the changes to the runner.
  * Issues:
  * - PROVA-12: Structure to handle test suites, cases and actions
  *
@@ -43,6 +56,15 @@ public class TestSuite
   private TestSuite parent = null;
   private LinkedHashMap<String, TestSuite> testSuites = new LinkedHashMap<>();
   private LinkedHashMap<String, TestCase> testCases = new LinkedHashMap<>();
+  private LinkedHashSet<String> dependencies = new LinkedHashSet<>();
+
+  // Index of all test suites and test cases below this test suite by id
+  private ConcurrentHashMap<String, TestSuite> testSuiteIndex = new ConcurrentHashMap<>();
+  private ConcurrentHashMap<String, TestCase> testCaseIndex = new ConcurrentHashMap<>();
+
+  // Number of test cases below this test suite, in total and per test status
+  private AtomicInteger testCaseCount = new AtomicInteger();
+  private AtomicIntegerArray testStatusCount = new AtomicIntegerArray(TestStatus.values().length);
 
 
   /**
@@ -54,7 +76,10 @@ public class TestSuite
    */
   public TestSuite(String id) throws InvalidParameterException
   {
-    LOGGER.debug("Create a new test suite with id '{}'", () -> id);
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Create a new test suite with id '{}'", id);
+    }
 
     setId(id);
   }
@@ -70,8 +95,11 @@ public class TestSuite
    */
   public TestSuite(String id, TestSuite parent) throws InvalidParameterException
   {
-    LOGGER.debug("Create new test suite with id '{}' and parent {}", () -> id,
-                 () -> parent == null ? "" : parent.getId());
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Create new test suite with id '{}' and parent {}", id,
+                   parent == null ? "" : parent.getId());
+    }
 
     setId(id);
     setParent(parent);
@@ -87,7 +115,10 @@ public class TestSuite
    */
   private void setId(String id) throws InvalidParameterException
   {
-    LOGGER.trace("Set id of test suite to '{}'", (id == null ? "null" : id));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set id of test suite to '{}'", (id == null ? "null" : id));
+    }
 
     if(id == null)
     {
@@ -114,7 +145,10 @@ public class TestSuite
    */
   public String getId()
   {
-    LOGGER.trace("Get the id of this test suite ({})", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get the id of this test suite ({})", id);
+    }
 
     return id;
   }
@@ -130,8 +164,11 @@ public class TestSuite
    */
   protected void setParent(TestSuite testSuite) throws InvalidParameterException
   {
-    LOGGER.trace("Set the parent of this test suite to ({})",
-                 (testSuite == null ? "null" : testSuite.getId()));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Set the parent of this test suite to ({})",
+                   (testSuite == null ? "null" : testSuite.getId()));
+    }
 
     // Prevent a loop! Can be caused when a test suite exists more than once in the structure
     if(testSuite != null && getRootParent().hasTestSuite(testSuite.getId(), true))
@@ -152,8 +189,11 @@ public class TestSuite
    */
   public Boolean hasParent()
   {
-    LOGGER.trace("Check if this test suite has a parent ({})",
-                 () -> parent != null ? "Yes: " + parent.getId() : "No");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Check if this test suite has a parent ({})",
+                   parent != null ? "Yes: " + parent.getId() : "No");
+    }
 
     return(parent != null);
   }
@@ -166,8 +206,11 @@ public class TestSuite
    */
   public TestSuite getParent()
   {
-    LOGGER.trace("Get the parent of this test suite ({})",
-                 () -> parent == null ? "No parent" : parent.getId());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get the parent of this test suite ({})",
+                   parent == null ? "No parent" : parent.getId());
+    }
 
     return parent;
   }
@@ -181,49 +224,178 @@ public class TestSuite
    */
   public TestSuite getRootParent()
   {
-    LOGGER.trace("Get the root parent of this test suite ({})",
-                 (parent == null ? "No parent" : parent.getId()));
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Get the root parent of this test suite ({})",
+                   (parent == null ? "No parent" : parent.getId()));
+    }
 
     TestSuite rootTestSuite = this;
 
-    while(rootTestSuite.getParent() != null)
+    while(rootTestSuite.parent != null)
     {
-      rootTestSuite = rootTestSuite.getParent();
+      rootTestSuite = rootTestSuite.parent;
     }
 
-    LOGGER.trace("Rootparent of '{}' = '{}'", getId(), rootTestSuite.getId());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Rootparent of '{}' = '{}'", id, rootTestSuite.id);
+    }
 
     return rootTestSuite;
   }
 
 
   /**
-   * Add the given {@link testSuite} as a child to this test suite
+   * Add the given {@link testSuite} as a child to this test suite. When the
+   * test suite is a child of another test suite it is moved to this test
+   * suite.
    *
    * @param testSuite
    * @throws InvalidParameterException
    */
   public void addTestSuite(TestSuite testSuite) throws InvalidParameterException
   {
-    LOGGER.trace("Add test suite '{}' to this test suite",
-                 () -> testSuite != null ? testSuite.getId() : "null");
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Add test suite '{}' to this test suite",
+                   testSuite != null ? testSuite.getId() : "null");
+    }
 
     if(testSuite == null)
     {
       throw new InvalidParameterException("TestSuite can not be null");
     }
 
-    // First check if this test suite doesn't exist yet in the structure
-    if( !this.getRootParent().hasTestSuite(testSuite.getRootParent().getId(), true))
-    {
-      testSuites.put(testSuite.getId(), testSuite);
-      testSuite.setParent(this);
-    }
-    else
+    TestSuite rootTestSuite = this.getRootParent();
+
+    // First check if this test suite (or one of its sub-test suites) doesn't exist yet in the structure
+    if(rootTestSuite.hasTestSuite(testSuite.getRootParent().getId(), true)
+       || rootTestSuite.hasTestSuite(testSuite.getId(), true)
+       || testSuite.testSuiteIndex.keySet().stream()
+                                  .anyMatch((id) -> rootTestSuite.hasTestSuite(id, true)))
     {
       throw new InvalidParameterException("TestSuite '" + testSuite.getId()
                                           + "' is already a member of this testsuite.");
     }
+
+    // The index of a parent holds one test case per id
+    for(String testCaseId : testSuite.testCaseIndex.keySet())
+    {
+      if(rootTestSuite.hasTestCase(testCaseId, true))
+      {
+        throw new InvalidParameterException("TestCase '" + testCaseId + "' of test suite '"
+                                            + testSuite.getId()
+                                            + "' is already a member of this testsuite.");
+      }
+    }
+
+    if(testSuite.isChildOfParent())
+    {
+      testSuite.getParent().removeTestSuite(testSuite);
+    }
+
+    // Clear the (old) parent first, the loop check of setParent() uses the root parent
+    testSuite.setParent(null);
+    testSuite.setParent(this);
+    testSuites.put(testSuite.getId(), testSuite);
+
+    for(TestSuite indexTestSuite = this; indexTestSuite != null;
+        indexTestSuite = indexTestSuite.isChildOfParent() ? indexTestSuite.getParent() : null)
+    {
+      indexTestSuite.testSuiteIndex.put(testSuite.getId(), testSuite);
+      indexTestSuite.testSuiteIndex.putAll(testSuite.testSuiteIndex);
+
+      indexTestSuite.testCaseIndex.putAll(testSuite.testCaseIndex);
+
+      indexTestSuite.addTestCaseCount(testSuite, 1);
+    }
+  }
+
+
+  /**
+   * Remove the given child {@link testSuite} from this test suite and remove
+   * its test suites and test cases from the index of this test suite and its
+   * parents.
+   *
+   * @param testSuite
+   */
+  private void removeTestSuite(TestSuite testSuite)
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Remove test suite '{}' from test suite '{}'", testSuite.getId(), id);
+    }
+
+    testSuites.remove(testSuite.getId(), testSuite);
+
+    for(TestSuite indexTestSuite = this; indexTestSuite != null;
+        indexTestSuite = indexTestSuite.isChildOfParent() ? indexTestSuite.getParent() : null)
+    {
+      indexTestSuite.testSuiteIndex.remove(testSuite.getId(), testSuite);
+
+      for(TestSuite subTestSuite : testSuite.testSuiteIndex.values())
+      {
+        indexTestSuite.testSuiteIndex.remove(subTestSuite.getId(), subTestSuite);
+      }
+
+      for(TestCase testCase : testSuite.testCaseIndex.values())
+      {
+        indexTestSuite.testCaseIndex.remove(testCase.getId(), testCase);
+      }
+
+      indexTestSuite.addTestCaseCount(testSuite, -1);
+    }
+  }
+
+
+  /**
+   * Add (sign = 1) or subtract (sign = -1) the test case counters of
+   * {@link testSuite} to/from the counters of this test suite.
+   *
+   * @param testSuite
+   * @param sign
+   */
+  private void addTestCaseCount(TestSuite testSuite, int sign)
+  {
+    testCaseCount.addAndGet(sign * testSuite.testCaseCount.get());
+
+    for(int i = 0; i < testStatusCount.length(); i++)
+    {
+      testStatusCount.addAndGet(i, sign * testSuite.testStatusCount.get(i));
+    }
+  }
+
+
+  /**
+   * Update the test status counters of this test suite and its parents after
+   * the status of one of its test cases changed from {@link oldStatus} to
+   * {@link newStatus}.
+   * NOTE: Called by the test case.
+   *
+   * @param oldStatus
+   * @param newStatus
+   */
+  protected void updateTestStatusCount(TestStatus oldStatus, TestStatus newStatus)
+  {
+    for(TestSuite indexTestSuite = this; indexTestSuite != null;
+        indexTestSuite = indexTestSuite.isChildOfParent() ? indexTestSuite.getParent() : null)
+    {
+      indexTestSuite.testStatusCount.incrementAndGet(newStatus.ordinal());
+      indexTestSuite.testStatusCount.decrementAndGet(oldStatus.ordinal());
+    }
+  }
+
+
+  /**
+   * Check if this test suite is registered as a child of its parent.
+   * (A parent can be set without adding the test suite to the parent.)
+   *
+   * @return
+   */
+  private boolean isChildOfParent()
+  {
+    return parent != null && parent.testSuites.get(id) == this;
   }
 
 
@@ -247,19 +419,13 @@ public class TestSuite
    */
   public int numberOfTestSuites(boolean countSubTestSuites)
   {
-    LOGGER.trace("Count the number of test suites in this test suite. (Count subTestSuites: {}",
-                 () -> countSubTestSuites);
-
-    int iCount = testSuites.size();
-
-    if(countSubTestSuites)
+    if(LOGGER.isTraceEnabled())
     {
-      iCount = testSuites.entrySet().stream()
-                         .map((entry) -> entry.getValue().numberOfTestSuites(countSubTestSuites))
-                         .reduce(iCount, Integer::sum);
+      LOGGER.trace("Count the number of test suites in this test suite. (Count subTestSuites: {}",
+                   countSubTestSuites);
     }
 
-    return iCount;
+    return countSubTestSuites ? testSuiteIndex.size() : testSuites.size();
   }
 
 
@@ -285,28 +451,20 @@ public class TestSuite
    */
   public Boolean hasTestSuite(String id, boolean checkSubTestSuites)
   {
-    LOGGER.trace("Check if this test suites has a test suite with id '{}' (Check subTestSuites: {})",
-                 () -> id, () -> checkSubTestSuites);
-
-    if(this.getId().equals(id))
+    if(LOGGER.isTraceEnabled())
     {
-      return true;
+      LOGGER.trace("Check if this test suites has a test suite with id '{}' (Check subTestSuites: {})",
+                   id, checkSubTestSuites);
     }
-    
-    for(Map.Entry<String, TestSuite> entry : testSuites.entrySet())
-    {
-      if(entry.getValue().getId().equals(id))
-      {
-        return true;
-      }
 
-      if(checkSubTestSuites && entry.getValue().hasTestSuite(id, checkSubTestSuites))
-      {
-        return true;
-      }
+    if(this.id.equals(id))
+    {
+      return true;
     }
 
-    return false;
+    // A concurrent index does not accept null as key
+    return checkSubTestSuites ? id != null && testSuiteIndex.containsKey(id)
+           : testSuites.containsKey(id);
   }
 
 
@@ -319,7 +477,10 @@ public class TestSuite
    */
   public TestSuite getTestSuite(String id) throws NoSuchElementException
   {
-    LOGGER.trace("Find and return sub test suites with id '{}'", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Find and return sub test suites with id '{}'", id);
+    }
 
     try
     {
@@ -335,6 +496,28 @@ public class TestSuite
   }
 
 
+  /**
+   * Return the test suite with {@link id}. When {@link searchSubTestSuites} is
+   * set to true all sub-suites are searched as well. Returns NULL when no test
+   * suite with {@link id} is found.
+   *
+   * @param id
+   * @param searchSubTestSuites
+   * @return
+   */
+  public TestSuite getTestSuite(String id, boolean searchSubTestSuites)
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Find and return test suite with id '{}' (Search subTestSuites: {})",
+                   id, searchSubTestSuites);
+    }
+
+    return searchSubTestSuites ? (id != null ? testSuiteIndex.get(id) : null)
+           : testSuites.get(id);
+  }
+
+
   /**
    * Return a list of the sub-test suites in this test suite
    *
@@ -342,7 +525,10 @@ public class TestSuite
    */
   public LinkedHashMap<String, TestSuite> getTestSuites()
   {
-    LOGGER.trace("Return all test suites (nr: {})", testSuites.size());
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Return all test suites (nr: {})", testSuites.size());
+    }
 
     return testSuites;
   }
@@ -352,12 +538,16 @@ public class TestSuite
    * Add the given {@link testCase} to this test suite
    *
    * @param testCase
-   * @throws InvalidParameterException
+   * @throws InvalidParameterException when a test case with the same id is
+   * already a member of the structure
    */
   public void addTestCase(TestCase testCase) throws InvalidParameterException
   {
-    LOGGER.debug("Add test case '{}' to this test suite",
-                 () -> testCase != null ? testCase.getId() : "null");
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Add test case '{}' to this test suite",
+                   testCase != null ? testCase.getId() : "null");
+    }
 
     if(testCase == null)
     {
@@ -366,7 +556,9 @@ public class TestSuite
       throw new InvalidParameterException("testSuite can not be null");
     }
 
-    if(this.hasTestCase(testCase.getId()))
+    // The index of a parent holds one test case per id, so the id must be
+    // unique in the whole structure
+    if(getRootParent().hasTestCase(testCase.getId(), true))
     {
       LOGGER.warn("TestCase '{}' is already a member of this testsuite.", () -> testCase.getId());
 
@@ -375,6 +567,130 @@ public class TestSuite
     }
 
     testCases.put(testCase.getId(), testCase);
+    testCase.setParent(this);
+
+    for(TestSuite indexTestSuite = this; indexTestSuite != null;
+        indexTestSuite = indexTestSuite.isChildOfParent() ? indexTestSuite.getParent() : null)
+    {
+      indexTestSuite.testCaseIndex.put(testCase.getId(), testCase);
+      indexTestSuite.testCaseCount.incrementAndGet();
+      indexTestSuite.testStatusCount.incrementAndGet(testCase.getTestCaseStatus().ordinal());
+    }
+  }
+
+
+  /**
+   * Replace the test case with the same id as {@link testCase} by
+   * {@link testCase}. The new test case takes the place of the old one, so
+   * the order of the test cases is kept. The old test case is detached from
+   * this test suite and returned.
+   * NOTE: Do not replace test cases while the test suite is executed.
+   *
+   * @param testCase
+   * @return
+   * @throws InvalidParameterException
+   */
+  public TestCase replaceTestCase(TestCase testCase) throws InvalidParameterException
+  {
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Replace test case '{}' in test suite '{}'",
+                   testCase != null ? testCase.getId() : "null", id);
+    }
+
+    if(testCase == null)
+    {
+      throw new InvalidParameterException("TestCase can not be null");
+    }
+
+    TestCase oldTestCase = testCases.get(testCase.getId());
+
+    if(oldTestCase == null)
+    {
+      throw new InvalidParameterException("TestCase " + testCase.getId()
+                                          + " is not a member of this testsuite.");
+    }
+
+    testCases.put(testCase.getId(), testCase);
+    oldTestCase.setParent(null);
+    testCase.setParent(this);
+
+    for(TestSuite indexTestSuite = this; indexTestSuite != null;
+        indexTestSuite = indexTestSuite.isChildOfParent() ? indexTestSuite.getParent() : null)
+    {
+      indexTestSuite.testCaseIndex.replace(testCase.getId(), oldTestCase, testCase);
+      indexTestSuite.testStatusCount.decrementAndGet(oldTestCase.getTestCaseStatus().ordinal());
+      indexTestSuite.testStatusCount.incrementAndGet(testCase.getTestCaseStatus().ordinal());
+    }
+
+    return oldTestCase;
+  }
+
+
+  /**
+   * Remove the test case with {@link id} from this test suite. Returns the
+   * removed test case, or NULL when this test suite has no test case with
+   * {@link id}.
+   * NOTE: Do not remove test cases while the test suite is executed.
+   *
+   * @param id
+   * @return
+   */
+  public TestCase removeTestCase(String id)
+  {
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Remove test case '{}' from test suite '{}'", id, this.id);
+    }
+
+    TestCase testCase = testCases.remove(id);
+
+    if(testCase == null)
+    {
+      return null;
+    }
+
+    testCase.setParent(null);
+
+    for(TestSuite indexTestSuite = this; indexTestSuite != null;
+        indexTestSuite = indexTestSuite.isChildOfParent() ? indexTestSuite.getParent() : null)
+    {
+      indexTestSuite.testCaseIndex.remove(id, testCase);
+      indexTestSuite.testCaseCount.decrementAndGet();
+      indexTestSuite.testStatusCount.decrementAndGet(testCase.getTestCaseStatus().ordinal());
+    }
+
+    return testCase;
+  }
+
+
+  /**
+   * Remove the child test suite with {@link id} (and all its sub-test suites
+   * and test cases) from this test suite. Returns the removed test suite, or
+   * NULL when this test suite has no child test suite with {@link id}.
+   * NOTE: Do not remove test suites while the test suite is executed.
+   *
+   * @param id
+   * @return
+   */
+  public TestSuite removeTestSuite(String id)
+  {
+    if(LOGGER.isDebugEnabled())
+    {
+      LOGGER.debug("Remove test suite '{}' from test suite '{}'", id, this.id);
+    }
+
+    TestSuite testSuite = testSuites.get(id);
+
+    if(testSuite == null)
+    {
+      return null;
+    }
+
+    removeTestSuite(testSuite);
+    testSuite.setParent(null);
+
+    return testSuite;
   }
 
 
@@ -402,16 +718,32 @@ public class TestSuite
   {
     LOGGER.trace("Count the number of test cases in this test suite");
 
-    int iCount = testCases.size();
+    return countSubTestCases ? testCaseCount.get() : testCases.size();
+  }
 
-    if(countSubTestCases)
+
+  /**
+   * Get the number of test cases in this test suite and all its sub-test
+   * suites with status {@link testStatus}. The counters are updated as soon
+   * as the status of a test case changes.
+   *
+   * @param testStatus
+   * @return
+   * @throws InvalidParameterException
+   */
+  public int numberOfTestCases(TestStatus testStatus) throws InvalidParameterException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Count the number of test cases with status '{}'", testStatus);
+    }
+
+    if(testStatus == null)
     {
-      iCount = testSuites.entrySet().stream()
-                         .map((entry) -> entry.getValue().numberOfTestCases(countSubTestCases))
-                         .reduce(iCount, Integer::sum);
+      throw new InvalidParameterException("TestStatus null not allowed!");
     }
 
-    return iCount;
+    return testStatusCount.get(testStatus.ordinal());
   }
 
 
@@ -437,34 +769,15 @@ public class TestSuite
    */
   public Boolean hasTestCase(String id, boolean checkSubTestSuites)
   {
-    LOGGER.trace("Check if this test case has a test case with id '{}' (Check subTestSuites: {}",
-                 () -> id, () -> checkSubTestSuites);
-
-    try
+    if(LOGGER.isTraceEnabled())
     {
-      for(Map.Entry<String, TestCase> entry : testCases.entrySet())
-      {
-        if(entry.getValue().getId().equals(id))
-        {
-          return true;
-        }
-      }
-
-      if(checkSubTestSuites)
-      {
-        if(testSuites.entrySet().stream()
-                     .anyMatch((entry) -> (entry.getValue().hasTestCase(id, checkSubTestSuites))))
-        {
-          return true;
-        }
-      }
-    }
-    catch(Exception eX)
-    {
-      LOGGER.error("hasTestCase exception: {}", eX.getMessage());
+      LOGGER.trace("Check if this test case has a test case with id '{}' (Check subTestSuites: {}",
+                   id, checkSubTestSuites);
     }
 
-    return false;
+    // A concurrent index does not accept null as key
+    return checkSubTestSuites ? id != null && testCaseIndex.containsKey(id)
+           : testCases.containsKey(id);
   }
 
 
@@ -476,7 +789,10 @@ public class TestSuite
    */
   public TestCase getTestCase(String id)
   {
-    LOGGER.trace("Find and return the test case with id '{}'", () -> id);
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Find and return the test case with id '{}'", id);
+    }
 
     try
     {
@@ -484,13 +800,38 @@ public class TestSuite
     }
     catch(Exception eX)
     {
-      LOGGER.debug("Test case '{}' not found ({})", () -> id, () -> eX.getMessage());
+      if(LOGGER.isDebugEnabled())
+      {
+        LOGGER.debug("Test case '{}' not found ({})", id, eX.getMessage());
+      }
 
       throw new NoSuchElementException(id);
     }
   }
 
 
+  /**
+   * Return the test case with {@link id}. When {@link searchSubTestSuites} is
+   * set to true all sub-suites are searched as well. Returns NULL when no test
+   * case with {@link id} is found.
+   *
+   * @param id
+   * @param searchSubTestSuites
+   * @return
+   */
+  public TestCase getTestCase(String id, boolean searchSubTestSuites)
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Find and return the test case with id '{}' (Search subTestSuites: {})",
+                   id, searchSubTestSuites);
+    }
+
+    return searchSubTestSuites ? (id != null ? testCaseIndex.get(id) : null)
+           : testCases.get(id);
+  }
+
+
   /**
    * Return a list of the test cases in this test suite
    *
@@ -501,4 +842,46 @@ public class TestSuite
     return testCases;
   }
 
+
+  /**
+   * Declare that this test suite depends on the test suite or test case with
+   * {@link id}. None of the test cases in this test suite will be executed
+   * before the given test suite (including all its sub-test suites) or test
+   * case is finished.
+   *
+   * @param id
+   * @throws InvalidParameterException
+   */
+  public void addDependency(String id) throws InvalidParameterException
+  {
+    if(LOGGER.isTraceEnabled())
+    {
+      LOGGER.trace("Add dependency '{}' to test suite '{}'", id, this.id);
+    }
+
+    if(id == null || id.trim().length() < 1)
+    {
+      throw new InvalidParameterException("Invalid dependency (" + id + ")");
+    }
+
+    if(id.trim().equals(this.id))
+    {
+      throw new InvalidParameterException("Test suite '" + id + "' can not depend on itself");
+    }
+
+    dependencies.add(id.trim());
+  }
+
+
+  /**
+   * Return the ids of the test suites and test cases this test suite depends
+   * on
+   *
+   * @return
+   */
+  public LinkedHashSet<String> getDependencies()
+  {
+    return dependencies;
+  }
+
 }
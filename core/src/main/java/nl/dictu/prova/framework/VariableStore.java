@@ -0,0 +1,54 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.framework;
+
+/**
+ * Read-only table of variables shared by many test cases, one row per test
+ * case. A test case bound to a row (see
+ * {@link TestCase#setVariableStore(VariableStore, int)}) resolves the
+ * variables it does not hold itself against that row. Input plug-ins use it
+ * to keep the variables of large data sets out of the test cases.
+ * Implementations must be safe for concurrent reads.
+ *
+ * @author Sjoerd Boerhout
+ */
+public interface VariableStore
+{
+
+  /**
+   * Return the number of rows in this store
+   *
+   * @return
+   */
+  int numberOfRows();
+
+
+  /**
+   * Return the value of variable {@link key} in row {@link row}, or null
+   * when the row has no such variable.
+   *
+   * @param row
+   * @param key
+   * @return
+   * @throws IndexOutOfBoundsException
+   */
+  String getVariable(int row, String key) throws IndexOutOfBoundsException;
+
+}
@@ -86,6 +86,9 @@ public interface InputPlugin
 
   /**
    * Load all actions for the given test case.
+   * Called by the test runner just before the test case is executed. The
+   * actions are released again when the test case is finished. Test cases are
+   * executed in parallel, so this function must be thread safe.
    *
    * @param testCase
    *
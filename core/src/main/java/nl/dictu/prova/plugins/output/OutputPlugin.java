@@ -78,6 +78,21 @@ public interface OutputPlugin
   public void setUp(TestCase testCase);
 
 
+  /**
+   * Called when {@link testAction}, a setup or test action of
+   * {@link testCase}, didn't pass. Called before the teardown actions are
+   * executed, so the state of the failure can still be recorded.
+   * For example:
+   * - Take a screenshot of the web browser
+   *
+   * @param testCase
+   * @param testAction
+   */
+  public default void testActionFailed(TestCase testCase, TestAction testAction)
+  {
+  }
+
+
   /**
    * Execute teardown actions for the test case.
    * Actions will depend on the output test type.
@@ -19,6 +19,10 @@
  */
 package nl.dictu.prova.util;
 
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -33,6 +37,13 @@ public class Validator
   private final static Logger LOGGER = LogManager.getLogger(Validator.class.
           getName());
 
+  private final static int MAX_XPATHS = 10000;
+
+  // XPath instances are not thread safe
+  private final static ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(
+          () -> XPathFactory.newInstance().newXPath());
+  private final static ConcurrentHashMap<String, Boolean> VALID_XPATHS = new ConcurrentHashMap<>();
+
 
   /**
    * Validates if the given filename:
@@ -51,7 +62,9 @@ public class Validator
 
 
   /**
-   * Validates if the given string is a valid Xpath
+   * Validates if the given string is a valid Xpath (1.0) expression. The
+   * expression is compiled once; the result is remembered, so checking the
+   * same locator again is cheap.
    *
    * @param xPath
    *
@@ -59,7 +72,39 @@ public class Validator
    */
   public static boolean isValidXpath(String xPath)
   {
-    return false;
+    if(xPath == null || xPath.trim().isEmpty())
+    {
+      return false;
+    }
+
+    Boolean valid = VALID_XPATHS.get(xPath);
+
+    if(valid == null)
+    {
+      try
+      {
+        XPATH.get().compile(xPath);
+        valid = true;
+      }
+      catch(XPathExpressionException eX)
+      {
+        if(LOGGER.isDebugEnabled())
+        {
+          LOGGER.debug("Invalid xpath '{}' ({})", xPath, eX.getMessage());
+        }
+
+        valid = false;
+      }
+
+      if(VALID_XPATHS.size() >= MAX_XPATHS)
+      {
+        VALID_XPATHS.clear();
+      }
+
+      VALID_XPATHS.put(xPath, valid);
+    }
+
+    return valid;
   }
 
 }
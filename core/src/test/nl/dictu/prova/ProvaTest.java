@@ -19,6 +19,23 @@
  */
 package nl.dictu.prova;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.InputPlugin;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -32,6 +49,7 @@ import org.junit.Test;
  */
 public class ProvaTest
 {
+  private final static Logger LOGGER = LogManager.getLogger(ProvaTest.class.getName());
 
   public ProvaTest()
   {
@@ -41,6 +59,7 @@ public class ProvaTest
   @BeforeClass
   public static void setUpClass()
   {
+    GlobalSetup.configure();
   }
 
 
@@ -84,11 +103,534 @@ public class ProvaTest
 
   /**
    * Test of execute method, of class Prova.
+   * All test cases are executed by the worker pool and the actions of a test
+   * case are executed in the order setup, test, teardown.
    */
   @Test
-  @Ignore
   public void testExecute() throws Exception
   {
+    try
+    {
+      LOGGER.debug("TC: testExecute");
+
+      Prova prova = new Prova();
+      prova.setProperty(Config.PROVA_THREADS, "4");
+
+      TestSuite testSuite = new TestSuite("TestSuite-00");
+      TestSuite subTestSuite = new TestSuite("TestSuite-00-01");
+      testSuite.addTestSuite(subTestSuite);
+
+      LinkedList<TestCase> testCases = new LinkedList<>();
+      LinkedList<List<String>> orders = new LinkedList<>();
+      List<String> executed = Collections.synchronizedList(new LinkedList<>());
+
+      for(int i = 0; i < 20; i++)
+      {
+        TestCase testCase = new TestCase("Tc-" + i);
+        LinkedList<String> order = new LinkedList<>();
+
+        testCase.addSetUpAction(new RecordingTestAction(1, "setUp", order, TestStatus.PASSED));
+        testCase.addTestAction(new RecordingTestAction(2, "test", order, TestStatus.PASSED));
+        testCase.addTestAction(new RecordingTestAction(3, "executed", executed, TestStatus.PASSED));
+        testCase.addTearDownAction(new RecordingTestAction(4, "tearDown", order, TestStatus.PASSED));
+
+        (i % 2 == 0 ? testSuite : subTestSuite).addTestCase(testCase);
+        testCases.add(testCase);
+        orders.add(order);
+      }
+
+      prova.addTestSuite(testSuite, null);
+      prova.execute();
+
+      assertEquals(20, executed.size());
+
+      for(int i = 0; i < testCases.size(); i++)
+      {
+        assertEquals(TestStatus.PASSED, testCases.get(i).getTestCaseStatus());
+        assertEquals("[setUp, test, tearDown]", orders.get(i).toString());
+      }
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * A failing setup action blocks the test case, a failing test action fails
+   * the test case. Teardown actions are always executed.
+   */
+  @Test
+  public void testExecuteBlocksAndFailsTestCases() throws Exception
+  {
+    try
+    {
+      LOGGER.debug("TC: testExecuteBlocksAndFailsTestCases");
+
+      Prova prova = new Prova();
+      prova.setProperty(Config.PROVA_THREADS, "2");
+
+      TestSuite testSuite = new TestSuite("TestSuite-00");
+
+      LinkedList<String> blockedOrder = new LinkedList<>();
+      TestCase blocked = new TestCase("Blocked");
+      blocked.addSetUpAction(new RecordingTestAction(1, "setUp", blockedOrder, TestStatus.FAILED));
+      blocked.addTestAction(new RecordingTestAction(2, "test", blockedOrder, TestStatus.PASSED));
+      blocked.addTearDownAction(new RecordingTestAction(3, "tearDown", blockedOrder, TestStatus.PASSED));
+      testSuite.addTestCase(blocked);
+
+      LinkedList<String> failedOrder = new LinkedList<>();
+      TestCase failed = new TestCase("Failed");
+      failed.addTestAction(new RecordingTestAction(1, "test1", failedOrder, TestStatus.FAILED));
+      failed.addTestAction(new RecordingTestAction(2, "test2", failedOrder, TestStatus.PASSED));
+      failed.addTearDownAction(new RecordingTestAction(3, "tearDown", failedOrder, TestStatus.PASSED));
+      testSuite.addTestCase(failed);
+
+      prova.addTestSuite(testSuite, null);
+      prova.execute();
+
+      assertEquals(TestStatus.BLOCKED, blocked.getTestCaseStatus());
+      assertEquals("[setUp, tearDown]", blockedOrder.toString());
+
+      assertEquals(TestStatus.FAILED, failed.getTestCaseStatus());
+      assertEquals("[test1, tearDown]", failedOrder.toString());
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * The output plug-ins are notified of the failed action before the teardown
+   * actions are executed.
+   */
+  @Test
+  public void testExecuteNotifiesFailedAction() throws Exception
+  {
+    try
+    {
+      LOGGER.debug("TC: testExecuteNotifiesFailedAction");
+
+      Prova prova = new Prova();
+      LinkedList<String> order = new LinkedList<>();
+      prova.addOutputPlugin(new StubOutputPlugin(order), TestType.DB);
+
+      TestSuite testSuite = new TestSuite("TestSuite-00");
+      TestCase failed = new TestCase("Failed");
+      failed.setTestType(TestType.DB);
+      failed.addTestAction(new RecordingTestAction(1, "test1", order, TestStatus.PASSED));
+      failed.addTestAction(new RecordingTestAction(2, "test2", order, TestStatus.FAILED));
+      failed.addTearDownAction(new RecordingTestAction(3, "tearDown", order, TestStatus.PASSED));
+      testSuite.addTestCase(failed);
+
+      prova.addTestSuite(testSuite, null);
+      prova.execute();
+
+      assertEquals(TestStatus.FAILED, failed.getTestCaseStatus());
+      assertEquals("[test1, test2, failed test2, tearDown]", order.toString());
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * In virtual thread mode all test cases are executed as well. (On a Java
+   * runtime without virtual threads Prova falls back to platform threads.)
+   */
+  @Test
+  public void testExecuteWithVirtualThreads() throws Exception
+  {
+    try
+    {
+      LOGGER.debug("TC: testExecuteWithVirtualThreads");
+
+      Prova prova = new Prova();
+      prova.setProperty(Config.PROVA_THREADS_MODE, Config.PROVA_THREADS_MODE_VIRTUAL);
+
+      TestSuite testSuite = new TestSuite("TestSuite-00");
+      List<String> executed = Collections.synchronizedList(new LinkedList<>());
+
+      for(int i = 0; i < 100; i++)
+      {
+        TestCase testCase = new TestCase("Tc-" + i);
+        testCase.addTestAction(new RecordingTestAction(1, "Tc-" + i, executed, TestStatus.PASSED));
+        testSuite.addTestCase(testCase);
+      }
+
+      prova.addTestSuite(testSuite, null);
+      prova.execute();
+
+      assertEquals(100, executed.size());
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * Only the platform and virtual thread modes are accepted.
+   */
+  @Test
+  public void testExecuteRejectsInvalidThreadsMode() throws Exception
+  {
+    try
+    {
+      Prova prova = new Prova();
+      prova.setProperty(Config.PROVA_THREADS_MODE, "green");
+      prova.execute();
+
+      fail("Invalid threads mode accepted");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Test passed
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * Test cases are executed after the test suites and test cases they depend
+   * on are finished.
+   */
+  @Test
+  public void testExecuteRespectsDependencies() throws Exception
+  {
+    try
+    {
+      LOGGER.debug("TC: testExecuteRespectsDependencies");
+
+      Prova prova = new Prova();
+      prova.setProperty(Config.PROVA_THREADS, "4");
+
+      List<String> executed = Collections.synchronizedList(new LinkedList<>());
+
+      TestSuite fixture = new TestSuite("Fixture");
+      TestSuite tests = new TestSuite("Tests");
+      tests.addDependency("Fixture");
+
+      for(int i = 0; i < 5; i++)
+      {
+        TestCase testCase = new TestCase("Db-" + i);
+        testCase.addTestAction(new RecordingTestAction(1, "Db-" + i, executed, TestStatus.PASSED));
+        fixture.addTestCase(testCase);
+      }
+
+      TestCase last = new TestCase("Web-last");
+      last.addDependency("Web-first");
+      last.addTestAction(new RecordingTestAction(1, "Web-last", executed, TestStatus.PASSED));
+      tests.addTestCase(last);
+
+      TestCase first = new TestCase("Web-first");
+      first.addTestAction(new RecordingTestAction(1, "Web-first", executed, TestStatus.PASSED));
+      tests.addTestCase(first);
+
+      prova.addTestSuite(tests, null);
+      prova.addTestSuite(fixture, null);
+      prova.execute();
+
+      assertEquals(7, executed.size());
+      assertEquals("Web-first", executed.get(5));
+      assertEquals("Web-last", executed.get(6));
+      assertEquals(TestStatus.PASSED, last.getTestCaseStatus());
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * Test cases depending on a failed or blocked test case are blocked.
+   */
+  @Test
+  public void testExecuteBlocksDependentTestCases() throws Exception
+  {
+    try
+    {
+      LOGGER.debug("TC: testExecuteBlocksDependentTestCases");
+
+      Prova prova = new Prova();
+      List<String> executed = Collections.synchronizedList(new LinkedList<>());
+
+      TestSuite testSuite = new TestSuite("TestSuite-00");
+
+      TestCase failed = new TestCase("Failed");
+      failed.addTestAction(new RecordingTestAction(1, "Failed", executed, TestStatus.FAILED));
+      testSuite.addTestCase(failed);
+
+      TestCase blocked = new TestCase("Blocked");
+      blocked.addDependency("Failed");
+      blocked.addTestAction(new RecordingTestAction(1, "Blocked", executed, TestStatus.PASSED));
+      testSuite.addTestCase(blocked);
+
+      TestCase transitive = new TestCase("Transitive");
+      transitive.addDependency("Blocked");
+      transitive.addTestAction(new RecordingTestAction(1, "Transitive", executed, TestStatus.PASSED));
+      testSuite.addTestCase(transitive);
+
+      TestCase independent = new TestCase("Independent");
+      independent.addTestAction(new RecordingTestAction(1, "Independent", executed, TestStatus.PASSED));
+      testSuite.addTestCase(independent);
+
+      prova.addTestSuite(testSuite, null);
+      prova.execute();
+
+      assertEquals(2, executed.size());
+      assertEquals(TestStatus.FAILED, failed.getTestCaseStatus());
+      assertEquals(TestStatus.BLOCKED, blocked.getTestCaseStatus());
+      assertEquals(TestStatus.BLOCKED, transitive.getTestCaseStatus());
+      assertEquals(TestStatus.PASSED, independent.getTestCaseStatus());
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * Circular and unknown dependencies are rejected before any test case is
+   * executed.
+   */
+  @Test
+  public void testExecuteRejectsInvalidDependencies() throws Exception
+  {
+    TestSuite circular = new TestSuite("Circular");
+    TestCase testCase1 = new TestCase("Tc-1");
+    TestCase testCase2 = new TestCase("Tc-2");
+    testCase1.addDependency("Tc-2");
+    testCase2.addDependency("Tc-1");
+    circular.addTestCase(testCase1);
+    circular.addTestCase(testCase2);
+
+    TestSuite unknown = new TestSuite("Unknown");
+    TestCase testCase3 = new TestCase("Tc-3");
+    testCase3.addDependency("Tc-4");
+    unknown.addTestCase(testCase3);
+
+    TestSuite parent = new TestSuite("Parent");
+    TestCase testCase5 = new TestCase("Tc-5");
+    testCase5.addDependency("Parent");
+    parent.addTestCase(testCase5);
+
+    for(TestSuite testSuite : new TestSuite[]{circular, unknown, parent})
+    {
+      try
+      {
+        Prova prova = new Prova();
+        prova.addTestSuite(testSuite, null);
+        prova.execute();
+
+        fail("Invalid dependencies in '" + testSuite.getId() + "' accepted");
+      }
+      catch(InvalidParameterException eX)
+      {
+        // Test passed
+      }
+    }
+
+    assertEquals(TestStatus.NOTRUN, testCase1.getTestCaseStatus());
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * The number of concurrent test cases is limited per test type and per
+   * output plug-in, without holding back test cases of other test types.
+   */
+  @Test
+  public void testExecuteRespectsConcurrencyLimits() throws Exception
+  {
+    try
+    {
+      LOGGER.debug("TC: testExecuteRespectsConcurrencyLimits");
+
+      Prova prova = new Prova();
+      prova.setProperty(Config.PROVA_THREADS, "8");
+      prova.setProperty(Config.PROVA_THREADS_TYPE + ".web", "2");
+      prova.setProperty(Config.PROVA_THREADS_PLUGIN + ".Stub", "1");
+
+      StubOutputPlugin stub = new StubOutputPlugin();
+      prova.addOutputPlugin(stub, TestType.DB);
+      prova.addOutputPlugin(stub, TestType.SOAP);
+
+      TestSuite testSuite = new TestSuite("TestSuite-00");
+      LinkedList<TestCase> testCases = new LinkedList<>();
+      AtomicInteger webRunning = new AtomicInteger();
+      AtomicInteger webMaximum = new AtomicInteger();
+      AtomicInteger stubRunning = new AtomicInteger();
+      AtomicInteger stubMaximum = new AtomicInteger();
+      AtomicInteger shellRunning = new AtomicInteger();
+      AtomicInteger shellMaximum = new AtomicInteger();
+
+      for(int i = 0; i < 24; i++)
+      {
+        TestType testType = TestType.values()[i % 4];
+        TestCase testCase = new TestCase(testType.name() + "-" + i);
+        testCase.setTestType(testType);
+
+        switch(testType)
+        {
+          case WEB:
+            testCase.addTestAction(new ConcurrentTestAction(webRunning, webMaximum));
+            break;
+          case SHELL:
+            testCase.addTestAction(new ConcurrentTestAction(shellRunning, shellMaximum));
+            break;
+          default:
+            testCase.addTestAction(new ConcurrentTestAction(stubRunning, stubMaximum));
+        }
+
+        testSuite.addTestCase(testCase);
+        testCases.add(testCase);
+      }
+
+      prova.addTestSuite(testSuite, null);
+      prova.execute();
+
+      testCases.forEach((testCase) -> assertEquals(TestStatus.PASSED, testCase.getTestCaseStatus()));
+      assertTrue(webMaximum.get() <= 2);
+      assertEquals(1, stubMaximum.get());
+      assertTrue(shellMaximum.get() > 1);
+      assertEquals(12, stub.setUps.get());
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * The actions of test cases read by an input plug-in are loaded just before
+   * the test case is executed and released after it is finished. A test case
+   * that can't be loaded is blocked.
+   */
+  @Test
+  public void testExecuteLoadsTestCasesOnDemand() throws Exception
+  {
+    try
+    {
+      LOGGER.debug("TC: testExecuteLoadsTestCasesOnDemand");
+
+      Prova prova = new Prova();
+      prova.setProperty(Config.PROVA_THREADS, "4");
+
+      List<String> executed = Collections.synchronizedList(new LinkedList<>());
+      StubInputPlugin inputPlugin = new StubInputPlugin(executed);
+
+      TestSuite testSuite = new TestSuite("TestSuite-00");
+      LinkedList<TestCase> testCases = new LinkedList<>();
+
+      for(int i = 0; i < 10; i++)
+      {
+        TestCase testCase = new TestCase("Tc-" + i);
+        testSuite.addTestCase(testCase);
+        testCases.add(testCase);
+      }
+
+      TestCase brokenTestCase = new TestCase("Broken");
+      testSuite.addTestCase(brokenTestCase);
+
+      TestSuite loadedTestSuite = new TestSuite("TestSuite-01");
+      TestCase loadedTestCase = new TestCase("Loaded");
+      loadedTestCase.addTestAction(new RecordingTestAction(1, "Loaded", executed,
+                                                           TestStatus.PASSED));
+      loadedTestSuite.addTestCase(loadedTestCase);
+
+      prova.addTestSuite(testSuite, inputPlugin);
+      prova.addTestSuite(loadedTestSuite, null);
+
+      // Only the headers are known before execution
+      testCases.forEach((testCase) -> assertTrue(testCase.getTestActions().isEmpty()));
+
+      prova.execute();
+
+      assertEquals(11, inputPlugin.loads.get());
+      assertEquals(11, executed.size());
+      assertEquals(TestStatus.BLOCKED, brokenTestCase.getTestCaseStatus());
+      assertEquals(TestStatus.PASSED, loadedTestCase.getTestCaseStatus());
+      assertEquals(1, loadedTestCase.getTestActions().size());
+
+      for(TestCase testCase : testCases)
+      {
+        assertEquals(TestStatus.PASSED, testCase.getTestCaseStatus());
+        assertTrue(testCase.getTestActions().isEmpty());
+      }
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Test of execute method, of class Prova.
+   * The number of worker threads must be a positive number.
+   */
+  @Test
+  public void testExecuteRejectsInvalidNumberOfThreads() throws Exception
+  {
+    Prova prova = new Prova();
+
+    for(String value : new String[]{"0", "-1", "many"})
+    {
+      try
+      {
+        prova.setProperty(Config.PROVA_THREADS, value);
+        prova.execute();
+
+        fail("Invalid number of threads '" + value + "' accepted");
+      }
+      catch(InvalidParameterException eX)
+      {
+        // Test passed
+      }
+    }
+
+    assertTrue(prova.hasProperty(Config.PROVA_THREADS));
   }
 
 
@@ -111,4 +653,260 @@ public class ProvaTest
   {
   }
 
+
+
+  /**
+   * Test action that records its name in the given list when executed
+   */
+  private class RecordingTestAction extends TestAction
+  {
+    private final String name;
+    private final List<String> executed;
+    private final TestStatus result;
+
+
+    protected RecordingTestAction(Integer id, String name, List<String> executed,
+                                  TestStatus result) throws NullPointerException,
+                                                            InvalidParameterException
+    {
+      super(LOGGER, id);
+
+      this.name = name;
+      this.executed = executed;
+      this.result = result;
+    }
+
+
+    @Override
+    public TestStatus execute()
+    {
+      executed.add(name);
+
+      return updateStatus(result);
+    }
+
+
+    @Override
+    public boolean isValid()
+    {
+      return true;
+    }
+
+
+    @Override
+    public String toString()
+    {
+      return name;
+    }
+
+  }
+
+
+  /**
+   * Test action that records the maximum number of concurrent executions
+   */
+  private class ConcurrentTestAction extends TestAction
+  {
+    private final AtomicInteger running;
+    private final AtomicInteger maximum;
+
+
+    protected ConcurrentTestAction(AtomicInteger running, AtomicInteger maximum)
+    {
+      super(LOGGER, 1);
+
+      this.running = running;
+      this.maximum = maximum;
+    }
+
+
+    @Override
+    public TestStatus execute()
+    {
+      maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+      try
+      {
+        Thread.sleep(20);
+      }
+      catch(InterruptedException eX)
+      {
+        return updateStatus(TestStatus.FAILED);
+      }
+      finally
+      {
+        running.decrementAndGet();
+      }
+
+      return updateStatus(TestStatus.PASSED);
+    }
+
+
+    @Override
+    public boolean isValid()
+    {
+      return true;
+    }
+
+
+    @Override
+    public String toString()
+    {
+      return "ConcurrentTestAction";
+    }
+
+  }
+
+
+  /**
+   * Output plug-in that counts the test cases it is set up for and records
+   * the actions it is notified of as failed
+   */
+  private class StubOutputPlugin implements OutputPlugin
+  {
+    private final AtomicInteger setUps = new AtomicInteger();
+    private final List<String> executed;
+
+
+    private StubOutputPlugin()
+    {
+      this(new LinkedList<>());
+    }
+
+
+    private StubOutputPlugin(List<String> executed)
+    {
+      this.executed = executed;
+    }
+
+
+    @Override
+    public void init(TestRunner testRunner) throws Exception
+    {
+    }
+
+
+    @Override
+    public void shutDown()
+    {
+    }
+
+
+    @Override
+    public String getName()
+    {
+      return "Stub";
+    }
+
+
+    @Override
+    public TestType[] getTestType()
+    {
+      return new TestType[]{TestType.DB, TestType.SOAP};
+    }
+
+
+    @Override
+    public void setUp(TestCase testCase)
+    {
+      setUps.incrementAndGet();
+    }
+
+
+    @Override
+    public void testActionFailed(TestCase testCase, TestAction testAction)
+    {
+      executed.add("failed " + testAction);
+    }
+
+
+    @Override
+    public void tearDown(TestCase testCase)
+    {
+    }
+
+
+    @Override
+    public TestAction getTestAction(String actionName) throws InvalidParameterException
+    {
+      throw new InvalidParameterException("No actions available");
+    }
+
+  }
+
+
+  /**
+   * Input plug-in that loads one recording test action per test case. Loading
+   * of test case 'Broken' fails.
+   */
+  private class StubInputPlugin implements InputPlugin
+  {
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<String> executed;
+
+
+    private StubInputPlugin(List<String> executed)
+    {
+      this.executed = executed;
+    }
+
+
+    @Override
+    public void init(TestRunner testRunner) throws Exception
+    {
+    }
+
+
+    @Override
+    public String setTestRoot(String newTestRoot, String projectName) throws IllegalArgumentException
+    {
+      return newTestRoot;
+    }
+
+
+    @Override
+    public String setTestCaseFilter(String[] labels) throws NullPointerException
+    {
+      return "";
+    }
+
+
+    @Override
+    public TestSuite setUp(TestSuite testSuite) throws NullPointerException
+    {
+      return testSuite;
+    }
+
+
+    @Override
+    public TestCase loadTestCase(TestCase testCase) throws NullPointerException
+    {
+      loads.incrementAndGet();
+
+      if(testCase.getId().equals("Broken"))
+      {
+        throw new IllegalStateException("Test script of '" + testCase.getId() + "' not found");
+      }
+
+      testCase.addTestAction(new RecordingTestAction(1, testCase.getId(), executed,
+                                                     TestStatus.PASSED));
+
+      return testCase;
+    }
+
+
+    @Override
+    public void shutDown()
+    {
+    }
+
+
+    @Override
+    public String getName()
+    {
+      return "StubInput";
+    }
+
+  }
+
 }
@@ -0,0 +1,128 @@
+/**
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date: 18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+
+package nl.dictu.prova.framework;
+
+import nl.dictu.prova.GlobalSetup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+
+/**
+ * Tests of the compact map for attributes and return variables of test
+ * actions.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class CompactStringMapTest
+{
+  private final static Logger LOGGER = LogManager.getLogger(CompactStringMapTest.class.getName());
+
+
+  /**
+   * One-time initialization code
+   */
+  @BeforeClass
+  public static void setUpClass()
+  {
+    GlobalSetup.configure();
+  }
+
+
+  /**
+   * Values can be added, updated and retrieved, also when the map has to grow.
+   */
+  @Test
+  public void testThatValuesCanBeAddedAndUpdated()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatValuesCanBeAddedAndUpdated");
+
+      CompactStringMap map = new CompactStringMap();
+      assertEquals(0, map.size());
+      assertFalse(map.containsKey("key-0"));
+      assertFalse(map.containsKey(null));
+      assertNull(map.get("key-0"));
+
+      for(int i = 0; i < 10; i++)
+      {
+        map.put("key-" + i, "value-" + i);
+      }
+
+      map.put("key-3", "updated");
+
+      assertEquals(10, map.size());
+
+      for(int i = 0; i < 10; i++)
+      {
+        // Use a new (not interned) key instance for the lookup
+        String key = new String("key-" + i);
+
+        assertTrue(map.containsKey(key));
+        assertEquals(i == 3 ? "updated" : "value-" + i, map.get(key));
+      }
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * The map can be converted to properties. Changes in the properties don't
+   * affect the map.
+   */
+  @Test
+  public void testThatMapCanBeConvertedToProperties()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatMapCanBeConvertedToProperties");
+
+      CompactStringMap map = new CompactStringMap();
+      map.put("abc", "def");
+      map.put("ghi", "jkl");
+
+      Properties properties = map.toProperties();
+      assertEquals(2, properties.size());
+      assertEquals("def", properties.getProperty("abc"));
+      assertEquals("jkl", properties.getProperty("ghi"));
+
+      properties.setProperty("mno", "pqr");
+      assertFalse(map.containsKey("mno"));
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+}
@@ -322,6 +322,43 @@ public class TestActionTest
   }
 
 
+  /**
+   * PROVA-12: Structure to handle test suites, cases and actions
+   * Requirement:
+   * Each test action has a test status.
+   * A final test action status is never changed afterwards.
+   */
+  @Test
+  public void testThatTestActionStatusIsKeptOnceFinal()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestActionStatusIsKeptOnceFinal");
+
+      AbstractTestAction testAction = new AbstractTestAction(LOGGER);
+
+      assertTrue(testAction.updateStatus(TestStatus.PASSED) == TestStatus.PASSED);
+      assertTrue(testAction.updateStatus(TestStatus.FAILED) == TestStatus.PASSED);
+      assertTrue(testAction.getStatus() == TestStatus.PASSED);
+
+      testAction.updateStatus(TestStatus.NOTRUN);
+
+      fail("Test action status can't be set back to 'not run'");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Test passed
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+      
+      fail("Unexpected exception " + eX.getMessage());
+    }
+  }
+
+
   /**
    * PROVA-12: Structure to handle test suites, cases and actions
    * Requirement:
@@ -1095,6 +1132,50 @@ public class TestActionTest
   }
 
 
+  /**
+   * A test action can be completed only once, from the state 'NotRun'.
+   */
+  @Test
+  public void testThatTestActionStatusCanBeCompletedOnlyOnce()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestActionStatusCanBeCompletedOnlyOnce");
+
+      AbstractTestAction testAction = new AbstractTestAction(LOGGER);
+
+      for(TestStatus testStatus : new TestStatus[]{null, TestStatus.NOTRUN})
+      {
+        try
+        {
+          testAction.completeStatus(testStatus);
+
+          fail("Final test status '" + testStatus + "' accepted");
+        }
+        catch(InvalidParameterException eX)
+        {
+          // Test passed
+        }
+      }
+
+      assertTrue(testAction.getStatus() == TestStatus.NOTRUN);
+      assertTrue(testAction.completeStatus(TestStatus.FAILED));
+      assertTrue(testAction.getStatus() == TestStatus.FAILED);
+
+      assertFalse(testAction.completeStatus(TestStatus.PASSED));
+      assertFalse(testAction.completeStatus(TestStatus.BLOCKED));
+      assertTrue(testAction.getStatus() == TestStatus.FAILED);
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+      
+      fail("Unexpected exception " + eX.getMessage());
+    }
+  }
+
+
   /**
    * Basic implementation of abstract class TestAction to be able to run tests
    * 
@@ -20,15 +20,22 @@
 package nl.dictu.prova.framework;
 
 import nl.dictu.prova.GlobalSetup;
+import nl.dictu.prova.TestType;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.security.InvalidParameterException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -239,33 +246,24 @@ public class TestCaseTest
    * PROVA-12: Structure to handle test suites, cases and actions
    * Requirement:
    * Each test case has a test status.
-   * Validate that a test case can be updated to 'blocked'.
+   * Validate that a test case can be updated to 'blocked' once; a final status
+   * is never changed afterwards.
    */
   @Test
-  public void testThatTestCaseStatusCanBeSetToBlockedFromAnyState()
+  public void testThatTestCaseStatusCanBeSetToBlockedOnlyOnce()
   {
     try
     {
-      LOGGER.debug("TC: testThatTestCaseStatusCanBeSetToBlockedFromAnyState");
+      LOGGER.debug("TC: testThatTestCaseStatusCanBeSetToBlockedOnlyOnce");
       
       TestCase testCase = new TestCase("tc");
       assertTrue(testCase.getTestCaseStatus() == TestStatus.NOTRUN);
 
-      testCase.updateTestCaseStatus(TestStatus.BLOCKED);
+      assertTrue(testCase.updateTestCaseStatus(TestStatus.BLOCKED) == TestStatus.BLOCKED);
       assertTrue(testCase.getTestCaseStatus() == TestStatus.BLOCKED);
-      
-      
-      testCase.updateTestCaseStatus(TestStatus.FAILED);
-      assertTrue(testCase.getTestCaseStatus() == TestStatus.FAILED);
-
-      testCase.updateTestCaseStatus(TestStatus.BLOCKED);
-      assertTrue(testCase.getTestCaseStatus() == TestStatus.BLOCKED);
-      
-
-      testCase.updateTestCaseStatus(TestStatus.PASSED);
-      assertTrue(testCase.getTestCaseStatus() == TestStatus.PASSED);
 
-      testCase.updateTestCaseStatus(TestStatus.BLOCKED);
+      assertTrue(testCase.updateTestCaseStatus(TestStatus.FAILED) == TestStatus.BLOCKED);
+      assertTrue(testCase.updateTestCaseStatus(TestStatus.PASSED) == TestStatus.BLOCKED);
       assertTrue(testCase.getTestCaseStatus() == TestStatus.BLOCKED);
     }
     catch(Exception eX)
@@ -282,33 +280,24 @@ public class TestCaseTest
    * PROVA-12: Structure to handle test suites, cases and actions
    * Requirement:
    * Each test case has a test status.
-   * Validate that a test case can be updated to 'failed'.
+   * Validate that a test case can be updated to 'failed' once; a final status
+   * is never changed afterwards.
    */
   @Test
-  public void testThatTestCaseStatusCanBeSetToFailedFromAnyState()
+  public void testThatTestCaseStatusCanBeSetToFailedOnlyOnce()
   {
     try
     {
-      LOGGER.debug("TC: testThatTestCaseStatusCanBeSetToFailedFromAnyState");
+      LOGGER.debug("TC: testThatTestCaseStatusCanBeSetToFailedOnlyOnce");
       
       TestCase testCase = new TestCase("tc");
       assertTrue(testCase.getTestCaseStatus() == TestStatus.NOTRUN);
-      
-      testCase.updateTestCaseStatus(TestStatus.FAILED);
-      assertTrue(testCase.getTestCaseStatus() == TestStatus.FAILED);
 
-      
-      testCase.updateTestCaseStatus(TestStatus.BLOCKED);
-      assertTrue(testCase.getTestCaseStatus() == TestStatus.BLOCKED);
-      
-      testCase.updateTestCaseStatus(TestStatus.FAILED);
+      assertTrue(testCase.updateTestCaseStatus(TestStatus.FAILED) == TestStatus.FAILED);
       assertTrue(testCase.getTestCaseStatus() == TestStatus.FAILED);
-      
-
-      testCase.updateTestCaseStatus(TestStatus.PASSED);
-      assertTrue(testCase.getTestCaseStatus() == TestStatus.PASSED);
 
-      testCase.updateTestCaseStatus(TestStatus.FAILED);
+      assertTrue(testCase.updateTestCaseStatus(TestStatus.BLOCKED) == TestStatus.FAILED);
+      assertTrue(testCase.updateTestCaseStatus(TestStatus.PASSED) == TestStatus.FAILED);
       assertTrue(testCase.getTestCaseStatus() == TestStatus.FAILED);
     }
     catch(Exception eX)
@@ -325,33 +314,24 @@ public class TestCaseTest
    * PROVA-12: Structure to handle test suites, cases and actions
    * Requirement:
    * Each test case has a test status.
-   * Validate that a test case can be updated to 'passed'.
+   * Validate that a test case can be updated to 'passed' once; a final status
+   * is never changed afterwards.
    */
   @Test
-  public void testThatTestCaseStatusCanBeSetToPassedFromAnyState()
+  public void testThatTestCaseStatusCanBeSetToPassedOnlyOnce()
   {
     try
     {
-      LOGGER.debug("TC: testThatTestCaseStatusCanBeSetToPassedFromAnyState");
+      LOGGER.debug("TC: testThatTestCaseStatusCanBeSetToPassedOnlyOnce");
       
       TestCase testCase = new TestCase("tc");
       assertTrue(testCase.getTestCaseStatus() == TestStatus.NOTRUN);
-      
-      testCase.updateTestCaseStatus(TestStatus.PASSED);
-      assertTrue(testCase.getTestCaseStatus() == TestStatus.PASSED);
 
-      
-      testCase.updateTestCaseStatus(TestStatus.BLOCKED);
-      assertTrue(testCase.getTestCaseStatus() == TestStatus.BLOCKED);
-      
-      testCase.updateTestCaseStatus(TestStatus.PASSED);
+      assertTrue(testCase.updateTestCaseStatus(TestStatus.PASSED) == TestStatus.PASSED);
       assertTrue(testCase.getTestCaseStatus() == TestStatus.PASSED);
-      
 
-      testCase.updateTestCaseStatus(TestStatus.FAILED);
-      assertTrue(testCase.getTestCaseStatus() == TestStatus.FAILED);
-      
-      testCase.updateTestCaseStatus(TestStatus.PASSED);
+      assertTrue(testCase.updateTestCaseStatus(TestStatus.BLOCKED) == TestStatus.PASSED);
+      assertTrue(testCase.updateTestCaseStatus(TestStatus.FAILED) == TestStatus.PASSED);
       assertTrue(testCase.getTestCaseStatus() == TestStatus.PASSED);
     }
     catch(Exception eX)
@@ -398,6 +378,23 @@ public class TestCaseTest
   }
 
 
+  /**
+   * PROVA-12: Structure to handle test suites, cases and actions
+   * Requirement:
+   * Each test case has a test status.
+   * Validate that a test case can not be updated back to 'not run'.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testThatTestCaseStatusCantBeSetToNotRun()
+  {
+    LOGGER.debug("TC: testThatTestCaseStatusCantBeSetToNotRun");
+
+    TestCase testCase = new TestCase("tc");
+    testCase.updateTestCaseStatus(TestStatus.PASSED);
+    testCase.updateTestCaseStatus(TestStatus.NOTRUN);
+  }
+
+
   /**
    * PROVA-12: Structure to handle test suites, cases and actions
    * Requirement:
@@ -902,6 +899,41 @@ public class TestCaseTest
   }
 
 
+  /**
+   * Test cases can share one map of headers. A changed header is only
+   * changed in the test case itself.
+   */
+  @Test
+  public void testThatSharedHeadersAreCopiedWhenChanged()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatSharedHeadersAreCopiedWhenChanged");
+
+      Map<String, String> headers = new HashMap<>();
+      headers.put("abc", "def");
+
+      TestCase first = new TestCase("tc-1");
+      TestCase second = new TestCase("tc-2");
+      first.shareHeaders(Collections.unmodifiableMap(headers));
+      second.shareHeaders(Collections.unmodifiableMap(headers));
+
+      first.setHeader("abc", "ghi");
+
+      assertEquals("ghi", first.getHeader("abc"));
+      assertEquals("def", second.getHeader("abc"));
+      assertEquals("def", headers.get("abc"));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail("Unexpected exception " + eX.getMessage());
+    }
+  }
+
+
   /**
    * PROVA-12: Structure to handle test suites, cases and actions
    * Requirement:
@@ -1346,6 +1378,277 @@ public class TestCaseTest
   }
 
 
+  /**
+   * The test type of a test case is not set by default and can't be set to
+   * 'null'.
+   */
+  @Test
+  public void testThatTestTypeCanBeSetOnATestCase()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestTypeCanBeSetOnATestCase");
+
+      TestCase testCase = new TestCase("Web-00");
+      assertTrue(testCase.getTestType() == null);
+
+      testCase.setTestType(TestType.WEB);
+      assertTrue(testCase.getTestType() == TestType.WEB);
+
+      try
+      {
+        testCase.setTestType(null);
+
+        fail("Test type 'null' accepted");
+      }
+      catch(InvalidParameterException eX)
+      {
+        // Test passed
+      }
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * A test case can depend on other test suites and test cases, but not on
+   * itself or on an empty id.
+   */
+  @Test
+  public void testThatDependenciesCanBeAddedToATestCase()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatDependenciesCanBeAddedToATestCase");
+
+      TestCase testCase = new TestCase("Dependent");
+      testCase.addDependency("TestSuite-00");
+      testCase.addDependency(" Shl-00 ");
+
+      assertTrue(testCase.getDependencies().size() == 2);
+      assertTrue(testCase.getDependencies().contains("Shl-00"));
+
+      for(String id : new String[]{null, "", " ", "Dependent"})
+      {
+        try
+        {
+          testCase.addDependency(id);
+
+          fail("Invalid dependency '" + id + "' accepted");
+        }
+        catch(InvalidParameterException eX)
+        {
+          // Test passed
+        }
+      }
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * A test case can be completed only once. Concurrent attempts to complete
+   * the test case result in exactly one final status which is also counted
+   * once by the parent test suite.
+   */
+  @Test
+  public void testThatTestCaseStatusCanBeCompletedOnlyOnce()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestCaseStatusCanBeCompletedOnlyOnce");
+
+      for(TestStatus testStatus : new TestStatus[]{null, TestStatus.NOTRUN})
+      {
+        try
+        {
+          new TestCase("tc").completeTestCaseStatus(testStatus);
+
+          fail("Final test status '" + testStatus + "' accepted");
+        }
+        catch(InvalidParameterException eX)
+        {
+          // Test passed
+        }
+      }
+
+      TestStatus[] finalStates = new TestStatus[]{TestStatus.PASSED, TestStatus.FAILED,
+                                                  TestStatus.BLOCKED};
+
+      for(int i = 0; i < 50; i++)
+      {
+        TestSuite testSuite = new TestSuite("ts");
+        TestCase testCase = new TestCase("tc");
+        testSuite.addTestCase(testCase);
+
+        AtomicInteger completed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[finalStates.length * 2];
+
+        for(int t = 0; t < threads.length; t++)
+        {
+          TestStatus testStatus = finalStates[t % finalStates.length];
+
+          threads[t] = new Thread(() ->
+          {
+            try
+            {
+              start.await();
+
+              if(testCase.completeTestCaseStatus(testStatus))
+              {
+                completed.incrementAndGet();
+              }
+            }
+            catch(InterruptedException eX)
+            {
+              Thread.currentThread().interrupt();
+            }
+          });
+          threads[t].start();
+        }
+
+        start.countDown();
+
+        for(Thread thread : threads)
+        {
+          thread.join();
+        }
+
+        TestStatus testStatus = testCase.getTestCaseStatus();
+
+        assertTrue(completed.get() == 1);
+        assertTrue(testStatus != TestStatus.NOTRUN);
+        assertTrue(testSuite.numberOfTestCases(testStatus) == 1);
+        assertTrue(testSuite.numberOfTestCases(TestStatus.NOTRUN) == 0);
+
+        assertFalse(testCase.completeTestCaseStatus(TestStatus.PASSED));
+        assertTrue(testCase.getTestCaseStatus() == testStatus);
+      }
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Releasing a test case removes its actions and variables, but keeps the id,
+   * headers and status.
+   */
+  @Test
+  public void testThatTestActionsCanBeReleased()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestActionsCanBeReleased");
+
+      TestCase testCase = new TestCase("tc");
+      testCase.setHeader("Label", "smoke");
+      testCase.setVariable("abc", "def");
+      testCase.addSetUpAction(new AbstractTestAction(LOGGER, 1));
+      testCase.addTestAction(new AbstractTestAction(LOGGER, 2));
+      testCase.addTearDownAction(new AbstractTestAction(LOGGER, 3));
+      testCase.completeTestCaseStatus(TestStatus.PASSED);
+      LinkedList<TestAction> testActions = testCase.getTestActions();
+
+      testCase.releaseTestActions();
+
+      // Lists returned before are copies and keep their actions
+      assertTrue(testActions.size() == 1);
+      assertTrue(testCase.getSetUpActions().isEmpty());
+      assertTrue(testCase.getTestActions().isEmpty());
+      assertTrue(testCase.getTearDownActions().isEmpty());
+      assertFalse(testCase.hasVariable("abc"));
+      assertTrue(testCase.getHeader("Label").equals("smoke"));
+      assertTrue(testCase.getTestCaseStatus() == TestStatus.PASSED);
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Variables that are not set in a test case are resolved against the row of
+   * the variable store it is bound to. Variables of the test case itself take
+   * precedence.
+   */
+  @Test
+  public void testThatVariablesAreResolvedAgainstTheBoundVariableStore()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatVariablesAreResolvedAgainstTheBoundVariableStore");
+
+      VariableStore variableStore = new VariableStore()
+      {
+        @Override
+        public int numberOfRows()
+        {
+          return 2;
+        }
+
+
+        @Override
+        public String getVariable(int row, String key)
+        {
+          return "user".equals(key) ? "user" + row : null;
+        }
+      };
+
+      TestCase testCase = new TestCase("tc");
+      testCase.setVariableStore(variableStore, 1);
+
+      assertTrue(testCase.hasVariable("user"));
+      assertTrue(testCase.getVariable("user").equals("user1"));
+      assertFalse(testCase.hasVariable("password"));
+
+      testCase.setVariable("user", "admin");
+
+      assertTrue(testCase.getVariable("user").equals("admin"));
+    }
+    catch(Exception eX)
+    {
+      fail("Unexpected exception " + eX.getMessage());
+    }
+  }
+
+
+  /**
+   * A test case can not be bound to a row outside the variable store.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testThatTestCasesCanNotBeBoundToAnInvalidRow()
+  {
+    LOGGER.debug("TC: testThatTestCasesCanNotBeBoundToAnInvalidRow");
+
+    new TestCase("tc").setVariableStore(new VariableStore()
+    {
+      @Override
+      public int numberOfRows()
+      {
+        return 1;
+      }
+
+
+      @Override
+      public String getVariable(int row, String key)
+      {
+        return null;
+      }
+    }, 1);
+  }
+
+
   /**
    * Basic implementation of abstract class TestAction to be able to run tests
    * 
@@ -34,6 +34,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -1303,6 +1304,509 @@ public class TestSuiteTest
     {
       fail(eX.getMessage());
     }
-  } 
+  }
+
+
+  /**
+   * A test suite can depend on other test suites and test cases, but not on
+   * itself or on an empty id.
+   */
+  @Test
+  public void testThatDependenciesCanBeAddedToATestSuite()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatDependenciesCanBeAddedToATestSuite");
+
+      TestSuite testSuite = new TestSuite("Dependent");
+      testSuite.addDependency("TestSuite-00");
+      testSuite.addDependency(" Shl-00 ");
+      testSuite.addDependency("TestSuite-00");
+
+      assertEquals(2, testSuite.getDependencies().size());
+      assertTrue(testSuite.getDependencies().contains("Shl-00"));
+
+      for(String id : new String[]{null, "", " ", "Dependent"})
+      {
+        try
+        {
+          testSuite.addDependency(id);
+
+          fail("Invalid dependency '" + id + "' accepted");
+        }
+        catch(InvalidParameterException eX)
+        {
+          // Test passed
+        }
+      }
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * A test suite can retrieve (sub-) test suites and test cases from the
+   * whole structure below it.
+   */
+  @Test
+  public void testThatTestSuitesAndTestCasesCanBeRetrievedFromSubTestSuites()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestSuitesAndTestCasesCanBeRetrievedFromSubTestSuites");
+
+      assertNull(testRoot.getTestSuite("TestSuite-01-02-01", false));
+      assertEquals("TestSuite-01-02-01", testRoot.getTestSuite("TestSuite-01-02-01", true).getId());
+      assertEquals("Web-01-02-01-01", testRoot.getTestCase("Web-01-02-01-01", true).getId());
+      assertNull(testRoot.getTestCase("Web-01-02-01-01", false));
+      assertNull(childTestSuite.getTestCase("Web-00", true));
+      assertNull(testRoot.getTestCase("Web-99", true));
+    }
+    catch(Exception eX)
+    {
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * A test suite moved to another parent is removed from the old structure
+   * and added to the new structure, including its sub-test suites and test
+   * cases.
+   */
+  @Test
+  public void testThatTestSuiteCanBeMovedToAnotherParent()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestSuiteCanBeMovedToAnotherParent");
+
+      TestSuite oldRoot = new TestSuite("oldRoot");
+      TestSuite oldParent = new TestSuite("oldParent");
+      TestSuite newRoot = new TestSuite("newRoot");
+      TestSuite child = new TestSuite("child");
+      TestSuite grandChild = new TestSuite("grandChild");
+
+      oldRoot.addTestSuite(oldParent);
+      oldParent.addTestSuite(child);
+      child.addTestSuite(grandChild);
+      grandChild.addTestCase(new TestCase("Web-00"));
+
+      assertTrue(oldRoot.hasTestSuite("grandChild", true));
+      assertTrue(oldRoot.hasTestCase("Web-00", true));
+
+      newRoot.addTestSuite(child);
+
+      assertTrue(child.getParent() == newRoot);
+      assertFalse(oldParent.hasTestSuite("child"));
+      assertFalse(oldRoot.hasTestSuite("grandChild", true));
+      assertFalse(oldRoot.hasTestCase("Web-00", true));
+      assertTrue(newRoot.hasTestSuite("grandChild", true));
+      assertTrue(newRoot.hasTestCase("Web-00", true));
+
+      grandChild.addTestCase(new TestCase("Web-01"));
+
+      assertTrue(newRoot.hasTestCase("Web-01", true));
+      assertFalse(oldRoot.hasTestCase("Web-01", true));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Test suites in the structure below an added test suite must be unique in
+   * the structure as well.
+   */
+  @Test
+  public void testThatSubTestSuitesOfAddedTestSuiteHaveUniqueId()
+  {
+    TestSuite root = new TestSuite("root");
+
+    try
+    {
+      LOGGER.debug("TC: testThatSubTestSuitesOfAddedTestSuiteHaveUniqueId");
+
+      root.addTestSuite(new TestSuite("qwerty"));
+
+      TestSuite testSuite = new TestSuite("azerty");
+      testSuite.addTestSuite(new TestSuite("qwerty"));
+
+      root.addTestSuite(testSuite);
+
+      fail("Adding a test suite with an already existing ID is not allowed.");
+    }
+    catch(InvalidParameterException eX)
+    {
+      assertFalse(root.hasTestSuite("azerty", true));
+    }
+  }
+
+
+  /**
+   * The number of test cases per test status of a test suite includes all
+   * sub-test suites and is updated when the status of a test case changes.
+   */
+  @Test
+  public void testThatTestCasesAreCountedPerTestStatus()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestCasesAreCountedPerTestStatus");
+
+      TestSuite root = new TestSuite("root");
+      TestSuite child = new TestSuite("child");
+      TestSuite other = new TestSuite("other");
+      root.addTestSuite(child);
+
+      TestCase testCase1 = new TestCase("Tc-1");
+      TestCase testCase2 = new TestCase("Tc-2");
+      TestCase testCase3 = new TestCase("Tc-3");
+      root.addTestCase(testCase1);
+      child.addTestCase(testCase2);
+      child.addTestCase(testCase3);
+
+      assertEquals(3, root.numberOfTestCases(TestStatus.NOTRUN));
+      assertEquals(2, child.numberOfTestCases(TestStatus.NOTRUN));
+
+      testCase2.updateTestCaseStatus(TestStatus.PASSED);
+      testCase3.updateTestCaseStatus(TestStatus.FAILED);
+
+      assertEquals(1, root.numberOfTestCases(TestStatus.NOTRUN));
+      assertEquals(1, root.numberOfTestCases(TestStatus.PASSED));
+      assertEquals(1, root.numberOfTestCases(TestStatus.FAILED));
+      assertEquals(0, root.numberOfTestCases(TestStatus.BLOCKED));
+      assertEquals(0, child.numberOfTestCases(TestStatus.NOTRUN));
+
+      other.addTestSuite(child);
+
+      assertEquals(1, root.numberOfTestCases(true));
+      assertEquals(0, root.numberOfTestCases(TestStatus.PASSED));
+      assertEquals(0, root.numberOfTestSuites(true));
+      assertEquals(2, other.numberOfTestCases(true));
+      assertEquals(1, other.numberOfTestCases(TestStatus.PASSED));
+      assertEquals(1, other.numberOfTestSuites(true));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * The test status counters stay consistent when test cases are updated by
+   * multiple threads at the same time.
+   */
+  @Test
+  public void testThatTestStatusCountersAreThreadSafe()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestStatusCountersAreThreadSafe");
+
+      TestSuite root = new TestSuite("root");
+      LinkedList<TestCase> testCases = new LinkedList<>();
+
+      for(int i = 0; i < 4; i++)
+      {
+        TestSuite child = new TestSuite("child-" + i);
+        root.addTestSuite(child);
+
+        for(int j = 0; j < 250; j++)
+        {
+          TestCase testCase = new TestCase("Tc-" + i + "-" + j);
+          child.addTestCase(testCase);
+          testCases.add(testCase);
+        }
+      }
+
+      testCases.parallelStream().forEach((testCase) -> {
+        testCase.updateTestCaseStatus(TestStatus.BLOCKED);
+        testCase.updateTestCaseStatus(TestStatus.PASSED);
+      });
+
+      // The first final status is kept
+      assertEquals(1000, root.numberOfTestCases(TestStatus.BLOCKED));
+      assertEquals(0, root.numberOfTestCases(TestStatus.PASSED));
+      assertEquals(0, root.numberOfTestCases(TestStatus.NOTRUN));
+      assertEquals(250, root.getTestSuite("child-2").numberOfTestCases(TestStatus.BLOCKED));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * A test case can be replaced by a new test case with the same id; the
+   * order of the test cases and the counters of the parents are updated.
+   */
+  @Test
+  public void testThatTestCaseCanBeReplaced()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestCaseCanBeReplaced");
+
+      TestSuite root = new TestSuite("root");
+      TestSuite child = new TestSuite("child");
+      root.addTestSuite(child);
+
+      TestCase first = new TestCase("Tc-1");
+      TestCase second = new TestCase("Tc-2");
+      child.addTestCase(first);
+      child.addTestCase(second);
+      first.updateTestCaseStatus(TestStatus.FAILED);
+
+      TestCase replacement = new TestCase("Tc-1");
+
+      assertEquals(first, child.replaceTestCase(replacement));
+      assertNull(first.getParent());
+      assertEquals(child, replacement.getParent());
+      assertEquals("[Tc-1, Tc-2]", child.getTestCases().keySet().toString());
+      assertEquals(replacement, child.getTestCases().get("Tc-1"));
+      assertEquals(replacement, root.getTestCase("Tc-1", true));
+      assertEquals(2, root.numberOfTestCases(true));
+      assertEquals(0, root.numberOfTestCases(TestStatus.FAILED));
+      assertEquals(2, root.numberOfTestCases(TestStatus.NOTRUN));
+
+      // The old test case no longer updates the counters
+      assertEquals(second, child.replaceTestCase(new TestCase("Tc-2")));
+      second.updateTestCaseStatus(TestStatus.PASSED);
+      assertEquals(0, root.numberOfTestCases(TestStatus.PASSED));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Only an existing test case can be replaced
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testThatUnknownTestCaseCanNotBeReplaced()
+  {
+    LOGGER.debug("TC: testThatUnknownTestCaseCanNotBeReplaced");
+
+    new TestSuite("root").replaceTestCase(new TestCase("Tc-1"));
+  }
+
+
+  /**
+   * A test case id is unique in the whole structure, so a sibling test suite
+   * can't hide a test case from the index of the parents
+   */
+  @Test
+  public void testThatTestCaseIdIsUniqueInStructure()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestCaseIdIsUniqueInStructure");
+
+      TestSuite root = new TestSuite("root");
+      TestSuite first = new TestSuite("first");
+      TestSuite second = new TestSuite("second");
+      root.addTestSuite(first);
+      root.addTestSuite(second);
+      first.addTestCase(new TestCase("Tc-1"));
+
+      try
+      {
+        second.addTestCase(new TestCase("Tc-1"));
+        fail("Test case 'Tc-1' is already a member of the structure");
+      }
+      catch(InvalidParameterException eX)
+      {
+        // Expected
+      }
+
+      TestSuite other = new TestSuite("other");
+      other.addTestCase(new TestCase("Tc-1"));
+
+      try
+      {
+        second.addTestSuite(other);
+        fail("Test case 'Tc-1' of 'other' is already a member of the structure");
+      }
+      catch(InvalidParameterException eX)
+      {
+        // Expected
+      }
+
+      assertEquals(1, root.numberOfTestCases(true));
+      assertFalse(root.hasTestSuite("other", true));
+
+      first.removeTestCase("Tc-1");
+      second.addTestCase(new TestCase("Tc-1"));
+      assertEquals(second, root.getTestCase("Tc-1", true).getParent());
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * A test case can be removed from a test suite
+   */
+  @Test
+  public void testThatTestCaseCanBeRemoved()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestCaseCanBeRemoved");
+
+      TestSuite root = new TestSuite("root");
+      TestSuite child = new TestSuite("child");
+      root.addTestSuite(child);
+
+      TestCase testCase = new TestCase("Tc-1");
+      child.addTestCase(testCase);
+      child.addTestCase(new TestCase("Tc-2"));
+      testCase.updateTestCaseStatus(TestStatus.PASSED);
+
+      assertEquals(testCase, child.removeTestCase("Tc-1"));
+      assertNull(child.removeTestCase("Tc-1"));
+      assertNull(testCase.getParent());
+      assertFalse(root.hasTestCase("Tc-1", true));
+      assertEquals(1, root.numberOfTestCases(true));
+      assertEquals(1, child.numberOfTestCases());
+      assertEquals(0, root.numberOfTestCases(TestStatus.PASSED));
+      assertEquals(1, root.numberOfTestCases(TestStatus.NOTRUN));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+  /**
+   * A test suite can be removed from its parent
+   */
+  @Test
+  public void testThatTestSuiteCanBeRemoved()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatTestSuiteCanBeRemoved");
+
+      TestSuite root = new TestSuite("root");
+      TestSuite child = new TestSuite("child");
+      TestSuite grandChild = new TestSuite("grandChild");
+      root.addTestSuite(child);
+      child.addTestSuite(grandChild);
+      root.addTestCase(new TestCase("Tc-1"));
+      grandChild.addTestCase(new TestCase("Tc-2"));
+
+      assertEquals(child, root.removeTestSuite("child"));
+      assertNull(root.removeTestSuite("child"));
+      assertNull(child.getParent());
+      assertFalse(root.hasTestSuite("child", true));
+      assertFalse(root.hasTestSuite("grandChild", true));
+      assertFalse(root.hasTestCase("Tc-2", true));
+      assertEquals(1, root.numberOfTestCases(true));
+      assertEquals(1, root.numberOfTestCases(TestStatus.NOTRUN));
+
+      root.addTestSuite(child);
+      assertTrue(root.hasTestCase("Tc-2", true));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
+
+
+
+  /**
+   * The index can be read by other threads while the structure is changed
+   */
+  @Test
+  public void testThatIndexCanBeReadWhileChanged()
+  {
+    try
+    {
+      LOGGER.debug("TC: testThatIndexCanBeReadWhileChanged");
+
+      TestSuite root = new TestSuite("root");
+      TestSuite child = new TestSuite("child");
+      root.addTestSuite(child);
+
+      AtomicInteger found = new AtomicInteger();
+      AtomicInteger errors = new AtomicInteger();
+      Thread reader = new Thread(() ->
+      {
+        try
+        {
+          for(int i = 0; i < 5000; i++)
+          {
+            if(root.hasTestCase("Tc-" + i, true) && root.getTestCase("Tc-" + i, true) != null)
+            {
+              found.incrementAndGet();
+            }
+          }
+        }
+        catch(RuntimeException eX)
+        {
+          errors.incrementAndGet();
+        }
+      });
+
+      reader.start();
+
+      for(int i = 0; i < 5000; i++)
+      {
+        child.addTestCase(new TestCase("Tc-" + i));
+      }
+
+      reader.join();
+
+      assertEquals(0, errors.get());
+      assertEquals(5000, root.numberOfTestCases(true));
+      assertFalse(root.hasTestCase(null, true));
+      assertNull(root.getTestCase(null, true));
+      assertFalse(root.hasTestSuite(null, true));
+      assertNull(root.getTestSuite(null, true));
+    }
+    catch(Exception eX)
+    {
+      if(LOGGER.isErrorEnabled())
+        eX.printStackTrace();
+
+      fail(eX.getMessage());
+    }
+  }
 
 }
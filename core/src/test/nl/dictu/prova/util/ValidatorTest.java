@@ -19,6 +19,8 @@
  */
 package nl.dictu.prova.util;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -76,9 +78,18 @@ public class ValidatorTest
    * Test of isValidXpath method, of class Validator.
    */
   @Test
-  @Ignore
   public void testIsValidXpath()
   {
+    assertTrue(Validator.isValidXpath("//input[@id='username']"));
+    assertTrue(Validator.isValidXpath("//div[contains(@class, 'menu')]/a[2]"));
+    assertTrue(Validator.isValidXpath("id('main')//button"));
+    assertTrue(Validator.isValidXpath("//input[@id='username']"));
+
+    assertFalse(Validator.isValidXpath(null));
+    assertFalse(Validator.isValidXpath(" "));
+    assertFalse(Validator.isValidXpath("//input[@id='username'"));
+    assertFalse(Validator.isValidXpath("//div[contains(@class, 'menu')"));
+    assertFalse(Validator.isValidXpath("//input[@id='username'"));
   }
 
 }
@@ -0,0 +1,42 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.flatfile;
+
+/**
+ * Configuration options of the flat file input plug-in
+ *
+ * @author Sjoerd Boerhout
+ */
+public class Config extends nl.dictu.prova.Config
+{
+
+  /*
+   * Number of threads to scan the test root and parse the files with
+   * (default: number of available processors)
+   */
+  public final static String PROVA_PLUGINS_INPUT_FLATFILE_THREADS = "prova.plugins.input.flatfile.threads";
+
+  /*
+   * Directory for the cache of parsed files and the label index, for example
+   * '<prova.root.path>/cache/flatfile'. No cache is used when it is not set.
+   */
+  public final static String PROVA_PLUGINS_INPUT_FLATFILE_CACHE_DIR = "prova.plugins.input.flatfile.cache.dir";
+
+}
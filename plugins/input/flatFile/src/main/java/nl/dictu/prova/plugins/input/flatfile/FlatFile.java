@@ -0,0 +1,248 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.flatfile;
+
+import java.io.File;
+import java.security.InvalidParameterException;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.InputPlugin;
+import nl.dictu.prova.plugins.input.flatfile.util.FlatFileReader;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestCaseBuilder;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestDataBuilder;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestSuiteBuilder;
+import nl.dictu.prova.plugins.input.msexcel.util.LabelFilter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Input plug-in for test cases in CSV and line-delimited JSON files. Each file
+ * has the layout of a sheet of the msExcel plug-in, see
+ * {@link FlatFileReader}. The builders and readers of the msExcel plug-in are
+ * used to build the test suites and test cases, so the keywords, headers,
+ * sections and data sets have exactly the same meaning. Data sets of a data
+ * driven test case are read from a CSV or JSON file as well.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class FlatFile implements InputPlugin
+{
+  private final static Logger LOGGER = LogManager.getLogger(FlatFile.class.
+          getName());
+
+  // Differs from the file of the msExcel plug-in, so both can share a directory
+  public final static String LABEL_INDEX_FILE = "flatfile-labels.index";
+
+  private TestRunner testRunner;
+  private TestSuiteBuilder testSuiteBuilder;
+  private TestCaseBuilder testCaseBuilder;
+  private File testRoot;
+  private String[] labels = new String[0];
+
+
+  @Override
+  public void init(TestRunner testRunner) throws Exception
+  {
+    LOGGER.debug("Init input plug-in '{}'", () -> getName());
+
+    if(testRunner == null)
+    {
+      throw new NullPointerException("TestRunner can not be null");
+    }
+
+    this.testRunner = testRunner;
+    this.testSuiteBuilder = new TestSuiteBuilder(testRunner, getParallelism(testRunner),
+                                                 new FlatFileReader(),
+                                                 FlatFileReader::isFlatFile,
+                                                 getCacheDirectory(testRunner),
+                                                 LABEL_INDEX_FILE);
+    this.testCaseBuilder = testSuiteBuilder.getTestCaseBuilder();
+  }
+
+
+  @Override
+  public String setTestRoot(String newTestRoot, String projectName) throws
+          IllegalArgumentException
+  {
+    if(newTestRoot == null)
+    {
+      throw new IllegalArgumentException("Test root can not be null");
+    }
+
+    File newTestRootDirectory = projectName == null || projectName.trim().isEmpty()
+                                ? new File(newTestRoot)
+                                : new File(newTestRoot, projectName.trim());
+
+    if( !newTestRootDirectory.isDirectory())
+    {
+      throw new IllegalArgumentException("Test root '" + newTestRootDirectory.getAbsolutePath()
+                                         + "' is not a directory");
+    }
+
+    testRoot = newTestRootDirectory.getAbsoluteFile();
+
+    LOGGER.debug("Test root set to '{}'", () -> testRoot.getPath());
+
+    return testRoot.getPath();
+  }
+
+
+  @Override
+  public String setTestCaseFilter(String[] labels) throws NullPointerException
+  {
+    if(labels == null)
+    {
+      throw new NullPointerException("Labels can not be null");
+    }
+
+    // Fail early on invalid label expressions
+    LabelFilter.parse(labels);
+
+    this.labels = labels.clone();
+
+    LOGGER.debug("Test case filter set to '{}'", () -> String.join(",", this.labels));
+
+    return String.join(",", this.labels);
+  }
+
+
+  @Override
+  public TestSuite setUp(TestSuite testSuite) throws NullPointerException
+  {
+    if(testSuite == null)
+    {
+      throw new NullPointerException("Test suite can not be null");
+    }
+
+    if(testRoot == null)
+    {
+      throw new IllegalStateException("No test root set");
+    }
+
+    try
+    {
+      return testSuiteBuilder.buildTestSuite(testSuite, testRoot, labels);
+    }
+    catch(RuntimeException eX)
+    {
+      throw eX;
+    }
+    catch(Exception eX)
+    {
+      throw new IllegalStateException("Unable to build test suite from '" + testRoot.getPath()
+                                      + "'", eX);
+    }
+  }
+
+
+  @Override
+  public TestCase loadTestCase(TestCase testCase) throws NullPointerException
+  {
+    if(testCase == null)
+    {
+      throw new NullPointerException("Test case can not be null");
+    }
+
+    LOGGER.debug("Load test actions of test case '{}'", () -> testCase.getId());
+
+    try
+    {
+      return testCaseBuilder.parseTestActions(
+              new File(TestDataBuilder.getWorkbookPath(testCase.getId())), testCase);
+    }
+    catch(RuntimeException eX)
+    {
+      throw eX;
+    }
+    catch(Exception eX)
+    {
+      throw new IllegalStateException("Unable to load test case '" + testCase.getId() + "'", eX);
+    }
+  }
+
+
+  @Override
+  public void shutDown()
+  {
+    LOGGER.debug("Shut down input plug-in '{}'", () -> getName());
+  }
+
+
+  @Override
+  public String getName()
+  {
+    return "Flat file (CSV/JSON)";
+  }
+
+
+  /**
+   * Return the cache directory configured with property
+   * {@link Config#PROVA_PLUGINS_INPUT_FLATFILE_CACHE_DIR}. Returns null (no
+   * cache) when the property is not set.
+   *
+   * @param testRunner
+   *
+   * @return
+   */
+  private static File getCacheDirectory(TestRunner testRunner)
+  {
+    if( !testRunner.hasProperty(Config.PROVA_PLUGINS_INPUT_FLATFILE_CACHE_DIR))
+    {
+      return null;
+    }
+
+    return new File(testRunner.getProperty(Config.PROVA_PLUGINS_INPUT_FLATFILE_CACHE_DIR).trim());
+  }
+
+
+  /**
+   * Return the number of threads configured with property
+   * {@link Config#PROVA_PLUGINS_INPUT_FLATFILE_THREADS}, or the number of
+   * available processors when it is not set.
+   *
+   * @param testRunner
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private static int getParallelism(TestRunner testRunner) throws InvalidParameterException
+  {
+    if( !testRunner.hasProperty(Config.PROVA_PLUGINS_INPUT_FLATFILE_THREADS))
+    {
+      return Runtime.getRuntime().availableProcessors();
+    }
+
+    String threads = testRunner.getProperty(Config.PROVA_PLUGINS_INPUT_FLATFILE_THREADS);
+
+    try
+    {
+      return Integer.parseInt(threads.trim());
+    }
+    catch(NumberFormatException eX)
+    {
+      throw new InvalidParameterException("Invalid value for property '"
+                                          + Config.PROVA_PLUGINS_INPUT_FLATFILE_THREADS + "' ("
+                                          + threads + ")");
+    }
+  }
+
+}
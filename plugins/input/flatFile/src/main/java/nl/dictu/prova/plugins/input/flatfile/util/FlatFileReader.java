@@ -0,0 +1,594 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.flatfile.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import nl.dictu.prova.plugins.input.msexcel.util.RowHandler;
+import nl.dictu.prova.plugins.input.msexcel.util.RowSource;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Reads CSV and line-delimited JSON files as a stream of rows, with the same
+ * layout as the sheets of the msExcel plug-in. A file is one sheet, named
+ * after the file without its extension (for example 'web_Login.csv' is sheet
+ * 'web_Login').
+ * - CSV (.csv): one row per record, cells separated by a comma. Cells can be
+ *   quoted with '"' to contain separators, line breaks or ('""') quotes.
+ * - JSON (.jsonl, .ndjson): one row per line, each line a JSON array with
+ *   the cells, for example ["Click", "//button"]. Strings, numbers, booleans
+ *   and null are allowed.
+ * Empty cells are null and rows without values are skipped. The files are
+ * read through a file channel with a buffer of {@link #BUFFER_SIZE}
+ * characters and decoded as UTF-8.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class FlatFileReader implements RowSource
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(FlatFileReader.class.getName());
+
+  public final static String CSV_EXTENSION = ".csv";
+  public final static String JSON_EXTENSION = ".jsonl";
+  public final static String NDJSON_EXTENSION = ".ndjson";
+
+  public final static int BUFFER_SIZE = 64 * 1024;
+
+
+  /**
+   * Check if {@link file} is a CSV or line-delimited JSON file
+   *
+   * @param file
+   *
+   * @return
+   */
+  public static boolean isFlatFile(File file)
+  {
+    return isCsv(file) || isJson(file);
+  }
+
+
+  /**
+   * Return the name of the sheet of {@link file}: its name without extension
+   *
+   * @param file
+   *
+   * @return
+   */
+  public static String getSheetName(File file)
+  {
+    String fileName = file.getName();
+    int index = fileName.lastIndexOf('.');
+
+    return index > 0 ? fileName.substring(0, index) : fileName;
+  }
+
+
+  @Override
+  public void read(File file, RowHandler rowHandler) throws Exception
+  {
+    if( !isFlatFile(file))
+    {
+      throw new InvalidParameterException("Unsupported file format '" + file.getName() + "'");
+    }
+
+    String sheetName = getSheetName(file);
+
+    LOGGER.trace("Read '{}'", () -> file.getPath());
+
+    if( !rowHandler.startSheet(sheetName))
+    {
+      return;
+    }
+
+    try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(),
+                                           BUFFER_SIZE))
+    {
+      RowParser rowParser = isJson(file) ? new JsonRowParser(reader) : new CsvRowParser(reader);
+
+      for(String[] cells = rowParser.next(); cells != null; cells = rowParser.next())
+      {
+        if(isEmpty(cells))
+        {
+          continue;
+        }
+
+        if( !rowHandler.row(rowParser.getRowNumber(), cells))
+        {
+          break;
+        }
+      }
+    }
+    catch(InvalidParameterException eX)
+    {
+      throw new InvalidParameterException("Unable to read '" + file.getPath() + "': "
+                                          + eX.getMessage());
+    }
+
+    rowHandler.endSheet(sheetName);
+  }
+
+
+  private static boolean isCsv(File file)
+  {
+    return file.getName().toLowerCase().endsWith(CSV_EXTENSION);
+  }
+
+
+  private static boolean isJson(File file)
+  {
+    String fileName = file.getName().toLowerCase();
+
+    return fileName.endsWith(JSON_EXTENSION) || fileName.endsWith(NDJSON_EXTENSION);
+  }
+
+
+  private static boolean isEmpty(String[] cells)
+  {
+    for(String cell : cells)
+    {
+      if(cell != null)
+      {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+
+  /**
+   * Returns null for an empty cell
+   */
+  private static String toCell(StringBuilder value)
+  {
+    return value.length() > 0 ? value.toString() : null;
+  }
+
+
+  /**
+   * Splits the characters of a file into rows. Reads the file in blocks of
+   * {@link #BUFFER_SIZE} characters.
+   */
+  private abstract static class RowParser
+  {
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private int length = 0;
+
+    protected int rowNumber = -1;
+
+
+    private RowParser(Reader reader)
+    {
+      this.reader = reader;
+    }
+
+
+    /**
+     * Return the cells of the next row, or null at the end of the file
+     */
+    protected abstract String[] next() throws IOException;
+
+
+    protected int getRowNumber()
+    {
+      return rowNumber;
+    }
+
+
+    protected int read() throws IOException
+    {
+      int c = peek();
+
+      if(c >= 0)
+      {
+        position++;
+      }
+
+      return c;
+    }
+
+
+    protected int peek() throws IOException
+    {
+      if(position == length)
+      {
+        length = reader.read(buffer, 0, buffer.length);
+        position = 0;
+
+        if(length <= 0)
+        {
+          length = 0;
+          return -1;
+        }
+      }
+
+      return buffer[position];
+    }
+
+
+    /**
+     * Skip a byte order mark at the start of the file
+     */
+    protected void skipByteOrderMark() throws IOException
+    {
+      if(rowNumber < 0 && peek() == '\uFEFF')
+      {
+        read();
+      }
+    }
+  }
+
+
+  /**
+   * Parses CSV records (RFC 4180)
+   */
+  private static class CsvRowParser extends RowParser
+  {
+    private final static char SEPARATOR = ',';
+    private final static char QUOTE = '"';
+
+
+    private CsvRowParser(Reader reader)
+    {
+      super(reader);
+    }
+
+
+    @Override
+    protected String[] next() throws IOException
+    {
+      skipByteOrderMark();
+
+      if(peek() < 0)
+      {
+        return null;
+      }
+
+      rowNumber++;
+
+      ArrayList<String> cells = new ArrayList<>();
+      StringBuilder value = new StringBuilder();
+      boolean quoted = false;
+
+      for(int c = read(); c >= 0; c = read())
+      {
+        if(quoted)
+        {
+          if(c != QUOTE)
+          {
+            value.append((char) c);
+          }
+          else if(peek() == QUOTE)
+          {
+            value.append((char) read());
+          }
+          else
+          {
+            quoted = false;
+          }
+        }
+        else if(c == QUOTE && value.length() == 0)
+        {
+          quoted = true;
+        }
+        else if(c == SEPARATOR)
+        {
+          cells.add(toCell(value));
+          value.setLength(0);
+        }
+        else if(c == '\r' || c == '\n')
+        {
+          if(c == '\r' && peek() == '\n')
+          {
+            read();
+          }
+
+          break;
+        }
+        else
+        {
+          value.append((char) c);
+        }
+      }
+
+      if(quoted)
+      {
+        throw new InvalidParameterException("Unterminated quote in record " + (rowNumber + 1));
+      }
+
+      cells.add(toCell(value));
+
+      return cells.toArray(new String[cells.size()]);
+    }
+  }
+
+
+  /**
+   * Parses lines with a JSON array of cells
+   */
+  private static class JsonRowParser extends RowParser
+  {
+    private final StringBuilder line = new StringBuilder();
+    private int index;
+
+
+    private JsonRowParser(Reader reader)
+    {
+      super(reader);
+    }
+
+
+    @Override
+    protected String[] next() throws IOException
+    {
+      skipByteOrderMark();
+
+      while(readLine())
+      {
+        rowNumber++;
+        index = 0;
+        skipWhitespace();
+
+        if(index < line.length())
+        {
+          return parseArray();
+        }
+      }
+
+      return null;
+    }
+
+
+    /**
+     * Read the next line into {@link line}. Returns false at the end of the
+     * file.
+     */
+    private boolean readLine() throws IOException
+    {
+      line.setLength(0);
+
+      int c = read();
+
+      if(c < 0)
+      {
+        return false;
+      }
+
+      for(; c >= 0 && c != '\n'; c = read())
+      {
+        if(c != '\r')
+        {
+          line.append((char) c);
+        }
+      }
+
+      return true;
+    }
+
+
+    private String[] parseArray()
+    {
+      ArrayList<String> cells = new ArrayList<>();
+
+      expect('[');
+      skipWhitespace();
+
+      if(peekChar() == ']')
+      {
+        index++;
+      }
+      else
+      {
+        do
+        {
+          skipWhitespace();
+          cells.add(parseValue());
+          skipWhitespace();
+        }
+        while(tryChar(','));
+
+        expect(']');
+      }
+
+      skipWhitespace();
+
+      if(index < line.length())
+      {
+        throw error("Unexpected '" + line.charAt(index) + "'");
+      }
+
+      return cells.toArray(new String[cells.size()]);
+    }
+
+
+    private String parseValue()
+    {
+      char c = peekChar();
+
+      if(c == '"')
+      {
+        return parseString();
+      }
+
+      int start = index;
+
+      while(index < line.length() && "+-.0123456789eEtrufalsn".indexOf(line.charAt(index)) >= 0)
+      {
+        index++;
+      }
+
+      String value = line.substring(start, index);
+
+      if(value.equals("null"))
+      {
+        return null;
+      }
+
+      if(value.equals("true") || value.equals("false") || value.matches(
+              "-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?"))
+      {
+        return value;
+      }
+
+      throw error("Invalid value '" + (value.isEmpty() ? String.valueOf(c) : value) + "'");
+    }
+
+
+    private String parseString()
+    {
+      StringBuilder value = new StringBuilder();
+
+      expect('"');
+
+      while(true)
+      {
+        char c = nextChar();
+
+        if(c == '"')
+        {
+          break;
+        }
+
+        if(c != '\\')
+        {
+          value.append(c);
+          continue;
+        }
+
+        char escaped = nextChar();
+
+        switch(escaped)
+        {
+          case 'b':
+            value.append('\b');
+            break;
+          case 'f':
+            value.append('\f');
+            break;
+          case 'n':
+            value.append('\n');
+            break;
+          case 'r':
+            value.append('\r');
+            break;
+          case 't':
+            value.append('\t');
+            break;
+          case 'u':
+            if(index + 4 > line.length())
+            {
+              throw error("Invalid unicode escape");
+            }
+
+            try
+            {
+              value.append((char) Integer.parseInt(line.substring(index, index + 4), 16));
+            }
+            catch(NumberFormatException eX)
+            {
+              throw error("Invalid unicode escape");
+            }
+
+            index += 4;
+            break;
+          case '"':
+          case '\\':
+          case '/':
+            value.append(escaped);
+            break;
+          default:
+            throw error("Invalid escape '\\" + escaped + "'");
+        }
+      }
+
+      return toCell(value);
+    }
+
+
+    private void skipWhitespace()
+    {
+      while(index < line.length() && Character.isWhitespace(line.charAt(index)))
+      {
+        index++;
+      }
+    }
+
+
+    private char peekChar()
+    {
+      if(index >= line.length())
+      {
+        throw error("Unexpected end of line");
+      }
+
+      return line.charAt(index);
+    }
+
+
+    private char nextChar()
+    {
+      char c = peekChar();
+      index++;
+
+      return c;
+    }
+
+
+    private boolean tryChar(char c)
+    {
+      if(index < line.length() && line.charAt(index) == c)
+      {
+        index++;
+        return true;
+      }
+
+      return false;
+    }
+
+
+    private void expect(char c)
+    {
+      if( !tryChar(c))
+      {
+        throw error("Expected '" + c + "'");
+      }
+    }
+
+
+    private InvalidParameterException error(String message)
+    {
+      return new InvalidParameterException(message + " at line " + (rowNumber + 1) + ", column "
+                                           + (index + 1));
+    }
+  }
+}
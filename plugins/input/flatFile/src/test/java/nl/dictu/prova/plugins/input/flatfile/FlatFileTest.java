@@ -0,0 +1,226 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.flatfile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestSuiteBuilder;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class FlatFileTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  public FlatFileTest()
+  {
+  }
+
+
+  @BeforeClass
+  public static void setUpClass()
+  {
+  }
+
+
+  @AfterClass
+  public static void tearDownClass()
+  {
+  }
+
+
+  @Before
+  public void setUp()
+  {
+  }
+
+
+  @After
+  public void tearDown()
+  {
+  }
+
+
+  /**
+   * Test of setUp method, of class FlatFile.
+   * CSV and JSON test cases are found in all directories; data driven test
+   * cases are expanded.
+   */
+  @Test
+  public void testSetUp() throws Exception
+  {
+    FlatFile flatFile = createFlatFile();
+
+    TestSuite testSuite = flatFile.setUp(new TestSuite("root"));
+
+    assertEquals(3, testSuite.numberOfTestCases(true));
+
+    TestCase testCase = testSuite.getTestCases().values().iterator().next();
+    assertEquals(TestType.WEB, testCase.getTestType());
+    assertEquals("Login", testCase.getHeader("Summary"));
+    assertEquals("root", testCase.getVariable("username"));
+    assertTrue(testCase.getTestActions().isEmpty());
+  }
+
+
+  /**
+   * Test of loadTestCase method, of class FlatFile.
+   */
+  @Test
+  public void testLoadTestCase() throws Exception
+  {
+    FlatFile flatFile = createFlatFile();
+
+    TestSuite testSuite = flatFile.setUp(new TestSuite("root"));
+    TestCase login = flatFile.loadTestCase(testSuite.getTestCases().values().iterator().next());
+    TestCase query = flatFile.loadTestCase(testSuite.getTestSuites().values().iterator().next()
+            .getTestCases().values().iterator().next());
+
+    assertEquals("[Navigate]", login.getSetUpActions().toString());
+    assertEquals("[SetText, Click]", login.getTestActions().toString());
+    assertEquals("[Select]", query.getTestActions().toString());
+  }
+
+
+  /**
+   * Test of setUp method, of class FlatFile.
+   * The label index is kept in the cache directory of the plug-in, apart
+   * from the label index of the msExcel plug-in.
+   */
+  @Test
+  public void testSetUpWithCache() throws Exception
+  {
+    File cacheDir = folder.newFolder("cache");
+
+    FlatFile flatFile = createFlatFile(cacheDir);
+    flatFile.setUp(new TestSuite("root"));
+
+    assertTrue(new File(cacheDir, FlatFile.LABEL_INDEX_FILE).isFile());
+    assertFalse(new File(cacheDir, TestSuiteBuilder.LABEL_INDEX_FILE).exists());
+  }
+
+
+  /**
+   * Test of setTestCaseFilter method, of class FlatFile.
+   */
+  @Test
+  public void testSetTestCaseFilter()
+  {
+    assertEquals("smoke", new FlatFile().setTestCaseFilter(new String[]{"smoke"}));
+  }
+
+
+  /**
+   * Test of getName method, of class FlatFile.
+   */
+  @Test
+  public void testGetName()
+  {
+    assertEquals("Flat file (CSV/JSON)", new FlatFile().getName());
+  }
+
+
+  /**
+   * Create an initialized plug-in with a test root that contains a data
+   * driven CSV test case and a JSON test case in a sub-directory
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private FlatFile createFlatFile() throws Exception
+  {
+    return createFlatFile(null);
+  }
+
+
+  /**
+   * Create an initialized plug-in as {@link #createFlatFile()} that caches
+   * in {@link cacheDir} (null: no cache). The msExcel plug-in is configured
+   * to use the same directory.
+   *
+   * @param cacheDir
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private FlatFile createFlatFile(File cacheDir) throws Exception
+  {
+    File testRoot = folder.newFolder("tests");
+    File queries = new File(testRoot, "queries");
+    queries.mkdirs();
+
+    TestFiles.create(new File(testRoot, "web_Login.csv"),
+                     "Summary,Login",
+                     "Data,accounts.csv",
+                     "Action,url,xpath,text",
+                     "[SetUp]",
+                     "Navigate,http://localhost",
+                     "[Test]",
+                     "SetText,,//input,{username}",
+                     "Click,,//button");
+    TestFiles.create(new File(testRoot, "accounts.csv"),
+                     "Data set,username",
+                     "admin,root",
+                     "guest,anonymous");
+    TestFiles.create(new File(queries, "db_Users.jsonl"),
+                     "[\"Summary\", \"Users\"]",
+                     "[\"Action\", \"query\"]",
+                     "[\"Select\", \"select * from users\"]");
+
+    TestRunner testRunner = new Prova();
+    testRunner.addOutputPlugin(new TestFiles.StubOutputPlugin(), TestType.WEB);
+    testRunner.addOutputPlugin(new TestFiles.StubOutputPlugin(), TestType.DB);
+
+    if(cacheDir != null)
+    {
+      testRunner.setProperty(Config.PROVA_PLUGINS_INPUT_FLATFILE_CACHE_DIR, cacheDir.getPath());
+      testRunner.setProperty(nl.dictu.prova.plugins.input.msexcel.Config
+              .PROVA_PLUGINS_INPUT_MSEXCEL_CACHE_DIR, cacheDir.getPath());
+    }
+
+    FlatFile flatFile = new FlatFile();
+    flatFile.init(testRunner);
+    flatFile.setTestRoot(testRoot.getPath(), null);
+
+    return flatFile;
+  }
+
+}
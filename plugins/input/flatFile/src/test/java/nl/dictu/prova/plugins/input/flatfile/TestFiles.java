@@ -0,0 +1,162 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.flatfile;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.InvalidParameterException;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Helpers to create test files and an output plug-in to create the test
+ * actions read from them.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestFiles
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestFiles.class.getName());
+
+
+  /**
+   * Write {@link lines} to {@link file} as UTF-8
+   *
+   * @param file
+   * @param lines
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public static File create(File file, String... lines) throws Exception
+  {
+    Files.write(file.toPath(), (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+
+    return file;
+  }
+
+
+  /**
+   * Output plug-in that creates a {@link StubTestAction} for each action name
+   */
+  public static class StubOutputPlugin implements OutputPlugin
+  {
+    private final AtomicInteger nextId = new AtomicInteger();
+
+
+    @Override
+    public void init(TestRunner testRunner) throws Exception
+    {
+    }
+
+
+    @Override
+    public void shutDown()
+    {
+    }
+
+
+    @Override
+    public String getName()
+    {
+      return "Stub";
+    }
+
+
+    @Override
+    public TestType[] getTestType()
+    {
+      return TestType.values();
+    }
+
+
+    @Override
+    public void setUp(TestCase testCase)
+    {
+    }
+
+
+    @Override
+    public void tearDown(TestCase testCase)
+    {
+    }
+
+
+    @Override
+    public TestAction getTestAction(String actionName) throws InvalidParameterException
+    {
+      return new StubTestAction(nextId.incrementAndGet(), actionName);
+    }
+  }
+
+
+  /**
+   * Test action that only remembers its name
+   */
+  public static class StubTestAction extends TestAction
+  {
+    private final String name;
+
+
+    public StubTestAction(Integer id, String name)
+    {
+      super(LOGGER, id);
+
+      this.name = name;
+    }
+
+
+    public String getName()
+    {
+      return name;
+    }
+
+
+    @Override
+    public TestStatus execute()
+    {
+      return TestStatus.PASSED;
+    }
+
+
+    @Override
+    public boolean isValid()
+    {
+      return true;
+    }
+
+
+    @Override
+    public String toString()
+    {
+      return name;
+    }
+  }
+}
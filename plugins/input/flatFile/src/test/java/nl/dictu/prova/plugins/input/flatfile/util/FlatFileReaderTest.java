@@ -0,0 +1,222 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.flatfile.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import java.io.File;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.LinkedList;
+import nl.dictu.prova.plugins.input.flatfile.TestFiles;
+import nl.dictu.prova.plugins.input.msexcel.util.RowHandler;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class FlatFileReaderTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  public FlatFileReaderTest()
+  {
+  }
+
+
+  @BeforeClass
+  public static void setUpClass()
+  {
+  }
+
+
+  @AfterClass
+  public static void tearDownClass()
+  {
+  }
+
+
+  @Before
+  public void setUp()
+  {
+  }
+
+
+  @After
+  public void tearDown()
+  {
+  }
+
+
+  /**
+   * Test of read method, of class FlatFileReader.
+   * Quoted cells can contain separators, quotes and line breaks. Empty cells
+   * are null and empty rows are skipped.
+   */
+  @Test
+  public void testReadCsv() throws Exception
+  {
+    File file = TestFiles.create(folder.newFile("web_Login.csv"),
+                                 "\uFEFFSummary,Login",
+                                 "",
+                                 "Action,xpath,text",
+                                 "SetText,\"//input[@id=\"\"user\"\"]\",\"a, b\"",
+                                 "Click,,\"two",
+                                 "lines\"");
+
+    LinkedList<String> rows = read(file);
+
+    assertEquals("[web_Login, 0:[Summary, Login], 2:[Action, xpath, text], "
+                 + "3:[SetText, //input[@id=\"user\"], a, b], 4:[Click, null, two\nlines]]",
+                 rows.toString());
+  }
+
+
+  /**
+   * Test of read method, of class FlatFileReader.
+   */
+  @Test
+  public void testReadJson() throws Exception
+  {
+    File file = TestFiles.create(folder.newFile("db_Query.jsonl"),
+                                 "[\"Summary\", \"Query\"]",
+                                 "  ",
+                                 "[\"Action\", \"query\", \"rows\"]",
+                                 "[\"Select\", \"select \\\"a\\\" from \\u0074\", 10]",
+                                 "[\"Select\", null, true]");
+
+    LinkedList<String> rows = read(file);
+
+    assertEquals("[db_Query, 0:[Summary, Query], 2:[Action, query, rows], "
+                 + "3:[Select, select \"a\" from t, 10], 4:[Select, null, true]]",
+                 rows.toString());
+  }
+
+
+  /**
+   * Test of read method, of class FlatFileReader.
+   * Invalid JSON is reported with its position.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testReadInvalidJson() throws Exception
+  {
+    read(TestFiles.create(folder.newFile("web_Invalid.jsonl"), "[\"Click\", //button]"));
+  }
+
+
+  /**
+   * Test of read method, of class FlatFileReader.
+   * Reading stops when the row handler returns false.
+   */
+  @Test
+  public void testReadStops() throws Exception
+  {
+    File file = TestFiles.create(folder.newFile("data.csv"), "a", "b", "c");
+    LinkedList<String> rows = new LinkedList<>();
+
+    new FlatFileReader().read(file, new RowHandler()
+    {
+      @Override
+      public boolean startSheet(String sheetName) throws Exception
+      {
+        return true;
+      }
+
+
+      @Override
+      public boolean row(int rowNumber, String[] cells) throws Exception
+      {
+        rows.add(cells[0]);
+        return rows.size() < 2;
+      }
+
+
+      @Override
+      public void endSheet(String sheetName) throws Exception
+      {
+      }
+    });
+
+    assertArrayEquals(new String[]{"a", "b"}, rows.toArray());
+  }
+
+
+  /**
+   * Test of getSheetName method, of class FlatFileReader.
+   */
+  @Test
+  public void testGetSheetName()
+  {
+    assertEquals("web_Login", FlatFileReader.getSheetName(new File("tests/web_Login.csv")));
+    assertEquals("db_Query", FlatFileReader.getSheetName(new File("db_Query.ndjson")));
+  }
+
+
+  /**
+   * Read {@link file} and describe its sheet and rows
+   *
+   * @param file
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private LinkedList<String> read(File file) throws Exception
+  {
+    LinkedList<String> rows = new LinkedList<>();
+
+    new FlatFileReader().read(file, new RowHandler()
+    {
+      @Override
+      public boolean startSheet(String sheetName) throws Exception
+      {
+        rows.add(sheetName);
+        return true;
+      }
+
+
+      @Override
+      public boolean row(int rowNumber, String[] cells) throws Exception
+      {
+        rows.add(rowNumber + ":" + Arrays.toString(cells));
+        return true;
+      }
+
+
+      @Override
+      public void endSheet(String sheetName) throws Exception
+      {
+      }
+    });
+
+    return rows;
+  }
+
+}
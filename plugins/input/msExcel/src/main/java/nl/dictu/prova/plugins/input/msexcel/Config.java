@@ -0,0 +1,42 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+/**
+ * Configuration options of the msExcel input plug-in
+ *
+ * @author Sjoerd Boerhout
+ */
+public class Config extends nl.dictu.prova.Config
+{
+
+  /*
+   * Number of threads to scan the test root and parse the workbooks with
+   * (default: number of available processors)
+   */
+  public final static String PROVA_PLUGINS_INPUT_MSEXCEL_THREADS = "prova.plugins.input.msexcel.threads";
+
+  /*
+   * Directory for the cache of parsed workbooks, for example
+   * '<prova.root.path>/cache/msexcel'. No cache is used when it is not set.
+   */
+  public final static String PROVA_PLUGINS_INPUT_MSEXCEL_CACHE_DIR = "prova.plugins.input.msexcel.cache.dir";
+
+}
@@ -19,14 +19,23 @@
  */
 package nl.dictu.prova.plugins.input.msexcel;
 
+import java.io.File;
+import java.io.IOException;
 import nl.dictu.prova.TestRunner;
 import nl.dictu.prova.framework.TestCase;
 import nl.dictu.prova.framework.TestSuite;
 import nl.dictu.prova.plugins.input.InputPlugin;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestCaseBuilder;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestDataBuilder;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestSuiteBuilder;
+import nl.dictu.prova.plugins.input.msexcel.util.LabelFilter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Input plug-in for test cases in MS Excel workbooks (.xlsx). The test root is
+ * a directory; see {@link TestSuiteBuilder} for the structure of test suites
+ * and {@link TestCaseBuilder} for the layout of a test case workbook.
  *
  * @author Sjoerd Boerhout
  */
@@ -35,53 +44,206 @@ public class MsExcel implements InputPlugin
   private final static Logger LOGGER = LogManager.getLogger(MsExcel.class.
           getName());
 
+  private TestRunner testRunner;
+  private TestSuiteBuilder testSuiteBuilder;
+  private TestCaseBuilder testCaseBuilder;
+  private File testRoot;
+  private String[] labels = new String[0];
+  private WorkbookWatcher workbookWatcher;
+
+
   @Override
-  public void init(TestRunner tr) throws Exception
+  public void init(TestRunner testRunner) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LOGGER.debug("Init input plug-in '{}'", () -> getName());
+
+    if(testRunner == null)
+    {
+      throw new NullPointerException("TestRunner can not be null");
+    }
+
+    this.testRunner = testRunner;
+    this.testSuiteBuilder = new TestSuiteBuilder(testRunner);
+    this.testCaseBuilder = testSuiteBuilder.getTestCaseBuilder();
   }
 
 
   @Override
-  public String setTestRoot(String string, String string1) throws
+  public String setTestRoot(String newTestRoot, String projectName) throws
           IllegalArgumentException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(newTestRoot == null)
+    {
+      throw new IllegalArgumentException("Test root can not be null");
+    }
+
+    File newTestRootDirectory = projectName == null || projectName.trim().isEmpty()
+                                ? new File(newTestRoot)
+                                : new File(newTestRoot, projectName.trim());
+
+    if( !newTestRootDirectory.isDirectory())
+    {
+      throw new IllegalArgumentException("Test root '" + newTestRootDirectory.getAbsolutePath()
+                                         + "' is not a directory");
+    }
+
+    testRoot = newTestRootDirectory.getAbsoluteFile();
+
+    LOGGER.debug("Test root set to '{}'", () -> testRoot.getPath());
+
+    return testRoot.getPath();
   }
 
 
   @Override
-  public String setTestCaseFilter(String[] strings) throws NullPointerException
+  public String setTestCaseFilter(String[] labels) throws NullPointerException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(labels == null)
+    {
+      throw new NullPointerException("Labels can not be null");
+    }
+
+    // Fail early on invalid label expressions
+    LabelFilter.parse(labels);
+
+    this.labels = labels.clone();
+
+    LOGGER.debug("Test case filter set to '{}'", () -> String.join(",", this.labels));
+
+    return String.join(",", this.labels);
   }
 
 
   @Override
-  public TestSuite setUp(TestSuite ts) throws NullPointerException
+  public TestSuite setUp(TestSuite testSuite) throws NullPointerException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(testSuite == null)
+    {
+      throw new NullPointerException("Test suite can not be null");
+    }
+
+    if(testRoot == null)
+    {
+      throw new IllegalStateException("No test root set");
+    }
+
+    try
+    {
+      return testSuiteBuilder.buildTestSuite(testSuite, testRoot, labels);
+    }
+    catch(RuntimeException eX)
+    {
+      throw eX;
+    }
+    catch(Exception eX)
+    {
+      throw new IllegalStateException("Unable to build test suite from '" + testRoot.getPath()
+                                      + "'", eX);
+    }
   }
 
 
   @Override
-  public TestCase loadTestCase(TestCase tc) throws NullPointerException
+  public TestCase loadTestCase(TestCase testCase) throws NullPointerException
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(testCase == null)
+    {
+      throw new NullPointerException("Test case can not be null");
+    }
+
+    LOGGER.debug("Load test actions of test case '{}'", () -> testCase.getId());
+
+    try
+    {
+      return testCaseBuilder.parseTestActions(
+              new File(TestDataBuilder.getWorkbookPath(testCase.getId())), testCase);
+    }
+    catch(RuntimeException eX)
+    {
+      throw eX;
+    }
+    catch(Exception eX)
+    {
+      throw new IllegalStateException("Unable to load test case '" + testCase.getId() + "'", eX);
+    }
+  }
+
+
+  /**
+   * Watch the test root for changed workbooks. {@link listener} is told when
+   * there are changes; the runner applies them to {@link testSuite} (the test
+   * suite returned by {@link #setUp(TestSuite)}) at a safe point with
+   * {@link WorkbookWatcher#applyChanges()} of the returned watcher. See
+   * {@link WorkbookWatcher}.
+   *
+   * @param testSuite
+   * @param listener
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  public synchronized WorkbookWatcher watch(TestSuite testSuite,
+                                            Runnable listener)
+          throws IOException
+  {
+    if(testSuite == null || listener == null)
+    {
+      throw new NullPointerException("Test suite and listener can not be null");
+    }
+
+    if(testRoot == null)
+    {
+      throw new IllegalStateException("No test root set");
+    }
+
+    stopWatching();
+
+    workbookWatcher = new WorkbookWatcher(testRoot, testSuite, testSuiteBuilder, labels,
+                                          listener);
+    workbookWatcher.start();
+
+    return workbookWatcher;
+  }
+
+
+  /**
+   * Stop watching the test root
+   */
+  public synchronized void stopWatching()
+  {
+    if(workbookWatcher == null)
+    {
+      return;
+    }
+
+    try
+    {
+      workbookWatcher.close();
+    }
+    catch(IOException eX)
+    {
+      LOGGER.warn("Unable to stop watching '{}': {}", () -> testRoot.getPath(),
+                  () -> eX.getMessage());
+    }
+
+    workbookWatcher = null;
   }
 
 
   @Override
   public void shutDown()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LOGGER.debug("Shut down input plug-in '{}'", () -> getName());
+
+    stopWatching();
   }
 
 
   @Override
   public String getName()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "MS Excel";
   }
 
 }
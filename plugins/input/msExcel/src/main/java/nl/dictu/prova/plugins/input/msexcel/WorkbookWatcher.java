@@ -0,0 +1,580 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestDataBuilder;
+import nl.dictu.prova.plugins.input.msexcel.builders.TestSuiteBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Watches the test root of the msExcel input plug-in for changed workbooks.
+ * Only the changed workbooks are parsed again, on the thread of the watcher.
+ * The parsed changes are kept pending and the listener is told that there
+ * are pending changes.
+ * A test suite is not thread-safe, so the watcher never changes it. The
+ * runner applies the pending changes at a safe point (when the test suite is
+ * not run) with {@link #applyChanges()}: the test cases of the changed
+ * workbooks are replaced in, added to or removed from the test suite in
+ * place and the rest of the test suite is left untouched. Test suites left
+ * without test cases are removed. When a directory is deleted, all test
+ * cases and test suites below it are removed.
+ * Saving a workbook causes several events, so events are collected until no
+ * new events arrive for {@link #QUIET_PERIOD_MS} milliseconds. A workbook
+ * that changes again before the changes are applied is only applied once.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WorkbookWatcher implements Closeable
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(WorkbookWatcher.class.
+          getName());
+
+  public final static long QUIET_PERIOD_MS = 250;
+
+  private final File testRoot;
+  private final TestSuite testSuite;
+  private final TestSuiteBuilder testSuiteBuilder;
+  private final String[] filters;
+  private final Runnable listener;
+
+  // Parsed test cases of the changed workbooks (null for a deleted
+  // directory), guarded by its own lock
+  private final LinkedHashMap<Path, LinkedList<TestCase>> pending = new LinkedHashMap<>();
+
+  private final HashMap<WatchKey, Path> directories = new HashMap<>();
+  private WatchService watchService;
+  private Thread thread;
+
+
+  /**
+   * Constructor.
+   *
+   * @param testRoot directory {@link testSuite} was built from
+   * @param testSuite
+   * @param testSuiteBuilder
+   * @param filters
+   * @param listener is told that there are changes to apply
+   */
+  public WorkbookWatcher(File testRoot, TestSuite testSuite, TestSuiteBuilder testSuiteBuilder,
+                         String[] filters, Runnable listener)
+  {
+    this.testRoot = testRoot.getAbsoluteFile();
+    this.testSuite = testSuite;
+    this.testSuiteBuilder = testSuiteBuilder;
+    this.filters = filters;
+    this.listener = listener;
+  }
+
+
+  /**
+   * Start watching the test root and all its sub-directories
+   *
+   * @throws IOException
+   */
+  public synchronized void start() throws IOException
+  {
+    if(thread != null)
+    {
+      throw new IllegalStateException("Watcher is already started");
+    }
+
+    watchService = FileSystems.getDefault().newWatchService();
+
+    register(testRoot.toPath());
+
+    thread = new Thread(this::run, "msexcel-watcher");
+    thread.setDaemon(true);
+    thread.start();
+
+    LOGGER.info("Watching '{}' for changed workbooks", () -> testRoot.getPath());
+  }
+
+
+  /**
+   * Stop watching the test root
+   *
+   * @throws IOException
+   */
+  @Override
+  public synchronized void close() throws IOException
+  {
+    if(thread == null)
+    {
+      return;
+    }
+
+    thread.interrupt();
+    watchService.close();
+    thread = null;
+
+    LOGGER.debug("Stopped watching '{}'", () -> testRoot.getPath());
+  }
+
+
+  /**
+   * Register {@link directory} and all its sub-directories
+   *
+   * @param directory
+   *
+   * @throws IOException
+   */
+  private void register(Path directory) throws IOException
+  {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>()
+    {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+              throws IOException
+      {
+        WatchKey watchKey = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                         StandardWatchEventKinds.ENTRY_DELETE,
+                                         StandardWatchEventKinds.ENTRY_MODIFY);
+        directories.put(watchKey, dir);
+
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+
+  /**
+   * Wait for changes and process them until the watcher is closed
+   */
+  private void run()
+  {
+    try
+    {
+      while( !Thread.currentThread().isInterrupted())
+      {
+        TreeSet<Path> workbooks = new TreeSet<>();
+        TreeSet<Path> deletedDirectories = new TreeSet<>();
+
+        for(WatchKey watchKey = watchService.take(); watchKey != null;
+            watchKey = watchService.poll(QUIET_PERIOD_MS, TimeUnit.MILLISECONDS))
+        {
+          collect(watchKey, workbooks, deletedDirectories);
+        }
+
+        if(parse(workbooks, deletedDirectories))
+        {
+          listener.run();
+        }
+      }
+    }
+    catch(InterruptedException | ClosedWatchServiceException eX)
+    {
+      LOGGER.trace("Watcher of '{}' stopped", () -> testRoot.getPath());
+    }
+    catch(RuntimeException eX)
+    {
+      LOGGER.error("Watcher of '{}' failed: {}", () -> testRoot.getPath(), () -> eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Add the workbooks changed according to the events of {@link watchKey} to
+   * {@link workbooks}. New directories are registered and all their workbooks
+   * are added. Deleted directories are added to {@link deletedDirectories}.
+   *
+   * @param watchKey
+   * @param workbooks
+   * @param deletedDirectories
+   */
+  private void collect(WatchKey watchKey, TreeSet<Path> workbooks,
+                       TreeSet<Path> deletedDirectories)
+  {
+    Path directory = directories.get(watchKey);
+
+    for(WatchEvent<?> event : watchKey.pollEvents())
+    {
+      if(directory == null)
+      {
+        break;
+      }
+
+      if(event.kind() == StandardWatchEventKinds.OVERFLOW)
+      {
+        LOGGER.warn("Missed changes in '{}'. Reading all its workbooks again.", directory);
+        addWorkbooks(directory, workbooks);
+        continue;
+      }
+
+      Path path = directory.resolve((Path) event.context());
+
+      if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path))
+      {
+        try
+        {
+          register(path);
+        }
+        catch(IOException eX)
+        {
+          LOGGER.error("Unable to watch directory '{}': {}", path, eX.getMessage());
+        }
+
+        addWorkbooks(path, workbooks);
+      }
+      else if(event.kind() == StandardWatchEventKinds.ENTRY_DELETE
+              && directories.containsValue(path))
+      {
+        forget(path, deletedDirectories);
+      }
+      else if(TestSuiteBuilder.isWorkbook(path.toFile()))
+      {
+        workbooks.add(path);
+      }
+    }
+
+    // The key of a deleted directory can not be reset
+    if( !watchKey.reset() && directory != null && !Files.isDirectory(directory))
+    {
+      forget(directory, deletedDirectories);
+    }
+    else if( !watchKey.isValid())
+    {
+      directories.remove(watchKey);
+    }
+  }
+
+
+  /**
+   * Stop watching deleted {@link directory} and its sub-directories and add
+   * it to {@link deletedDirectories}
+   *
+   * @param directory
+   * @param deletedDirectories
+   */
+  private void forget(Path directory, TreeSet<Path> deletedDirectories)
+  {
+    LOGGER.debug("Directory '{}' deleted", directory);
+
+    directories.entrySet().removeIf((entry) ->
+    {
+      if( !entry.getValue().startsWith(directory))
+      {
+        return false;
+      }
+
+      entry.getKey().cancel();
+      return true;
+    });
+
+    deletedDirectories.add(directory);
+  }
+
+
+  /**
+   * Add all workbooks in {@link directory} and its sub-directories to
+   * {@link workbooks}
+   *
+   * @param directory
+   * @param workbooks
+   */
+  private void addWorkbooks(Path directory, TreeSet<Path> workbooks)
+  {
+    try(Stream<Path> paths = Files.walk(directory))
+    {
+      paths.filter((path) -> TestSuiteBuilder.isWorkbook(path.toFile())).forEach(workbooks::add);
+    }
+    catch(IOException eX)
+    {
+      LOGGER.error("Unable to read directory '{}': {}", directory, eX.getMessage());
+    }
+  }
+
+
+  /**
+   * Parse the changed {@link workbooks} again and keep their test cases
+   * pending, after the {@link deletedDirectories}. Returns true when there
+   * are changes to apply.
+   *
+   * @param workbooks
+   * @param deletedDirectories
+   *
+   * @return
+   */
+  private boolean parse(TreeSet<Path> workbooks, TreeSet<Path> deletedDirectories)
+  {
+    // A directory can be deleted and created again before its workbooks are read
+    for(Path directory : deletedDirectories)
+    {
+      synchronized(pending)
+      {
+        pending.remove(directory);
+        pending.put(directory, null);
+      }
+    }
+
+    for(Path workbook : workbooks)
+    {
+      File file = workbook.toFile();
+      LinkedList<TestCase> newTestCases = file.isFile()
+                                          ? testSuiteBuilder.buildTestCases(file, filters)
+                                          : new LinkedList<>();
+
+      synchronized(pending)
+      {
+        // Keep the order of the changes; the latest parse of a workbook wins
+        pending.remove(workbook);
+        pending.put(workbook, newTestCases);
+      }
+    }
+
+    return !workbooks.isEmpty() || !deletedDirectories.isEmpty();
+  }
+
+
+  /**
+   * Apply the pending changes to the test suite and return the new and
+   * changed test cases. Must be called by the runner at a point where the
+   * test suite is not run or read by any other thread.
+   *
+   * @return
+   */
+  public LinkedList<TestCase> applyChanges()
+  {
+    LinkedHashMap<Path, LinkedList<TestCase>> changes;
+
+    synchronized(pending)
+    {
+      changes = new LinkedHashMap<>(pending);
+      pending.clear();
+    }
+
+    LinkedList<TestCase> testCases = new LinkedList<>();
+
+    changes.forEach((path, newTestCases) ->
+    {
+      if(newTestCases == null)
+      {
+        remove(path.toFile());
+        return;
+      }
+
+      update(path.toFile(), newTestCases);
+      testCases.addAll(newTestCases);
+    });
+
+    return testCases;
+  }
+
+
+  /**
+   * Check if there are changes to apply
+   *
+   * @return
+   */
+  public boolean hasChanges()
+  {
+    synchronized(pending)
+    {
+      return !pending.isEmpty();
+    }
+  }
+
+
+  /**
+   * Replace the test cases of workbook {@link file} in the test suite by
+   * {@link newTestCases}
+   *
+   * @param file
+   * @param newTestCases
+   */
+  private void update(File file, LinkedList<TestCase> newTestCases)
+  {
+    HashMap<String, TestCase> oldTestCases = findTestCases(file);
+
+    for(TestCase testCase : newTestCases)
+    {
+      TestCase oldTestCase = oldTestCases.remove(testCase.getId());
+
+      if(oldTestCase != null)
+      {
+        LOGGER.info("Test case '{}' changed", () -> testCase.getId());
+        oldTestCase.getParent().replaceTestCase(testCase);
+      }
+      else
+      {
+        LOGGER.info("Test case '{}' added", () -> testCase.getId());
+        getTestSuite(file.getParentFile()).addTestCase(testCase);
+      }
+    }
+
+    for(TestCase oldTestCase : oldTestCases.values())
+    {
+      LOGGER.info("Test case '{}' removed", () -> oldTestCase.getId());
+      TestSuite parent = oldTestCase.getParent();
+      parent.removeTestCase(oldTestCase.getId());
+      prune(parent);
+    }
+  }
+
+
+  /**
+   * Remove all test cases and test suites below deleted {@link directory}
+   * from the test suite
+   *
+   * @param directory
+   */
+  private void remove(File directory)
+  {
+    if(directory.equals(testRoot))
+    {
+      LOGGER.warn("Test root '{}' deleted", () -> testRoot.getPath());
+
+      new LinkedList<>(testSuite.getTestCases().keySet()).forEach(testSuite::removeTestCase);
+      new LinkedList<>(testSuite.getTestSuites().keySet()).forEach(testSuite::removeTestSuite);
+      return;
+    }
+
+    TestSuite directoryTestSuite = testSuite.getTestSuite(directory.getAbsolutePath(), true);
+
+    if(directoryTestSuite == null)
+    {
+      return;
+    }
+
+    LOGGER.info("Test suite '{}' removed with {} test case(s)", () -> directoryTestSuite.getId(),
+                () -> directoryTestSuite.numberOfTestCases(true));
+
+    TestSuite parent = directoryTestSuite.getParent();
+    parent.removeTestSuite(directoryTestSuite.getId());
+    prune(parent);
+  }
+
+
+  /**
+   * Return the test cases of {@link workbook} by id. A data driven workbook
+   * has a test case per data set. The test cases of a workbook are members of
+   * the test suite of its directory, which is found by the index of the test
+   * suite. Only the test cases of that test suite are searched for data sets.
+   *
+   * @param workbook
+   *
+   * @return
+   */
+  private HashMap<String, TestCase> findTestCases(File workbook)
+  {
+    HashMap<String, TestCase> testCases = new HashMap<>();
+    String workbookId = workbook.getAbsolutePath();
+    TestCase testCase = testSuite.getTestCase(workbookId, true);
+
+    if(testCase != null)
+    {
+      testCases.put(workbookId, testCase);
+    }
+
+    File directory = workbook.getParentFile();
+    TestSuite directoryTestSuite = directory.equals(testRoot)
+                                   ? testSuite
+                                   : testSuite.getTestSuite(directory.getAbsolutePath(), true);
+
+    if(directoryTestSuite != null)
+    {
+      String prefix = workbookId + TestDataBuilder.DATA_SET_SEPARATOR;
+
+      directoryTestSuite.getTestCases().forEach((id, dataSetTestCase) ->
+      {
+        if(id.startsWith(prefix))
+        {
+          testCases.put(id, dataSetTestCase);
+        }
+      });
+    }
+
+    return testCases;
+  }
+
+
+  /**
+   * Remove {@link testSuite} and its empty parents from the test suite when
+   * they have no test cases left. The test suite of the test root is kept.
+   *
+   * @param testSuite
+   */
+  private void prune(TestSuite testSuite)
+  {
+    while(testSuite != this.testSuite && testSuite.hasParent()
+          && testSuite.numberOfTestCases(true) == 0)
+    {
+      String id = testSuite.getId();
+      LOGGER.info("Test suite '{}' removed", () -> id);
+
+      TestSuite parent = testSuite.getParent();
+      parent.removeTestSuite(id);
+      testSuite = parent;
+    }
+  }
+
+
+  /**
+   * Return the test suite of {@link directory}. Missing test suites are
+   * created.
+   *
+   * @param directory
+   *
+   * @return
+   */
+  private TestSuite getTestSuite(File directory)
+  {
+    if(directory.equals(testRoot))
+    {
+      return testSuite;
+    }
+
+    TestSuite parent = getTestSuite(directory.getParentFile());
+
+    if(parent.hasTestSuite(directory.getAbsolutePath()))
+    {
+      return parent.getTestSuite(directory.getAbsolutePath());
+    }
+
+    TestSuite newTestSuite = new TestSuite(directory.getAbsolutePath());
+    parent.addTestSuite(newTestSuite);
+
+    return newTestSuite;
+  }
+
+}
@@ -0,0 +1,98 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.builders;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.plugins.input.msexcel.readers.testcase.TestActionTemplate;
+
+/**
+ * The content of a test case workbook as it is read by the
+ * {@link TestCaseBuilder}: the test type, headers and action templates per
+ * section. It does not depend on an output plug-in, so it can be stored in the
+ * {@link nl.dictu.prova.plugins.input.msexcel.util.TestCaseCache}.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ParsedTestCase
+{
+
+  private TestType testType;
+  private boolean complete;
+  private final LinkedHashMap<String, String> headers = new LinkedHashMap<>();
+  private final LinkedList<TestActionTemplate> setUpActions = new LinkedList<>();
+  private final LinkedList<TestActionTemplate> testActions = new LinkedList<>();
+  private final LinkedList<TestActionTemplate> tearDownActions = new LinkedList<>();
+
+
+  public TestType getTestType()
+  {
+    return testType;
+  }
+
+
+  public void setTestType(TestType testType)
+  {
+    this.testType = testType;
+  }
+
+
+  /**
+   * Returns true when the actions are parsed as well, not only the headers
+   *
+   * @return
+   */
+  public boolean isComplete()
+  {
+    return complete;
+  }
+
+
+  public void setComplete(boolean complete)
+  {
+    this.complete = complete;
+  }
+
+
+  public LinkedHashMap<String, String> getHeaders()
+  {
+    return headers;
+  }
+
+
+  public LinkedList<TestActionTemplate> getSetUpActions()
+  {
+    return setUpActions;
+  }
+
+
+  public LinkedList<TestActionTemplate> getTestActions()
+  {
+    return testActions;
+  }
+
+
+  public LinkedList<TestActionTemplate> getTearDownActions()
+  {
+    return tearDownActions;
+  }
+
+}
@@ -20,16 +20,45 @@
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
 import java.io.File;
+import java.security.InvalidParameterException;
 import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
 import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
 import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.input.msexcel.Config;
+import nl.dictu.prova.plugins.input.msexcel.readers.testcase.TestActionTemplate;
 import nl.dictu.prova.plugins.input.msexcel.readers.testcase.TestCaseReader;
+import nl.dictu.prova.plugins.input.msexcel.readers.testcase.TestCaseReaderFactory;
+import nl.dictu.prova.plugins.input.msexcel.util.RowHandler;
+import nl.dictu.prova.plugins.input.msexcel.util.RowSource;
+import nl.dictu.prova.plugins.input.msexcel.util.TestCaseCache;
+import nl.dictu.prova.plugins.input.msexcel.util.Validator;
+import nl.dictu.prova.plugins.input.msexcel.util.WorkbookReader;
+import nl.dictu.prova.plugins.output.OutputPlugin;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.Sheet;
 
 /**
+ * Builds test cases from workbooks. A workbook contains one test case. Each
+ * sheet with a test type prefix (for example 'web_Login') contains:
+ * - Header rows with the header name in column A and the value in column B
+ * - The action table, starting with a row with 'Action' in column A and the
+ *   names of the attributes in the next columns
+ * - One row per action, with the action name in column A and the values of the
+ *   attributes in the next columns. A row with '[SetUp]', '[Test]' or
+ *   '[TearDown]' in column A starts a new section (default: '[Test]').
+ * Sheets without a test type prefix are ignored. The test type of the test
+ * case is the test type of its first sheet.
+ * Workbooks are read as a stream, see {@link WorkbookReader}. Other file
+ * formats with the same layout can be read with another {@link RowSource}. When a cache
+ * directory is configured the parsed workbooks are cached, see
+ * {@link TestCaseCache}.
+ * The parsed content of data driven workbooks (see {@link TestDataBuilder}) is
+ * kept in memory, so all test cases of such a workbook share the same action
+ * templates.
  *
  * @author Sjoerd Boerhout
  */
@@ -39,11 +68,38 @@ public class TestCaseBuilder
   private final static Logger LOGGER = LogManager.getLogger(
           TestCaseBuilder.class.getName());
 
+  public final static String ACTION_TABLE = "Action";
+  public final static String SECTION_SETUP = "[SetUp]";
+  public final static String SECTION_TEST = "[Test]";
+  public final static String SECTION_TEARDOWN = "[TearDown]";
+
+  private final TestRunner testRunner;
+  private final TestCaseCache testCaseCache;
+  private final RowSource rowSource;
+  private final ConcurrentHashMap<String, Template> templates = new ConcurrentHashMap<>();
   private TestCaseReader testCaseReader;
 
 
   public TestCaseBuilder(TestRunner testRunner)
   {
+    this(testRunner, WorkbookReader::read, getCacheDirectory(testRunner));
+  }
+
+
+  /**
+   * Constructor for test cases in other file formats than workbooks.
+   * {@link rowSource} reads the test case files, the parsed files are cached
+   * in {@link cacheDirectory} (null: no cache).
+   *
+   * @param testRunner
+   * @param rowSource
+   * @param cacheDirectory
+   */
+  public TestCaseBuilder(TestRunner testRunner, RowSource rowSource, File cacheDirectory)
+  {
+    this.testRunner = testRunner;
+    this.testCaseCache = cacheDirectory != null ? new TestCaseCache(cacheDirectory) : null;
+    this.rowSource = rowSource;
   }
 
 
@@ -69,4 +125,368 @@ public class TestCaseBuilder
   {
     throw new UnsupportedOperationException("Not supported yet.");
   }
+
+
+  /**
+   * Return the cache directory of the msExcel plug-in, configured with
+   * property {@link Config#PROVA_PLUGINS_INPUT_MSEXCEL_CACHE_DIR}. Returns null
+   * (no cache) when the property is not set.
+   *
+   * @param testRunner
+   *
+   * @return
+   */
+  public static File getCacheDirectory(TestRunner testRunner)
+  {
+    if(testRunner == null || !testRunner.hasProperty(Config.PROVA_PLUGINS_INPUT_MSEXCEL_CACHE_DIR))
+    {
+      return null;
+    }
+
+    return new File(testRunner.getProperty(Config.PROVA_PLUGINS_INPUT_MSEXCEL_CACHE_DIR).trim());
+  }
+
+
+  /**
+   * Read the headers and the test type of {@link testCase} from
+   * {@link workbook}. Without a cache the actions are skipped; reading of a
+   * sheet stops at its action table. With a cache the complete workbook is
+   * read and stored, so loading the actions later on is served by the cache.
+   *
+   * @param workbook
+   * @param testCase
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public TestCase parseHeaders(File workbook, TestCase testCase) throws Exception
+  {
+    return apply(parse(workbook, testCaseCache != null), testCase, false);
+  }
+
+
+  /**
+   * Read the headers, test type and all actions of {@link testCase} from
+   * {@link workbook}, or from the cache when the workbook is not changed since
+   * it was cached.
+   *
+   * @param workbook
+   * @param testCase
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public TestCase parseTestActions(File workbook, TestCase testCase) throws Exception
+  {
+    return apply(parse(workbook, true), testCase, true);
+  }
+
+
+  /**
+   * Return the complete content of {@link workbook}: test type, headers and
+   * action templates. The content of a data driven workbook is kept in memory
+   * until the workbook changes.
+   *
+   * @param workbook
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public ParsedTestCase getTemplate(File workbook) throws Exception
+  {
+    return parse(workbook, true);
+  }
+
+
+  /**
+   * Return the content of {@link workbook}. When {@link parseActions} is
+   * set the actions are read as well and the result is cached.
+   *
+   * @param workbook
+   * @param parseActions
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private ParsedTestCase parse(File workbook, boolean parseActions) throws Exception
+  {
+    Template template = templates.get(workbook.getAbsolutePath());
+
+    if(template != null && template.isValid(workbook))
+    {
+      LOGGER.trace("Workbook '{}' read from memory", () -> workbook.getName());
+      return template.parsedTestCase;
+    }
+
+    ParsedTestCase parsedTestCase = testCaseCache != null ? testCaseCache.get(workbook) : null;
+
+    if(parsedTestCase != null)
+    {
+      LOGGER.trace("Workbook '{}' read from cache", () -> workbook.getName());
+      keepTemplate(workbook, workbook.length(), workbook.lastModified(), parsedTestCase);
+      return parsedTestCase;
+    }
+
+    long length = workbook.length();
+    long lastModified = workbook.lastModified();
+
+    parsedTestCase = new ParsedTestCase();
+
+    rowSource.read(workbook, new TestCaseRowHandler(parsedTestCase, parseActions));
+
+    parsedTestCase.setComplete(parseActions);
+
+    if(parseActions && testCaseCache != null)
+    {
+      testCaseCache.put(workbook, length, lastModified, parsedTestCase);
+    }
+
+    keepTemplate(workbook, length, lastModified, parsedTestCase);
+
+    return parsedTestCase;
+  }
+
+
+  /**
+   * Keep the complete content of a data driven workbook in memory
+   *
+   * @param workbook
+   * @param length
+   * @param lastModified
+   * @param parsedTestCase
+   */
+  private void keepTemplate(File workbook, long length, long lastModified,
+                            ParsedTestCase parsedTestCase)
+  {
+    if(parsedTestCase.isComplete()
+       && parsedTestCase.getHeaders().containsKey(TestDataBuilder.HEADER_DATA))
+    {
+      templates.put(workbook.getAbsolutePath(),
+                    new Template(length, lastModified, parsedTestCase));
+    }
+  }
+
+
+  /**
+   * Copy the test type, headers and (optional) actions of
+   * {@link parsedTestCase} to {@link testCase}. The actions are created by the
+   * first output plug-in for the test type of the test case.
+   *
+   * @param parsedTestCase
+   * @param testCase
+   * @param withActions
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private TestCase apply(ParsedTestCase parsedTestCase, TestCase testCase, boolean withActions)
+          throws Exception
+  {
+    if(testCase.getTestType() == null && parsedTestCase.getTestType() != null)
+    {
+      testCase.setTestType(parsedTestCase.getTestType());
+    }
+
+    parsedTestCase.getHeaders().forEach((key, value) -> testCase.setHeader(key, value));
+
+    if( !withActions)
+    {
+      return testCase;
+    }
+
+    OutputPlugin outputPlugin = getOutputPlugin(testCase);
+
+    for(TestActionTemplate template : parsedTestCase.getSetUpActions())
+    {
+      testCase.addSetUpAction(template.createTestAction(outputPlugin));
+    }
+
+    for(TestActionTemplate template : parsedTestCase.getTestActions())
+    {
+      testCase.addTestAction(template.createTestAction(outputPlugin));
+    }
+
+    for(TestActionTemplate template : parsedTestCase.getTearDownActions())
+    {
+      testCase.addTearDownAction(template.createTestAction(outputPlugin));
+    }
+
+    return testCase;
+  }
+
+
+  /**
+   * Return the output plug-in that creates the actions of {@link testCase}
+   *
+   * @param testCase
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private OutputPlugin getOutputPlugin(TestCase testCase) throws InvalidParameterException
+  {
+    LinkedList<OutputPlugin> outputPlugins = testRunner.getOutputPlugins(testCase.getTestType());
+
+    if(outputPlugins == null || outputPlugins.isEmpty())
+    {
+      throw new InvalidParameterException("No output plug-in for test type '"
+                                          + testCase.getTestType() + "' of test case '"
+                                          + testCase.getId() + "'");
+    }
+
+    return outputPlugins.getFirst();
+  }
+
+
+  /**
+   * The content of a data driven workbook and the state of the workbook when
+   * it was read.
+   */
+  private static class Template
+  {
+    private final long length;
+    private final long lastModified;
+    private final ParsedTestCase parsedTestCase;
+
+
+    private Template(long length, long lastModified, ParsedTestCase parsedTestCase)
+    {
+      this.length = length;
+      this.lastModified = lastModified;
+      this.parsedTestCase = parsedTestCase;
+    }
+
+
+    private boolean isValid(File workbook)
+    {
+      return workbook.length() == length && workbook.lastModified() == lastModified;
+    }
+  }
+
+
+  /**
+   * Turns the rows of the sheets of a test case workbook into headers and
+   * action templates. Rows of an action table without an action name (e.g. a
+   * note in another column) are skipped with a warning.
+   */
+  private class TestCaseRowHandler implements RowHandler
+  {
+    private final ParsedTestCase parsedTestCase;
+    private final boolean parseActions;
+
+    private String sheetName;
+    private TestType testType;
+    private TestCaseReader sheetReader;
+    private String[] columns;
+    private String section;
+
+
+    private TestCaseRowHandler(ParsedTestCase parsedTestCase, boolean parseActions)
+    {
+      this.parsedTestCase = parsedTestCase;
+      this.parseActions = parseActions;
+    }
+
+
+    @Override
+    public boolean startSheet(String sheetName) throws Exception
+    {
+      this.sheetName = sheetName;
+      testType = Validator.getTestType(sheetName);
+
+      if(testType == null)
+      {
+        LOGGER.debug("Sheet '{}' has no test type. Skipped.", () -> sheetName);
+        return false;
+      }
+
+      if(parsedTestCase.getTestType() == null)
+      {
+        parsedTestCase.setTestType(testType);
+      }
+
+      sheetReader = null;
+      columns = null;
+      section = SECTION_TEST;
+
+      return true;
+    }
+
+
+    @Override
+    public boolean row(int rowNumber, String[] cells) throws Exception
+    {
+      if(columns == null)
+      {
+        if(ACTION_TABLE.equalsIgnoreCase(cells[0]))
+        {
+          columns = cells;
+
+          return parseActions;
+        }
+
+        if(cells[0] != null && cells.length > 1 && cells[1] != null)
+        {
+          parsedTestCase.getHeaders().put(cells[0], cells[1]);
+        }
+
+        return true;
+      }
+
+      if(cells[0] == null || cells[0].trim().isEmpty())
+      {
+        LOGGER.warn("Row {} of sheet '{}' has no action name. Skipped.", () -> rowNumber + 1,
+                    () -> sheetName);
+        return true;
+      }
+
+      for(String sectionName : new String[]{SECTION_SETUP, SECTION_TEST, SECTION_TEARDOWN})
+      {
+        if(sectionName.equalsIgnoreCase(cells[0]))
+        {
+          section = sectionName;
+          return true;
+        }
+      }
+
+      TestActionTemplate template = getSheetReader().parseActionRow(columns, cells);
+
+      switch(section)
+      {
+        case SECTION_SETUP:
+          parsedTestCase.getSetUpActions().add(template);
+          break;
+        case SECTION_TEARDOWN:
+          parsedTestCase.getTearDownActions().add(template);
+          break;
+        default:
+          parsedTestCase.getTestActions().add(template);
+      }
+
+      return true;
+    }
+
+
+    @Override
+    public void endSheet(String sheetName) throws Exception
+    {
+    }
+
+
+    private TestCaseReader getSheetReader()
+    {
+      if(sheetReader == null)
+      {
+        sheetReader = TestCaseReaderFactory.getInstance(testType);
+      }
+
+      return sheetReader;
+    }
+  }
 }
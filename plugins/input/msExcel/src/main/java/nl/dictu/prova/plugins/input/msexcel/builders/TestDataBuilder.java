@@ -19,12 +19,34 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
+import java.io.File;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import nl.dictu.prova.TestRunner;
-import nl.dictu.prova.plugins.input.msexcel.readers.testdata.TestDataReader;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.input.msexcel.readers.testdata.DataSetStore;
+import nl.dictu.prova.plugins.input.msexcel.readers.testdata.TestDataReaderFactory;
+import nl.dictu.prova.plugins.input.msexcel.util.RowSource;
+import nl.dictu.prova.plugins.input.msexcel.util.WorkbookReader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Expands data driven test cases. A test case workbook with header
+ * {@link #HEADER_DATA} refers to a data set workbook (relative to the
+ * directory of the test case workbook). The test case is run once for each
+ * data set in that workbook.
+ * The data sets are streamed from the data set workbook into a
+ * {@link DataSetStore} outside the heap. A test suite holds all its test
+ * cases, so a test case is created for each data set when the test suite is
+ * built. The test cases of one workbook share one immutable map of headers
+ * and the action templates of the workbook; a test case only refers to its
+ * row in the store. The id of a test case is the id of the workbook, followed
+ * by {@link #DATA_SET_SEPARATOR} and the name of the data set.
  *
  * @author Sjoerd Boerhout
  */
@@ -34,10 +56,210 @@ public class TestDataBuilder
   private final static Logger LOGGER = LogManager.getLogger(
           TestDataBuilder.class.getName());
 
-  private TestDataReader testDataReader;
+  public final static String HEADER_DATA = "Data";
+  public final static String DATA_SET_SEPARATOR = "#";
+
+  private final RowSource rowSource;
+
 
   public TestDataBuilder(TestRunner testRunner)
   {
+    this(testRunner, WorkbookReader::read);
+  }
+
+
+  public TestDataBuilder(TestRunner testRunner, RowSource rowSource)
+  {
+    this.rowSource = rowSource;
+  }
+
+
+  /**
+   * Read all data sets in {@link dataSetFile} into a {@link DataSetStore}.
+   * The workbook is streamed into the store on the calling thread.
+   *
+   * @param dataSetFile
+   * @param testType
+   *
+   * @return
+   *
+   * @throws IllegalArgumentException when the data set file does not exist
+   * @throws IllegalStateException when the data set file can not be read
+   */
+  public DataSetStore getDataSetStore(File dataSetFile, TestType testType)
+          throws IllegalArgumentException, IllegalStateException
+  {
+    if(dataSetFile == null || !dataSetFile.isFile())
+    {
+      throw new IllegalArgumentException("Data set file '" + dataSetFile + "' not found");
+    }
+
+    DataSetStore dataSetStore;
+
+    try
+    {
+      dataSetStore = TestDataReaderFactory.getInstance(testType)
+              .readDataSetStore(dataSetFile, rowSource);
+    }
+    catch(Exception eX)
+    {
+      throw new IllegalStateException("Unable to read data sets from '" + dataSetFile + "'", eX);
+    }
+
+    LOGGER.debug("Stored {} data set(s) of '{}' in {} bytes", () -> dataSetStore.numberOfRows(),
+                 () -> dataSetFile.getName(), () -> dataSetStore.getMemoryUsage());
+
+    return dataSetStore;
+  }
+
+
+  /**
+   * Return a lazy iterator over the test cases of workbook {@link workbookId}
+   * with template {@link template}, one for each row of {@link dataSetStore}.
+   * The test cases are bound to their row of the store and share one map of
+   * headers.
+   *
+   * @param workbookId
+   * @param template
+   * @param dataSetStore
+   *
+   * @return
+   */
+  public Iterator<TestCase> getTestCases(String workbookId, ParsedTestCase template,
+                                         DataSetStore dataSetStore)
+  {
+    Map<String, String> headers = getHeaders(template);
+
+    return new Iterator<TestCase>()
+    {
+      private int row = 0;
+
+
+      @Override
+      public boolean hasNext()
+      {
+        return row < dataSetStore.numberOfRows();
+      }
+
+
+      @Override
+      public TestCase next()
+      {
+        if( !hasNext())
+        {
+          throw new NoSuchElementException("No more data sets");
+        }
+
+        TestCase testCase = createTestCase(workbookId + DATA_SET_SEPARATOR
+                                           + dataSetStore.getName(row), template, headers);
+        testCase.setVariableStore(dataSetStore, row++);
+
+        return testCase;
+      }
+    };
+  }
+
+
+  /**
+   * Return the headers of {@link template} as an immutable map, which is
+   * shared by all test cases of the template
+   *
+   * @param template
+   *
+   * @return
+   */
+  private Map<String, String> getHeaders(ParsedTestCase template)
+  {
+    LinkedHashMap<String, String> headers = new LinkedHashMap<>();
+
+    template.getHeaders().forEach((key, value) -> headers.put(key.trim(), value));
+
+    return Collections.unmodifiableMap(headers);
+  }
+
+
+  /**
+   * Create test case {@link id} with the test type of {@link template} and
+   * the shared {@link headers}
+   *
+   * @param id
+   * @param template
+   * @param headers
+   *
+   * @return
+   */
+  private TestCase createTestCase(String id, ParsedTestCase template,
+                                  Map<String, String> headers)
+  {
+    TestCase testCase = new TestCase(id);
+
+    LOGGER.trace("Create test case '{}'", () -> testCase.getId());
+
+    if(template.getTestType() != null)
+    {
+      testCase.setTestType(template.getTestType());
+    }
+
+    testCase.shareHeaders(headers);
+
+    return testCase;
+  }
+
+
+  /**
+   * Return the data set workbook of {@link workbook}, as set in header
+   * {@link #HEADER_DATA} of {@link testCase}. Returns null when the test case
+   * is not data driven.
+   *
+   * @param workbook
+   * @param testCase
+   *
+   * @return
+   */
+  public static File getDataSetFile(File workbook, TestCase testCase)
+  {
+    if( !testCase.hasHeader(HEADER_DATA) || testCase.getHeader(HEADER_DATA).trim().isEmpty())
+    {
+      return null;
+    }
+
+    File dataSetFile = new File(testCase.getHeader(HEADER_DATA).trim());
+
+    return dataSetFile.isAbsolute() ? dataSetFile
+           : new File(workbook.getAbsoluteFile().getParentFile(), dataSetFile.getPath());
+  }
+
+
+  /**
+   * Return the path of the workbook of the test case with id
+   * {@link testCaseId}. The id is split at the last
+   * {@link #DATA_SET_SEPARATOR} of which the part before it is an existing
+   * file, so the names of workbooks, flat files, directories and data sets can
+   * all contain the separator, whatever the extension of the file is.
+   * Returns {@link testCaseId} when no such file exists.
+   *
+   * @param testCaseId
+   *
+   * @return
+   */
+  public static String getWorkbookPath(String testCaseId)
+  {
+    if(new File(testCaseId).isFile())
+    {
+      return testCaseId;
+    }
+
+    for(int index = testCaseId.lastIndexOf(DATA_SET_SEPARATOR); index > 0;
+        index = testCaseId.lastIndexOf(DATA_SET_SEPARATOR, index - 1))
+    {
+      String path = testCaseId.substring(0, index);
+
+      if(new File(path).isFile())
+      {
+        return path;
+      }
+    }
 
+    return testCaseId;
   }
 }
@@ -19,12 +19,43 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.framework.TestCase;
 import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.msexcel.Config;
+import nl.dictu.prova.plugins.input.msexcel.util.LabelFilter;
+import nl.dictu.prova.plugins.input.msexcel.util.LabelIndex;
+import nl.dictu.prova.plugins.input.msexcel.util.RowSource;
+import nl.dictu.prova.plugins.input.msexcel.util.WorkbookReader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Builds the structure of test suites and test cases of a directory. Each
+ * (sub-)directory with test cases is a test suite, each workbook with at least
+ * one sheet with a test type prefix is a test case. The absolute path of the
+ * directory or workbook is the id of the test suite or test case.
+ * Directories are scanned and workbooks are parsed in parallel on a fork/join
+ * pool. The results are merged in the order of the file names: first the test
+ * cases of a directory, then its sub-test suites. The structure is therefore
+ * the same as when it is built by a single thread.
+ * A data driven workbook results in one test case per data set, see
+ * {@link TestDataBuilder}.
+ * The labels of all test cases are kept in a {@link LabelIndex}. When a
+ * cache directory is configured the index is saved there, and workbooks that
+ * have not changed and do not match the label filter are skipped without
+ * parsing them.
  *
  * @author Sjoerd Boerhout
  */
@@ -34,19 +65,514 @@ public class TestSuiteBuilder
   private final static Logger LOGGER = LogManager.getLogger(
           TestSuiteBuilder.class.getName());
 
+  public final static String WORKBOOK_EXTENSION = ".xlsx";
+  public final static String HEADER_LABELS = "Labels";
+  public final static String LABEL_INDEX_FILE = "labels.index";
+
+  private final TestCaseBuilder testCaseBuilder;
+  private final TestDataBuilder testDataBuilder;
+  private final FileFilter testCaseFilter;
+  private final File labelIndexFile;
+  private volatile LabelIndex labelIndex = new LabelIndex();
+  private final int parallelism;
+
 
   public TestSuiteBuilder(TestRunner testRunner)
   {
+    this(testRunner, getParallelism(testRunner));
+  }
+
+
+  public TestSuiteBuilder(TestRunner testRunner, int parallelism) throws InvalidParameterException
+  {
+    this(testRunner, parallelism, WorkbookReader::read, TestSuiteBuilder::isWorkbook,
+         TestCaseBuilder.getCacheDirectory(testRunner), LABEL_INDEX_FILE);
+  }
+
+
+  /**
+   * Constructor for test cases in other file formats than workbooks.
+   * {@link rowSource} reads the test case and data set files,
+   * {@link testCaseFilter} selects the test case files in a directory.
+   * The parsed files and file {@link labelIndexFileName} with the label index
+   * are kept in {@link cacheDirectory} (null: no cache). Each plug-in needs
+   * its own label index file.
+   *
+   * @param testRunner
+   * @param parallelism
+   * @param rowSource
+   * @param testCaseFilter
+   * @param cacheDirectory
+   * @param labelIndexFileName
+   *
+   * @throws InvalidParameterException
+   */
+  public TestSuiteBuilder(TestRunner testRunner, int parallelism, RowSource rowSource,
+                          FileFilter testCaseFilter, File cacheDirectory,
+                          String labelIndexFileName) throws InvalidParameterException
+  {
+    if(parallelism < 1)
+    {
+      throw new InvalidParameterException("Invalid number of threads (" + parallelism + ")");
+    }
+
+    this.testCaseBuilder = new TestCaseBuilder(testRunner, rowSource, cacheDirectory);
+    this.testDataBuilder = new TestDataBuilder(testRunner, rowSource);
+    this.testCaseFilter = testCaseFilter;
+    this.labelIndexFile = cacheDirectory != null ? new File(cacheDirectory, labelIndexFileName)
+                          : null;
+    this.parallelism = parallelism;
+  }
+
+
+  /**
+   * Return the builder that parses the test cases of this builder. Use it to
+   * load the actions of the test cases as well, so data driven test cases
+   * share the templates kept in memory by this builder.
+   *
+   * @return
+   */
+  public TestCaseBuilder getTestCaseBuilder()
+  {
+    return testCaseBuilder;
+  }
 
+
+  /**
+   * Return the index with the labels of the test cases found by the last call
+   * of {@link #buildTestSuite(TestSuite, File, String[])}
+   *
+   * @return
+   */
+  public LabelIndex getLabelIndex()
+  {
+    return labelIndex;
   }
 
-  public String[] buildTestSuite(String testSuiteRoot, String[] filters)
+
+  /**
+   * Add the test cases and sub-test suites of directory {@link testSuiteRoot}
+   * to {@link testSuite}. When {@link filters} is not empty, only test cases
+   * with labels (header {@link HEADER_LABELS}) that match one (or more) of
+   * the filters are added, see {@link LabelFilter}. Test suites without test
+   * cases are left out.
+   *
+   * @param testSuite
+   * @param testSuiteRoot
+   * @param filters
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public TestSuite buildTestSuite(TestSuite testSuite, File testSuiteRoot, String[] filters)
+          throws Exception
   {
-        throw new UnsupportedOperationException("Not supported yet.");
+    if( !testSuiteRoot.isDirectory())
+    {
+      throw new InvalidParameterException("Test root '" + testSuiteRoot + "' is not a directory");
+    }
+
+    LOGGER.debug("Build test suite '{}' from '{}' with {} thread(s)", () -> testSuite.getId(),
+                 () -> testSuiteRoot.getAbsolutePath(), () -> parallelism);
+
+    LabelFilter labelFilter = LabelFilter.parse(filters);
+    LabelIndex previousIndex = labelIndexFile != null ? LabelIndex.load(labelIndexFile)
+                               : labelIndex;
+    Selection selection = new Selection(labelFilter, previousIndex, new LabelIndex());
+
+    ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+
+    try
+    {
+      forkJoinPool.invoke(new TestSuiteTask(testSuite, testSuiteRoot, selection));
+    }
+    finally
+    {
+      forkJoinPool.shutdown();
+    }
+
+    labelIndex = selection.labelIndex;
+
+    if(labelIndexFile != null)
+    {
+      try
+      {
+        labelIndex.save(labelIndexFile);
+      }
+      catch(IOException eX)
+      {
+        LOGGER.warn("Unable to save label index '{}': {}", () -> labelIndexFile.getPath(),
+                    () -> eX.getMessage());
+      }
+    }
+
+    LOGGER.info("Found {} test case(s) in '{}' ({} workbook(s) skipped by label filter '{}')",
+                () -> testSuite.numberOfTestCases(true), () -> testSuiteRoot.getAbsolutePath(),
+                () -> selection.skipped.get(), () -> labelFilter);
+
+    return testSuite;
   }
 
-  private String[] addTestCases(TestSuite testSuite, String[] filters)
+
+  /**
+   * Build the test case of {@link workbook} with its headers. Returns null
+   * when the workbook is not a test case, can not be read or does not match
+   * {@link filters}.
+   *
+   * @param workbook
+   * @param filters
+   *
+   * @return
+   */
+  public TestCase buildTestCase(File workbook, String[] filters)
+  {
+    return buildTestCase(workbook, new Selection(LabelFilter.parse(filters), labelIndex,
+                                                 labelIndex));
+  }
+
+
+  /**
+   * Build the test case of {@link workbook} when it is selected by
+   * {@link selection}
+   *
+   * @param workbook
+   * @param selection
+   *
+   * @return
+   */
+  private TestCase buildTestCase(File workbook, Selection selection)
+  {
+    if(selection.isSkipped(workbook))
+    {
+      LOGGER.trace("Workbook '{}' does not match the label filter. Skipped.",
+                   () -> workbook.getName());
+      return null;
+    }
+
+    try
+    {
+      long length = workbook.length();
+      long lastModified = workbook.lastModified();
+      TestCase testCase = testCaseBuilder.parseHeaders(workbook,
+                                                       new TestCase(workbook.getAbsolutePath()));
+
+      if(testCase.getTestType() == null)
+      {
+        LOGGER.debug("Workbook '{}' has no test sheets. Skipped.", () -> workbook.getName());
+        return null;
+      }
+
+      LinkedList<String> labels = getLabels(testCase);
+      selection.labelIndex.put(workbook, length, lastModified,
+                               labels.toArray(new String[labels.size()]));
+
+      return selection.labelFilter.matches(labels) ? testCase : null;
+    }
+    catch(Exception eX)
+    {
+      LOGGER.error("Unable to read workbook '{}': {}", () -> workbook.getAbsolutePath(),
+                   () -> eX.getMessage());
+      return null;
+    }
+  }
+
+
+  /**
+   * Build the test cases of {@link workbook}: one test case, or one test case
+   * per data set when the workbook is data driven. The filters are checked
+   * before the data sets are read. Returns an empty list when the workbook is
+   * not a test case, can not be read or does not match {@link filters}.
+   *
+   * @param workbook
+   * @param filters
+   *
+   * @return
+   */
+  public LinkedList<TestCase> buildTestCases(File workbook, String[] filters)
+  {
+    return buildTestCases(workbook, new Selection(LabelFilter.parse(filters), labelIndex,
+                                                  labelIndex));
+  }
+
+
+  /**
+   * Build the test cases of {@link workbook} when it is selected by
+   * {@link selection}
+   *
+   * @param workbook
+   * @param selection
+   *
+   * @return
+   */
+  private LinkedList<TestCase> buildTestCases(File workbook, Selection selection)
+  {
+    LinkedList<TestCase> testCases = new LinkedList<>();
+    TestCase testCase = buildTestCase(workbook, selection);
+
+    if(testCase == null)
+    {
+      return testCases;
+    }
+
+    File dataSetFile = TestDataBuilder.getDataSetFile(workbook, testCase);
+
+    if(dataSetFile == null)
+    {
+      testCases.add(testCase);
+      return testCases;
+    }
+
+    try
+    {
+      Iterator<TestCase> iterator = testDataBuilder.getTestCases(
+              testCase.getId(), testCaseBuilder.getTemplate(workbook),
+              testDataBuilder.getDataSetStore(dataSetFile, testCase.getTestType()));
+
+      iterator.forEachRemaining(testCases::add);
+    }
+    catch(Exception eX)
+    {
+      LOGGER.error("Unable to read data sets '{}' of workbook '{}': {}", () -> dataSetFile,
+                   () -> workbook.getAbsolutePath(), () -> eX.getMessage());
+      testCases.clear();
+    }
+
+    LOGGER.debug("Workbook '{}' expanded to {} test case(s)", () -> workbook.getName(),
+                 () -> testCases.size());
+
+    return testCases;
+  }
+
+
+  /**
+   * Check if {@link file} is a workbook. Lock files of Excel ('~$...') are
+   * skipped.
+   *
+   * @param file
+   *
+   * @return
+   */
+  public static boolean isWorkbook(File file)
   {
-        throw new UnsupportedOperationException("Not supported yet.");
+    String fileName = file.getName();
+
+    return fileName.toLowerCase().endsWith(WORKBOOK_EXTENSION) && !fileName.startsWith("~$");
+  }
+
+
+  /**
+   * Return the normalized labels in header {@link HEADER_LABELS} of
+   * {@link testCase}
+   *
+   * @param testCase
+   *
+   * @return
+   */
+  private LinkedList<String> getLabels(TestCase testCase)
+  {
+    LinkedList<String> labels = new LinkedList<>();
+
+    if(testCase.hasHeader(HEADER_LABELS))
+    {
+      for(String label : testCase.getHeader(HEADER_LABELS).split("[,;\\s]+"))
+      {
+        if( !label.isEmpty())
+        {
+          labels.add(LabelFilter.normalize(label));
+        }
+      }
+    }
+
+    return labels;
+  }
+
+
+  /**
+   * Return the number of threads configured with property
+   * {@link Config#PROVA_PLUGINS_INPUT_MSEXCEL_THREADS}, or the number of
+   * available processors when it is not set.
+   *
+   * @param testRunner
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private static int getParallelism(TestRunner testRunner) throws InvalidParameterException
+  {
+    if(testRunner == null || !testRunner.hasProperty(Config.PROVA_PLUGINS_INPUT_MSEXCEL_THREADS))
+    {
+      return Runtime.getRuntime().availableProcessors();
+    }
+
+    String threads = testRunner.getProperty(Config.PROVA_PLUGINS_INPUT_MSEXCEL_THREADS);
+
+    try
+    {
+      return Integer.parseInt(threads.trim());
+    }
+    catch(NumberFormatException eX)
+    {
+      throw new InvalidParameterException("Invalid value for property '"
+                                          + Config.PROVA_PLUGINS_INPUT_MSEXCEL_THREADS + "' ("
+                                          + threads + ")");
+    }
+  }
+
+
+  /**
+   * Fills a test suite with the test cases and sub-test suites of a
+   * directory. A task is forked for each workbook and sub-directory; their
+   * results are joined in the order of the file names.
+   */
+  private class TestSuiteTask extends RecursiveTask<TestSuite>
+  {
+    private final static long serialVersionUID = 1L;
+
+    private final TestSuite testSuite;
+    private final File directory;
+    private final Selection selection;
+
+
+    private TestSuiteTask(TestSuite testSuite, File directory, Selection selection)
+    {
+      this.testSuite = testSuite;
+      this.directory = directory;
+      this.selection = selection;
+    }
+
+
+    @Override
+    protected TestSuite compute()
+    {
+      File[] files = directory.listFiles();
+
+      if(files == null)
+      {
+        LOGGER.warn("Unable to read directory '{}'", () -> directory.getAbsolutePath());
+        return testSuite;
+      }
+
+      Arrays.sort(files);
+
+      LinkedList<TestCaseTask> testCaseTasks = new LinkedList<>();
+      LinkedList<TestSuiteTask> testSuiteTasks = new LinkedList<>();
+
+      for(File file : files)
+      {
+        if(file.isHidden())
+        {
+          continue;
+        }
+
+        if(file.isDirectory())
+        {
+          testSuiteTasks.add(new TestSuiteTask(new TestSuite(file.getAbsolutePath()), file,
+                                               selection));
+        }
+        else if(testCaseFilter.accept(file))
+        {
+          testCaseTasks.add(new TestCaseTask(file, selection));
+        }
+      }
+
+      testCaseTasks.forEach((task) -> task.fork());
+      testSuiteTasks.forEach((task) -> task.fork());
+
+      for(TestCaseTask testCaseTask : testCaseTasks)
+      {
+        testCaseTask.join().forEach(testSuite::addTestCase);
+      }
+
+      for(TestSuiteTask testSuiteTask : testSuiteTasks)
+      {
+        TestSuite subTestSuite = testSuiteTask.join();
+
+        if(subTestSuite.numberOfTestCases(true) > 0)
+        {
+          testSuite.addTestSuite(subTestSuite);
+        }
+      }
+
+      return testSuite;
+    }
+  }
+
+
+  /**
+   * Builds the test cases of one workbook. Returns an empty list when the
+   * workbook is not a (matching) test case.
+   */
+  private class TestCaseTask extends RecursiveTask<LinkedList<TestCase>>
+  {
+    private final static long serialVersionUID = 1L;
+
+    private final File workbook;
+    private final Selection selection;
+
+
+    private TestCaseTask(File workbook, Selection selection)
+    {
+      this.workbook = workbook;
+      this.selection = selection;
+    }
+
+
+    @Override
+    protected LinkedList<TestCase> compute()
+    {
+      return buildTestCases(workbook, selection);
+    }
+  }
+
+
+  /**
+   * The label filter of a build and the label indexes it uses. The workbooks
+   * selected by the filter are determined once, with bitmap operations on the
+   * index of the previous build. Unchanged workbooks that are not selected
+   * are skipped; their entries are copied to the index of this build.
+   */
+  private static class Selection
+  {
+    private final LabelFilter labelFilter;
+    private final LabelIndex previousIndex;
+    private final LabelIndex labelIndex;
+    private final BitSet selected;
+    private final AtomicInteger skipped = new AtomicInteger();
+
+
+    private Selection(LabelFilter labelFilter, LabelIndex previousIndex, LabelIndex labelIndex)
+    {
+      this.labelFilter = labelFilter;
+      this.previousIndex = previousIndex;
+      this.labelIndex = labelIndex;
+      this.selected = labelFilter.isEmpty() ? null : labelFilter.select(previousIndex);
+    }
+
+
+    private boolean isSkipped(File workbook)
+    {
+      if(selected == null)
+      {
+        return false;
+      }
+
+      int id = previousIndex.getId(workbook);
+
+      if(id < 0 || selected.get(id))
+      {
+        return false;
+      }
+
+      if(previousIndex != labelIndex)
+      {
+        previousIndex.copy(id, labelIndex);
+      }
+
+      skipped.incrementAndGet();
+
+      return true;
+    }
   }
 }
@@ -0,0 +1,142 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.readers.testcase;
+
+import java.security.InvalidParameterException;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+
+/**
+ * Immutable result of parsing one row of an action table: the name of the
+ * action and its attributes. Test actions are created from a template by the
+ * output plug-in that executes them, so one template can be used for several
+ * test actions.
+ *
+ * @author Sjoerd Boerhout
+ */
+public final class TestActionTemplate
+{
+
+  private final String name;
+  private final String[] keys;
+  private final String[] values;
+
+
+  /**
+   * Constructor. {@link keys} and {@link values} have the same length; the
+   * arrays are not copied and must not be changed afterwards.
+   *
+   * @param name
+   * @param keys
+   * @param values
+   *
+   * @throws InvalidParameterException
+   */
+  public TestActionTemplate(String name, String[] keys, String[] values)
+          throws InvalidParameterException
+  {
+    if(name == null || keys == null || values == null || keys.length != values.length)
+    {
+      throw new InvalidParameterException("Invalid template for action '" + name + "'");
+    }
+
+    this.name = name;
+    this.keys = keys;
+    this.values = values;
+  }
+
+
+  /**
+   * Return the name of the action
+   *
+   * @return
+   */
+  public String getName()
+  {
+    return name;
+  }
+
+
+  /**
+   * Return the number of attributes
+   *
+   * @return
+   */
+  public int numberOfAttributes()
+  {
+    return keys.length;
+  }
+
+
+  /**
+   * Return the name of attribute {@link index}
+   *
+   * @param index
+   *
+   * @return
+   */
+  public String getKey(int index)
+  {
+    return keys[index];
+  }
+
+
+  /**
+   * Return the value of attribute {@link index}
+   *
+   * @param index
+   *
+   * @return
+   */
+  public String getValue(int index)
+  {
+    return values[index];
+  }
+
+
+  /**
+   * Create a new test action from this template with {@link outputPlugin}
+   *
+   * @param outputPlugin
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  public TestAction createTestAction(OutputPlugin outputPlugin) throws InvalidParameterException
+  {
+    TestAction testAction = outputPlugin.getTestAction(name);
+
+    for(int i = 0; i < keys.length; i++)
+    {
+      testAction.setAttribute(keys[i], values[i]);
+    }
+
+    return testAction;
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return name;
+  }
+
+}
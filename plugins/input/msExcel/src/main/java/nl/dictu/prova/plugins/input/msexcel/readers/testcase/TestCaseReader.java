@@ -19,6 +19,7 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testcase;
 
+import java.security.InvalidParameterException;
 import java.util.LinkedList;
 import java.util.Properties;
 import nl.dictu.prova.framework.TestAction;
@@ -100,4 +101,59 @@ public abstract class TestCaseReader
     return null;
   }
 
+
+  /**
+   * Parse one row of an action table into a template. The first cell is the
+   * name of the action. The other cells are the attributes of the action, with
+   * the names in {@link columns} (the header row of the action table) as keys.
+   * Empty cells are skipped.
+   *
+   * @param columns
+   * @param cells
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  public TestActionTemplate parseActionRow(String[] columns, String[] cells)
+          throws InvalidParameterException
+  {
+    if(cells == null || cells.length < 1 || cells[0] == null)
+    {
+      throw new InvalidParameterException("Row without action name");
+    }
+
+    int numberOfAttributes = 0;
+
+    for(int i = 1; i < cells.length; i++)
+    {
+      if(cells[i] == null)
+      {
+        continue;
+      }
+
+      if(i >= columns.length || columns[i] == null)
+      {
+        throw new InvalidParameterException("Value '" + cells[i] + "' of action '" + cells[0]
+                                            + "' is in a column without name");
+      }
+
+      numberOfAttributes++;
+    }
+
+    String[] keys = new String[numberOfAttributes];
+    String[] values = new String[numberOfAttributes];
+
+    for(int i = 1, j = 0; i < cells.length; i++)
+    {
+      if(cells[i] != null)
+      {
+        keys[j] = columns[i];
+        values[j++] = cells[i];
+      }
+    }
+
+    return new TestActionTemplate(cells[0], keys, values);
+  }
+
 }
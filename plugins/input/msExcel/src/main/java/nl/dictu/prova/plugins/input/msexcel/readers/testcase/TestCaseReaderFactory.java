@@ -34,9 +34,35 @@ public class TestCaseReaderFactory
           TestCaseReaderFactory.class.getName());
 
 
-  public static TestType getInstance(TestType testType)
+  /**
+   * Return a new reader for test type {@link testType}
+   *
+   * @param testType
+   *
+   * @return
+   *
+   * @throws IllegalArgumentException
+   */
+  public static TestCaseReader getInstance(TestType testType) throws IllegalArgumentException
   {
-        throw new UnsupportedOperationException("Not supported yet.");
+    if(testType == null)
+    {
+      throw new IllegalArgumentException("Test type can not be null");
+    }
+
+    switch(testType)
+    {
+      case DB:
+        return new DatabaseTestCaseReader();
+      case SHELL:
+        return new ShellTestCaseReader();
+      case SOAP:
+        return new SoapTestCaseReader();
+      case WEB:
+        return new WebTestCaseReader();
+      default:
+        throw new IllegalArgumentException("No reader for test type '" + testType + "'");
+    }
   }
 
 }
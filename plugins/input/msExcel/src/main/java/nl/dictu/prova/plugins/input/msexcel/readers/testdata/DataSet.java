@@ -0,0 +1,125 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
+
+import java.util.function.BiConsumer;
+
+/**
+ * One row of a data set sheet: the name of the data set and the values of its
+ * variables. The variable names are the header row of the sheet; all data sets
+ * of a sheet share the same array of names. Variables without a value are
+ * empty strings.
+ * A data set is immutable.
+ *
+ * @author Sjoerd Boerhout
+ */
+public final class DataSet
+{
+
+  private final String[] columns;
+  private final String[] cells;
+
+
+  /**
+   * Constructor. {@link columns} is the header row of the sheet and
+   * {@link cells} the row of this data set; column A contains the name of the
+   * data set. The arrays are not copied and must not be changed afterwards.
+   *
+   * @param columns
+   * @param cells
+   *
+   * @throws IllegalArgumentException
+   */
+  public DataSet(String[] columns, String[] cells) throws IllegalArgumentException
+  {
+    if(columns == null || cells == null || cells.length < 1 || cells[0] == null)
+    {
+      throw new IllegalArgumentException("Data set without name");
+    }
+
+    this.columns = columns;
+    this.cells = cells;
+  }
+
+
+  /**
+   * Return the name of this data set
+   *
+   * @return
+   */
+  public String getName()
+  {
+    return cells[0];
+  }
+
+
+  /**
+   * Return the value of variable {@link key}, or null when this data set has
+   * no variable {@link key}.
+   *
+   * @param key
+   *
+   * @return
+   */
+  public String getVariable(String key)
+  {
+    for(int i = 1; i < columns.length; i++)
+    {
+      if(key.equals(columns[i]))
+      {
+        return getValue(i);
+      }
+    }
+
+    return null;
+  }
+
+
+  /**
+   * Pass all variables and their values to {@link consumer}, in the order of
+   * the columns
+   *
+   * @param consumer
+   */
+  public void forEachVariable(BiConsumer<String, String> consumer)
+  {
+    for(int i = 1; i < columns.length; i++)
+    {
+      if(columns[i] != null)
+      {
+        consumer.accept(columns[i], getValue(i));
+      }
+    }
+  }
+
+
+  private String getValue(int column)
+  {
+    return column < cells.length && cells[column] != null ? cells[column] : "";
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return getName();
+  }
+
+}
@@ -0,0 +1,221 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import nl.dictu.prova.framework.VariableStore;
+
+/**
+ * Columnar store of the data sets of a data set workbook, outside the Java
+ * heap. Each variable is a column with its values as UTF-8 bytes in a direct
+ * byte buffer, plus an index with the offset and length of the value of each
+ * row. The names of the data sets are stored the same way. Hundreds of
+ * thousands of rows are therefore only a handful of objects for the garbage
+ * collector; a value is decoded when it is requested.
+ * A store is filled once, by one thread, with {@link #add(DataSet)}. After
+ * that it is read-only and safe for concurrent reads. Test cases are bound to
+ * a row with
+ * {@link nl.dictu.prova.framework.TestCase#setVariableStore(VariableStore, int)}.
+ * The memory is released when the store is garbage collected.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DataSetStore implements VariableStore
+{
+
+  private final Column names = new Column();
+  private final HashMap<String, Column> columns = new HashMap<>();
+  private int rows = 0;
+
+
+  /**
+   * Add {@link dataSet} as the next row
+   *
+   * @param dataSet
+   *
+   * @return the row of the data set
+   */
+  public int add(DataSet dataSet)
+  {
+    int row = rows++;
+
+    names.set(row, dataSet.getName());
+    dataSet.forEachVariable((key, value) ->
+            columns.computeIfAbsent(key, (name) -> new Column()).set(row, value));
+
+    return row;
+  }
+
+
+  @Override
+  public int numberOfRows()
+  {
+    return rows;
+  }
+
+
+  /**
+   * Return the number of distinct variables in this store
+   *
+   * @return
+   */
+  public int numberOfColumns()
+  {
+    return columns.size();
+  }
+
+
+  /**
+   * Return the name of the data set in row {@link row}
+   *
+   * @param row
+   *
+   * @return
+   *
+   * @throws IndexOutOfBoundsException
+   */
+  public String getName(int row) throws IndexOutOfBoundsException
+  {
+    checkRow(row);
+
+    return names.get(row);
+  }
+
+
+  @Override
+  public String getVariable(int row, String key) throws IndexOutOfBoundsException
+  {
+    checkRow(row);
+
+    Column column = columns.get(key);
+
+    return column != null ? column.get(row) : null;
+  }
+
+
+  /**
+   * Return the number of bytes used outside the heap
+   *
+   * @return
+   */
+  public long getMemoryUsage()
+  {
+    long memoryUsage = names.getMemoryUsage();
+
+    for(Column column : columns.values())
+    {
+      memoryUsage += column.getMemoryUsage();
+    }
+
+    return memoryUsage;
+  }
+
+
+  private void checkRow(int row) throws IndexOutOfBoundsException
+  {
+    if(row < 0 || row >= rows)
+    {
+      throw new IndexOutOfBoundsException("Invalid row " + row + " (" + rows + " rows)");
+    }
+  }
+
+
+  /**
+   * The values of one variable. The index holds two ints per row: the offset
+   * of the value in the data buffer and its length, or -1 when the row has no
+   * value. Both buffers double in size when they are full.
+   */
+  private static class Column
+  {
+    private final static int ABSENT = -1;
+
+    private ByteBuffer data = ByteBuffer.allocateDirect(1024);
+    private IntBuffer index = ByteBuffer.allocateDirect(256).asIntBuffer();
+    private int rows = 0;
+
+
+    private void set(int row, String value)
+    {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+      ensureCapacity(row, bytes.length);
+
+      while(rows < row)
+      {
+        index.put(ABSENT).put(ABSENT);
+        rows++;
+      }
+
+      index.put(data.position()).put(bytes.length);
+      data.put(bytes);
+      rows++;
+    }
+
+
+    private String get(int row)
+    {
+      if(row >= rows || index.get(row * 2 + 1) == ABSENT)
+      {
+        return null;
+      }
+
+      int offset = index.get(row * 2);
+      byte[] bytes = new byte[index.get(row * 2 + 1)];
+
+      for(int i = 0; i < bytes.length; i++)
+      {
+        bytes[i] = data.get(offset + i);
+      }
+
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+
+    private void ensureCapacity(int row, int length)
+    {
+      if(data.remaining() < length)
+      {
+        ByteBuffer newData = ByteBuffer.allocateDirect(
+                Math.max(data.capacity() * 2, data.position() + length));
+        data.flip();
+        newData.put(data);
+        data = newData;
+      }
+
+      if(index.capacity() < (row + 1) * 2)
+      {
+        IntBuffer newIndex = ByteBuffer.allocateDirect(
+                Math.max(index.capacity() * 2, (row + 1) * 2) * 4).asIntBuffer();
+        index.flip();
+        newIndex.put(index);
+        index = newIndex;
+      }
+    }
+
+
+    private long getMemoryUsage()
+    {
+      return data.capacity() + index.capacity() * 4L;
+    }
+  }
+}
@@ -48,15 +48,14 @@ public class DatabaseTestDataReader extends TestDataReader
   @Override
   public LinkedList<String> getDataSetNames(File dataSetFile) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return readDataSetNames(dataSetFile);
   }
 
 
   @Override
-  public Properties getVariables(File dataSetFile, String dataSetName) throws
-          Exception
+  public Properties getVariables(File dataSetFile, String dataSetName) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return readVariables(dataSetFile, dataSetName);
   }
 
 }
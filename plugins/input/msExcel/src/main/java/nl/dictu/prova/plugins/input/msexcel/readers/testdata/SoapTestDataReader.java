@@ -46,15 +46,15 @@ public class SoapTestDataReader extends TestDataReader
 
 
   @Override
-  public LinkedList<String> getDataSetNames(File dataFile)
+  public LinkedList<String> getDataSetNames(File dataFile) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet.");
+    return readDataSetNames(dataFile);
   }
 
   @Override
-  public Properties getVariables(File dataFileName, String dataSetName)
+  public Properties getVariables(File dataFileName, String dataSetName) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet.");
+    return readVariables(dataFileName, dataSetName);
   }
 
 }
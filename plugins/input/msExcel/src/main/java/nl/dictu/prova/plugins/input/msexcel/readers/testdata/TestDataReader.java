@@ -21,7 +21,14 @@ package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
 
 import java.io.File;
 import java.util.LinkedList;
+import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import nl.dictu.prova.plugins.input.msexcel.util.RowHandler;
+import nl.dictu.prova.plugins.input.msexcel.util.RowSource;
+import nl.dictu.prova.plugins.input.msexcel.util.WorkbookReader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -80,4 +87,246 @@ public abstract class TestDataReader
   public abstract Properties getVariables(File dataSetFile,
                                           String dataSetName) throws
           Exception;
+
+
+  /**
+   * Stream all data sets of the given file to {@link dataSetConsumer}, one row
+   * at a time. Each sheet starts with a header row with the variable names in
+   * the columns B and further. Each following row is a data set with its name
+   * in column A and the values of the variables in the other columns.
+   *
+   * @param dataSetFile
+   * @param dataSetConsumer
+   *
+   * @throws Exception
+   */
+  public void readDataSets(File dataSetFile, BiConsumer<String, Properties> dataSetConsumer)
+          throws Exception
+  {
+    WorkbookReader.read(dataSetFile, new DataSetRowHandler((columns, cells) ->
+    {
+      dataSetConsumer.accept(cells[0], parseVariables(columns, cells));
+
+      return true;
+    }));
+  }
+
+
+  /**
+   * Stream the data sets of the given file to {@link dataSetFunction}, one row
+   * at a time, until it returns false. See
+   * {@link #readDataSets(File, BiConsumer)} for the layout of the sheets. The
+   * data sets of a sheet share the array with variable names; no other copies
+   * are made.
+   *
+   * @param dataSetFile
+   * @param dataSetFunction
+   *
+   * @throws Exception
+   */
+  public void streamDataSets(File dataSetFile, Predicate<DataSet> dataSetFunction)
+          throws Exception
+  {
+    streamDataSets(dataSetFile, WorkbookReader::read, dataSetFunction);
+  }
+
+
+  /**
+   * Stream the data sets of the given file, read by {@link rowSource}, to
+   * {@link dataSetFunction} until it returns false. The rows must have the
+   * layout of the sheets of a data set workbook.
+   *
+   * @param dataSetFile
+   * @param rowSource
+   * @param dataSetFunction
+   *
+   * @throws Exception
+   */
+  public void streamDataSets(File dataSetFile, RowSource rowSource,
+                             Predicate<DataSet> dataSetFunction) throws Exception
+  {
+    rowSource.read(dataSetFile, new DataSetRowHandler((columns, cells) ->
+            dataSetFunction.test(new DataSet(columns, cells))));
+  }
+
+
+  /**
+   * Read all data sets of the given file into a new {@link DataSetStore}
+   *
+   * @param dataSetFile
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public DataSetStore readDataSetStore(File dataSetFile) throws Exception
+  {
+    return readDataSetStore(dataSetFile, WorkbookReader::read);
+  }
+
+
+  /**
+   * Read all data sets of the given file, read by {@link rowSource}, into a
+   * new {@link DataSetStore}
+   *
+   * @param dataSetFile
+   * @param rowSource
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public DataSetStore readDataSetStore(File dataSetFile, RowSource rowSource) throws Exception
+  {
+    DataSetStore dataSetStore = new DataSetStore();
+
+    streamDataSets(dataSetFile, rowSource, (dataSet) ->
+    {
+      dataSetStore.add(dataSet);
+
+      return true;
+    });
+
+    return dataSetStore;
+  }
+
+
+  /**
+   * Return the names of all data sets in the given file
+   *
+   * @param dataSetFile
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  protected LinkedList<String> readDataSetNames(File dataSetFile) throws Exception
+  {
+    LinkedList<String> dataSetNames = new LinkedList<>();
+
+    WorkbookReader.read(dataSetFile, new DataSetRowHandler((columns, cells) ->
+    {
+      dataSetNames.add(cells[0]);
+
+      return true;
+    }));
+
+    LOGGER.trace("Found {} data set(s) in '{}'", () -> dataSetNames.size(),
+                 () -> dataSetFile.getName());
+
+    return dataSetNames;
+  }
+
+
+  /**
+   * Return the variables of data set {@link dataSetName} in the given file.
+   * Reading stops as soon as the data set is found.
+   *
+   * @param dataSetFile
+   * @param dataSetName
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  protected Properties readVariables(File dataSetFile, String dataSetName) throws Exception
+  {
+    Properties variables = new Properties();
+    DataSetRowHandler dataSetRowHandler = new DataSetRowHandler((columns, cells) ->
+    {
+      if( !cells[0].equals(dataSetName))
+      {
+        return true;
+      }
+
+      variables.putAll(parseVariables(columns, cells));
+
+      return false;
+    });
+
+    WorkbookReader.read(dataSetFile, dataSetRowHandler);
+
+    if( !dataSetRowHandler.stopped)
+    {
+      throw new NoSuchElementException("No data set '" + dataSetName + "' in '"
+                                       + dataSetFile.getName() + "'");
+    }
+
+    return variables;
+  }
+
+
+  /**
+   * Create the variables of one data set row
+   *
+   * @param columns
+   * @param cells
+   *
+   * @return
+   */
+  private Properties parseVariables(String[] columns, String[] cells)
+  {
+    Properties variables = new Properties();
+
+    for(int i = 1; i < columns.length; i++)
+    {
+      if(columns[i] != null)
+      {
+        variables.setProperty(columns[i], i < cells.length && cells[i] != null ? cells[i] : "");
+      }
+    }
+
+    return variables;
+  }
+
+
+  /**
+   * Passes the data set rows of all sheets to a row function. The first row
+   * of each sheet contains the variable names. Rows without a data set name
+   * are skipped. Reading stops when the row function returns false.
+   */
+  private static class DataSetRowHandler implements RowHandler
+  {
+    private final BiFunction<String[], String[], Boolean> rowFunction;
+
+    private String[] columns = null;
+    private boolean stopped = false;
+
+
+    private DataSetRowHandler(BiFunction<String[], String[], Boolean> rowFunction)
+    {
+      this.rowFunction = rowFunction;
+    }
+
+
+    @Override
+    public boolean startSheet(String sheetName) throws Exception
+    {
+      columns = null;
+
+      return !stopped;
+    }
+
+
+    @Override
+    public boolean row(int rowNumber, String[] cells) throws Exception
+    {
+      if(columns == null)
+      {
+        columns = cells;
+      }
+      else if(cells[0] != null && !rowFunction.apply(columns, cells))
+      {
+        stopped = true;
+      }
+
+      return !stopped;
+    }
+
+
+    @Override
+    public void endSheet(String sheetName) throws Exception
+    {
+    }
+  }
 }
@@ -34,9 +34,35 @@ public class TestDataReaderFactory
           TestDataReaderFactory.class.getName());
 
 
-  public static TestDataReader getInstance(TestType testType)
+  /**
+   * Return a new reader for test type {@link testType}
+   *
+   * @param testType
+   *
+   * @return
+   *
+   * @throws IllegalArgumentException
+   */
+  public static TestDataReader getInstance(TestType testType) throws IllegalArgumentException
   {
-    throw new UnsupportedOperationException("Not supported yet.");
+    if(testType == null)
+    {
+      throw new IllegalArgumentException("Test type can not be null");
+    }
+
+    switch(testType)
+    {
+      case DB:
+        return new DatabaseTestDataReader();
+      case SHELL:
+        return new ShellTestDataReader();
+      case SOAP:
+        return new SoapTestDataReader();
+      case WEB:
+        return new WebTestDataReader();
+      default:
+        throw new IllegalArgumentException("No reader for test type '" + testType + "'");
+    }
   }
 
 }
@@ -48,7 +48,7 @@ public class WebTestDataReader extends TestDataReader
   @Override
   public LinkedList<String> getDataSetNames(File dataSetFile) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return readDataSetNames(dataSetFile);
   }
 
 
@@ -56,7 +56,7 @@ public class WebTestDataReader extends TestDataReader
   public Properties getVariables(File dataSetFile, String dataSetName) throws
           Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return readVariables(dataSetFile, dataSetName);
   }
 
 }
@@ -19,12 +19,21 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.util;
 
+import java.util.HashMap;
+import java.util.Objects;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormatter;
 
 /**
- * Functions to read and parse cells
+ * Functions to read and parse cells.
+ * An instance of this class reads the cells of one workbook. Identical cell
+ * values are returned as one String instance, so keywords and locators that
+ * are used over and over are stored only once. The formatted values of numeric
+ * cells and of the cached results of formula cells are cached per number
+ * format. An instance is not thread safe.
  *
  * @author Sjoerd Boerhout
  */
@@ -34,10 +43,208 @@ public class CellReader
   private final static Logger LOGGER = LogManager.getLogger(CellReader.class.
           getName());
 
+  private final HashMap<String, String> strings = new HashMap<>();
+  private final CachingDataFormatter dataFormatter = new CachingDataFormatter();
 
+
+  /**
+   * Return the data formatter of this cell reader. It caches the formatted
+   * values of numbers per number format.
+   *
+   * @return
+   */
+  public DataFormatter getDataFormatter()
+  {
+    return dataFormatter;
+  }
+
+
+  /**
+   * Return the content of {@link cell} as displayed in Excel, parsed by
+   * {@link #readCellContent(String)}. For formula cells the result cached in
+   * the workbook is used; formulas are not evaluated.
+   *
+   * @param cell
+   *
+   * @return
+   */
+  public String readCellContent(Cell cell)
+  {
+    if(cell == null)
+    {
+      return null;
+    }
+
+    if(cell.getCellType() != Cell.CELL_TYPE_FORMULA)
+    {
+      return readCellContent(dataFormatter.formatCellValue(cell));
+    }
+
+    switch(cell.getCachedFormulaResultType())
+    {
+      case Cell.CELL_TYPE_NUMERIC:
+        CellStyle cellStyle = cell.getCellStyle();
+
+        return readCellContent(dataFormatter.formatRawCellContents(
+                cell.getNumericCellValue(), cellStyle.getDataFormat(),
+                cellStyle.getDataFormatString()));
+      case Cell.CELL_TYPE_STRING:
+        return readCellContent(cell.getStringCellValue());
+      case Cell.CELL_TYPE_BOOLEAN:
+        return cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+      default:
+        return null;
+    }
+  }
+
+
+  /**
+   * Parse the (formatted) content of a cell, see
+   * {@link #parseCellContent(String)}. Identical values are returned as the
+   * same String instance.
+   *
+   * @param value
+   *
+   * @return
+   */
+  public String readCellContent(String value)
+  {
+    String parsedValue = parseCellContent(value);
+
+    if(parsedValue == null)
+    {
+      return null;
+    }
+
+    String sharedValue = strings.putIfAbsent(parsedValue, parsedValue);
+
+    return sharedValue != null ? sharedValue : parsedValue;
+  }
+
+
+  /**
+   * Return the number of distinct values read by this cell reader
+   *
+   * @return
+   */
+  public int numberOfDistinctValues()
+  {
+    return strings.size();
+  }
+
+
+  /**
+   * Return the content of {@link cell} as displayed in Excel. See
+   * {@link #parseCellContent(String)}.
+   *
+   * @param cell
+   *
+   * @return
+   *
+   * @throws Exception
+   */
   public static String parseCellContent(Cell cell) throws Exception
   {
-    return null;
+    if(cell == null)
+    {
+      return null;
+    }
+
+    return new CellReader().readCellContent(cell);
   }
 
+
+  /**
+   * Parse the (formatted) content of a cell. Leading and trailing white space
+   * is removed. An empty cell results in null.
+   *
+   * @param value
+   *
+   * @return
+   */
+  public static String parseCellContent(String value)
+  {
+    if(value == null)
+    {
+      return null;
+    }
+
+    String trimmedValue = value.trim();
+
+    return trimmedValue.isEmpty() ? null : trimmedValue;
+  }
+
+
+  /**
+   * Data formatter that caches the formatted values of numbers. Formatting a
+   * number with a (date) format is expensive, while the same numbers (row
+   * numbers, amounts, dates) appear over and over in a workbook.
+   */
+  private static class CachingDataFormatter extends DataFormatter
+  {
+    private final HashMap<FormatKey, String> formattedValues = new HashMap<>();
+
+
+    @Override
+    public String formatRawCellContents(double value, int formatIndex, String formatString,
+                                        boolean use1904Windowing)
+    {
+      FormatKey formatKey = new FormatKey(value, formatIndex, formatString, use1904Windowing);
+      String formattedValue = formattedValues.get(formatKey);
+
+      if(formattedValue == null)
+      {
+        formattedValue = super.formatRawCellContents(value, formatIndex, formatString,
+                                                     use1904Windowing);
+        formattedValues.put(formatKey, formattedValue);
+      }
+
+      return formattedValue;
+    }
+  }
+
+
+  /**
+   * Key of a formatted number: the value and the number format
+   */
+  private static final class FormatKey
+  {
+    private final long valueBits;
+    private final int formatIndex;
+    private final String formatString;
+    private final boolean use1904Windowing;
+
+
+    private FormatKey(double value, int formatIndex, String formatString,
+                      boolean use1904Windowing)
+    {
+      this.valueBits = Double.doubleToLongBits(value);
+      this.formatIndex = formatIndex;
+      this.formatString = formatString;
+      this.use1904Windowing = use1904Windowing;
+    }
+
+
+    @Override
+    public boolean equals(Object object)
+    {
+      if( !(object instanceof FormatKey))
+      {
+        return false;
+      }
+
+      FormatKey other = (FormatKey) object;
+
+      return valueBits == other.valueBits && formatIndex == other.formatIndex
+             && use1904Windowing == other.use1904Windowing
+             && Objects.equals(formatString, other.formatString);
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+      return (Long.hashCode(valueBits) * 31 + formatIndex) * 31 + Objects.hashCode(formatString);
+    }
+  }
 }
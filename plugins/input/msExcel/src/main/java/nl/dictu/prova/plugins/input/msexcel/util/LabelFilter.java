@@ -0,0 +1,469 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Filter on the labels of test cases. Each filter is a label or an
+ * expression with labels and the operators:
+ * - 'NOT' or '!'
+ * - 'AND' or '&'
+ * - 'OR', '|', ',' or ';'
+ * and parentheses, for example 'smoke AND NOT (slow OR manual)'. NOT binds
+ * stronger than AND, AND stronger than OR. Operators and labels are case
+ * insensitive. A test case matches when it matches one (or more) of the
+ * filters; without filters all test cases match.
+ * A filter can be evaluated for one test case with {@link #matches} or for
+ * all test cases of a {@link LabelIndex} at once with {@link #select}.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LabelFilter
+{
+
+  private final Node root;
+  private final String description;
+
+
+  private LabelFilter(Node root, String description)
+  {
+    this.root = root;
+    this.description = description;
+  }
+
+
+  /**
+   * Parse {@link filters}. Empty filters are ignored.
+   *
+   * @param filters
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  public static LabelFilter parse(String[] filters) throws InvalidParameterException
+  {
+    Node root = null;
+    ArrayList<String> descriptions = new ArrayList<>();
+
+    for(String filter : filters == null ? new String[0] : filters)
+    {
+      if(filter == null || filter.trim().isEmpty())
+      {
+        continue;
+      }
+
+      Node node = new Parser(filter).parse();
+      root = root == null ? node : new Or(root, node);
+      descriptions.add(node.toString());
+    }
+
+    return new LabelFilter(root, String.join(" OR ", descriptions));
+  }
+
+
+  /**
+   * Return the normalized form of {@link label}
+   *
+   * @param label
+   *
+   * @return
+   */
+  public static String normalize(String label)
+  {
+    return label.trim().toLowerCase(Locale.ROOT);
+  }
+
+
+  /**
+   * Returns true when there are no filters
+   *
+   * @return
+   */
+  public boolean isEmpty()
+  {
+    return root == null;
+  }
+
+
+  /**
+   * Check if a test case with the (normalized) {@link labels} matches this
+   * filter
+   *
+   * @param labels
+   *
+   * @return
+   */
+  public boolean matches(Collection<String> labels)
+  {
+    return root == null || root.matches(labels);
+  }
+
+
+  /**
+   * Return the ids of the test cases in {@link labelIndex} that match this
+   * filter. The expression is resolved with bitmap operations on the test
+   * cases per label.
+   *
+   * @param labelIndex
+   *
+   * @return
+   */
+  public BitSet select(LabelIndex labelIndex)
+  {
+    return root == null ? labelIndex.getAll() : root.select(labelIndex);
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return description;
+  }
+
+
+  /**
+   * Node of the expression tree of a filter
+   */
+  private abstract static class Node
+  {
+    abstract boolean matches(Collection<String> labels);
+
+
+    abstract BitSet select(LabelIndex labelIndex);
+  }
+
+
+  private static class Label extends Node
+  {
+    private final String label;
+
+
+    private Label(String label)
+    {
+      this.label = normalize(label);
+    }
+
+
+    @Override
+    boolean matches(Collection<String> labels)
+    {
+      return labels.contains(label);
+    }
+
+
+    @Override
+    BitSet select(LabelIndex labelIndex)
+    {
+      return labelIndex.getTestCases(label);
+    }
+
+
+    @Override
+    public String toString()
+    {
+      return label;
+    }
+  }
+
+
+  private static class Not extends Node
+  {
+    private final Node node;
+
+
+    private Not(Node node)
+    {
+      this.node = node;
+    }
+
+
+    @Override
+    boolean matches(Collection<String> labels)
+    {
+      return !node.matches(labels);
+    }
+
+
+    @Override
+    BitSet select(LabelIndex labelIndex)
+    {
+      BitSet testCases = labelIndex.getAll();
+      testCases.andNot(node.select(labelIndex));
+
+      return testCases;
+    }
+
+
+    @Override
+    public String toString()
+    {
+      return "NOT " + node;
+    }
+  }
+
+
+  private static class And extends Node
+  {
+    private final Node left;
+    private final Node right;
+
+
+    private And(Node left, Node right)
+    {
+      this.left = left;
+      this.right = right;
+    }
+
+
+    @Override
+    boolean matches(Collection<String> labels)
+    {
+      return left.matches(labels) && right.matches(labels);
+    }
+
+
+    @Override
+    BitSet select(LabelIndex labelIndex)
+    {
+      BitSet testCases = left.select(labelIndex);
+      testCases.and(right.select(labelIndex));
+
+      return testCases;
+    }
+
+
+    @Override
+    public String toString()
+    {
+      return "(" + left + " AND " + right + ")";
+    }
+  }
+
+
+  private static class Or extends Node
+  {
+    private final Node left;
+    private final Node right;
+
+
+    private Or(Node left, Node right)
+    {
+      this.left = left;
+      this.right = right;
+    }
+
+
+    @Override
+    boolean matches(Collection<String> labels)
+    {
+      return left.matches(labels) || right.matches(labels);
+    }
+
+
+    @Override
+    BitSet select(LabelIndex labelIndex)
+    {
+      BitSet testCases = left.select(labelIndex);
+      testCases.or(right.select(labelIndex));
+
+      return testCases;
+    }
+
+
+    @Override
+    public String toString()
+    {
+      return "(" + left + " OR " + right + ")";
+    }
+  }
+
+
+  /**
+   * Recursive descent parser for one filter:
+   * or := and (OR and)*
+   * and := not (AND not)*
+   * not := NOT not | '(' or ')' | label
+   */
+  private static class Parser
+  {
+    private final String filter;
+    private final ArrayList<String> tokens = new ArrayList<>();
+    private int index = 0;
+
+
+    private Parser(String filter)
+    {
+      this.filter = filter;
+
+      StringBuilder word = new StringBuilder();
+
+      for(char c : filter.toCharArray())
+      {
+        if(Character.isWhitespace(c) || "()!&|,;".indexOf(c) >= 0)
+        {
+          addWord(word);
+
+          if( !Character.isWhitespace(c))
+          {
+            tokens.add(String.valueOf(c));
+          }
+        }
+        else
+        {
+          word.append(c);
+        }
+      }
+
+      addWord(word);
+    }
+
+
+    private void addWord(StringBuilder word)
+    {
+      if(word.length() > 0)
+      {
+        tokens.add(word.toString());
+        word.setLength(0);
+      }
+    }
+
+
+    private Node parse() throws InvalidParameterException
+    {
+      Node node = parseOr();
+
+      if(index < tokens.size())
+      {
+        throw error("Unexpected '" + tokens.get(index) + "'");
+      }
+
+      return node;
+    }
+
+
+    private Node parseOr()
+    {
+      Node node = parseAnd();
+
+      while(accept("OR", "|", ",", ";"))
+      {
+        node = new Or(node, parseAnd());
+      }
+
+      return node;
+    }
+
+
+    private Node parseAnd()
+    {
+      Node node = parseNot();
+
+      while(accept("AND", "&"))
+      {
+        node = new And(node, parseNot());
+      }
+
+      return node;
+    }
+
+
+    private Node parseNot()
+    {
+      if(accept("NOT", "!"))
+      {
+        return new Not(parseNot());
+      }
+
+      if(accept("("))
+      {
+        Node node = parseOr();
+
+        if( !accept(")"))
+        {
+          throw error("Missing ')'");
+        }
+
+        return node;
+      }
+
+      if(index >= tokens.size())
+      {
+        throw error("Missing label");
+      }
+
+      String token = tokens.get(index);
+
+      if(isOperator(token))
+      {
+        throw error("Unexpected '" + token + "'");
+      }
+
+      index++;
+
+      return new Label(token);
+    }
+
+
+    private boolean accept(String... operators)
+    {
+      if(index >= tokens.size())
+      {
+        return false;
+      }
+
+      for(String operator : operators)
+      {
+        if(operator.equalsIgnoreCase(tokens.get(index)))
+        {
+          index++;
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+
+    private boolean isOperator(String token)
+    {
+      for(String operator : new String[]{"AND", "OR", "NOT", ")", "&", "|", "!", ",", ";"})
+      {
+        if(operator.equalsIgnoreCase(token))
+        {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+
+    private InvalidParameterException error(String message)
+    {
+      return new InvalidParameterException(message + " in label filter '" + filter + "'");
+    }
+  }
+}
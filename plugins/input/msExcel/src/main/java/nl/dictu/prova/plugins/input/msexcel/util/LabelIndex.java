@@ -0,0 +1,352 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Inverted index of the labels of test case workbooks. Each workbook gets a
+ * number; each label has a bitmap with the numbers of the workbooks with that
+ * label. A {@link LabelFilter} is resolved with bitmap operations on the
+ * index, without looking at the workbooks.
+ * The index stores the size and modification time of each workbook. When
+ * both are unchanged the labels in the index are still valid, so a workbook
+ * that does not match the filter does not have to be parsed at all. The
+ * index can be saved to and loaded from a file for the next run.
+ * All methods are synchronized.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LabelIndex
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(LabelIndex.class.getName());
+
+  private final static int MAGIC = 0x5052564C;
+  private final static int VERSION = 1;
+
+  private final ArrayList<Entry> entries = new ArrayList<>();
+  private final HashMap<String, Integer> ids = new HashMap<>();
+  private final HashMap<String, BitSet> labels = new HashMap<>();
+
+
+  /**
+   * Add or replace the labels of {@link workbook}. {@link length} and
+   * {@link lastModified} are the size and modification time of the workbook
+   * before it was read. The labels are normalized.
+   *
+   * @param workbook
+   * @param length
+   * @param lastModified
+   * @param workbookLabels
+   *
+   * @return the number of the workbook in the index
+   */
+  public synchronized int put(File workbook, long length, long lastModified,
+                              String[] workbookLabels)
+  {
+    return put(workbook.getAbsolutePath(), length, lastModified, workbookLabels);
+  }
+
+
+  /**
+   * Copy the entry with number {@link id} to {@link labelIndex}
+   *
+   * @param id
+   * @param labelIndex
+   */
+  public synchronized void copy(int id, LabelIndex labelIndex)
+  {
+    Entry entry = entries.get(id);
+
+    synchronized(labelIndex)
+    {
+      labelIndex.put(entry.path, entry.length, entry.lastModified, entry.labels);
+    }
+  }
+
+
+  /**
+   * Return the number of {@link workbook} in the index, or -1 when it is not
+   * in the index or has changed since it was indexed.
+   *
+   * @param workbook
+   *
+   * @return
+   */
+  public synchronized int getId(File workbook)
+  {
+    Integer id = ids.get(workbook.getAbsolutePath());
+
+    if(id == null)
+    {
+      return -1;
+    }
+
+    Entry entry = entries.get(id);
+
+    return entry.length == workbook.length() && entry.lastModified == workbook.lastModified()
+           ? id : -1;
+  }
+
+
+  /**
+   * Return the numbers of the workbooks with (normalized) label {@link label}
+   *
+   * @param label
+   *
+   * @return a copy of the bitmap of the label
+   */
+  public synchronized BitSet getTestCases(String label)
+  {
+    BitSet testCases = labels.get(label);
+
+    return testCases == null ? new BitSet() : (BitSet) testCases.clone();
+  }
+
+
+  /**
+   * Return the numbers of all workbooks in the index
+   *
+   * @return
+   */
+  public synchronized BitSet getAll()
+  {
+    BitSet all = new BitSet(entries.size());
+    all.set(0, entries.size());
+
+    return all;
+  }
+
+
+  /**
+   * Return the paths of the workbooks with the numbers in {@link testCases}
+   *
+   * @param testCases
+   *
+   * @return
+   */
+  public synchronized LinkedList<String> getPaths(BitSet testCases)
+  {
+    LinkedList<String> paths = new LinkedList<>();
+
+    for(int id = testCases.nextSetBit(0); id >= 0 && id < entries.size();
+        id = testCases.nextSetBit(id + 1))
+    {
+      paths.add(entries.get(id).path);
+    }
+
+    return paths;
+  }
+
+
+  /**
+   * Return the number of workbooks in the index
+   *
+   * @return
+   */
+  public synchronized int size()
+  {
+    return entries.size();
+  }
+
+
+  /**
+   * Save the index to {@link indexFile}. The file is replaced atomically
+   * (when supported), so a reader never sees a partial index.
+   *
+   * @param indexFile
+   *
+   * @throws IOException
+   */
+  public synchronized void save(File indexFile) throws IOException
+  {
+    File directory = indexFile.getAbsoluteFile().getParentFile();
+    Files.createDirectories(directory.toPath());
+
+    Path tempFile = Files.createTempFile(directory.toPath(), indexFile.getName(), ".tmp");
+
+    try
+    {
+      try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+              new FileOutputStream(tempFile.toFile()))))
+      {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(entries.size());
+
+        for(Entry entry : entries)
+        {
+          TestCaseCache.writeString(output, entry.path);
+          output.writeLong(entry.length);
+          output.writeLong(entry.lastModified);
+          output.writeInt(entry.labels.length);
+
+          for(String label : entry.labels)
+          {
+            TestCaseCache.writeString(output, label);
+          }
+        }
+      }
+
+      try
+      {
+        Files.move(tempFile, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+      }
+      catch(AtomicMoveNotSupportedException eX)
+      {
+        Files.move(tempFile, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    finally
+    {
+      tempFile.toFile().delete();
+    }
+
+    LOGGER.debug("Saved labels of {} workbook(s) in '{}'", () -> entries.size(),
+                 () -> indexFile.getPath());
+  }
+
+
+  /**
+   * Load the index saved in {@link indexFile}. Returns an empty index when
+   * the file does not exist or can not be read.
+   *
+   * @param indexFile
+   *
+   * @return
+   */
+  public static LabelIndex load(File indexFile)
+  {
+    LabelIndex labelIndex = new LabelIndex();
+
+    if( !indexFile.isFile())
+    {
+      return labelIndex;
+    }
+
+    try(DataInputStream input = new DataInputStream(new BufferedInputStream(
+            new FileInputStream(indexFile))))
+    {
+      if(input.readInt() != MAGIC || input.readInt() != VERSION)
+      {
+        LOGGER.debug("Label index '{}' has an unknown format", () -> indexFile.getName());
+        return labelIndex;
+      }
+
+      for(int i = input.readInt(); i > 0; i--)
+      {
+        String path = TestCaseCache.readString(input);
+        long length = input.readLong();
+        long lastModified = input.readLong();
+        String[] workbookLabels = new String[input.readInt()];
+
+        for(int j = 0; j < workbookLabels.length; j++)
+        {
+          workbookLabels[j] = TestCaseCache.readString(input);
+        }
+
+        labelIndex.put(path, length, lastModified, workbookLabels);
+      }
+
+      LOGGER.debug("Loaded labels of {} workbook(s) from '{}'", () -> labelIndex.size(),
+                   () -> indexFile.getPath());
+
+      return labelIndex;
+    }
+    catch(IOException | RuntimeException eX)
+    {
+      LOGGER.warn("Unable to read label index '{}': {}", () -> indexFile.getPath(),
+                  () -> eX.getMessage());
+      return new LabelIndex();
+    }
+  }
+
+
+  private int put(String path, long length, long lastModified, String[] workbookLabels)
+  {
+    Integer existingId = ids.get(path);
+    int id = existingId != null ? existingId : entries.size();
+
+    if(existingId == null)
+    {
+      entries.add(null);
+      ids.put(path, id);
+    }
+    else
+    {
+      for(String label : entries.get(id).labels)
+      {
+        labels.get(label).clear(id);
+      }
+    }
+
+    String[] normalized = new String[workbookLabels.length];
+
+    for(int i = 0; i < workbookLabels.length; i++)
+    {
+      normalized[i] = LabelFilter.normalize(workbookLabels[i]);
+      labels.computeIfAbsent(normalized[i], (label) -> new BitSet()).set(id);
+    }
+
+    entries.set(id, new Entry(path, length, lastModified, normalized));
+
+    return id;
+  }
+
+
+  /**
+   * The path, size, modification time and labels of an indexed workbook
+   */
+  private static class Entry
+  {
+    private final String path;
+    private final long length;
+    private final long lastModified;
+    private final String[] labels;
+
+
+    private Entry(String path, long length, long lastModified, String[] labels)
+    {
+      this.path = path;
+      this.length = length;
+      this.lastModified = lastModified;
+      this.labels = labels;
+    }
+  }
+}
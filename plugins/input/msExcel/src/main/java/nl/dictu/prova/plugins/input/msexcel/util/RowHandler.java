@@ -0,0 +1,66 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+/**
+ * Receives the rows of the sheets of a workbook while it is read by the
+ * {@link WorkbookReader}.
+ *
+ * @author Sjoerd Boerhout
+ */
+public interface RowHandler
+{
+
+  /**
+   * Called before the rows of sheet {@link sheetName} are read.
+   *
+   * @param sheetName
+   *
+   * @return false to skip this sheet
+   *
+   * @throws Exception
+   */
+  public boolean startSheet(String sheetName) throws Exception;
+
+
+  /**
+   * Called for each row with at least one non-empty cell. Index 0 of
+   * {@link cells} is column A. Empty cells are null.
+   *
+   * @param rowNumber zero based row number
+   * @param cells
+   *
+   * @return false to skip the remaining rows of this sheet
+   *
+   * @throws Exception
+   */
+  public boolean row(int rowNumber, String[] cells) throws Exception;
+
+
+  /**
+   * Called after the last row of sheet {@link sheetName} is read.
+   *
+   * @param sheetName
+   *
+   * @throws Exception
+   */
+  public void endSheet(String sheetName) throws Exception;
+
+}
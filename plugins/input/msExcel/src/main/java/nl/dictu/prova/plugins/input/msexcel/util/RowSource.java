@@ -0,0 +1,46 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.File;
+
+/**
+ * Reads the rows of a file and passes them to a {@link RowHandler}. The
+ * builders and readers of this plug-in only depend on rows, so other file
+ * formats can be read with the same keyword semantics by providing another
+ * row source. The default row source is {@link WorkbookReader#read}.
+ *
+ * @author Sjoerd Boerhout
+ */
+@FunctionalInterface
+public interface RowSource
+{
+
+  /**
+   * Read {@link file} and pass its sheets and rows to {@link rowHandler}
+   *
+   * @param file
+   * @param rowHandler
+   *
+   * @throws Exception
+   */
+  public void read(File file, RowHandler rowHandler) throws Exception;
+
+}
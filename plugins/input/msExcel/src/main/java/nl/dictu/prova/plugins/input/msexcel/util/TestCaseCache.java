@@ -0,0 +1,410 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.plugins.input.msexcel.builders.ParsedTestCase;
+import nl.dictu.prova.plugins.input.msexcel.readers.testcase.TestActionTemplate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache of parsed workbooks on disk. Each workbook is stored in its own file,
+ * named after a hash of the absolute path of the workbook. A cache file holds
+ * the path, size and last modification time of the workbook it was created
+ * from; when one of them has changed the cached content is ignored and the
+ * workbook must be parsed again.
+ * The content is stored in a compact binary format: a table with all distinct
+ * strings (action names and attribute names are repeated a lot) followed by
+ * the headers and action templates as indexes in that table.
+ * Errors while reading or writing the cache are logged and otherwise ignored;
+ * the workbook is parsed instead.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestCaseCache
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestCaseCache.class.
+          getName());
+
+  private final static int MAGIC = 0x50525643;
+  private final static int VERSION = 1;
+  private final static String EXTENSION = ".cache";
+
+  private final File cacheDir;
+
+
+  /**
+   * Constructor. The cache directory is created when the first workbook is
+   * stored.
+   *
+   * @param cacheDir
+   *
+   * @throws NullPointerException
+   */
+  public TestCaseCache(File cacheDir) throws NullPointerException
+  {
+    if(cacheDir == null)
+    {
+      throw new NullPointerException("Cache directory can not be null");
+    }
+
+    this.cacheDir = cacheDir.getAbsoluteFile();
+  }
+
+
+  /**
+   * Return the cached content of {@link workbook}, or null when it is not
+   * cached or has changed since it was cached.
+   *
+   * @param workbook
+   *
+   * @return
+   */
+  public ParsedTestCase get(File workbook)
+  {
+    File cacheFile = getCacheFile(workbook);
+
+    if( !cacheFile.isFile())
+    {
+      return null;
+    }
+
+    try(DataInputStream input = new DataInputStream(new BufferedInputStream(
+            new FileInputStream(cacheFile))))
+    {
+      if(input.readInt() != MAGIC || input.readInt() != VERSION)
+      {
+        LOGGER.debug("Cache file '{}' has an unknown format", () -> cacheFile.getName());
+        return null;
+      }
+
+      if( !readString(input).equals(workbook.getAbsolutePath())
+          || input.readLong() != workbook.length()
+          || input.readLong() != workbook.lastModified())
+      {
+        LOGGER.debug("Workbook '{}' has changed since it was cached", () -> workbook.getName());
+        return null;
+      }
+
+      String[] strings = new String[input.readInt()];
+
+      for(int i = 0; i < strings.length; i++)
+      {
+        strings[i] = readString(input);
+      }
+
+      ParsedTestCase parsedTestCase = new ParsedTestCase();
+      int testType = input.readInt();
+
+      parsedTestCase.setTestType(testType < 0 ? null : TestType.values()[testType]);
+
+      for(int i = input.readInt(); i > 0; i--)
+      {
+        parsedTestCase.getHeaders().put(strings[input.readInt()], strings[input.readInt()]);
+      }
+
+      readTemplates(input, strings, parsedTestCase.getSetUpActions());
+      readTemplates(input, strings, parsedTestCase.getTestActions());
+      readTemplates(input, strings, parsedTestCase.getTearDownActions());
+
+      parsedTestCase.setComplete(true);
+
+      return parsedTestCase;
+    }
+    catch(IOException | RuntimeException eX)
+    {
+      LOGGER.warn("Unable to read cache file '{}' of workbook '{}': {}", () -> cacheFile.getName(),
+                  () -> workbook.getName(), () -> eX.getMessage());
+      return null;
+    }
+  }
+
+
+  /**
+   * Store the complete content of {@link workbook}. {@link length} and
+   * {@link lastModified} are the size and modification time of the workbook
+   * before it was read, so a change while it was read is not missed.
+   *
+   * @param workbook
+   * @param length
+   * @param lastModified
+   * @param parsedTestCase
+   */
+  public void put(File workbook, long length, long lastModified, ParsedTestCase parsedTestCase)
+  {
+    if( !parsedTestCase.isComplete())
+    {
+      throw new IllegalArgumentException("Only workbooks with actions can be cached");
+    }
+
+    File cacheFile = getCacheFile(workbook);
+    Path tempFile = null;
+
+    try
+    {
+      Files.createDirectories(cacheDir.toPath());
+
+      tempFile = Files.createTempFile(cacheDir.toPath(), cacheFile.getName(), ".tmp");
+
+      try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+              new FileOutputStream(tempFile.toFile()))))
+      {
+        write(output, workbook, length, lastModified, parsedTestCase);
+      }
+
+      try
+      {
+        Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+      }
+      catch(AtomicMoveNotSupportedException eX)
+      {
+        Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      LOGGER.trace("Workbook '{}' cached in '{}'", () -> workbook.getName(),
+                   () -> cacheFile.getName());
+    }
+    catch(IOException eX)
+    {
+      LOGGER.warn("Unable to cache workbook '{}': {}", () -> workbook.getName(),
+                  () -> eX.getMessage());
+
+      if(tempFile != null)
+      {
+        tempFile.toFile().delete();
+      }
+    }
+  }
+
+
+  /**
+   * Return the cache file of {@link workbook}
+   *
+   * @param workbook
+   *
+   * @return
+   */
+  public File getCacheFile(File workbook)
+  {
+    try
+    {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(
+              workbook.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+      StringBuilder fileName = new StringBuilder(digest.length * 2 + EXTENSION.length());
+
+      for(byte b : digest)
+      {
+        fileName.append(Character.forDigit((b >> 4) & 0xF, 16))
+                .append(Character.forDigit(b & 0xF, 16));
+      }
+
+      return new File(cacheDir, fileName.append(EXTENSION).toString());
+    }
+    catch(NoSuchAlgorithmException eX)
+    {
+      throw new IllegalStateException("SHA-1 is not supported", eX);
+    }
+  }
+
+
+  /**
+   * Write the cache file content of {@link parsedTestCase}
+   *
+   * @param output
+   * @param workbook
+   * @param length
+   * @param lastModified
+   * @param parsedTestCase
+   *
+   * @throws IOException
+   */
+  private void write(DataOutputStream output, File workbook, long length, long lastModified,
+                     ParsedTestCase parsedTestCase) throws IOException
+  {
+    LinkedHashMap<String, Integer> strings = new LinkedHashMap<>();
+
+    parsedTestCase.getHeaders().forEach((key, value) ->
+    {
+      strings.putIfAbsent(key, strings.size());
+      strings.putIfAbsent(value, strings.size());
+    });
+
+    for(LinkedList<TestActionTemplate> templates : getSections(parsedTestCase))
+    {
+      for(TestActionTemplate template : templates)
+      {
+        strings.putIfAbsent(template.getName(), strings.size());
+
+        for(int i = 0; i < template.numberOfAttributes(); i++)
+        {
+          strings.putIfAbsent(template.getKey(i), strings.size());
+          strings.putIfAbsent(template.getValue(i), strings.size());
+        }
+      }
+    }
+
+    output.writeInt(MAGIC);
+    output.writeInt(VERSION);
+    writeString(output, workbook.getAbsolutePath());
+    output.writeLong(length);
+    output.writeLong(lastModified);
+
+    output.writeInt(strings.size());
+
+    for(String string : strings.keySet())
+    {
+      writeString(output, string);
+    }
+
+    output.writeInt(parsedTestCase.getTestType() == null ? -1
+                                                         : parsedTestCase.getTestType().ordinal());
+
+    output.writeInt(parsedTestCase.getHeaders().size());
+
+    for(Map.Entry<String, String> header : parsedTestCase.getHeaders().entrySet())
+    {
+      output.writeInt(strings.get(header.getKey()));
+      output.writeInt(strings.get(header.getValue()));
+    }
+
+    for(LinkedList<TestActionTemplate> templates : getSections(parsedTestCase))
+    {
+      output.writeInt(templates.size());
+
+      for(TestActionTemplate template : templates)
+      {
+        output.writeInt(strings.get(template.getName()));
+        output.writeInt(template.numberOfAttributes());
+
+        for(int i = 0; i < template.numberOfAttributes(); i++)
+        {
+          output.writeInt(strings.get(template.getKey(i)));
+          output.writeInt(strings.get(template.getValue(i)));
+        }
+      }
+    }
+  }
+
+
+  /**
+   * Read the action templates of one section
+   *
+   * @param input
+   * @param strings
+   * @param templates
+   *
+   * @throws IOException
+   */
+  private void readTemplates(DataInputStream input, String[] strings,
+                             LinkedList<TestActionTemplate> templates) throws IOException
+  {
+    for(int i = input.readInt(); i > 0; i--)
+    {
+      String name = strings[input.readInt()];
+      String[] keys = new String[input.readInt()];
+      String[] values = new String[keys.length];
+
+      for(int j = 0; j < keys.length; j++)
+      {
+        keys[j] = strings[input.readInt()];
+        values[j] = strings[input.readInt()];
+      }
+
+      templates.add(new TestActionTemplate(name, keys, values));
+    }
+  }
+
+
+  /**
+   * Return the action templates of all sections, in the order of execution
+   *
+   * @param parsedTestCase
+   *
+   * @return
+   */
+  private List<LinkedList<TestActionTemplate>> getSections(ParsedTestCase parsedTestCase)
+  {
+    List<LinkedList<TestActionTemplate>> sections = new LinkedList<>();
+    sections.add(parsedTestCase.getSetUpActions());
+    sections.add(parsedTestCase.getTestActions());
+    sections.add(parsedTestCase.getTearDownActions());
+
+    return sections;
+  }
+
+
+  /**
+   * Write a string of any length as UTF-8
+   *
+   * @param output
+   * @param string
+   *
+   * @throws IOException
+   */
+  static void writeString(DataOutputStream output, String string) throws IOException
+  {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+
+  /**
+   * Read a string written by {@link #writeString(DataOutputStream, String)}
+   *
+   * @param input
+   *
+   * @return
+   *
+   * @throws IOException
+   */
+  static String readString(DataInputStream input) throws IOException
+  {
+    byte[] bytes = new byte[input.readInt()];
+
+    input.readFully(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+}
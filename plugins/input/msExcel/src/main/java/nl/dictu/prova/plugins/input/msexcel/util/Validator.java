@@ -34,10 +34,12 @@ public class Validator
   private final static Logger LOGGER = LogManager.getLogger(Validator.class.
           getName());
 
+  public final static char PREFIX_SEPARATOR = '_';
+
 
   /**
-   * Parse the prefix from the given sheet name.
-   * No prefix results in an empty string
+   * Return the test type of the given sheet based on the prefix of its name.
+   * Returns null when the prefix isn't a known test type.
    *
    * @param sheet
    *
@@ -45,6 +47,33 @@ public class Validator
    */
   public static TestType getTestType(Sheet sheet)
   {
+    return sheet == null ? null : getTestType(sheet.getSheetName());
+  }
+
+
+  /**
+   * Return the test type of the sheet with the given name based on its prefix.
+   * For example 'web_Login' results in {@link TestType#WEB}. Returns null when
+   * the prefix isn't a known test type.
+   *
+   * @param sheetName
+   *
+   * @return
+   */
+  public static TestType getTestType(String sheetName)
+  {
+    String prefix = getSheetPrefix(sheetName);
+
+    for(TestType testType : TestType.values())
+    {
+      if(testType.name().equalsIgnoreCase(prefix))
+      {
+        return testType;
+      }
+    }
+
+    LOGGER.trace("No test type for sheet '{}'", () -> sheetName);
+
     return null;
   }
 
@@ -59,7 +88,27 @@ public class Validator
    */
   public static String getSheetPrefix(Sheet sheet)
   {
-    return null;
+    return sheet == null ? "" : getSheetPrefix(sheet.getSheetName());
+  }
+
+
+  /**
+   * Parse the prefix from the given sheet name. The prefix is the part of the
+   * name before the first '_'.
+   * No prefix results in an empty string
+   *
+   * @param sheetName
+   *
+   * @return
+   */
+  public static String getSheetPrefix(String sheetName)
+  {
+    if(sheetName == null || sheetName.indexOf(PREFIX_SEPARATOR) < 1)
+    {
+      return "";
+    }
+
+    return sheetName.substring(0, sheetName.indexOf(PREFIX_SEPARATOR)).trim();
   }
 
 }
@@ -0,0 +1,253 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.Arrays;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.SAXParserFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * Streaming reader for .xlsx workbooks. The sheets are parsed with SAX on top
+ * of the event API of Apache POI (XSSFReader) instead of loading the complete
+ * workbook in memory. Only the current row is kept in memory, besides the
+ * shared strings and styles of the workbook.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WorkbookReader
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(WorkbookReader.class.
+          getName());
+
+
+  /**
+   * Read all sheets of {@link workbook} and pass their rows to
+   * {@link rowHandler}. Cell values are formatted as displayed in Excel and
+   * read by one {@link CellReader} per workbook, so identical values share
+   * one String instance.
+   *
+   * @param workbook
+   * @param rowHandler
+   *
+   * @throws Exception
+   */
+  public static void read(File workbook, RowHandler rowHandler) throws Exception
+  {
+    if(workbook == null || rowHandler == null)
+    {
+      throw new NullPointerException("Workbook and row handler can not be null");
+    }
+
+    LOGGER.debug("Read workbook '{}'", () -> workbook.getPath());
+
+    OPCPackage opcPackage = OPCPackage.open(workbook, PackageAccess.READ);
+
+    try
+    {
+      ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(opcPackage);
+      XSSFReader xssfReader = new XSSFReader(opcPackage);
+      StylesTable styles = xssfReader.getStylesTable();
+      CellReader cellReader = new CellReader();
+
+      XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+
+      while(sheets.hasNext())
+      {
+        try(InputStream sheetData = sheets.next())
+        {
+          String sheetName = sheets.getSheetName();
+
+          if( !rowHandler.startSheet(sheetName))
+          {
+            LOGGER.trace("Skip sheet '{}'", () -> sheetName);
+            continue;
+          }
+
+          RowCollector rowCollector = new RowCollector(rowHandler, cellReader);
+
+          XMLReader xmlReader = newXmlReader();
+          xmlReader.setContentHandler(new XSSFSheetXMLHandler(styles, sharedStrings, rowCollector,
+                                                              cellReader.getDataFormatter(),
+                                                              false));
+
+          try
+          {
+            xmlReader.parse(new InputSource(sheetData));
+          }
+          catch(RowHandlerException eX)
+          {
+            if(eX.getCause() != null)
+            {
+              throw (Exception) eX.getCause();
+            }
+
+            LOGGER.trace("Stopped reading sheet '{}'", () -> sheetName);
+          }
+
+          rowHandler.endSheet(sheetName);
+        }
+      }
+
+      LOGGER.trace("Read {} distinct value(s) from workbook '{}'",
+                   () -> cellReader.numberOfDistinctValues(), () -> workbook.getName());
+    }
+    finally
+    {
+      opcPackage.revert();
+    }
+  }
+
+
+  /**
+   * Create a new namespace aware SAX parser. The sheet XML comes from the
+   * workbook, so document type declarations and external entities are
+   * refused (XXE); sheets written by Excel never contain them.
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private static XMLReader newXmlReader() throws Exception
+  {
+    SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+    saxParserFactory.setNamespaceAware(true);
+    saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    saxParserFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+    saxParserFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+    saxParserFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+
+    return saxParserFactory.newSAXParser().getXMLReader();
+  }
+
+
+  /**
+   * Passes an exception of the row handler through the SAX parser. Without a
+   * cause it signals that the row handler doesn't need the remaining rows of
+   * the sheet.
+   */
+  private static class RowHandlerException extends RuntimeException
+  {
+    private final static long serialVersionUID = 1L;
+
+    private RowHandlerException(Exception cause)
+    {
+      super(cause);
+    }
+  }
+
+
+  /**
+   * Collects the cells of one row and passes the row to the row handler when
+   * it is complete.
+   */
+  private static class RowCollector implements SheetContentsHandler
+  {
+    private final RowHandler rowHandler;
+    private final CellReader cellReader;
+
+    private String[] cells = new String[16];
+    private int lastColumn = -1;
+
+
+    private RowCollector(RowHandler rowHandler, CellReader cellReader)
+    {
+      this.rowHandler = rowHandler;
+      this.cellReader = cellReader;
+    }
+
+
+    @Override
+    public void startRow(int rowNumber)
+    {
+      Arrays.fill(cells, 0, lastColumn + 1, null);
+      lastColumn = -1;
+    }
+
+
+    @Override
+    public void endRow(int rowNumber)
+    {
+      if(lastColumn < 0)
+      {
+        return;
+      }
+
+      boolean readNextRow;
+
+      try
+      {
+        readNextRow = rowHandler.row(rowNumber, Arrays.copyOf(cells, lastColumn + 1));
+      }
+      catch(Exception eX)
+      {
+        throw new RowHandlerException(eX);
+      }
+
+      if( !readNextRow)
+      {
+        throw new RowHandlerException(null);
+      }
+    }
+
+
+    @Override
+    public void cell(String cellReference, String formattedValue, XSSFComment comment)
+    {
+      String value = cellReader.readCellContent(formattedValue);
+
+      if(value == null || cellReference == null)
+      {
+        return;
+      }
+
+      int column = new CellReference(cellReference).getCol();
+
+      if(column >= cells.length)
+      {
+        cells = Arrays.copyOf(cells, Math.max(column + 1, cells.length << 1));
+      }
+
+      cells[column] = value;
+      lastColumn = Math.max(lastColumn, column);
+    }
+
+
+    @Override
+    public void headerFooter(String text, boolean isHeader, String tagName)
+    {
+    }
+  }
+}
@@ -19,11 +19,22 @@
  */
 package nl.dictu.prova.plugins.input.msexcel;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.Map;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +43,10 @@ import org.junit.Test;
 public class MsExcelTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
   public MsExcelTest()
   {
   }
@@ -74,8 +89,14 @@ public class MsExcelTest
    * Test of setTestRoot method, of class MsExcel.
    */
   @Test
-  public void testSetTestRoot()
+  public void testSetTestRoot() throws Exception
   {
+    File project = folder.newFolder("root", "project");
+    MsExcel msExcel = new MsExcel();
+
+    assertEquals(project.getAbsolutePath(),
+                 msExcel.setTestRoot(project.getParent(), "project"));
+    assertEquals(project.getAbsolutePath(), msExcel.setTestRoot(project.getPath(), null));
   }
 
 
@@ -85,6 +106,8 @@ public class MsExcelTest
   @Test
   public void testSetTestCaseFilter()
   {
+    assertEquals("smoke,regression",
+                 new MsExcel().setTestCaseFilter(new String[]{"smoke", "regression"}));
   }
 
 
@@ -92,8 +115,18 @@ public class MsExcelTest
    * Test of setUp method, of class MsExcel.
    */
   @Test
-  public void testSetUp()
+  public void testSetUp() throws Exception
   {
+    MsExcel msExcel = createMsExcel();
+
+    TestSuite testSuite = msExcel.setUp(new TestSuite("root"));
+
+    assertEquals(1, testSuite.numberOfTestCases(true));
+
+    TestCase testCase = testSuite.getTestCases().values().iterator().next();
+    assertEquals(TestType.WEB, testCase.getTestType());
+    assertEquals("Login", testCase.getHeader("Summary"));
+    assertTrue(testCase.getTestActions().isEmpty());
   }
 
 
@@ -101,8 +134,14 @@ public class MsExcelTest
    * Test of loadTestCase method, of class MsExcel.
    */
   @Test
-  public void testLoadTestCase()
+  public void testLoadTestCase() throws Exception
   {
+    MsExcel msExcel = createMsExcel();
+
+    TestSuite testSuite = msExcel.setUp(new TestSuite("root"));
+    TestCase testCase = msExcel.loadTestCase(testSuite.getTestCases().values().iterator().next());
+
+    assertEquals("[Navigate, Click]", testCase.getTestActions().toString());
   }
 
 
@@ -121,6 +160,50 @@ public class MsExcelTest
   @Test
   public void testGetName()
   {
+    assertEquals("MS Excel", new MsExcel().getName());
+  }
+
+
+  /**
+   * Test of setTestRoot method, of class MsExcel.
+   * The test root must be an existing directory.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetTestRootWithInvalidDirectory() throws Exception
+  {
+    new MsExcel().setTestRoot(folder.getRoot().getPath(), "unknown");
+  }
+
+
+  /**
+   * Create an initialized plug-in with a test root that contains one test case
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private MsExcel createMsExcel() throws Exception
+  {
+    File testRoot = folder.newFolder("tests");
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+
+    sheets.put("web_Login", new String[][]
+    {
+      {"Summary", "Login"},
+      {"Action", "xpath"},
+      {"Navigate"},
+      {"Click", "submit"}
+    });
+    TestWorkbooks.create(new File(testRoot, "login.xlsx"), sheets);
+
+    TestRunner testRunner = new Prova();
+    testRunner.addOutputPlugin(new TestWorkbooks.StubOutputPlugin(), TestType.WEB);
+
+    MsExcel msExcel = new MsExcel();
+    msExcel.init(testRunner);
+    msExcel.setTestRoot(testRoot.getPath(), null);
+
+    return msExcel;
   }
 
 }
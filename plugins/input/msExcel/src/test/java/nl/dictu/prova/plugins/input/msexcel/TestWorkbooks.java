@@ -0,0 +1,207 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.security.InvalidParameterException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.OutputPlugin;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Helpers to create test workbooks and an output plug-in to create the test
+ * actions read from them.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestWorkbooks
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(TestWorkbooks.class.getName());
+
+
+  /**
+   * Start the definition of a new workbook
+   *
+   * @return
+   */
+  public static Map<String, String[][]> sheets()
+  {
+    return new LinkedHashMap<>();
+  }
+
+
+  /**
+   * Write a workbook with the given sheets to {@link file}. Each sheet is an
+   * array of rows, each row an array of cell values (null for an empty cell).
+   *
+   * @param file
+   * @param sheets
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  public static File create(File file, Map<String, String[][]> sheets) throws Exception
+  {
+    try(XSSFWorkbook workbook = new XSSFWorkbook();
+        FileOutputStream outputStream = new FileOutputStream(file))
+    {
+      for(Map.Entry<String, String[][]> sheetRows : sheets.entrySet())
+      {
+        Sheet sheet = workbook.createSheet(sheetRows.getKey());
+
+        for(int i = 0; i < sheetRows.getValue().length; i++)
+        {
+          String[] cells = sheetRows.getValue()[i];
+
+          if(cells == null)
+          {
+            continue;
+          }
+
+          Row row = sheet.createRow(i);
+
+          for(int j = 0; j < cells.length; j++)
+          {
+            if(cells[j] != null)
+            {
+              row.createCell(j).setCellValue(cells[j]);
+            }
+          }
+        }
+      }
+
+      workbook.write(outputStream);
+    }
+
+    return file;
+  }
+
+
+  /**
+   * Output plug-in that creates a {@link StubTestAction} for each action name
+   */
+  public static class StubOutputPlugin implements OutputPlugin
+  {
+    private final AtomicInteger nextId = new AtomicInteger();
+
+
+    @Override
+    public void init(TestRunner testRunner) throws Exception
+    {
+    }
+
+
+    @Override
+    public void shutDown()
+    {
+    }
+
+
+    @Override
+    public String getName()
+    {
+      return "Stub";
+    }
+
+
+    @Override
+    public TestType[] getTestType()
+    {
+      return TestType.values();
+    }
+
+
+    @Override
+    public void setUp(TestCase testCase)
+    {
+    }
+
+
+    @Override
+    public void tearDown(TestCase testCase)
+    {
+    }
+
+
+    @Override
+    public TestAction getTestAction(String actionName) throws InvalidParameterException
+    {
+      return new StubTestAction(nextId.incrementAndGet(), actionName);
+    }
+  }
+
+
+  /**
+   * Test action that only remembers its name
+   */
+  public static class StubTestAction extends TestAction
+  {
+    private final String name;
+
+
+    public StubTestAction(Integer id, String name)
+    {
+      super(LOGGER, id);
+
+      this.name = name;
+    }
+
+
+    public String getName()
+    {
+      return name;
+    }
+
+
+    @Override
+    public TestStatus execute()
+    {
+      return TestStatus.PASSED;
+    }
+
+
+    @Override
+    public boolean isValid()
+    {
+      return true;
+    }
+
+
+    @Override
+    public String toString()
+    {
+      return name;
+    }
+  }
+}
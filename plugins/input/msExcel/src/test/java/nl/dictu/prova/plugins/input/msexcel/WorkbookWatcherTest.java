@@ -0,0 +1,264 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.framework.TestSuite;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WorkbookWatcherTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final LinkedBlockingQueue<Boolean> changes = new LinkedBlockingQueue<>();
+
+  private File testRoot;
+  private MsExcel msExcel;
+  private TestSuite testSuite;
+  private WorkbookWatcher workbookWatcher;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    testRoot = folder.newFolder("tests");
+
+    createTestCase(new File(testRoot, "first.xlsx"), "First");
+    createTestCase(new File(testRoot, "second.xlsx"), "Second");
+
+    TestRunner testRunner = new Prova();
+    testRunner.addOutputPlugin(new TestWorkbooks.StubOutputPlugin(), TestType.WEB);
+
+    msExcel = new MsExcel();
+    msExcel.init(testRunner);
+    msExcel.setTestRoot(testRoot.getPath(), null);
+
+    testSuite = msExcel.setUp(new TestSuite("root"));
+    workbookWatcher = msExcel.watch(testSuite, () -> changes.add(true));
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    msExcel.shutDown();
+  }
+
+
+  /**
+   * A changed workbook is parsed again and its test case is replaced in place
+   * when the changes are applied
+   */
+  @Test
+  public void testChangedWorkbookIsReplaced() throws Exception
+  {
+    File first = new File(testRoot, "first.xlsx");
+    TestCase oldTestCase = testSuite.getTestCase(first.getAbsolutePath());
+    oldTestCase.completeTestCaseStatus(TestStatus.PASSED);
+
+    createTestCase(first, "Changed");
+
+    waitForChange();
+
+    // The watcher leaves the test suite alone until the changes are applied
+    assertEquals(oldTestCase, testSuite.getTestCase(first.getAbsolutePath()));
+    assertTrue(workbookWatcher.hasChanges());
+
+    LinkedList<TestCase> testCases = workbookWatcher.applyChanges();
+
+    assertEquals(1, testCases.size());
+
+    TestCase testCase = testCases.getFirst();
+    assertEquals("Changed", testCase.getHeader("Summary"));
+    assertEquals(TestStatus.NOTRUN, testCase.getTestCaseStatus());
+
+    assertEquals(testCase, testSuite.getTestCase(first.getAbsolutePath()));
+    assertEquals("[first.xlsx, second.xlsx]", describe(testSuite));
+    assertEquals(0, testSuite.numberOfTestCases(TestStatus.PASSED));
+    assertFalse(workbookWatcher.hasChanges());
+  }
+
+
+  /**
+   * New workbooks are added to the test suite of their directory; test cases
+   * of deleted workbooks are removed, and so are test suites left empty.
+   */
+  @Test
+  public void testAddedAndDeletedWorkbooks() throws Exception
+  {
+    File second = new File(testRoot, "second.xlsx");
+    assertTrue(second.delete());
+
+    File subDirectory = new File(testRoot, "sub");
+    assertTrue(subDirectory.mkdir());
+    createTestCase(new File(subDirectory, "third.xlsx"), "Third");
+
+    // The new workbook can be reported in more than one change
+    TestCase testCase = null;
+
+    while(testCase == null)
+    {
+      testCase = nextChange().stream().filter((tc) -> "Third".equals(tc.getHeader("Summary")))
+                             .findFirst().orElse(null);
+    }
+
+    assertFalse(testSuite.hasTestCase(second.getAbsolutePath(), true));
+    assertNotNull(testSuite.getTestSuite(subDirectory.getAbsolutePath()));
+    assertEquals(testCase, testSuite.getTestCase(testCase.getId(), true));
+    assertEquals(2, testSuite.numberOfTestCases(true));
+
+    assertTrue(new File(testCase.getId()).delete());
+    createTestCase(new File(testRoot, "first.xlsx"), "Again");
+
+    // Both changes can be reported in one or more changes
+    while(nextChange().stream().noneMatch((tc) -> "Again".equals(tc.getHeader("Summary"))))
+    {
+      // Wait for the change of the first workbook
+    }
+
+    assertFalse(testSuite.hasTestCase(testCase.getId(), true));
+    assertFalse(testSuite.hasTestSuite(subDirectory.getAbsolutePath(), true));
+    assertEquals(1, testSuite.numberOfTestCases(true));
+  }
+
+
+  /**
+   * The test cases and test suites below a deleted (or moved) directory are
+   * removed
+   */
+  @Test
+  public void testDeletedDirectory() throws Exception
+  {
+    File subDirectory = new File(testRoot, "sub");
+    File subSubDirectory = new File(subDirectory, "subSub");
+    assertTrue(subSubDirectory.mkdirs());
+    createTestCase(new File(subSubDirectory, "third.xlsx"), "Third");
+
+    while( !testSuite.hasTestSuite(subSubDirectory.getAbsolutePath(), true))
+    {
+      nextChange();
+    }
+
+    assertEquals(3, testSuite.numberOfTestCases(true));
+
+    // Moving the directory out of the test root only reports the directory
+    Files.move(subDirectory.toPath(), new File(folder.getRoot(), "moved").toPath());
+
+    while(testSuite.hasTestSuite(subDirectory.getAbsolutePath(), true))
+    {
+      nextChange();
+    }
+
+    assertFalse(testSuite.hasTestSuite(subSubDirectory.getAbsolutePath(), true));
+    assertEquals(2, testSuite.numberOfTestCases(true));
+    assertEquals("[first.xlsx, second.xlsx]", describe(testSuite));
+  }
+
+
+  /**
+   * Wait for the next change reported by the watcher
+   *
+   * @throws Exception
+   */
+  private void waitForChange() throws Exception
+  {
+    assertNotNull("No change reported", changes.poll(30, TimeUnit.SECONDS));
+  }
+
+
+  /**
+   * Wait for the next change reported by the watcher and apply it
+   *
+   * @return the new and changed test cases
+   *
+   * @throws Exception
+   */
+  private LinkedList<TestCase> nextChange() throws Exception
+  {
+    waitForChange();
+
+    return workbookWatcher.applyChanges();
+  }
+
+
+  /**
+   * Create (or overwrite) a test case workbook
+   *
+   * @param file
+   * @param summary
+   *
+   * @throws Exception
+   */
+  private void createTestCase(File file, String summary) throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+
+    sheets.put("web_Test", new String[][]
+    {
+      {"Summary", summary},
+      {"Action", "xpath"},
+      {"Click", "button"}
+    });
+
+    TestWorkbooks.create(file, sheets);
+  }
+
+
+  /**
+   * Describe the test cases of {@link testSuite} by their file names
+   *
+   * @param testSuite
+   *
+   * @return
+   */
+  private String describe(TestSuite testSuite)
+  {
+    LinkedList<String> fileNames = new LinkedList<>();
+
+    testSuite.getTestCases().keySet().forEach((id) -> fileNames.add(new File(id).getName()));
+
+    return fileNames.toString();
+  }
+
+}
@@ -19,11 +19,24 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.input.msexcel.Config;
+import nl.dictu.prova.plugins.input.msexcel.TestWorkbooks;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +45,10 @@ import org.junit.Test;
 public class TestCaseBuilderTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
   public TestCaseBuilderTest()
   {
   }
@@ -83,8 +100,17 @@ public class TestCaseBuilderTest
    * Test of parseHeaders method, of class TestCaseBuilder.
    */
   @Test
-  public void testParseHeaders()
+  public void testParseHeaders() throws Exception
   {
+    File workbook = createTestCaseWorkbook("headers.xlsx");
+    TestCase testCase = new TestCase("headers");
+
+    new TestCaseBuilder(createTestRunner()).parseHeaders(workbook, testCase);
+
+    assertEquals(TestType.WEB, testCase.getTestType());
+    assertEquals("Login with a valid account", testCase.getHeader("Summary"));
+    assertEquals("High", testCase.getHeader("Priority"));
+    assertTrue(testCase.getTestActions().isEmpty());
   }
 
 
@@ -94,6 +120,108 @@ public class TestCaseBuilderTest
   @Test
   public void testParseTestActions() throws Exception
   {
+    File workbook = createTestCaseWorkbook("actions.xlsx");
+    TestCase testCase = new TestCase("actions");
+
+    new TestCaseBuilder(createTestRunner()).parseTestActions(workbook, testCase);
+
+    assertEquals("High", testCase.getHeader("Priority"));
+    assertEquals("[Navigate, SetText, Click, CaptureScreen]",
+                 testCase.getTestActions().toString());
+    assertEquals("[Navigate]", testCase.getSetUpActions().toString());
+    assertEquals("[CloseWebDriver]", testCase.getTearDownActions().toString());
+
+    TestWorkbooks.StubTestAction setText = (TestWorkbooks.StubTestAction) testCase.getTestActions().get(1);
+    assertEquals("user", setText.getAttribute("xpath"));
+    assertEquals("admin", setText.getAttribute("text"));
+  }
+
+
+  /**
+   * Create a test case workbook with an ignored sheet, a web sheet with
+   * headers, actions in all sections and a note, and a second web sheet.
+   *
+   * @param fileName
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File createTestCaseWorkbook(String fileName) throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+
+    sheets.put("Notes", new String[][]{{"Summary", "Ignored"}});
+    sheets.put("web_Login", new String[][]
+    {
+      {"Summary", "Login with a valid account"},
+      {"Priority", "High"},
+      null,
+      {"Action", "xpath", "text"},
+      {"[SetUp]"},
+      {"Navigate", null, "http://localhost"},
+      {"[Test]"},
+      {"Navigate", null, "http://localhost/login"},
+      {"SetText", "user", "admin"},
+      {"Click", "submit"},
+      {null, "A note without action name is skipped"},
+      {"[TearDown]"},
+      {"CloseWebDriver"}
+    });
+    sheets.put("web_Check", new String[][]
+    {
+      {"Action", "name"},
+      {"CaptureScreen", "logged-in"}
+    });
+
+    return TestWorkbooks.create(folder.newFile(fileName), sheets);
+  }
+
+
+  /**
+   * Create a test runner with an output plug-in for web test actions
+   *
+   * @return
+   */
+  private TestRunner createTestRunner()
+  {
+    TestRunner testRunner = new Prova();
+    testRunner.addOutputPlugin(new TestWorkbooks.StubOutputPlugin(), TestType.WEB);
+
+    return testRunner;
+  }
+
+
+  /**
+   * Test of parseTestActions method, of class TestCaseBuilder.
+   * With a cache the workbook is read once; unchanged workbooks are loaded
+   * from the cache.
+   */
+  @Test
+  public void testParseTestActionsFromCache() throws Exception
+  {
+    File workbook = createTestCaseWorkbook("cached.xlsx");
+    File cacheDir = folder.newFolder("cache");
+    TestRunner testRunner = createTestRunner();
+    testRunner.setProperty(Config.PROVA_PLUGINS_INPUT_MSEXCEL_CACHE_DIR, cacheDir.getPath());
+
+    TestCaseBuilder testCaseBuilder = new TestCaseBuilder(testRunner);
+    testCaseBuilder.parseHeaders(workbook, new TestCase("headers"));
+
+    assertEquals(1, cacheDir.list().length);
+
+    // Same size and modification time, but no longer a valid workbook
+    long lastModified = workbook.lastModified();
+    Files.write(workbook.toPath(), new byte[(int) workbook.length()]);
+    assertTrue(workbook.setLastModified(lastModified));
+
+    TestCase testCase = testCaseBuilder.parseTestActions(workbook, new TestCase("actions"));
+
+    assertEquals(TestType.WEB, testCase.getTestType());
+    assertEquals("High", testCase.getHeader("Priority"));
+    assertEquals("[Navigate, SetText, Click, CaptureScreen]",
+                 testCase.getTestActions().toString());
+    assertEquals("admin", testCase.getTestActions().get(1).getAttribute("text"));
   }
 
 }
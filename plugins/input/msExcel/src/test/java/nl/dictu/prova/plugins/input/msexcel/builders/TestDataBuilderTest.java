@@ -19,11 +19,22 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.LinkedList;
+import java.util.Map;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.input.msexcel.TestWorkbooks;
+import nl.dictu.prova.plugins.input.msexcel.readers.testdata.DataSetStore;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +43,10 @@ import org.junit.Test;
 public class TestDataBuilderTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
   public TestDataBuilderTest()
   {
   }
@@ -61,9 +76,120 @@ public class TestDataBuilderTest
   }
 
 
+  /**
+   * Test of getDataSetStore method, of class TestDataBuilder.
+   * All data sets are read into the store.
+   */
+  @Test
+  public void testGetDataSetStore() throws Exception
+  {
+    File dataSetFile = createDataSetWorkbook(200);
+
+    DataSetStore dataSetStore = new TestDataBuilder(null).getDataSetStore(dataSetFile,
+                                                                          TestType.WEB);
+
+    assertEquals(200, dataSetStore.numberOfRows());
+
+    for(int row = 0; row < dataSetStore.numberOfRows(); row++)
+    {
+      assertEquals("set" + row, dataSetStore.getName(row));
+      assertEquals("user" + row, dataSetStore.getVariable(row, "username"));
+    }
+  }
+
+
+  /**
+   * Test of getDataSetStore method, of class TestDataBuilder.
+   * A missing data set file is refused.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetDataSetStoreOfMissingFile() throws Exception
+  {
+    new TestDataBuilder(null).getDataSetStore(new File(folder.getRoot(), "missing.xlsx"),
+                                              TestType.WEB);
+  }
+
+
+  /**
+   * Test of getTestCases method, of class TestDataBuilder.
+   * The test cases are bound to their row of the data set store.
+   */
   @Test
-  public void testSomeMethod()
+  public void testGetTestCases() throws Exception
   {
+    File dataSetFile = createDataSetWorkbook(3);
+    ParsedTestCase template = new ParsedTestCase();
+    template.setTestType(TestType.WEB);
+    template.getHeaders().put("Summary", "Login");
+
+    TestDataBuilder testDataBuilder = new TestDataBuilder(null);
+    LinkedList<TestCase> testCases = new LinkedList<>();
+
+    testDataBuilder.getTestCases("login.xlsx", template,
+                                 testDataBuilder.getDataSetStore(dataSetFile, TestType.WEB))
+            .forEachRemaining(testCases::add);
+
+    assertEquals(3, testCases.size());
+    assertEquals("login.xlsx#set2", testCases.getLast().getId());
+    assertEquals(TestType.WEB, testCases.getLast().getTestType());
+    assertEquals("Login", testCases.getLast().getHeader("Summary"));
+    assertEquals("user2", testCases.getLast().getVariable("username"));
+    assertEquals("", testCases.getLast().getVariable("password"));
+
+    // The headers are shared until a test case changes them
+    testCases.getFirst().setHeader("Summary", "Changed");
+    assertEquals("Changed", testCases.getFirst().getHeader("Summary"));
+    assertEquals("Login", testCases.getLast().getHeader("Summary"));
+  }
+
+
+  /**
+   * Test of getWorkbookPath method, of class TestDataBuilder.
+   * Workbook, flat file, directory and data set names can contain the
+   * separator.
+   */
+  @Test
+  public void testGetWorkbookPath() throws Exception
+  {
+    File workbook = folder.newFile("login#1.xlsx");
+    File flatFile = folder.newFile("web_Login.csv");
+    File directory = folder.newFolder("suite.xlsx#2");
+    File nested = new File(directory, "login.jsonl");
+    assertTrue(nested.createNewFile());
+
+    assertEquals(workbook.getPath(), TestDataBuilder.getWorkbookPath(workbook.getPath()));
+    assertEquals(workbook.getPath(), TestDataBuilder.getWorkbookPath(workbook.getPath() + "#a#b"));
+    assertEquals(flatFile.getPath(), TestDataBuilder.getWorkbookPath(flatFile.getPath() + "#admin"));
+    assertEquals(nested.getPath(), TestDataBuilder.getWorkbookPath(nested.getPath() + "#a#b"));
+    assertEquals("/tests/missing.xlsx#admin",
+                 TestDataBuilder.getWorkbookPath("/tests/missing.xlsx#admin"));
+  }
+
+
+  /**
+   * Create a data set workbook with {@link numberOfDataSets} data sets. The
+   * password of each data set is empty.
+   *
+   * @param numberOfDataSets
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File createDataSetWorkbook(int numberOfDataSets) throws Exception
+  {
+    String[][] rows = new String[numberOfDataSets + 1][];
+    rows[0] = new String[]{"Data set", "username", "password"};
+
+    for(int i = 0; i < numberOfDataSets; i++)
+    {
+      rows[i + 1] = new String[]{"set" + i, "user" + i};
+    }
+
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+    sheets.put("Accounts", rows);
+
+    return TestWorkbooks.create(folder.newFile("data.xlsx"), sheets);
   }
 
 }
@@ -19,11 +19,28 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.builders;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.LinkedList;
+import java.util.Map;
+import nl.dictu.prova.Prova;
+import nl.dictu.prova.TestRunner;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestSuite;
+import nl.dictu.prova.plugins.input.msexcel.Config;
+import nl.dictu.prova.plugins.input.msexcel.TestWorkbooks;
+import nl.dictu.prova.plugins.input.msexcel.util.LabelIndex;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +49,10 @@ import org.junit.Test;
 public class TestSuiteBuilderTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
   public TestSuiteBuilderTest()
   {
   }
@@ -65,8 +86,235 @@ public class TestSuiteBuilderTest
    * Test of buildTestSuite method, of class TestSuiteBuilder.
    */
   @Test
-  public void testBuildTestSuite()
+  public void testBuildTestSuite() throws Exception
+  {
+    File testRoot = createTestRoot();
+
+    TestSuite parallel = new TestSuiteBuilder(null, 4).buildTestSuite(new TestSuite("parallel"),
+                                                                      testRoot, null);
+    TestSuite sequential = new TestSuiteBuilder(null, 1).buildTestSuite(new TestSuite("sequential"),
+                                                                        testRoot, null);
+
+    String expected = "[t1.xlsx, a_suite:[t2.xlsx, sub:[t5.xlsx]], b_suite:[t3.xlsx, t4.xlsx]]";
+
+    assertEquals(expected, describe(parallel));
+    assertEquals(expected, describe(sequential));
+    assertEquals(5, parallel.numberOfTestCases(true));
+  }
+
+
+  /**
+   * Test of buildTestSuite method, of class TestSuiteBuilder.
+   * Only test cases with one of the labels of the filter are added.
+   */
+  @Test
+  public void testBuildTestSuiteWithFilter() throws Exception
+  {
+    File testRoot = createTestRoot();
+
+    TestSuite testSuite = new TestSuiteBuilder(null, 2)
+            .buildTestSuite(new TestSuite("filtered"), testRoot, new String[]{"smoke"});
+
+    assertEquals("[t1.xlsx, b_suite:[t4.xlsx]]", describe(testSuite));
+  }
+
+
+  /**
+   * Test of buildTestSuite method, of class TestSuiteBuilder.
+   * Filters can be expressions with AND, OR and NOT.
+   */
+  @Test
+  public void testBuildTestSuiteWithFilterExpression() throws Exception
   {
+    File testRoot = createTestRoot();
+    TestSuiteBuilder testSuiteBuilder = new TestSuiteBuilder(null, 2);
+
+    TestSuite testSuite = testSuiteBuilder.buildTestSuite(new TestSuite("expression"), testRoot,
+                                                          new String[]{"smoke AND NOT regression"});
+
+    assertEquals("[b_suite:[t4.xlsx]]", describe(testSuite));
+    assertEquals(5, testSuiteBuilder.getLabelIndex().size());
+
+    testSuite = testSuiteBuilder.buildTestSuite(new TestSuite("expression"), testRoot,
+                                                new String[]{"!smoke", "smoke & regression"});
+
+    assertEquals("[t1.xlsx, a_suite:[t2.xlsx, sub:[t5.xlsx]], b_suite:[t3.xlsx]]",
+                 describe(testSuite));
+  }
+
+
+  /**
+   * Test of buildTestSuite method, of class TestSuiteBuilder.
+   * With a cache directory the label index is saved. Unchanged workbooks that
+   * do not match the filter are not read again.
+   */
+  @Test
+  public void testBuildTestSuiteWithLabelIndex() throws Exception
+  {
+    File testRoot = createTestRoot();
+    File cacheDir = folder.newFolder("cache");
+    TestRunner testRunner = new Prova();
+    testRunner.addOutputPlugin(new TestWorkbooks.StubOutputPlugin(), TestType.WEB);
+    testRunner.setProperty(Config.PROVA_PLUGINS_INPUT_MSEXCEL_CACHE_DIR, cacheDir.getPath());
+
+    new TestSuiteBuilder(testRunner, 2).buildTestSuite(new TestSuite("all"), testRoot, null);
+
+    File indexFile = new File(cacheDir, TestSuiteBuilder.LABEL_INDEX_FILE);
+    assertTrue(indexFile.isFile());
+
+    // Same size and modification time, but no longer a valid workbook
+    File workbook = new File(testRoot, "a_suite/t2.xlsx");
+    long lastModified = workbook.lastModified();
+    Files.write(workbook.toPath(), new byte[(int) workbook.length()]);
+    assertTrue(workbook.setLastModified(lastModified));
+
+    for(File file : cacheDir.listFiles())
+    {
+      if( !file.equals(indexFile))
+      {
+        assertTrue(file.delete());
+      }
+    }
+
+    TestSuiteBuilder testSuiteBuilder = new TestSuiteBuilder(testRunner, 2);
+    TestSuite testSuite = testSuiteBuilder.buildTestSuite(new TestSuite("smoke"), testRoot,
+                                                          new String[]{"smoke"});
+
+    assertEquals("[t1.xlsx, b_suite:[t4.xlsx]]", describe(testSuite));
+    assertEquals(5, testSuiteBuilder.getLabelIndex().size());
+    assertEquals(5, LabelIndex.load(indexFile).size());
+
+    // Only the selected workbooks and the workbook that is not a test case are read
+    assertEquals(4, cacheDir.list().length);
+  }
+
+
+  /**
+   * Test of buildTestSuite method, of class TestSuiteBuilder.
+   * A data driven workbook results in a test case per data set. The test
+   * cases share the action templates of the workbook.
+   */
+  @Test
+  public void testBuildTestSuiteWithDataSets() throws Exception
+  {
+    File testRoot = folder.newFolder("data");
+    File workbook = new File(testRoot, "login.xlsx");
+
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+    sheets.put("web_Login", new String[][]
+    {
+      {"Summary", "Login"},
+      {TestDataBuilder.HEADER_DATA, "accounts.xlsx"},
+      {"Action", "xpath"},
+      {"Click", "button"}
+    });
+    TestWorkbooks.create(workbook, sheets);
+
+    Map<String, String[][]> accounts = TestWorkbooks.sheets();
+    accounts.put("Accounts", new String[][]
+    {
+      {"Data set", "username"},
+      {"admin", "root"},
+      {"guest", "anonymous"}
+    });
+    TestWorkbooks.create(new File(testRoot, "accounts.xlsx"), accounts);
+
+    TestSuite testSuite = new TestSuiteBuilder(null, 2).buildTestSuite(new TestSuite("data"),
+                                                                       testRoot, null);
+
+    assertEquals("[login.xlsx#admin, login.xlsx#guest]", describe(testSuite));
+
+    TestCase guest = testSuite.getTestCase(workbook.getAbsolutePath() + "#guest");
+    assertEquals("anonymous", guest.getVariable("username"));
+    assertEquals("Login", guest.getHeader("Summary"));
+
+    TestCaseBuilder testCaseBuilder = new TestCaseBuilder(null);
+    assertSame(testCaseBuilder.getTemplate(workbook), testCaseBuilder.getTemplate(workbook));
+  }
+
+
+  /**
+   * Create a test root with test cases in several (sub-)directories, a
+   * directory without test cases and an Excel lock file.
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File createTestRoot() throws Exception
+  {
+    File testRoot = folder.newFolder("root");
+    File aSuite = new File(testRoot, "a_suite");
+    File bSuite = new File(testRoot, "b_suite");
+    File subSuite = new File(aSuite, "sub");
+    File empty = new File(testRoot, "empty");
+
+    subSuite.mkdirs();
+    bSuite.mkdirs();
+    empty.mkdirs();
+
+    createTestCase(new File(testRoot, "t1.xlsx"), "smoke, regression");
+    createTestCase(new File(aSuite, "t2.xlsx"), "regression");
+    createTestCase(new File(bSuite, "t4.xlsx"), "Smoke");
+    createTestCase(new File(bSuite, "t3.xlsx"), null);
+    createTestCase(new File(subSuite, "t5.xlsx"), null);
+
+    Map<String, String[][]> notes = TestWorkbooks.sheets();
+    notes.put("Notes", new String[][]{{"Summary", "No test case"}});
+    TestWorkbooks.create(new File(empty, "notes.xlsx"), notes);
+    TestWorkbooks.create(new File(testRoot, "~$t1.xlsx"), notes);
+
+    return testRoot;
+  }
+
+
+  /**
+   * Create a test case workbook with the given labels (optional)
+   *
+   * @param file
+   * @param labels
+   *
+   * @throws Exception
+   */
+  private void createTestCase(File file, String labels) throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+
+    sheets.put("web_Test", new String[][]
+    {
+      {"Summary", file.getName()},
+      {TestSuiteBuilder.HEADER_LABELS, labels},
+      {"Action", "xpath"},
+      {"Click", "button"}
+    });
+
+    TestWorkbooks.create(file, sheets);
+  }
+
+
+  /**
+   * Describe the structure of {@link testSuite} with the file names of its
+   * test cases and sub-test suites, in order.
+   *
+   * @param testSuite
+   *
+   * @return
+   */
+  private String describe(TestSuite testSuite)
+  {
+    LinkedList<String> parts = new LinkedList<>();
+
+    for(TestCase testCase : testSuite.getTestCases().values())
+    {
+      parts.add(new File(testCase.getId()).getName());
+    }
+
+    for(TestSuite subTestSuite : testSuite.getTestSuites().values())
+    {
+      parts.add(new File(subTestSuite.getId()).getName() + ":" + describe(subTestSuite));
+    }
+
+    return parts.toString();
   }
 
 }
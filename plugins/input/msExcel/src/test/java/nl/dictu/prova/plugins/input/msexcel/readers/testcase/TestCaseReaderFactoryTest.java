@@ -19,6 +19,8 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testcase;
 
+import static org.junit.Assert.assertTrue;
+import nl.dictu.prova.TestType;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -67,6 +69,21 @@ public class TestCaseReaderFactoryTest
   @Test
   public void testGetInstance()
   {
+    assertTrue(TestCaseReaderFactory.getInstance(TestType.DB) instanceof DatabaseTestCaseReader);
+    assertTrue(TestCaseReaderFactory.getInstance(TestType.SHELL) instanceof ShellTestCaseReader);
+    assertTrue(TestCaseReaderFactory.getInstance(TestType.SOAP) instanceof SoapTestCaseReader);
+    assertTrue(TestCaseReaderFactory.getInstance(TestType.WEB) instanceof WebTestCaseReader);
+  }
+
+
+  /**
+   * Test of getInstance method, of class TestCaseReaderFactory.
+   * A test type is required.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetInstanceWithoutTestType()
+  {
+    TestCaseReaderFactory.getInstance(null);
   }
 
 }
@@ -0,0 +1,157 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.io.File;
+import java.util.Map;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.input.msexcel.TestWorkbooks;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class DataSetStoreTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  public DataSetStoreTest()
+  {
+  }
+
+
+  @BeforeClass
+  public static void setUpClass()
+  {
+  }
+
+
+  @AfterClass
+  public static void tearDownClass()
+  {
+  }
+
+
+  @Before
+  public void setUp()
+  {
+  }
+
+
+  @After
+  public void tearDown()
+  {
+  }
+
+
+  /**
+   * Test of add method, of class DataSetStore.
+   * The buffers grow when they are full.
+   */
+  @Test
+  public void testAdd()
+  {
+    DataSetStore dataSetStore = new DataSetStore();
+    String[] columns = {"Data set", "username", "comment"};
+
+    for(int i = 0; i < 10000; i++)
+    {
+      dataSetStore.add(new DataSet(columns, new String[]{"set" + i, "user" + i, "ëxtra " + i}));
+    }
+
+    assertEquals(10000, dataSetStore.numberOfRows());
+    assertEquals(2, dataSetStore.numberOfColumns());
+    assertEquals("set9999", dataSetStore.getName(9999));
+    assertEquals("user5000", dataSetStore.getVariable(5000, "username"));
+    assertEquals("ëxtra 123", dataSetStore.getVariable(123, "comment"));
+  }
+
+
+  /**
+   * Test of getVariable method, of class DataSetStore.
+   * Missing values are empty, unknown variables are null.
+   */
+  @Test
+  public void testGetVariable()
+  {
+    DataSetStore dataSetStore = new DataSetStore();
+    dataSetStore.add(new DataSet(new String[]{"Data set", "username"},
+                                 new String[]{"admin", "root"}));
+    dataSetStore.add(new DataSet(new String[]{"Data set", "query", "username"},
+                                 new String[]{"select", "select 1"}));
+
+    assertNull(dataSetStore.getVariable(0, "query"));
+    assertEquals("", dataSetStore.getVariable(1, "username"));
+    assertEquals("select 1", dataSetStore.getVariable(1, "query"));
+    assertNull(dataSetStore.getVariable(1, "unknown"));
+  }
+
+
+  /**
+   * Test of getVariable method, of class DataSetStore.
+   * A row outside the store is an error.
+   */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetVariableOfInvalidRow()
+  {
+    new DataSetStore().getVariable(0, "username");
+  }
+
+
+  /**
+   * Test of readDataSetStore method, of class TestDataReader.
+   * Test cases bound to a row resolve their variables against the store.
+   */
+  @Test
+  public void testReadDataSetStore() throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+    sheets.put("Queries", new String[][]
+    {
+      {"Data set", "query", "rows"},
+      {"count", "select count(*) from users", "1"},
+      {"all", "select * from users"}
+    });
+    File dataSetFile = TestWorkbooks.create(folder.newFile("queries.xlsx"), sheets);
+
+    DataSetStore dataSetStore = new DatabaseTestDataReader().readDataSetStore(dataSetFile);
+
+    TestCase testCase = new TestCase("queries.xlsx#all");
+    testCase.setVariableStore(dataSetStore, 1);
+
+    assertEquals(2, dataSetStore.numberOfRows());
+    assertEquals("all", dataSetStore.getName(1));
+    assertEquals("select * from users", testCase.getVariable("query"));
+    assertEquals("", testCase.getVariable("rows"));
+  }
+
+}
@@ -19,6 +19,8 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
 
+import static org.junit.Assert.assertTrue;
+import nl.dictu.prova.TestType;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -67,6 +69,21 @@ public class TestDataReaderFactoryTest
   @Test
   public void testGetInstance()
   {
+    assertTrue(TestDataReaderFactory.getInstance(TestType.DB) instanceof DatabaseTestDataReader);
+    assertTrue(TestDataReaderFactory.getInstance(TestType.SHELL) instanceof ShellTestDataReader);
+    assertTrue(TestDataReaderFactory.getInstance(TestType.SOAP) instanceof SoapTestDataReader);
+    assertTrue(TestDataReaderFactory.getInstance(TestType.WEB) instanceof WebTestDataReader);
+  }
+
+
+  /**
+   * Test of getInstance method, of class TestDataReaderFactory.
+   * A test type is required.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetInstanceWithoutTestType()
+  {
+    TestDataReaderFactory.getInstance(null);
   }
 
 }
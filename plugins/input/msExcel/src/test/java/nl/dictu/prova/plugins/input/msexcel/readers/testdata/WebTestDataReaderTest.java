@@ -19,11 +19,20 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.readers.testdata;
 
+import static org.junit.Assert.assertEquals;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import nl.dictu.prova.plugins.input.msexcel.TestWorkbooks;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +41,10 @@ import org.junit.Test;
 public class WebTestDataReaderTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
   public WebTestDataReaderTest()
   {
   }
@@ -67,6 +80,10 @@ public class WebTestDataReaderTest
   @Test
   public void testGetDataSetNames() throws Exception
   {
+    File dataSetFile = createDataSetWorkbook("names.xlsx");
+
+    assertEquals(Arrays.asList("admin", "guest", "user"),
+                 new WebTestDataReader().getDataSetNames(dataSetFile));
   }
 
 
@@ -76,6 +93,54 @@ public class WebTestDataReaderTest
   @Test
   public void testGetVariables() throws Exception
   {
+    File dataSetFile = createDataSetWorkbook("variables.xlsx");
+
+    Properties variables = new WebTestDataReader().getVariables(dataSetFile, "user");
+
+    assertEquals(2, variables.size());
+    assertEquals("jdoe", variables.getProperty("username"));
+    assertEquals("", variables.getProperty("password"));
+  }
+
+
+  /**
+   * Test of getVariables method, of class WebTestDataReader.
+   * An unknown data set is an error.
+   */
+  @Test(expected = NoSuchElementException.class)
+  public void testGetVariablesOfUnknownDataSet() throws Exception
+  {
+    new WebTestDataReader().getVariables(createDataSetWorkbook("unknown.xlsx"), "unknown");
+  }
+
+
+  /**
+   * Create a data set workbook with two sheets
+   *
+   * @param fileName
+   *
+   * @return
+   *
+   * @throws Exception
+   */
+  private File createDataSetWorkbook(String fileName) throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+
+    sheets.put("Accounts", new String[][]
+    {
+      {"Data set", "username", "password"},
+      {"admin", "root", "secret"},
+      {null, "skipped"},
+      {"guest", "anonymous"}
+    });
+    sheets.put("Users", new String[][]
+    {
+      {"Data set", "username", "password"},
+      {"user", "jdoe"}
+    });
+
+    return TestWorkbooks.create(folder.newFile(fileName), sheets);
   }
 
 }
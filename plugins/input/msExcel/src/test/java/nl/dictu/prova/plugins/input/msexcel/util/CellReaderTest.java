@@ -19,6 +19,14 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -67,6 +75,70 @@ public class CellReaderTest
   @Test
   public void testParseCellContent() throws Exception
   {
+    assertEquals("click", CellReader.parseCellContent(" click\t"));
+    assertNull(CellReader.parseCellContent("   "));
+    assertNull(CellReader.parseCellContent((String) null));
+    assertNull(CellReader.parseCellContent((Cell) null));
+  }
+
+
+  /**
+   * Test of readCellContent method, of class CellReader.
+   * Identical values are returned as one String instance.
+   */
+  @Test
+  public void testReadCellContentSharesIdenticalValues()
+  {
+    CellReader cellReader = new CellReader();
+
+    String first = cellReader.readCellContent(new String("click"));
+    String second = cellReader.readCellContent(new String(" click "));
+
+    assertEquals("click", first);
+    assertSame(first, second);
+    assertNull(cellReader.readCellContent(" "));
+    assertEquals(1, cellReader.numberOfDistinctValues());
+
+    assertNotSame(first, new CellReader().readCellContent(new String("click")));
+  }
+
+
+  /**
+   * Test of readCellContent method, of class CellReader.
+   * Numbers and cached results of formulas are formatted as displayed in
+   * Excel; formatted numbers are cached per number format.
+   */
+  @Test
+  public void testReadCellContentOfNumbersAndFormulas() throws Exception
+  {
+    try(XSSFWorkbook workbook = new XSSFWorkbook())
+    {
+      Row row = workbook.createSheet("Test").createRow(0);
+      CellStyle percentage = workbook.createCellStyle();
+      percentage.setDataFormat(workbook.createDataFormat().getFormat("0.0%"));
+
+      row.createCell(0).setCellValue(0.25);
+      row.getCell(0).setCellStyle(percentage);
+      row.createCell(1).setCellValue(0.25);
+      row.getCell(1).setCellStyle(percentage);
+      row.createCell(2).setCellValue(0.25);
+      row.createCell(3).setCellFormula("A1*2");
+      row.getCell(3).setCellStyle(percentage);
+      workbook.getCreationHelper().createFormulaEvaluator().evaluateFormulaCell(row.getCell(3));
+
+      CellReader cellReader = new CellReader();
+
+      String first = cellReader.readCellContent(row.getCell(0));
+
+      assertEquals("25.0%", first);
+      assertSame(first, cellReader.readCellContent(row.getCell(1)));
+      assertEquals("0.25", cellReader.readCellContent(row.getCell(2)));
+      assertEquals("50.0%", cellReader.readCellContent(row.getCell(3)));
+      assertSame(cellReader.getDataFormatter().formatRawCellContents(0.25, percentage.getDataFormat(),
+                                                                     "0.0%"),
+                 cellReader.getDataFormatter().formatRawCellContents(0.25, percentage.getDataFormat(),
+                                                                     "0.0%"));
+    }
   }
 
 }
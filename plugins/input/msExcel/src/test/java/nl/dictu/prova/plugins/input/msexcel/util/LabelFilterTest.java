@@ -0,0 +1,117 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LabelFilterTest
+{
+
+  /**
+   * Test of parse and matches methods, of class LabelFilter.
+   */
+  @Test
+  public void testMatches()
+  {
+    LabelFilter labelFilter = LabelFilter.parse(new String[]{"Smoke and not (slow OR manual)"});
+
+    assertEquals("(smoke AND NOT (slow OR manual))", labelFilter.toString());
+    assertTrue(labelFilter.matches(Arrays.asList("smoke")));
+    assertTrue(labelFilter.matches(Arrays.asList("smoke", "regression")));
+    assertFalse(labelFilter.matches(Arrays.asList("smoke", "slow")));
+    assertFalse(labelFilter.matches(Arrays.asList("regression")));
+
+    labelFilter = LabelFilter.parse(new String[]{"a & b | c", "!d"});
+
+    assertEquals("((a AND b) OR c) OR NOT d", labelFilter.toString());
+    assertTrue(labelFilter.matches(Arrays.asList("a", "b", "d")));
+    assertTrue(labelFilter.matches(Arrays.asList("c", "d")));
+    assertTrue(labelFilter.matches(Arrays.asList()));
+    assertFalse(labelFilter.matches(Arrays.asList("a", "d")));
+  }
+
+
+  /**
+   * Test of parse method, of class LabelFilter.
+   * Without (non-empty) filters all test cases match.
+   */
+  @Test
+  public void testEmpty()
+  {
+    assertTrue(LabelFilter.parse(null).isEmpty());
+    assertTrue(LabelFilter.parse(new String[]{"", " "}).isEmpty());
+    assertTrue(LabelFilter.parse(new String[0]).matches(Arrays.asList("any")));
+    assertFalse(LabelFilter.parse(new String[]{"smoke"}).isEmpty());
+  }
+
+
+  /**
+   * Test of parse method, of class LabelFilter, with invalid expressions.
+   */
+  @Test
+  public void testParseInvalid()
+  {
+    for(String filter : new String[]{"smoke AND", "(smoke", "smoke)", "NOT", "a b", "& a"})
+    {
+      try
+      {
+        LabelFilter.parse(new String[]{filter});
+        throw new AssertionError("Filter '" + filter + "' should be invalid");
+      }
+      catch(InvalidParameterException eX)
+      {
+        // Expected
+      }
+    }
+  }
+
+
+  /**
+   * Test of select method, of class LabelFilter.
+   */
+  @Test
+  public void testSelect()
+  {
+    LabelIndex labelIndex = new LabelIndex();
+    labelIndex.put(new File("t0.xlsx"), 1, 1, new String[]{"smoke", "regression"});
+    labelIndex.put(new File("t1.xlsx"), 1, 1, new String[]{"Regression"});
+    labelIndex.put(new File("t2.xlsx"), 1, 1, new String[]{"smoke", "slow"});
+    labelIndex.put(new File("t3.xlsx"), 1, 1, new String[0]);
+
+    assertEquals("{0}", LabelFilter.parse(new String[]{"smoke and not slow"})
+                 .select(labelIndex).toString());
+    assertEquals("{1, 3}", LabelFilter.parse(new String[]{"not smoke"})
+                 .select(labelIndex).toString());
+    assertEquals("{0, 1, 2}", LabelFilter.parse(new String[]{"smoke", "regression"})
+                 .select(labelIndex).toString());
+    assertEquals("{0, 1, 2, 3}", LabelFilter.parse(null).select(labelIndex).toString());
+  }
+
+}
@@ -0,0 +1,114 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import static org.junit.Assert.assertEquals;
+import java.io.File;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LabelIndexTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  /**
+   * Test of put and getTestCases methods, of class LabelIndex.
+   * Replacing the labels of a workbook keeps its number.
+   */
+  @Test
+  public void testPut() throws Exception
+  {
+    LabelIndex labelIndex = new LabelIndex();
+    File t0 = new File("t0.xlsx");
+
+    assertEquals(0, labelIndex.put(t0, 1, 1, new String[]{"Smoke", "slow"}));
+    assertEquals(1, labelIndex.put(new File("t1.xlsx"), 1, 1, new String[]{"smoke"}));
+    assertEquals("{0, 1}", labelIndex.getTestCases("smoke").toString());
+
+    assertEquals(0, labelIndex.put(t0, 2, 2, new String[]{"regression"}));
+    assertEquals("{1}", labelIndex.getTestCases("smoke").toString());
+    assertEquals("{}", labelIndex.getTestCases("slow").toString());
+    assertEquals("{0}", labelIndex.getTestCases("regression").toString());
+    assertEquals(2, labelIndex.size());
+    assertEquals("[" + t0.getAbsolutePath() + "]",
+                 labelIndex.getPaths(labelIndex.getTestCases("regression")).toString());
+  }
+
+
+  /**
+   * Test of getId method, of class LabelIndex.
+   * A workbook that changed since it was indexed is unknown.
+   */
+  @Test
+  public void testGetId() throws Exception
+  {
+    File workbook = folder.newFile("test.xlsx");
+    Files.write(workbook.toPath(), new byte[]{1, 2, 3});
+
+    LabelIndex labelIndex = new LabelIndex();
+    labelIndex.put(workbook, workbook.length(), workbook.lastModified(), new String[]{"smoke"});
+
+    assertEquals(0, labelIndex.getId(workbook));
+    assertEquals(-1, labelIndex.getId(folder.newFile("other.xlsx")));
+
+    Files.write(workbook.toPath(), new byte[]{1, 2, 3, 4});
+
+    assertEquals(-1, labelIndex.getId(workbook));
+  }
+
+
+  /**
+   * Test of save and load methods, of class LabelIndex.
+   */
+  @Test
+  public void testSaveAndLoad() throws Exception
+  {
+    LabelIndex labelIndex = new LabelIndex();
+    labelIndex.put(new File("t0.xlsx"), 10, 20, new String[]{"smoke", "regression"});
+    labelIndex.put(new File("t1.xlsx"), 30, 40, new String[0]);
+
+    File indexFile = new File(folder.getRoot(), "cache/labels.index");
+    labelIndex.save(indexFile);
+
+    LabelIndex loaded = LabelIndex.load(indexFile);
+    assertEquals(2, loaded.size());
+    assertEquals("{0}", loaded.getTestCases("regression").toString());
+    assertEquals("{0, 1}", loaded.getAll().toString());
+
+    LabelIndex copy = new LabelIndex();
+    loaded.copy(1, copy);
+    assertEquals("[" + new File("t1.xlsx").getAbsolutePath() + "]",
+                 copy.getPaths(copy.getAll()).toString());
+
+    Files.write(indexFile.toPath(), new byte[]{1, 2, 3});
+    assertEquals(0, LabelIndex.load(indexFile).size());
+    assertEquals(0, LabelIndex.load(new File(folder.getRoot(), "missing.index")).size());
+  }
+
+}
@@ -0,0 +1,164 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.plugins.input.msexcel.builders.ParsedTestCase;
+import nl.dictu.prova.plugins.input.msexcel.readers.testcase.TestActionTemplate;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class TestCaseCacheTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private File workbook;
+  private TestCaseCache testCaseCache;
+
+
+  @Before
+  public void setUp() throws Exception
+  {
+    workbook = folder.newFile("test.xlsx");
+    Files.write(workbook.toPath(), new byte[]{1, 2, 3});
+
+    testCaseCache = new TestCaseCache(new File(folder.getRoot(), "cache"));
+  }
+
+
+  /**
+   * Test of put and get methods, of class TestCaseCache.
+   */
+  @Test
+  public void testPutAndGet() throws Exception
+  {
+    assertNull(testCaseCache.get(workbook));
+
+    testCaseCache.put(workbook, workbook.length(), workbook.lastModified(), createParsedTestCase());
+
+    ParsedTestCase parsedTestCase = testCaseCache.get(workbook);
+
+    assertTrue(parsedTestCase.isComplete());
+    assertEquals(TestType.WEB, parsedTestCase.getTestType());
+    assertEquals("{Summary=Login, Priority=High}", parsedTestCase.getHeaders().toString());
+    assertEquals("[Navigate]", parsedTestCase.getSetUpActions().toString());
+    assertEquals("[SetText, Click]", parsedTestCase.getTestActions().toString());
+    assertTrue(parsedTestCase.getTearDownActions().isEmpty());
+
+    TestActionTemplate setText = parsedTestCase.getTestActions().getFirst();
+    assertEquals(2, setText.numberOfAttributes());
+    assertEquals("xpath", setText.getKey(0));
+    assertEquals("user", setText.getValue(0));
+    assertEquals("text", setText.getKey(1));
+    assertEquals("€ Login", setText.getValue(1));
+  }
+
+
+  /**
+   * Test of get method, of class TestCaseCache.
+   * A workbook that changed after it was cached must be parsed again.
+   */
+  @Test
+  public void testGetOfChangedWorkbook() throws Exception
+  {
+    testCaseCache.put(workbook, workbook.length(), workbook.lastModified(), createParsedTestCase());
+
+    assertTrue(workbook.setLastModified(workbook.lastModified() + 2000));
+    assertNull(testCaseCache.get(workbook));
+
+    long lastModified = workbook.lastModified();
+    testCaseCache.put(workbook, workbook.length(), lastModified, createParsedTestCase());
+    Files.write(workbook.toPath(), new byte[]{1, 2, 3, 4});
+    assertTrue(workbook.setLastModified(lastModified));
+
+    assertNull(testCaseCache.get(workbook));
+  }
+
+
+  /**
+   * Test of get method, of class TestCaseCache.
+   * Corrupt cache files are ignored.
+   */
+  @Test
+  public void testGetOfCorruptCacheFile() throws Exception
+  {
+    testCaseCache.put(workbook, workbook.length(), workbook.lastModified(), createParsedTestCase());
+
+    File cacheFile = testCaseCache.getCacheFile(workbook);
+    byte[] content = Files.readAllBytes(cacheFile.toPath());
+    Files.write(cacheFile.toPath(), Arrays.copyOf(content, content.length / 2));
+
+    assertNull(testCaseCache.get(workbook));
+  }
+
+
+  /**
+   * Test of put method, of class TestCaseCache.
+   * Only complete workbooks (with actions) can be cached.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testPutIncompleteWorkbook() throws Exception
+  {
+    ParsedTestCase parsedTestCase = createParsedTestCase();
+    parsedTestCase.setComplete(false);
+
+    testCaseCache.put(workbook, workbook.length(), workbook.lastModified(), parsedTestCase);
+  }
+
+
+  /**
+   * Create a complete parsed test case with headers and actions
+   *
+   * @return
+   */
+  private ParsedTestCase createParsedTestCase()
+  {
+    ParsedTestCase parsedTestCase = new ParsedTestCase();
+
+    parsedTestCase.setTestType(TestType.WEB);
+    parsedTestCase.getHeaders().put("Summary", "Login");
+    parsedTestCase.getHeaders().put("Priority", "High");
+    parsedTestCase.getSetUpActions().add(new TestActionTemplate("Navigate", new String[]{"url"},
+                                                                new String[]{"http://localhost"}));
+    parsedTestCase.getTestActions().add(new TestActionTemplate("SetText",
+                                                               new String[]{"xpath", "text"},
+                                                               new String[]{"user", "€ Login"}));
+    parsedTestCase.getTestActions().add(new TestActionTemplate("Click", new String[]{"xpath"},
+                                                               new String[]{"user"}));
+    parsedTestCase.setComplete(true);
+
+    return parsedTestCase;
+  }
+
+}
@@ -19,6 +19,9 @@
  */
 package nl.dictu.prova.plugins.input.msexcel.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import nl.dictu.prova.TestType;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -67,6 +70,12 @@ public class ValidatorTest
   @Test
   public void testGetTestType()
   {
+    assertEquals(TestType.WEB, Validator.getTestType("web_Login"));
+    assertEquals(TestType.DB, Validator.getTestType("DB_Check orders"));
+    assertEquals(TestType.SHELL, Validator.getTestType("shell_"));
+    assertNull(Validator.getTestType("data_Users"));
+    assertNull(Validator.getTestType("Login"));
+    assertNull(Validator.getTestType((String) null));
   }
 
 
@@ -76,6 +85,11 @@ public class ValidatorTest
   @Test
   public void testGetSheetPrefix()
   {
+    assertEquals("web", Validator.getSheetPrefix("web_Login"));
+    assertEquals("web", Validator.getSheetPrefix("web_Login_Admin"));
+    assertEquals("", Validator.getSheetPrefix("_Login"));
+    assertEquals("", Validator.getSheetPrefix("Login"));
+    assertEquals("", Validator.getSheetPrefix((String) null));
   }
 
 }
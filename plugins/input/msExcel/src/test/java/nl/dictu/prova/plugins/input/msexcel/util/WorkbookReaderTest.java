@@ -0,0 +1,285 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.input.msexcel.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import nl.dictu.prova.plugins.input.msexcel.TestWorkbooks;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.SAXParseException;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WorkbookReaderTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+
+  /**
+   * Test of read method, of class WorkbookReader.
+   * All non-empty rows of all sheets are passed to the row handler.
+   */
+  @Test
+  public void testRead() throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+    sheets.put("First", new String[][]{{"a", null, " c "}, null, {null, "e"}});
+    sheets.put("Second", new String[][]{{"f"}});
+
+    File workbook = TestWorkbooks.create(folder.newFile("read.xlsx"), sheets);
+
+    LinkedList<String> events = new LinkedList<>();
+
+    WorkbookReader.read(workbook, new RecordingRowHandler(events, null, -1));
+
+    assertEquals("[start First, 0:[a, null, c], 2:[null, e], end First, start Second, 0:[f], "
+                 + "end Second]", events.toString());
+  }
+
+
+  /**
+   * Test of read method, of class WorkbookReader.
+   * The row handler can skip sheets and stop reading a sheet.
+   */
+  @Test
+  public void testReadSkipsSheetsAndRows() throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+    sheets.put("First", new String[][]{{"a"}, {"b"}, {"c"}});
+    sheets.put("Skipped", new String[][]{{"d"}});
+    sheets.put("Last", new String[][]{{"e"}, {"f"}});
+
+    File workbook = TestWorkbooks.create(folder.newFile("skip.xlsx"), sheets);
+
+    LinkedList<String> events = new LinkedList<>();
+
+    WorkbookReader.read(workbook, new RecordingRowHandler(events, "Skipped", 1));
+
+    assertEquals("[start First, 0:[a], 1:[b], end First, start Last, 0:[e], 1:[f], end Last]",
+                 events.toString());
+  }
+
+
+  /**
+   * Test of read method, of class WorkbookReader.
+   * Exceptions of the row handler are passed to the caller.
+   */
+  @Test(expected = IllegalStateException.class)
+  public void testReadPassesExceptionsOfRowHandler() throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+    sheets.put("First", new String[][]{{"a"}});
+
+    File workbook = TestWorkbooks.create(folder.newFile("error.xlsx"), sheets);
+
+    WorkbookReader.read(workbook, new RowHandler()
+    {
+      @Override
+      public boolean startSheet(String sheetName) throws Exception
+      {
+        return true;
+      }
+
+
+      @Override
+      public boolean row(int rowNumber, String[] cells) throws Exception
+      {
+        throw new IllegalStateException("Invalid row");
+      }
+
+
+      @Override
+      public void endSheet(String sheetName) throws Exception
+      {
+      }
+    });
+  }
+
+
+  /**
+   * Records the events of the workbook reader. Skips sheet
+   * {@link skipSheet} and stops reading a sheet after row {@link lastRow}.
+   */
+  private class RecordingRowHandler implements RowHandler
+  {
+    private final LinkedList<String> events;
+    private final String skipSheet;
+    private final int lastRow;
+
+
+    private RecordingRowHandler(LinkedList<String> events, String skipSheet, int lastRow)
+    {
+      this.events = events;
+      this.skipSheet = skipSheet;
+      this.lastRow = lastRow;
+    }
+
+
+    @Override
+    public boolean startSheet(String sheetName) throws Exception
+    {
+      if(sheetName.equals(skipSheet))
+      {
+        return false;
+      }
+
+      events.add("start " + sheetName);
+
+      return true;
+    }
+
+
+    @Override
+    public boolean row(int rowNumber, String[] cells) throws Exception
+    {
+      events.add(rowNumber + ":" + Arrays.toString(cells));
+
+      return rowNumber != lastRow;
+    }
+
+
+    @Override
+    public void endSheet(String sheetName) throws Exception
+    {
+      events.add("end " + sheetName);
+    }
+  }
+
+
+  /**
+   * Test of read method, of class WorkbookReader.
+   * A sheet with a document type declaration is refused, so it can't read
+   * external entities (XXE).
+   */
+  @Test(expected = SAXParseException.class)
+  public void testReadRefusesDoctype() throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+    sheets.put("First", new String[][]{{"a"}});
+
+    File source = TestWorkbooks.create(folder.newFile("source.xlsx"), sheets);
+    File secret = folder.newFile("secret.txt");
+    File workbook = folder.newFile("xxe.xlsx");
+
+    try(ZipFile zipFile = new ZipFile(source);
+        ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(workbook)))
+    {
+      for(ZipEntry entry : Collections.list(zipFile.entries()))
+      {
+        byte[] data = readFully(zipFile.getInputStream(entry));
+
+        if(entry.getName().equals("xl/worksheets/sheet1.xml"))
+        {
+          String xml = new String(data, StandardCharsets.UTF_8);
+          xml = xml.replaceFirst("\\?>", "?><!DOCTYPE worksheet [<!ENTITY xxe SYSTEM \""
+                                          + secret.toURI() + "\">]>");
+          data = xml.getBytes(StandardCharsets.UTF_8);
+        }
+
+        zip.putNextEntry(new ZipEntry(entry.getName()));
+        zip.write(data);
+        zip.closeEntry();
+      }
+    }
+
+    WorkbookReader.read(workbook, new RecordingRowHandler(new LinkedList<>(), null, -1));
+  }
+
+
+  private static byte[] readFully(InputStream inputStream) throws Exception
+  {
+    try(InputStream input = inputStream)
+    {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+
+      for(int read = input.read(buffer); read != -1; read = input.read(buffer))
+      {
+        output.write(buffer, 0, read);
+      }
+
+      return output.toByteArray();
+    }
+  }
+
+
+  /**
+   * Test of read method, of class WorkbookReader.
+   * Identical values in a workbook are passed as one String instance, also
+   * across sheets.
+   */
+  @Test
+  public void testReadSharesIdenticalValues() throws Exception
+  {
+    Map<String, String[][]> sheets = TestWorkbooks.sheets();
+    sheets.put("First", new String[][]{{"click", "//button"}, {"click", " //button "}});
+    sheets.put("Second", new String[][]{{"click"}});
+
+    File workbook = TestWorkbooks.create(folder.newFile("shared.xlsx"), sheets);
+    LinkedList<String[]> rows = new LinkedList<>();
+
+    WorkbookReader.read(workbook, new RowHandler()
+    {
+      @Override
+      public boolean startSheet(String sheetName) throws Exception
+      {
+        return true;
+      }
+
+
+      @Override
+      public boolean row(int rowNumber, String[] cells) throws Exception
+      {
+        rows.add(cells);
+        return true;
+      }
+
+
+      @Override
+      public void endSheet(String sheetName) throws Exception
+      {
+      }
+    });
+
+    assertEquals(3, rows.size());
+    assertSame(rows.get(0)[0], rows.get(1)[0]);
+    assertSame(rows.get(0)[0], rows.get(2)[0]);
+    assertSame(rows.get(0)[1], rows.get(1)[1]);
+  }
+
+}
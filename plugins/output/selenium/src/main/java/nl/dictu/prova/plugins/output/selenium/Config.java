@@ -0,0 +1,108 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+/**
+ * Configuration options of the Selenium output plug-in
+ *
+ * @author Sjoerd Boerhout
+ */
+public class Config extends nl.dictu.prova.Config
+{
+
+  /*
+   * Browser to start: 'firefox' (default), 'chrome' or 'htmlunit' (headless)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_BROWSER = "prova.plugins.output.selenium.browser";
+
+  /*
+   * Number of browser sessions started when the plug-in is initialized and
+   * kept open between test cases (default: 0)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_POOL_MIN = "prova.plugins.output.selenium.pool.min";
+
+  /*
+   * Maximum number of browser sessions open at the same time. Test cases wait
+   * for a free session when all are in use (default: number of available
+   * processors)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_POOL_MAX = "prova.plugins.output.selenium.pool.max";
+
+  /*
+   * Number of test cases a browser session is used for before it is closed
+   * and replaced by a new one (default: 50). A reused session only has the
+   * cookies and web storage of the page loaded at the end of the previous
+   * test case cleared; state of other visited origins is kept. Use 1 when
+   * test cases must not share any browser state.
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_POOL_MAX_USES = "prova.plugins.output.selenium.pool.max.uses";
+
+  /*
+   * Number of milliseconds actions wait for an element before they fail
+   * (default: 10000)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_WAIT_TIMEOUT = "prova.plugins.output.selenium.wait.timeout";
+
+  /*
+   * Replace the fixed time of Sleep actions by a wait until the page is loaded
+   * (true/false, default: false)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_WAIT_REPLACE_SLEEP = "prova.plugins.output.selenium.wait.replace.sleep";
+
+  /*
+   * Execute runs of consecutive SetText and Select actions with one script
+   * (true/false, default: false)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_BATCH_FORMS = "prova.plugins.output.selenium.batch.forms";
+
+  /*
+   * Directory to write screenshots to (default: 'screenshots')
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_DIR = "prova.plugins.output.selenium.screenshot.dir";
+
+  /*
+   * File format of screenshots: 'png' (default) or 'jpg' (compressed)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_FORMAT = "prova.plugins.output.selenium.screenshot.format";
+
+  /*
+   * Factor to scale screenshots with, for example 0.5 (default: 1)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_SCALE = "prova.plugins.output.selenium.screenshot.scale";
+
+  /*
+   * When screenshots are taken: 'always' (default, every CaptureScreen
+   * action), 'every' (every n-th CaptureScreen action of a test case) or
+   * 'failure' (only when an action of the test case failed)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_POLICY = "prova.plugins.output.selenium.screenshot.policy";
+
+  /*
+   * The n of policy 'every' (default: 1)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_EVERY = "prova.plugins.output.selenium.screenshot.every";
+
+  /*
+   * Number of screenshots that can wait to be written. When the queue is full
+   * the test thread writes the screenshot itself (default: 16)
+   */
+  public final static String PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_QUEUE = "prova.plugins.output.selenium.screenshot.queue";
+
+}
@@ -19,16 +19,49 @@
  */
 package nl.dictu.prova.plugins.output.selenium;
 
+import java.io.File;
 import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import nl.dictu.prova.TestRunner;
 import nl.dictu.prova.TestType;
 import nl.dictu.prova.framework.TestAction;
 import nl.dictu.prova.framework.TestCase;
 import nl.dictu.prova.plugins.output.OutputPlugin;
+import nl.dictu.prova.plugins.output.selenium.actions.CaptureScreen;
+import nl.dictu.prova.plugins.output.selenium.actions.Click;
+import nl.dictu.prova.plugins.output.selenium.actions.ElementWait;
+import nl.dictu.prova.plugins.output.selenium.actions.FormBatch;
+import nl.dictu.prova.plugins.output.selenium.actions.LocatorCache;
+import nl.dictu.prova.plugins.output.selenium.actions.ScreenshotPipeline;
+import nl.dictu.prova.plugins.output.selenium.actions.Select;
+import nl.dictu.prova.plugins.output.selenium.actions.SelectDropDown;
+import nl.dictu.prova.plugins.output.selenium.actions.SeleniumAction;
+import nl.dictu.prova.plugins.output.selenium.actions.SendKeys;
+import nl.dictu.prova.plugins.output.selenium.actions.SetText;
+import nl.dictu.prova.plugins.output.selenium.actions.Sleep;
+import nl.dictu.prova.plugins.output.selenium.actions.SwitchFrame;
+import nl.dictu.prova.plugins.output.selenium.actions.ValidateElement;
+import nl.dictu.prova.plugins.output.selenium.actions.ValidateText;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 
 /**
+ * Output plug-in that executes web test actions with Selenium webdriver.
+ * Browser sessions are leased from a {@link WebDriverPool} in
+ * {@link #setUp(TestCase)} and returned to it in {@link #tearDown(TestCase)}.
+ * Actions wait for elements with the shared {@link ElementWait} and resolve
+ * them through the {@link LocatorCache} of the session. Screenshots are
+ * written by a {@link ScreenshotPipeline}.
  *
  * @author Sjoerd Boerhout
  */
@@ -39,60 +72,478 @@ public class Selenium implements OutputPlugin
           getName());
 
   private TestRunner testRunner;
+  private WebDriverPool webDriverPool;
+  private ElementWait elementWait;
+  private ScreenshotPipeline screenshotPipeline;
+  private boolean replaceSleep = false;
+  private boolean batchForms = false;
+  private final AtomicInteger nextId = new AtomicInteger();
+  private final ConcurrentHashMap<TestCase, WebDriver> webDrivers = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<TestCase, LocatorCache> locatorCaches = new ConcurrentHashMap<>();
 
 
   @Override
   public void init(TestRunner testRunner) throws Exception
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LOGGER.debug("Init output plug-in '{}'", () -> getName());
+
+    if(testRunner == null)
+    {
+      throw new NullPointerException("TestRunner can not be null");
+    }
+
+    this.testRunner = testRunner;
+
+    Supplier<WebDriver> factory = getWebDriverFactory(
+            testRunner.hasProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_BROWSER)
+            ? testRunner.getProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_BROWSER) : "firefox");
+
+    init(new WebDriverPool(factory,
+                           getInt(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_POOL_MIN, 0),
+                           getInt(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_POOL_MAX,
+                                  Runtime.getRuntime().availableProcessors()),
+                           getInt(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_POOL_MAX_USES, 50)),
+         new ElementWait(getInt(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_WAIT_TIMEOUT, 10000)),
+         createScreenshotPipeline(),
+         getBoolean(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_WAIT_REPLACE_SLEEP),
+         getBoolean(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_BATCH_FORMS));
+  }
+
+
+  /**
+   * Initialize the plug-in with the given pool of browser sessions, wait
+   * engine and screenshot pipeline
+   *
+   * @param webDriverPool
+   * @param elementWait
+   * @param screenshotPipeline
+   * @param replaceSleep replace fixed sleeps by waits
+   * @param batchForms execute consecutive form actions with one script
+   */
+  void init(WebDriverPool webDriverPool, ElementWait elementWait,
+            ScreenshotPipeline screenshotPipeline, boolean replaceSleep, boolean batchForms)
+  {
+    this.elementWait = elementWait;
+    this.screenshotPipeline = screenshotPipeline;
+    this.replaceSleep = replaceSleep;
+    this.batchForms = batchForms;
+    this.webDriverPool = webDriverPool;
+    this.webDriverPool.start();
   }
 
 
   @Override
   public void shutDown()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    LOGGER.debug("Shut down output plug-in '{}'", () -> getName());
+
+    if(webDriverPool != null)
+    {
+      webDriverPool.shutDown();
+      LOGGER.info("Element waits: {}", () -> elementWait);
+    }
+
+    if(screenshotPipeline != null)
+    {
+      try
+      {
+        screenshotPipeline.shutDown();
+      }
+      catch(InterruptedException eX)
+      {
+        Thread.currentThread().interrupt();
+        LOGGER.warn("Interrupted while writing screenshots");
+      }
+    }
   }
 
 
   @Override
   public String getName()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "Selenium webdriver";
   }
 
 
   @Override
   public TestType[] getTestType()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new TestType[]{TestType.WEB};
   }
 
 
+  /**
+   * Lease a browser session for {@link testCase}. The actions of this plug-in
+   * in the test case are linked to it, to find the session when they are
+   * executed. When enabled, runs of consecutive form actions are grouped in
+   * a {@link FormBatch}.
+   *
+   * @param testCase
+   *
+   * @throws IllegalStateException when no browser session is available
+   */
   @Override
-  public void setUp(TestCase tc)
+  public void setUp(TestCase testCase)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    if(webDriverPool == null)
+    {
+      throw new IllegalStateException("Output plug-in '" + getName() + "' is not initialized");
+    }
+
+    try
+    {
+      WebDriver webDriver = webDriverPool.lease();
+
+      if(webDrivers.putIfAbsent(testCase, webDriver) != null)
+      {
+        webDriverPool.release(webDriver);
+        throw new IllegalStateException("Test case '" + testCase.getId()
+                                        + "' already has a browser session");
+      }
+
+      locatorCaches.put(testCase, new LocatorCache(webDriver));
+
+      LOGGER.debug("Leased browser session for test case '{}'", () -> testCase.getId());
+
+      for(List<TestAction> testActions : Arrays.asList(testCase.getSetUpActions(),
+                                                       testCase.getTestActions(),
+                                                       testCase.getTearDownActions()))
+      {
+        for(TestAction testAction : testActions)
+        {
+          if(testAction instanceof SeleniumAction
+             && ((SeleniumAction) testAction).getSelenium() == this)
+          {
+            testAction.setParent(testCase);
+          }
+        }
+
+        if(batchForms && webDriver instanceof JavascriptExecutor)
+        {
+          FormBatch.assign(testActions);
+        }
+      }
+    }
+    catch(InterruptedException eX)
+    {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a browser session");
+    }
   }
 
 
+  /**
+   * With screenshot policy 'failure', take a screenshot of the browser
+   * session of {@link testCase}. Called before the teardown actions change
+   * the page.
+   *
+   * @param testCase
+   * @param testAction the action that didn't pass
+   */
   @Override
-  public void tearDown(TestCase tc)
+  public void testActionFailed(TestCase testCase, TestAction testAction)
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    WebDriver webDriver = webDrivers.get(testCase);
+
+    if(webDriver == null || screenshotPipeline == null
+       || !screenshotPipeline.isCapturedOnFailure())
+    {
+      return;
+    }
+
+    try
+    {
+      screenshotPipeline.capture(webDriver, testCase.getId(),
+                                 new File(testCase.getId()).getName() + "_" + testAction.getId()
+                                 + "_failure");
+    }
+    catch(RuntimeException eX)
+    {
+      LOGGER.warn("Unable to capture screen of failed test case '{}': {}",
+                  () -> testCase.getId(), () -> eX.getMessage());
+    }
   }
 
 
+  /**
+   * Return the browser session of {@link testCase} to the pool
+   *
+   * @param testCase
+   */
   @Override
-  public TestAction getTestAction(String string) throws
+  public void tearDown(TestCase testCase)
+  {
+    WebDriver webDriver = webDrivers.remove(testCase);
+    LocatorCache locatorCache = locatorCaches.remove(testCase);
+
+    if(locatorCache != null)
+    {
+      LOGGER.debug("Locator cache of test case '{}': {} hit(s), {} miss(es)",
+                   () -> testCase.getId(), () -> locatorCache.getHits(),
+                   () -> locatorCache.getMisses());
+    }
+
+    if(screenshotPipeline != null)
+    {
+      screenshotPipeline.forget(testCase.getId());
+    }
+
+    if(webDriver != null)
+    {
+      webDriverPool.release(webDriver);
+      LOGGER.debug("Released browser session of test case '{}'", () -> testCase.getId());
+    }
+  }
+
+
+  /**
+   * Return the browser session leased for {@link testCase}
+   *
+   * @param testCase
+   *
+   * @return
+   *
+   * @throws InvalidParameterException when the test case has no browser session
+   */
+  public WebDriver getWebDriver(TestCase testCase) throws InvalidParameterException
+  {
+    WebDriver webDriver = testCase == null ? null : webDrivers.get(testCase);
+
+    if(webDriver == null)
+    {
+      throw new InvalidParameterException("No browser session for test case '"
+                                          + (testCase == null ? null : testCase.getId()) + "'");
+    }
+
+    return webDriver;
+  }
+
+
+  /**
+   * Return the element cache of the browser session of {@link testCase}
+   *
+   * @param testCase
+   *
+   * @return
+   *
+   * @throws InvalidParameterException when the test case has no browser session
+   */
+  public LocatorCache getLocatorCache(TestCase testCase) throws InvalidParameterException
+  {
+    LocatorCache locatorCache = testCase == null ? null : locatorCaches.get(testCase);
+
+    if(locatorCache == null)
+    {
+      throw new InvalidParameterException("No browser session for test case '"
+                                          + (testCase == null ? null : testCase.getId()) + "'");
+    }
+
+    return locatorCache;
+  }
+
+
+  /**
+   * Return the pipeline that writes the screenshots
+   *
+   * @return
+   *
+   * @throws InvalidParameterException when screenshots are not configured
+   */
+  public ScreenshotPipeline getScreenshotPipeline() throws InvalidParameterException
+  {
+    if(screenshotPipeline == null)
+    {
+      throw new InvalidParameterException("Screenshots are not configured");
+    }
+
+    return screenshotPipeline;
+  }
+
+
+  /**
+   * Return the wait engine shared by the actions
+   *
+   * @return
+   */
+  public ElementWait getElementWait()
+  {
+    return elementWait;
+  }
+
+
+  /**
+   * Returns true when Sleep actions wait for the page instead of a fixed time
+   *
+   * @return
+   */
+  public boolean isReplaceSleep()
+  {
+    return replaceSleep;
+  }
+
+
+  @Override
+  public TestAction getTestAction(String actionName) throws
           InvalidParameterException
   {
     /*
      * Factory functions that returns an instance of the requested action.
      * All actions extend nl.dictu.prova.framework.TestAction.
      */
+    Integer id = nextId.incrementAndGet();
+
+    switch(actionName == null ? "" : actionName.trim())
+    {
+      case "CaptureScreen":
+        return new CaptureScreen(id, this);
+
+      case "Click":
+        return new Click(id, this);
+
+      case "Select":
+        return new Select(id, this);
+
+      case "SelectDropDown":
+        return new SelectDropDown(id, this);
+
+      case "SendKeys":
+        return new SendKeys(id, this);
+
+      case "SetText":
+        return new SetText(id, this);
+
+      case "Sleep":
+        return new Sleep(id, this);
+
+      case "SwitchFrame":
+        return new SwitchFrame(id, this);
+
+      case "ValidateElement":
+        return new ValidateElement(id, this);
+
+      case "ValidateText":
+        return new ValidateText(id, this);
+
+      default:
+        throw new InvalidParameterException("Unknown test action '" + actionName + "'");
+    }
+  }
+
+
+  /**
+   * Create the screenshot pipeline with the configured settings
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private ScreenshotPipeline createScreenshotPipeline() throws InvalidParameterException
+  {
+    String policy = testRunner.hasProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_POLICY)
+                    ? testRunner.getProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_POLICY)
+                    : "always";
+    String scale = testRunner.hasProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_SCALE)
+                   ? testRunner.getProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_SCALE)
+                   : "1";
+
+    try
+    {
+      return new ScreenshotPipeline(
+              new File(testRunner.hasProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_DIR)
+                       ? testRunner.getProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_DIR).trim()
+                       : "screenshots"),
+              testRunner.hasProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_FORMAT)
+              ? testRunner.getProperty(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_FORMAT)
+                      .trim().toLowerCase(Locale.ROOT) : "png",
+              Double.parseDouble(scale.trim()),
+              ScreenshotPipeline.Policy.valueOf(policy.trim().toUpperCase(Locale.ROOT)),
+              getInt(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_EVERY, 1),
+              getInt(Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_QUEUE, 16));
+    }
+    catch(IllegalArgumentException eX)
+    {
+      throw new InvalidParameterException("Invalid value for property '"
+                                          + Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_POLICY
+                                          + "' (" + policy + ") or '"
+                                          + Config.PROVA_PLUGINS_OUTPUT_SELENIUM_SCREENSHOT_SCALE
+                                          + "' (" + scale + ")");
+    }
+  }
+
+
+  /**
+   * Return a factory that starts a session of {@link browser}
+   *
+   * @param browser
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private Supplier<WebDriver> getWebDriverFactory(String browser) throws InvalidParameterException
+  {
+    switch(browser.trim().toLowerCase(Locale.ROOT))
+    {
+      case "firefox":
+        return () -> new FirefoxDriver();
+
+      case "chrome":
+        return () -> new ChromeDriver();
+
+      case "htmlunit":
+        return () -> new HtmlUnitDriver(true);
+
+      default:
+        throw new InvalidParameterException("Invalid value for property '"
+                                            + Config.PROVA_PLUGINS_OUTPUT_SELENIUM_BROWSER + "' ("
+                                            + browser + ")");
+    }
+  }
+
+
+  /**
+   * Return the boolean value of property {@link key}, false when it is not
+   * set
+   *
+   * @param key
+   *
+   * @return
+   */
+  private boolean getBoolean(String key)
+  {
+    return testRunner.hasProperty(key) && Boolean.parseBoolean(testRunner.getProperty(key).trim());
+  }
+
+
+  /**
+   * Return the integer value of property {@link key}, or
+   * {@link defaultValue} when it is not set
+   *
+   * @param key
+   * @param defaultValue
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private int getInt(String key, int defaultValue) throws InvalidParameterException
+  {
+    if( !testRunner.hasProperty(key))
+    {
+      return defaultValue;
+    }
+
+    String value = testRunner.getProperty(key);
 
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    try
+    {
+      return Integer.parseInt(value.trim());
+    }
+    catch(NumberFormatException eX)
+    {
+      throw new InvalidParameterException("Invalid value for property '" + key + "' (" + value
+                                          + ")");
+    }
   }
 
 }
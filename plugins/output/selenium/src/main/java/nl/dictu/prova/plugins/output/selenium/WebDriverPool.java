@@ -0,0 +1,422 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.security.InvalidParameterException;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Pool of browser sessions. Starting a browser takes seconds, so sessions
+ * are leased per test case and reused: on release the cookies and web
+ * storage are cleared and the browser navigates to a blank page.
+ * NOTE: WebDriver can only reach the cookies and web storage of the origin
+ * that is loaded when the session is released. Cookies and storage of other
+ * origins visited by the test case (e.g. a login server it was redirected
+ * to) survive into the next lease. Use maxUses 1 when test cases must not
+ * share any browser state.
+ * - {@link #start()} opens the minimum number of sessions
+ * - at most maxSize sessions are open; {@link #lease()} waits for a free
+ * session when all are in use
+ * - an idle session is health checked before it is leased; sessions that do
+ * not respond or can not be reset are closed
+ * - a session is closed after it has been used maxUses times
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WebDriverPool
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(WebDriverPool.class.getName());
+
+  public final static String BLANK_PAGE = "about:blank";
+
+  private final static String CLEAR_STORAGE_SCRIPT
+                              = "try { window.localStorage.clear(); } catch(e) {}"
+                                + "try { window.sessionStorage.clear(); } catch(e) {}";
+
+  private final Supplier<WebDriver> factory;
+  private final int minSize;
+  private final int maxSize;
+  private final int maxUses;
+  private final Semaphore available;
+  private final LinkedList<Session> idle = new LinkedList<>();
+  private final IdentityHashMap<WebDriver, Session> leased = new IdentityHashMap<>();
+  private boolean closed = false;
+
+
+  /**
+   * Constructor
+   *
+   * @param factory starts a new browser session
+   * @param minSize number of sessions kept open
+   * @param maxSize maximum number of open sessions
+   * @param maxUses number of leases after which a session is closed
+   *
+   * @throws InvalidParameterException
+   */
+  public WebDriverPool(Supplier<WebDriver> factory, int minSize, int maxSize, int maxUses)
+          throws InvalidParameterException
+  {
+    if(factory == null)
+    {
+      throw new InvalidParameterException("Web driver factory can not be null");
+    }
+
+    if(minSize < 0 || maxSize < 1 || minSize > maxSize)
+    {
+      throw new InvalidParameterException("Invalid pool size (min: " + minSize + ", max: "
+                                          + maxSize + ")");
+    }
+
+    if(maxUses < 1)
+    {
+      throw new InvalidParameterException("Invalid maximum number of uses (" + maxUses + ")");
+    }
+
+    this.factory = factory;
+    this.minSize = minSize;
+    this.maxSize = maxSize;
+    this.maxUses = maxUses;
+    this.available = new Semaphore(maxSize, true);
+  }
+
+
+  /**
+   * Open the minimum number of sessions
+   */
+  public void start()
+  {
+    LOGGER.debug("Start {} browser session(s)", () -> minSize);
+
+    fill();
+  }
+
+
+  /**
+   * Lease a session. Waits until a session is available when the maximum
+   * number of sessions is in use.
+   *
+   * @return
+   *
+   * @throws InterruptedException
+   * @throws IllegalStateException when the pool is closed
+   */
+  public WebDriver lease() throws InterruptedException, IllegalStateException
+  {
+    available.acquire();
+
+    try
+    {
+      Session session;
+
+      while((session = takeIdle()) != null)
+      {
+        if(isHealthy(session))
+        {
+          break;
+        }
+
+        LOGGER.warn("Browser session does not respond. Closed.");
+        quit(session);
+      }
+
+      if(session == null)
+      {
+        session = new Session(factory.get());
+        LOGGER.debug("Started new browser session");
+      }
+
+      session.uses++;
+
+      synchronized(this)
+      {
+        if(closed)
+        {
+          quit(session);
+          throw new IllegalStateException("Browser session pool is closed");
+        }
+
+        leased.put(session.webDriver, session);
+      }
+
+      return session.webDriver;
+    }
+    catch(RuntimeException eX)
+    {
+      available.release();
+      throw eX;
+    }
+  }
+
+
+  /**
+   * Return a leased session to the pool. The session is reset for the next
+   * test case, or closed when it reached the maximum number of uses or can
+   * not be reset.
+   *
+   * @param webDriver
+   *
+   * @throws InvalidParameterException when {@link webDriver} is not leased
+   * from this pool
+   */
+  public void release(WebDriver webDriver) throws InvalidParameterException
+  {
+    Session session;
+
+    synchronized(this)
+    {
+      session = leased.remove(webDriver);
+    }
+
+    if(session == null)
+    {
+      throw new InvalidParameterException("Web driver is not leased from this pool");
+    }
+
+    try
+    {
+      if(session.uses >= maxUses)
+      {
+        LOGGER.debug("Browser session used {} times. Closed.", () -> maxUses);
+        quit(session);
+      }
+      else if( !reset(session))
+      {
+        LOGGER.warn("Browser session could not be reset. Closed.");
+        quit(session);
+      }
+      else
+      {
+        boolean keep;
+
+        synchronized(this)
+        {
+          keep = !closed;
+
+          if(keep)
+          {
+            idle.addFirst(session);
+          }
+        }
+
+        if( !keep)
+        {
+          quit(session);
+        }
+      }
+    }
+    finally
+    {
+      available.release();
+    }
+
+    // Replace closed sessions to keep the minimum number of sessions open
+    fill();
+  }
+
+
+  /**
+   * Close all idle sessions. Sessions in use are closed when they are
+   * released.
+   */
+  public void shutDown()
+  {
+    LinkedList<Session> sessions;
+
+    synchronized(this)
+    {
+      closed = true;
+      sessions = new LinkedList<>(idle);
+      idle.clear();
+    }
+
+    LOGGER.debug("Close {} idle browser session(s)", () -> sessions.size());
+
+    sessions.forEach((session) -> quit(session));
+  }
+
+
+  /**
+   * Return the number of idle sessions
+   *
+   * @return
+   */
+  public synchronized int numberOfIdleSessions()
+  {
+    return idle.size();
+  }
+
+
+  /**
+   * Return the number of leased sessions
+   *
+   * @return
+   */
+  public synchronized int numberOfLeasedSessions()
+  {
+    return leased.size();
+  }
+
+
+  /**
+   * Open new sessions until the minimum number of sessions is idle or in use
+   */
+  private void fill()
+  {
+    while(true)
+    {
+      synchronized(this)
+      {
+        if(closed || idle.size() + leased.size() >= minSize
+           || !available.tryAcquire())
+        {
+          return;
+        }
+      }
+
+      try
+      {
+        Session session = new Session(factory.get());
+
+        synchronized(this)
+        {
+          if(closed)
+          {
+            quit(session);
+            return;
+          }
+
+          idle.addLast(session);
+        }
+      }
+      finally
+      {
+        available.release();
+      }
+    }
+  }
+
+
+  /**
+   * Take the most recently used idle session, or null when no session is idle
+   *
+   * @return
+   */
+  private synchronized Session takeIdle()
+  {
+    return idle.pollFirst();
+  }
+
+
+  /**
+   * Check if the browser of {@link session} still responds
+   *
+   * @param session
+   *
+   * @return
+   */
+  private boolean isHealthy(Session session)
+  {
+    try
+    {
+      return session.webDriver.getWindowHandle() != null;
+    }
+    catch(RuntimeException eX)
+    {
+      LOGGER.trace("Health check failed: {}", () -> eX.getMessage());
+      return false;
+    }
+  }
+
+
+  /**
+   * Delete the cookies, clear the web storage and navigate to a blank page.
+   * Only the cookies and web storage of the loaded origin are cleared.
+   *
+   * @param session
+   *
+   * @return false when the session could not be reset
+   */
+  private boolean reset(Session session)
+  {
+    try
+    {
+      WebDriver webDriver = session.webDriver;
+
+      webDriver.manage().deleteAllCookies();
+
+      if(webDriver instanceof JavascriptExecutor)
+      {
+        ((JavascriptExecutor) webDriver).executeScript(CLEAR_STORAGE_SCRIPT);
+      }
+
+      webDriver.get(BLANK_PAGE);
+
+      return true;
+    }
+    catch(RuntimeException eX)
+    {
+      LOGGER.trace("Reset failed: {}", () -> eX.getMessage());
+      return false;
+    }
+  }
+
+
+  /**
+   * Close the browser of {@link session}
+   *
+   * @param session
+   */
+  private void quit(Session session)
+  {
+    try
+    {
+      session.webDriver.quit();
+    }
+    catch(RuntimeException eX)
+    {
+      LOGGER.debug("Unable to close browser session: {}", () -> eX.getMessage());
+    }
+  }
+
+
+  /**
+   * A browser session and the number of times it was leased
+   */
+  private static class Session
+  {
+    private final WebDriver webDriver;
+    private int uses = 0;
+
+
+    private Session(WebDriver webDriver)
+    {
+      this.webDriver = webDriver;
+    }
+  }
+
+}
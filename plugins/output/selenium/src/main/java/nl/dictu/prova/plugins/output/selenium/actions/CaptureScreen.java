@@ -19,49 +19,89 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.io.File;
+import java.security.InvalidParameterException;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriverException;
 
 /**
+ * Take a screenshot named after attribute 'name'. The screenshot is written
+ * in the background by the {@link ScreenshotPipeline} of the plug-in, which
+ * also decides (by its policy) if the screenshot is taken.
  *
  * @author Sjoerd Boerhout
  */
-public class CaptureScreen extends TestAction
+public class CaptureScreen extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(
           CaptureScreen.class.getName());
 
+  public final static String ATTR_NAME = "name";
+
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public CaptureScreen()
+  public CaptureScreen(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
   public TestStatus execute()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    startExecution();
+
+    try
+    {
+      ScreenshotPipeline screenshotPipeline = getSelenium().getScreenshotPipeline();
+      String session = getParent().getId();
+
+      if( !screenshotPipeline.isCaptured(session))
+      {
+        LOGGER.trace("Screenshot '{}' skipped by policy", () -> getAttribute(ATTR_NAME));
+        return TestStatus.PASSED;
+      }
+
+      setResultFile(screenshotPipeline.capture(getWebDriver(), session,
+                                               new File(session).getName() + "_" + getId()
+                                               + "_" + getAttribute(ATTR_NAME)));
+
+      return TestStatus.PASSED;
+    }
+    catch(WebDriverException | InvalidParameterException eX)
+    {
+      LOGGER.error("Unable to capture screen '{}': {}", () -> getAttribute(ATTR_NAME),
+                   () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "CaptureScreen (" + (hasAttribute(ATTR_NAME) ? getAttribute(ATTR_NAME) : "") + ")";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasAttribute(ATTR_NAME);
   }
 
 }
@@ -19,16 +19,20 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.security.InvalidParameterException;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import org.openqa.selenium.WebDriverException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Click on the element with the xpath in attribute 'xpath', as soon as it is
+ * displayed and enabled.
  *
  * @author Sjoerd Boerhout
  */
-public class Click extends TestAction
+public class Click extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(Click.class.
@@ -37,31 +41,55 @@ public class Click extends TestAction
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public Click()
+  public Click(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
   public TestStatus execute()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    startExecution();
+
+    try
+    {
+      waitForElement(ElementWait.Condition.CLICKABLE).click();
+
+      // The click can load another page or change this one
+      getLocatorCache().invalidate();
+
+      return TestStatus.PASSED;
+    }
+    catch(WebDriverException | InvalidParameterException eX)
+    {
+      LOGGER.error("Unable to click '{}': {}", () -> getAttribute(ATTR_XPATH),
+                   () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "Click (" + (hasAttribute(ATTR_XPATH) ? getAttribute(ATTR_XPATH) : "") + ")";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasValidXpath();
   }
 
 }
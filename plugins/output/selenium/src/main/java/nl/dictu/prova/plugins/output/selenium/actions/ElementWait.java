@@ -0,0 +1,304 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import java.security.InvalidParameterException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Wait engine shared by the Selenium actions. Instead of sleeping for a fixed
+ * time, a condition is polled until it holds or the deadline passes. The
+ * first poll is immediate; the interval between polls starts at
+ * {@link #MIN_INTERVAL} milliseconds and doubles up to {@link #MAX_INTERVAL}
+ * milliseconds, so short waits react fast and long waits don't flood the
+ * browser. The number and duration of the waits are recorded.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ElementWait
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ElementWait.class.getName());
+
+  public final static long MIN_INTERVAL = 25;
+  public final static long MAX_INTERVAL = 500;
+
+  /**
+   * State of an element to wait for
+   */
+  public enum Condition
+  {
+    /* The element is in the page */
+    PRESENT,
+    /* The element is in the page and displayed */
+    VISIBLE,
+    /* The element is displayed and enabled */
+    CLICKABLE
+  }
+
+  private final long timeout;
+  private final AtomicLong numberOfWaits = new AtomicLong();
+  private final AtomicLong numberOfTimeouts = new AtomicLong();
+  private final AtomicLong totalWaitTime = new AtomicLong();
+  private final AtomicLong maxWaitTime = new AtomicLong();
+
+
+  /**
+   * Constructor
+   *
+   * @param timeout default deadline of a wait in milliseconds
+   *
+   * @throws InvalidParameterException
+   */
+  public ElementWait(long timeout) throws InvalidParameterException
+  {
+    if(timeout < 0)
+    {
+      throw new InvalidParameterException("Invalid wait timeout (" + timeout + ")");
+    }
+
+    this.timeout = timeout;
+  }
+
+
+  /**
+   * Return the default deadline of a wait in milliseconds
+   *
+   * @return
+   */
+  public long getTimeout()
+  {
+    return timeout;
+  }
+
+
+  /**
+   * Wait until the element found with {@link locator} meets
+   * {@link condition}, within the default deadline
+   *
+   * @param webDriver
+   * @param locator
+   * @param condition
+   *
+   * @return the element
+   *
+   * @throws TimeoutException
+   * @throws InterruptedException
+   */
+  public WebElement waitFor(WebDriver webDriver, By locator, Condition condition)
+          throws TimeoutException, InterruptedException
+  {
+    return until(webDriver, (driver) -> check(driver.findElement(locator), condition), timeout,
+                 locator + " " + condition.name().toLowerCase());
+  }
+
+
+  /**
+   * Wait until the element with {@link xpath} meets {@link condition}, within
+   * the default deadline. The element is looked up in {@link locatorCache};
+   * when it went stale it is removed from the cache and resolved again.
+   *
+   * @param locatorCache
+   * @param xpath
+   * @param condition
+   *
+   * @return the element
+   *
+   * @throws TimeoutException
+   * @throws InterruptedException
+   */
+  public WebElement waitFor(LocatorCache locatorCache, String xpath, Condition condition)
+          throws TimeoutException, InterruptedException
+  {
+    return until(locatorCache.getWebDriver(), (driver) ->
+    {
+      try
+      {
+        return check(locatorCache.findElement(xpath), condition);
+      }
+      catch(StaleElementReferenceException eX)
+      {
+        locatorCache.invalidate(xpath);
+        throw eX;
+      }
+    }, timeout, "By.xpath: " + xpath + " " + condition.name().toLowerCase());
+  }
+
+
+  /**
+   * Poll {@link condition} until it returns a value other than null or
+   * false, or {@link waitTimeout} milliseconds have passed. Elements that are
+   * not found (yet) or went stale are treated as 'not yet'.
+   *
+   * @param <T>
+   * @param webDriver
+   * @param condition
+   * @param waitTimeout
+   * @param description describes the condition in log and error messages
+   *
+   * @return the result of the condition
+   *
+   * @throws TimeoutException
+   * @throws InterruptedException
+   */
+  public <T> T until(WebDriver webDriver, Function<WebDriver, T> condition, long waitTimeout,
+                     String description) throws TimeoutException, InterruptedException
+  {
+    long start = System.nanoTime();
+    long deadline = start + waitTimeout * 1000000L;
+    long interval = MIN_INTERVAL;
+    RuntimeException lastException = null;
+
+    while(true)
+    {
+      try
+      {
+        T result = condition.apply(webDriver);
+
+        if(result != null && !Boolean.FALSE.equals(result))
+        {
+          record(start, false, description);
+          return result;
+        }
+      }
+      catch(NotFoundException | StaleElementReferenceException eX)
+      {
+        lastException = eX;
+      }
+
+      // Round up, so the deadline has passed when the remaining time is 0
+      long remaining = (deadline - System.nanoTime() + 999999L) / 1000000L;
+
+      if(remaining <= 0)
+      {
+        record(start, true, description);
+        throw new TimeoutException("Timed out after " + waitTimeout + "ms waiting for "
+                                   + description, lastException);
+      }
+
+      Thread.sleep(Math.min(interval, remaining));
+      interval = Math.min(interval * 2, MAX_INTERVAL);
+    }
+  }
+
+
+  /**
+   * Return the number of waits
+   *
+   * @return
+   */
+  public long getNumberOfWaits()
+  {
+    return numberOfWaits.get();
+  }
+
+
+  /**
+   * Return the number of waits that timed out
+   *
+   * @return
+   */
+  public long getNumberOfTimeouts()
+  {
+    return numberOfTimeouts.get();
+  }
+
+
+  /**
+   * Return the total time spent waiting in milliseconds
+   *
+   * @return
+   */
+  public long getTotalWaitTime()
+  {
+    return totalWaitTime.get();
+  }
+
+
+  /**
+   * Return the longest wait in milliseconds
+   *
+   * @return
+   */
+  public long getMaxWaitTime()
+  {
+    return maxWaitTime.get();
+  }
+
+
+  @Override
+  public String toString()
+  {
+    return numberOfWaits.get() + " wait(s), " + numberOfTimeouts.get() + " timeout(s), total "
+           + totalWaitTime.get() + "ms, max " + maxWaitTime.get() + "ms";
+  }
+
+
+  /**
+   * Return {@link webElement} when it meets {@link condition}, otherwise null
+   *
+   * @param webElement
+   * @param condition
+   *
+   * @return
+   */
+  private WebElement check(WebElement webElement, Condition condition)
+  {
+    switch(condition)
+    {
+      case VISIBLE:
+        return webElement.isDisplayed() ? webElement : null;
+
+      case CLICKABLE:
+        return webElement.isDisplayed() && webElement.isEnabled() ? webElement : null;
+
+      default:
+        return webElement;
+    }
+  }
+
+
+  private void record(long start, boolean timedOut, String description)
+  {
+    long waitTime = (System.nanoTime() - start) / 1000000L;
+
+    numberOfWaits.incrementAndGet();
+    totalWaitTime.addAndGet(waitTime);
+    maxWaitTime.accumulateAndGet(waitTime, Math::max);
+
+    if(timedOut)
+    {
+      numberOfTimeouts.incrementAndGet();
+    }
+
+    LOGGER.debug("Waited {}ms for {}{}", () -> waitTime, () -> description,
+                 () -> timedOut ? " (timed out)" : "");
+  }
+
+}
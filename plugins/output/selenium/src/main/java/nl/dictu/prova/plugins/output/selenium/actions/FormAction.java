@@ -0,0 +1,112 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import java.security.InvalidParameterException;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Base class of the actions that fill in a form field. Consecutive form
+ * actions can be executed as one {@link FormBatch}; an action that is not
+ * applied by its batch is executed on its own.
+ *
+ * @author Sjoerd Boerhout
+ */
+public abstract class FormAction extends SeleniumAction
+{
+
+  private final Logger logger;
+  private volatile FormBatch formBatch = null;
+
+
+  /**
+   * Constructor
+   *
+   * @param logger
+   * @param id
+   * @param selenium
+   *
+   * @throws NullPointerException
+   * @throws InvalidParameterException
+   */
+  protected FormAction(Logger logger, Integer id, Selenium selenium)
+          throws NullPointerException, InvalidParameterException
+  {
+    super(logger, id, selenium);
+
+    this.logger = logger;
+  }
+
+
+  @Override
+  public TestStatus execute()
+  {
+    startExecution();
+
+    try
+    {
+      FormBatch batch = formBatch;
+
+      if(batch != null && batch.apply(this))
+      {
+        logger.debug("Applied by batch: {}", () -> this);
+        return TestStatus.PASSED;
+      }
+
+      return executeSingle();
+    }
+    finally
+    {
+      endExecution();
+    }
+  }
+
+
+  /**
+   * Set the batch this action is part of, or null to execute it on its own
+   *
+   * @param formBatch
+   */
+  void setFormBatch(FormBatch formBatch)
+  {
+    this.formBatch = formBatch;
+  }
+
+
+  /**
+   * Return the field for a {@link FormBatch}: the xpath of the element, the
+   * kind of field ({@link FormBatch#KIND_TEXT} or
+   * {@link FormBatch#KIND_CHECK}) and the value
+   *
+   * @return
+   */
+  abstract String[] getBatchField();
+
+
+  /**
+   * Execute this action on its own
+   *
+   * @return
+   */
+  abstract TestStatus executeSingle();
+
+}
@@ -0,0 +1,195 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import nl.dictu.prova.framework.TestAction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * A run of consecutive form actions executed with one script instead of a
+ * browser round trip per field. The script fills in the fields in order and
+ * stops at the first field that is not found, not displayed, disabled or
+ * read only; that action and the ones after it are executed on their own
+ * (with waits), so the order of the fields is kept. Each action still
+ * reports its own status.
+ * Text fields are set and get 'input' and 'change' events; check boxes and
+ * radio buttons are clicked when their state differs.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class FormBatch
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(FormBatch.class.getName());
+
+  public final static String KIND_TEXT = "text";
+  public final static String KIND_CHECK = "check";
+
+  private final static String SCRIPT
+                              = "var fields = arguments[0];"
+                                + "for(var i = 0; i < fields.length; i++) {"
+                                + "  var e = document.evaluate(fields[i][0], document, null,"
+                                + "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+                                + "  if(!e || e.disabled || e.readOnly"
+                                + "     || !(e.offsetWidth || e.offsetHeight || e.getClientRects().length)) {"
+                                + "    return i;"
+                                + "  }"
+                                + "  if(fields[i][1] == 'check') {"
+                                + "    if(e.checked != (fields[i][2] == 'true')) { e.click(); }"
+                                + "  } else {"
+                                + "    e.focus();"
+                                + "    e.value = fields[i][2];"
+                                + "    e.dispatchEvent(new Event('input', {bubbles: true}));"
+                                + "    e.dispatchEvent(new Event('change', {bubbles: true}));"
+                                + "  }"
+                                + "}"
+                                + "return fields.length;";
+
+  private final List<FormAction> formActions;
+  private int applied = -1;
+
+
+  private FormBatch(List<FormAction> formActions)
+  {
+    this.formActions = formActions;
+  }
+
+
+  /**
+   * Find the runs of two or more consecutive valid form actions in
+   * {@link testActions} and link each run to a new batch. Other form actions
+   * are executed on their own.
+   *
+   * @param testActions
+   *
+   * @return the number of batches
+   */
+  public static int assign(List<TestAction> testActions)
+  {
+    int batches = 0;
+    ArrayList<FormAction> run = new ArrayList<>();
+
+    for(TestAction testAction : testActions)
+    {
+      if(testAction instanceof FormAction && testAction.isValid())
+      {
+        run.add((FormAction) testAction);
+        continue;
+      }
+
+      if(testAction instanceof FormAction)
+      {
+        ((FormAction) testAction).setFormBatch(null);
+      }
+
+      batches += close(run);
+    }
+
+    return batches + close(run);
+  }
+
+
+  /**
+   * Link the actions in {@link run} to a new batch when there are two or more
+   *
+   * @param run
+   *
+   * @return the number of batches created (0 or 1)
+   */
+  private static int close(ArrayList<FormAction> run)
+  {
+    FormBatch formBatch = run.size() > 1 ? new FormBatch(new ArrayList<>(run)) : null;
+
+    run.forEach((formAction) -> formAction.setFormBatch(formBatch));
+    run.clear();
+
+    return formBatch == null ? 0 : 1;
+  }
+
+
+  /**
+   * Returns true when {@link formAction} was applied by this batch. The
+   * batch is executed by the first call.
+   *
+   * @param formAction
+   *
+   * @return
+   */
+  synchronized boolean apply(FormAction formAction)
+  {
+    if(applied < 0)
+    {
+      applied = execute(formAction);
+    }
+
+    return formActions.indexOf(formAction) < applied;
+  }
+
+
+  /**
+   * Execute the script for the fields of the actions, starting at
+   * {@link first}
+   *
+   * @param first
+   *
+   * @return the number of fields that were applied
+   */
+  private int execute(FormAction first)
+  {
+    int start = formActions.indexOf(first);
+
+    if(start != 0)
+    {
+      // Not started at the first action: execute the actions on their own
+      return 0;
+    }
+
+    try
+    {
+      List<List<String>> fields = new ArrayList<>();
+
+      for(FormAction formAction : formActions)
+      {
+        fields.add(Arrays.asList(formAction.getBatchField()));
+      }
+
+      Object result = ((JavascriptExecutor) first.getWebDriver()).executeScript(SCRIPT, fields);
+      int count = result instanceof Number ? ((Number) result).intValue() : 0;
+
+      LOGGER.debug("Applied {} of {} field(s) in one script", () -> count,
+                   () -> formActions.size());
+
+      return count;
+    }
+    catch(WebDriverException | ClassCastException eX)
+    {
+      LOGGER.debug("Batch failed, execute the actions on their own: {}", () -> eX.getMessage());
+
+      return 0;
+    }
+  }
+
+}
@@ -0,0 +1,156 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import java.security.InvalidParameterException;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import nl.dictu.prova.util.Validator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Cache of the elements found in the current page of one browser session,
+ * by xpath. Resolving a '//' xpath walks the whole page, so consecutive
+ * actions on the same element resolve it once.
+ * Looking up an element does not call the browser when it is cached. The
+ * actions that can navigate or change the page (click, send keys, select an
+ * option, switch frames) clear the cache with {@link #invalidate()}.
+ * Elements that went stale, for example because the page navigated by
+ * itself, are removed with {@link #invalidate(String)}. Validations don't
+ * use the cache: an element that is still attached can have changed and no
+ * longer match its xpath.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LocatorCache
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(LocatorCache.class.getName());
+
+  private final WebDriver webDriver;
+  private final HashMap<String, WebElement> elements = new HashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+
+  /**
+   * Constructor
+   *
+   * @param webDriver browser session of the cache
+   */
+  public LocatorCache(WebDriver webDriver)
+  {
+    this.webDriver = webDriver;
+  }
+
+
+  /**
+   * Return the browser session of this cache
+   *
+   * @return
+   */
+  public WebDriver getWebDriver()
+  {
+    return webDriver;
+  }
+
+
+  /**
+   * Return the element with {@link xpath} in the current page, from the cache
+   * when it was found before.
+   *
+   * @param xpath
+   *
+   * @return
+   *
+   * @throws InvalidParameterException when {@link xpath} is not a valid xpath
+   * @throws org.openqa.selenium.NotFoundException when there is no such
+   * element
+   */
+  public synchronized WebElement findElement(String xpath) throws InvalidParameterException
+  {
+    if( !Validator.isValidXpath(xpath))
+    {
+      throw new InvalidParameterException("Invalid xpath '" + xpath + "'");
+    }
+
+    WebElement webElement = elements.get(xpath);
+
+    if(webElement != null)
+    {
+      hits.incrementAndGet();
+      return webElement;
+    }
+
+    misses.incrementAndGet();
+    webElement = webDriver.findElement(By.xpath(xpath));
+    elements.put(xpath, webElement);
+
+    return webElement;
+  }
+
+
+  /**
+   * Remove the element with {@link xpath}, for example because it went stale
+   *
+   * @param xpath
+   */
+  public synchronized void invalidate(String xpath)
+  {
+    elements.remove(xpath);
+  }
+
+
+  /**
+   * Remove all elements
+   */
+  public synchronized void invalidate()
+  {
+    LOGGER.trace("Clear {} element(s)", () -> elements.size());
+    elements.clear();
+  }
+
+
+  /**
+   * Return the number of elements found in the cache
+   *
+   * @return
+   */
+  public long getHits()
+  {
+    return hits.get();
+  }
+
+
+  /**
+   * Return the number of elements that were resolved in the browser
+   *
+   * @return
+   */
+  public long getMisses()
+  {
+    return misses.get();
+  }
+
+}
@@ -0,0 +1,403 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.InvalidParameterException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Writes screenshots in the background. The test thread only takes the
+ * screenshot; decoding, scaling, encoding and writing happen on a writer
+ * thread. The queue of the writer is bounded: when it is full the test
+ * thread writes the screenshot itself, which slows the test down instead of
+ * filling the memory (back-pressure).
+ * - format 'png' keeps the screenshot as taken by the browser, 'jpg' stores
+ * it compressed (lossy)
+ * - a scale below 1 downscales the screenshot
+ * - a screenshot identical to the previous one of the same session is not
+ * written again; the previous file is used
+ * - a file name that was used before gets a number appended, so screenshots
+ * of equally named test cases don't overwrite each other
+ * - the {@link Policy} decides which CaptureScreen actions take a screenshot
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ScreenshotPipeline
+{
+
+  private final static Logger LOGGER = LogManager.getLogger(ScreenshotPipeline.class.getName());
+
+  /**
+   * When screenshots are taken
+   */
+  public enum Policy
+  {
+    /* Every CaptureScreen action */
+    ALWAYS,
+    /* Every n-th CaptureScreen action of a test case */
+    EVERY,
+    /* Only when an action of the test case failed, CaptureScreen actions are skipped */
+    FAILURE
+  }
+
+  private final File directory;
+  private final String format;
+  private final double scale;
+  private final Policy policy;
+  private final int every;
+  private final ThreadPoolExecutor writer;
+  private final ConcurrentHashMap<String, Frame> lastFrames = new ConcurrentHashMap<>();
+  private final Set<String> fileNames = ConcurrentHashMap.newKeySet();
+  private final AtomicLong written = new AtomicLong();
+  private final AtomicLong skipped = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+
+
+  /**
+   * Constructor
+   *
+   * @param directory directory to write the screenshots to
+   * @param format 'png' or 'jpg'
+   * @param scale factor to scale the screenshots with (0 < scale <= 1)
+   * @param policy
+   * @param every take every n-th screenshot (policy {@link Policy#EVERY})
+   * @param queueSize number of screenshots waiting to be written
+   *
+   * @throws InvalidParameterException
+   */
+  public ScreenshotPipeline(File directory, String format, double scale, Policy policy,
+                            int every, int queueSize) throws InvalidParameterException
+  {
+    if(directory == null || policy == null)
+    {
+      throw new InvalidParameterException("Directory and policy can not be null");
+    }
+
+    if( !Arrays.asList("png", "jpg").contains(format))
+    {
+      throw new InvalidParameterException("Invalid screenshot format (" + format + ")");
+    }
+
+    if( !(scale > 0 && scale <= 1))
+    {
+      throw new InvalidParameterException("Invalid screenshot scale (" + scale + ")");
+    }
+
+    if(every < 1 || queueSize < 1)
+    {
+      throw new InvalidParameterException("Invalid screenshot interval (" + every
+                                          + ") or queue size (" + queueSize + ")");
+    }
+
+    this.directory = directory;
+    this.format = format;
+    this.scale = scale;
+    this.policy = policy;
+    this.every = every;
+    this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                                         new ArrayBlockingQueue<>(queueSize),
+                                         (runnable) ->
+                                         {
+                                           Thread thread = new Thread(runnable,
+                                                                      "screenshot-writer");
+                                           thread.setDaemon(true);
+                                           return thread;
+                                         }, new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+
+  /**
+   * Returns true when the CaptureScreen action executed now in
+   * {@link session} should take a screenshot
+   *
+   * @param session
+   *
+   * @return
+   */
+  public boolean isCaptured(String session)
+  {
+    switch(policy)
+    {
+      case FAILURE:
+        return false;
+
+      case EVERY:
+        return getFrame(session).captures.getAndIncrement() % every == 0;
+
+      default:
+        return true;
+    }
+  }
+
+
+  /**
+   * Returns true when a screenshot is taken when an action fails
+   *
+   * @return
+   */
+  public boolean isCapturedOnFailure()
+  {
+    return policy == Policy.FAILURE;
+  }
+
+
+  /**
+   * Take a screenshot with {@link webDriver} and queue it to be written as
+   * {@link name}
+   *
+   * @param webDriver
+   * @param session
+   * @param name file name without extension
+   *
+   * @return the file the screenshot is written to
+   *
+   * @throws InvalidParameterException when the browser can't take screenshots
+   * @throws org.openqa.selenium.WebDriverException
+   */
+  public File capture(WebDriver webDriver, String session, String name)
+          throws InvalidParameterException
+  {
+    if( !(webDriver instanceof TakesScreenshot))
+    {
+      throw new InvalidParameterException("Browser can not take screenshots");
+    }
+
+    return submit(session, ((TakesScreenshot) webDriver).getScreenshotAs(OutputType.BYTES), name);
+  }
+
+
+  /**
+   * Queue a screenshot of {@link session} to be written as {@link name}
+   *
+   * @param session
+   * @param png the screenshot as taken by the browser
+   * @param name file name without extension
+   *
+   * @return the file the screenshot is written to
+   */
+  public File submit(String session, byte[] png, String name)
+  {
+    Frame frame = getFrame(session);
+    byte[] hash = hash(png);
+
+    synchronized(frame)
+    {
+      if(frame.file != null && Arrays.equals(hash, frame.hash))
+      {
+        skipped.incrementAndGet();
+        LOGGER.debug("Screenshot '{}' is identical to '{}'. Skipped.", () -> name,
+                     () -> frame.file.getName());
+
+        return frame.file;
+      }
+
+      File file = newFile(name);
+      frame.hash = hash;
+      frame.file = file;
+
+      writer.execute(() -> write(png, file));
+
+      return file;
+    }
+  }
+
+
+  /**
+   * Forget the previous screenshot and the number of captures of
+   * {@link session}
+   *
+   * @param session
+   */
+  public void forget(String session)
+  {
+    lastFrames.remove(session);
+  }
+
+
+  /**
+   * Write the queued screenshots and stop the writer thread
+   *
+   * @throws InterruptedException
+   */
+  public void shutDown() throws InterruptedException
+  {
+    writer.shutdown();
+
+    if( !writer.awaitTermination(1, TimeUnit.MINUTES))
+    {
+      LOGGER.warn("Not all screenshots are written");
+    }
+
+    LOGGER.info("Screenshots: {} written, {} identical skipped, {} failed", () -> written.get(),
+                () -> skipped.get(), () -> failed.get());
+  }
+
+
+  /**
+   * Return the number of screenshots written
+   *
+   * @return
+   */
+  public long getNumberOfWritten()
+  {
+    return written.get();
+  }
+
+
+  /**
+   * Return the number of screenshots skipped because they were identical to
+   * the previous one
+   *
+   * @return
+   */
+  public long getNumberOfSkipped()
+  {
+    return skipped.get();
+  }
+
+
+  private Frame getFrame(String session)
+  {
+    return lastFrames.computeIfAbsent(session, (key) -> new Frame());
+  }
+
+
+  /**
+   * Return a file in the directory named after {@link name} that was not
+   * used before
+   *
+   * @param name
+   *
+   * @return
+   */
+  private File newFile(String name)
+  {
+    String fileName = name.replaceAll("[^A-Za-z0-9._-]", "_");
+
+    for(int i = 2; !fileNames.add(fileName + "." + format); i++)
+    {
+      fileName = name.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + i;
+    }
+
+    return new File(directory, fileName + "." + format);
+  }
+
+
+  private void write(byte[] png, File file)
+  {
+    try
+    {
+      Files.createDirectories(directory.toPath());
+
+      if(format.equals("png") && scale == 1)
+      {
+        Files.write(file.toPath(), png);
+      }
+      else
+      {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+
+        if(image == null)
+        {
+          throw new IOException("Unknown image format");
+        }
+
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+
+        try
+        {
+          graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+          graphics.drawImage(image, 0, 0, width, height, null);
+        }
+        finally
+        {
+          graphics.dispose();
+        }
+
+        if( !ImageIO.write(scaled, format.toUpperCase(Locale.ROOT), file))
+        {
+          throw new IOException("No writer for format '" + format + "'");
+        }
+      }
+
+      written.incrementAndGet();
+      LOGGER.trace("Screenshot written to '{}'", () -> file.getPath());
+    }
+    catch(IOException | RuntimeException eX)
+    {
+      failed.incrementAndGet();
+      LOGGER.error("Unable to write screenshot '{}': {}", () -> file.getPath(),
+                   () -> eX.getMessage());
+    }
+  }
+
+
+  private static byte[] hash(byte[] data)
+  {
+    try
+    {
+      return MessageDigest.getInstance("SHA-1").digest(data);
+    }
+    catch(NoSuchAlgorithmException eX)
+    {
+      // Every Java platform supports SHA-1
+      throw new IllegalStateException(eX);
+    }
+  }
+
+
+  /**
+   * The previous screenshot and number of captures of a session
+   */
+  private static class Frame
+  {
+    private byte[] hash;
+    private File file;
+    private final AtomicInteger captures = new AtomicInteger();
+  }
+
+}
@@ -19,49 +19,96 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.security.InvalidParameterException;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
 
 /**
+ * Select (or deselect) the check box or radio button with the xpath in
+ * attribute 'xpath'. Attribute 'select' is 'true' (default) or 'false'.
  *
  * @author Sjoerd Boerhout
  */
-public class Select extends TestAction
+public class Select extends FormAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(Select.class.
           getName());
 
+  public final static String ATTR_SELECT = "select";
+
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public Select()
+  public Select(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
-  public TestStatus execute()
+  TestStatus executeSingle()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    try
+    {
+      WebElement webElement = waitForElement(ElementWait.Condition.CLICKABLE);
+
+      if(webElement.isSelected() != isSelect())
+      {
+        webElement.click();
+      }
+
+      return TestStatus.PASSED;
+    }
+    catch(WebDriverException | InvalidParameterException eX)
+    {
+      LOGGER.error("Unable to select '{}': {}", () -> getAttribute(ATTR_XPATH),
+                   () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
+  }
+
+
+  @Override
+  String[] getBatchField()
+  {
+    return new String[]{getAttribute(ATTR_XPATH), FormBatch.KIND_CHECK,
+                        String.valueOf(isSelect())};
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "Select (" + (hasAttribute(ATTR_XPATH) ? getAttribute(ATTR_XPATH) : "") + ")";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasValidXpath() && (!hasAttribute(ATTR_SELECT)
+                               || getAttribute(ATTR_SELECT).trim().matches("(?i)true|false"));
+  }
+
+
+  /**
+   * Return the value of attribute {@link ATTR_SELECT}
+   *
+   * @return
+   */
+  private boolean isSelect()
+  {
+    return !hasAttribute(ATTR_SELECT) || Boolean.parseBoolean(getAttribute(ATTR_SELECT).trim());
   }
 
 }
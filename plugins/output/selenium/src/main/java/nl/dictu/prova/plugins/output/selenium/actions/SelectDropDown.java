@@ -19,49 +19,82 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.security.InvalidParameterException;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Select;
 
 /**
+ * Select the option with the visible text in attribute 'option' of the drop
+ * down with the xpath in attribute 'xpath'.
  *
  * @author Sjoerd Boerhout
  */
-public class SelectDropDown extends TestAction
+public class SelectDropDown extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(
           SelectDropDown.class.getName());
 
+  public final static String ATTR_OPTION = "option";
+
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public SelectDropDown()
+  public SelectDropDown(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
   public TestStatus execute()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    startExecution();
+
+    try
+    {
+      new Select(waitForElement(ElementWait.Condition.CLICKABLE))
+              .selectByVisibleText(getAttribute(ATTR_OPTION));
+
+      // Selecting an option can change the page
+      getLocatorCache().invalidate();
+
+      return TestStatus.PASSED;
+    }
+    catch(WebDriverException | InvalidParameterException eX)
+    {
+      LOGGER.error("Unable to select '{}' in '{}': {}", () -> getAttribute(ATTR_OPTION),
+                   () -> getAttribute(ATTR_XPATH), () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "SelectDropDown (" + (hasAttribute(ATTR_XPATH) ? getAttribute(ATTR_XPATH) : "")
+           + ")";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasValidXpath() && hasAttribute(ATTR_OPTION);
   }
 
 }
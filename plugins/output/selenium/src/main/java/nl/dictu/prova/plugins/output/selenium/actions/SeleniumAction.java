@@ -0,0 +1,176 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import java.security.InvalidParameterException;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.util.Validator;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Base class of the test actions of the Selenium output plug-in. Gives
+ * access to the browser session of the test case and the shared
+ * {@link ElementWait}.
+ *
+ * @author Sjoerd Boerhout
+ */
+public abstract class SeleniumAction extends TestAction
+{
+
+  public final static String ATTR_XPATH = "xpath";
+
+  private final Selenium selenium;
+
+
+  /**
+   * Constructor
+   *
+   * @param logger
+   * @param id
+   * @param selenium
+   *
+   * @throws NullPointerException
+   * @throws InvalidParameterException
+   */
+  protected SeleniumAction(Logger logger, Integer id, Selenium selenium)
+          throws NullPointerException, InvalidParameterException
+  {
+    super(logger, id);
+
+    if(selenium == null)
+    {
+      throw new NullPointerException("Selenium plug-in can not be null");
+    }
+
+    this.selenium = selenium;
+  }
+
+
+  /**
+   * Return the plug-in that created this action
+   *
+   * @return
+   */
+  public Selenium getSelenium()
+  {
+    return selenium;
+  }
+
+
+  /**
+   * Return the browser session of the test case of this action
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  protected WebDriver getWebDriver() throws InvalidParameterException
+  {
+    return selenium.getWebDriver(getParent());
+  }
+
+
+  /**
+   * Return the element cache of the browser session of the test case of this
+   * action
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  protected LocatorCache getLocatorCache() throws InvalidParameterException
+  {
+    return selenium.getLocatorCache(getParent());
+  }
+
+
+  /**
+   * Returns true when attribute {@link ATTR_XPATH} is a valid xpath. Checked
+   * when the test case is loaded, so invalid locators fail before a browser
+   * is started.
+   *
+   * @return
+   */
+  protected boolean hasValidXpath()
+  {
+    return hasAttribute(ATTR_XPATH) && Validator.isValidXpath(getAttribute(ATTR_XPATH));
+  }
+
+
+  /**
+   * Wait until the element with the xpath in attribute {@link ATTR_XPATH}
+   * meets {@link condition}. Elements are resolved through the
+   * {@link LocatorCache} of the session.
+   *
+   * @param condition
+   *
+   * @return the element
+   *
+   * @throws TimeoutException when the element doesn't meet the condition in
+   * time
+   */
+  protected WebElement waitForElement(ElementWait.Condition condition) throws TimeoutException
+  {
+    try
+    {
+      return selenium.getElementWait().waitFor(getLocatorCache(), getAttribute(ATTR_XPATH),
+                                               condition);
+    }
+    catch(InterruptedException eX)
+    {
+      Thread.currentThread().interrupt();
+      throw new TimeoutException("Interrupted while waiting for the element", eX);
+    }
+  }
+
+
+  /**
+   * Wait until the element with the xpath in attribute {@link ATTR_XPATH}
+   * meets {@link condition}. The element is resolved in the browser on every
+   * poll, bypassing the {@link LocatorCache}; used by validations.
+   *
+   * @param condition
+   *
+   * @return the element
+   *
+   * @throws TimeoutException when the element doesn't meet the condition in
+   * time
+   */
+  protected WebElement waitForUncachedElement(ElementWait.Condition condition)
+          throws TimeoutException
+  {
+    try
+    {
+      return selenium.getElementWait().waitFor(getWebDriver(), By.xpath(getAttribute(ATTR_XPATH)),
+                                               condition);
+    }
+    catch(InterruptedException eX)
+    {
+      Thread.currentThread().interrupt();
+      throw new TimeoutException("Interrupted while waiting for the element", eX);
+    }
+  }
+
+}
@@ -19,49 +19,120 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.security.InvalidParameterException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriverException;
 
 /**
+ * Type attribute 'keys' into the element with the xpath in attribute
+ * 'xpath', without clearing it first. Special keys are written by name
+ * between braces, for example '{ENTER}' or '{TAB}'.
  *
  * @author Sjoerd Boerhout
  */
-public class SendKeys extends TestAction
+public class SendKeys extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(SendKeys.class.
           getName());
 
+  public final static String ATTR_KEYS = "keys";
+
+  private final static Pattern SPECIAL_KEY = Pattern.compile("\\{([A-Z0-9_]+)\\}");
+
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public SendKeys()
+  public SendKeys(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
   public TestStatus execute()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    startExecution();
+
+    try
+    {
+      waitForElement(ElementWait.Condition.VISIBLE).sendKeys(getKeys());
+
+      // Keys like {ENTER} can submit a form
+      getLocatorCache().invalidate();
+
+      return TestStatus.PASSED;
+    }
+    catch(WebDriverException | InvalidParameterException eX)
+    {
+      LOGGER.error("Unable to send keys to '{}': {}", () -> getAttribute(ATTR_XPATH),
+                   () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
+  }
+
+
+  /**
+   * Return attribute {@link ATTR_KEYS} with the names of special keys
+   * replaced by the keys. Unknown names are sent as written.
+   *
+   * @return
+   */
+  String getKeys()
+  {
+    String keys = getAttribute(ATTR_KEYS);
+    Matcher matcher = SPECIAL_KEY.matcher(keys);
+    StringBuilder result = new StringBuilder();
+    int end = 0;
+
+    while(matcher.find())
+    {
+      result.append(keys, end, matcher.start());
+
+      try
+      {
+        result.append(Keys.valueOf(matcher.group(1)));
+      }
+      catch(IllegalArgumentException eX)
+      {
+        result.append(matcher.group());
+      }
+
+      end = matcher.end();
+    }
+
+    result.append(keys.substring(end));
+
+    return result.toString();
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "SendKeys (" + (hasAttribute(ATTR_XPATH) ? getAttribute(ATTR_XPATH) : "") + ")";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasValidXpath() && hasAttribute(ATTR_KEYS);
   }
 
 }
@@ -19,49 +19,80 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.security.InvalidParameterException;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
 
 /**
+ * Replace the text of the input field with the xpath in attribute 'xpath' by
+ * attribute 'text'.
  *
  * @author Sjoerd Boerhout
  */
-public class SetText extends TestAction
+public class SetText extends FormAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(SetText.class.
           getName());
 
+  public final static String ATTR_TEXT = "text";
+
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public SetText()
+  public SetText(Integer id, Selenium selenium)
+  {
+    super(LOGGER, id, selenium);
+  }
+
+
+  @Override
+  TestStatus executeSingle()
   {
-    super(LOGGER);
+    try
+    {
+      WebElement webElement = waitForElement(ElementWait.Condition.VISIBLE);
+      webElement.clear();
+      webElement.sendKeys(getAttribute(ATTR_TEXT));
+
+      return TestStatus.PASSED;
+    }
+    catch(WebDriverException | InvalidParameterException eX)
+    {
+      LOGGER.error("Unable to set text of '{}': {}", () -> getAttribute(ATTR_XPATH),
+                   () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
   }
 
 
   @Override
-  public TestStatus execute()
+  String[] getBatchField()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return new String[]{getAttribute(ATTR_XPATH), FormBatch.KIND_TEXT, getAttribute(ATTR_TEXT)};
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "SetText (" + (hasAttribute(ATTR_XPATH) ? getAttribute(ATTR_XPATH) : "") + ")";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasValidXpath() && hasAttribute(ATTR_TEXT);
   }
 
 }
@@ -19,49 +19,161 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.security.InvalidParameterException;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Sleep for the number of milliseconds in attribute 'ms'. When property
+ * {@link nl.dictu.prova.plugins.output.selenium.Config#PROVA_PLUGINS_OUTPUT_SELENIUM_WAIT_REPLACE_SLEEP}
+ * is set, the fixed sleep is replaced by a wait until the page is loaded
+ * (at most the sleep time); the next actions wait for their elements.
  *
  * @author Sjoerd Boerhout
  */
-public class Sleep extends TestAction
+public class Sleep extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(Sleep.class.
           getName());
 
+  public final static String ATTR_MILLISECONDS = "ms";
+
+  private final static String PAGE_READY_SCRIPT = "return document.readyState == 'complete';";
+
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public Sleep()
+  public Sleep(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
   public TestStatus execute()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    startExecution();
+
+    try
+    {
+      long milliseconds = getMilliseconds();
+
+      if(getSelenium().isReplaceSleep())
+      {
+        waitForPage(milliseconds);
+      }
+      else
+      {
+        Thread.sleep(milliseconds);
+      }
+
+      return TestStatus.PASSED;
+    }
+    catch(InterruptedException eX)
+    {
+      Thread.currentThread().interrupt();
+      LOGGER.error("Sleep interrupted");
+
+      return TestStatus.FAILED;
+    }
+    catch(InvalidParameterException | WebDriverException eX)
+    {
+      LOGGER.error("Sleep failed: {}", () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "Sleep (" + (hasAttribute(ATTR_MILLISECONDS) ? getAttribute(ATTR_MILLISECONDS) : "")
+           + "ms)";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    try
+    {
+      getMilliseconds();
+
+      return true;
+    }
+    catch(InvalidParameterException eX)
+    {
+      return false;
+    }
+  }
+
+
+  /**
+   * Wait until the page is loaded, at most {@link milliseconds}. Waiting for
+   * elements is left to the next actions.
+   *
+   * @param milliseconds
+   *
+   * @throws InterruptedException
+   */
+  private void waitForPage(long milliseconds) throws InterruptedException
+  {
+    try
+    {
+      getSelenium().getElementWait().until(getWebDriver(), (webDriver) ->
+                                           !(webDriver instanceof JavascriptExecutor)
+                                           || Boolean.TRUE.equals(((JavascriptExecutor) webDriver)
+                                                   .executeScript(PAGE_READY_SCRIPT)),
+                                           milliseconds, "page ready");
+    }
+    catch(TimeoutException eX)
+    {
+      // Waited as long as the fixed sleep would have
+    }
+  }
+
+
+  /**
+   * Return the sleep time in attribute {@link ATTR_MILLISECONDS}
+   *
+   * @return
+   *
+   * @throws InvalidParameterException
+   */
+  private long getMilliseconds() throws InvalidParameterException
+  {
+    String value = getAttribute(ATTR_MILLISECONDS);
+
+    try
+    {
+      long milliseconds = Long.parseLong(value.trim());
+
+      if(milliseconds >= 0)
+      {
+        return milliseconds;
+      }
+    }
+    catch(NumberFormatException eX)
+    {
+      // Handled below
+    }
+
+    throw new InvalidParameterException("Invalid sleep time (" + value + ")");
   }
 
 }
@@ -19,16 +19,22 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.security.InvalidParameterException;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
 
 /**
+ * Switch to the frame with the xpath in attribute 'xpath', or to the main
+ * document when the attribute is not set. The locator cache of the session is
+ * cleared.
  *
  * @author Sjoerd Boerhout
  */
-public class SwitchFrame extends TestAction
+public class SwitchFrame extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(SwitchFrame.class.
@@ -37,31 +43,64 @@ public class SwitchFrame extends TestAction
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public SwitchFrame()
+  public SwitchFrame(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
   public TestStatus execute()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    startExecution();
+
+    try
+    {
+      if(hasAttribute(ATTR_XPATH))
+      {
+        WebElement frame = waitForElement(ElementWait.Condition.PRESENT);
+        getWebDriver().switchTo().frame(frame);
+      }
+      else
+      {
+        getWebDriver().switchTo().defaultContent();
+      }
+
+      return TestStatus.PASSED;
+    }
+    catch(WebDriverException | InvalidParameterException eX)
+    {
+      LOGGER.error("Unable to switch to frame '{}': {}",
+                   () -> hasAttribute(ATTR_XPATH) ? getAttribute(ATTR_XPATH) : "",
+                   () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
+    finally
+    {
+      // Elements found before belong to another frame
+      getLocatorCache().invalidate();
+      endExecution();
+    }
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "SwitchFrame (" + (hasAttribute(ATTR_XPATH) ? getAttribute(ATTR_XPATH) : "default")
+           + ")";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return !hasAttribute(ATTR_XPATH) || hasValidXpath();
   }
 
 }
@@ -19,16 +19,20 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.security.InvalidParameterException;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import org.openqa.selenium.WebDriverException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Validate that the element with the xpath in attribute 'xpath' is displayed
+ * (within the wait timeout).
  *
  * @author Sjoerd Boerhout
  */
-public class ValidateElement extends TestAction
+public class ValidateElement extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(
@@ -37,31 +41,53 @@ public class ValidateElement extends TestAction
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public ValidateElement()
+  public ValidateElement(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
   public TestStatus execute()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    startExecution();
+
+    try
+    {
+      waitForUncachedElement(ElementWait.Condition.VISIBLE);
+
+      return TestStatus.PASSED;
+    }
+    catch(WebDriverException | InvalidParameterException eX)
+    {
+      LOGGER.error("Element '{}' is not displayed: {}", () -> getAttribute(ATTR_XPATH),
+                   () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "ValidateElement (" + (hasAttribute(ATTR_XPATH) ? getAttribute(ATTR_XPATH) : "")
+           + ")";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasValidXpath();
   }
 
 }
@@ -19,49 +19,95 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
-import nl.dictu.prova.framework.TestAction;
+import java.security.InvalidParameterException;
 import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
 
 /**
+ * Validate that the element with the xpath in attribute 'xpath' is displayed
+ * and its text contains attribute 'text'. Waits until it does, within the
+ * wait timeout. The element is not taken from the {@link LocatorCache}.
  *
  * @author Sjoerd Boerhout
  */
-public class ValidateText extends TestAction
+public class ValidateText extends SeleniumAction
 {
 
   private final static Logger LOGGER = LogManager.getLogger(ValidateText.class.
           getName());
 
+  public final static String ATTR_TEXT = "text";
+
 
   /**
    * Constructor
+   *
+   * @param id
+   * @param selenium
    */
-  public ValidateText()
+  public ValidateText(Integer id, Selenium selenium)
   {
-    super(LOGGER);
+    super(LOGGER, id, selenium);
   }
 
 
   @Override
   public TestStatus execute()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    startExecution();
+
+    try
+    {
+      By locator = By.xpath(getAttribute(ATTR_XPATH));
+      String text = getAttribute(ATTR_TEXT);
+      ElementWait elementWait = getSelenium().getElementWait();
+
+      elementWait.until(getWebDriver(), (driver) ->
+      {
+        WebElement webElement = driver.findElement(locator);
+        return webElement.isDisplayed() && webElement.getText().contains(text);
+      }, elementWait.getTimeout(), locator + " containing '" + text + "'");
+
+      return TestStatus.PASSED;
+    }
+    catch(InterruptedException eX)
+    {
+      Thread.currentThread().interrupt();
+      LOGGER.error("Interrupted while validating the text of '{}'",
+                   () -> getAttribute(ATTR_XPATH));
+
+      return TestStatus.FAILED;
+    }
+    catch(WebDriverException | InvalidParameterException eX)
+    {
+      LOGGER.error("Element '{}' does not contain '{}': {}", () -> getAttribute(ATTR_XPATH),
+                   () -> getAttribute(ATTR_TEXT), () -> eX.getMessage());
+
+      return TestStatus.FAILED;
+    }
+    finally
+    {
+      endExecution();
+    }
   }
 
 
   @Override
   public String toString()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return "ValidateText (" + (hasAttribute(ATTR_XPATH) ? getAttribute(ATTR_XPATH) : "") + ")";
   }
 
 
   @Override
   public boolean isValid()
   {
-    throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+    return hasValidXpath() && hasAttribute(ATTR_TEXT);
   }
 
 }
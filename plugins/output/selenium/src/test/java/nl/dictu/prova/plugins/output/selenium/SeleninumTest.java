@@ -19,11 +19,28 @@
  */
 package nl.dictu.prova.plugins.output.selenium;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import nl.dictu.prova.TestType;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.plugins.output.selenium.actions.Click;
+import nl.dictu.prova.plugins.output.selenium.actions.ElementWait;
+import nl.dictu.prova.plugins.output.selenium.actions.ScreenshotPipeline;
+import nl.dictu.prova.plugins.output.selenium.actions.Sleep;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.WebDriver;
 
 /**
  *
@@ -32,6 +49,12 @@ import org.junit.Test;
 public class SeleninumTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Selenium selenium;
+  private WebDriverPool webDriverPool;
+
   public SeleninumTest()
   {
   }
@@ -52,6 +75,9 @@ public class SeleninumTest
   @Before
   public void setUp()
   {
+    webDriverPool = new WebDriverPool(() -> new StubWebDriver(), 1, 2, 10);
+    selenium = new Selenium();
+    selenium.init(webDriverPool, new ElementWait(100), null, false, false);
   }
 
 
@@ -76,6 +102,11 @@ public class SeleninumTest
   @Test
   public void testShutDown()
   {
+    assertEquals(1, webDriverPool.numberOfIdleSessions());
+
+    selenium.shutDown();
+
+    assertEquals(0, webDriverPool.numberOfIdleSessions());
   }
 
 
@@ -85,6 +116,7 @@ public class SeleninumTest
   @Test
   public void testGetName()
   {
+    assertEquals("Selenium webdriver", selenium.getName());
   }
 
 
@@ -94,6 +126,7 @@ public class SeleninumTest
   @Test
   public void testGetTestType()
   {
+    assertArrayEquals(new TestType[]{TestType.WEB}, selenium.getTestType());
   }
 
 
@@ -103,6 +136,17 @@ public class SeleninumTest
   @Test
   public void testSetUp()
   {
+    TestCase testCase = new TestCase("setUp");
+    TestAction testAction = selenium.getTestAction("Click");
+    testCase.addTestAction(testAction);
+
+    selenium.setUp(testCase);
+
+    assertSame(testCase, testAction.getParent());
+
+    assertEquals(1, webDriverPool.numberOfLeasedSessions());
+    assertEquals(0, webDriverPool.numberOfIdleSessions());
+    assertTrue(selenium.getWebDriver(testCase) instanceof StubWebDriver);
   }
 
 
@@ -112,6 +156,66 @@ public class SeleninumTest
   @Test
   public void testTearDown()
   {
+    TestCase first = new TestCase("first");
+    TestCase second = new TestCase("second");
+
+    selenium.setUp(first);
+    WebDriver webDriver = selenium.getWebDriver(first);
+    selenium.tearDown(first);
+
+    assertEquals(0, webDriverPool.numberOfLeasedSessions());
+
+    // The session is reused by the next test case
+    selenium.setUp(second);
+    assertSame(webDriver, selenium.getWebDriver(second));
+
+    try
+    {
+      selenium.getWebDriver(first);
+      throw new AssertionError("Test case 'first' has no browser session");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Expected
+    }
+  }
+
+
+  /**
+   * Test of testActionFailed method, of class Seleninum, with screenshot
+   * policy 'failure'.
+   */
+  @Test
+  public void testTestActionFailed() throws Exception
+  {
+    StubWebDriver webDriver = new StubWebDriver();
+    ScreenshotPipeline screenshotPipeline = new ScreenshotPipeline(
+            folder.getRoot(), "png", 1, ScreenshotPipeline.Policy.FAILURE, 1, 4);
+    selenium = StubWebDriver.createSelenium(webDriver, 100, false, false, screenshotPipeline);
+
+    TestCase passed = new TestCase("passed");
+    selenium.setUp(passed);
+    selenium.tearDown(passed);
+
+    // Equally named test cases in different directories
+    for(String id : Arrays.asList("a/failed", "b/failed"))
+    {
+      TestCase failed = new TestCase(id);
+      TestAction click = selenium.getTestAction("Click");
+      failed.addTestAction(click);
+      selenium.setUp(failed);
+      selenium.testActionFailed(failed, click);
+      selenium.tearDown(failed);
+    }
+
+    // Without a browser session there is nothing to capture
+    selenium.testActionFailed(passed, selenium.getTestAction("Click"));
+
+    selenium.shutDown();
+
+    assertEquals(2, webDriver.count("getScreenshotAs"));
+    assertTrue(new File(folder.getRoot(), "failed_1_failure.png").isFile());
+    assertTrue(new File(folder.getRoot(), "failed_2_failure.png").isFile());
   }
 
 
@@ -121,6 +225,31 @@ public class SeleninumTest
   @Test
   public void testGetTestAction()
   {
+    TestAction testAction = selenium.getTestAction("Click");
+
+    assertTrue(testAction instanceof Click);
+    assertSame(selenium, ((Click) testAction).getSelenium());
+    assertTrue(selenium.getTestAction("Sleep") instanceof Sleep);
+    assertTrue(testAction.getId() < selenium.getTestAction("Click").getId());
+
+    // Every action can be added to a test case, which logs it
+    for(String action : Arrays.asList("CaptureScreen", "Click", "Select", "SelectDropDown",
+                                      "SendKeys", "SetText", "Sleep", "SwitchFrame",
+                                      "ValidateElement", "ValidateText"))
+    {
+      testAction = selenium.getTestAction(action);
+      assertTrue(testAction.toString().startsWith(action + " ("));
+    }
+
+    try
+    {
+      selenium.getTestAction("Unknown");
+      throw new AssertionError("Action 'Unknown' does not exist");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Expected
+    }
   }
 
 }
@@ -0,0 +1,340 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.imageio.ImageIO;
+import nl.dictu.prova.plugins.output.selenium.actions.ElementWait;
+import nl.dictu.prova.plugins.output.selenium.actions.ScreenshotPipeline;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Web driver without a browser that records the calls made to it. Set
+ * {@link #broken} to make it stop responding. Screenshots return
+ * {@link #screenshot}.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot
+{
+
+  public final LinkedList<String> calls = new LinkedList<>();
+  public volatile boolean broken = false;
+  public volatile boolean quit = false;
+  public volatile Object scriptResult = null;
+  public volatile Object[] scriptArguments = null;
+  public volatile byte[] screenshot = createScreenshot(8, 8, 0xFFFFFF);
+  private final ConcurrentHashMap<String, StubWebElement> elements = new ConcurrentHashMap<>();
+  private String currentUrl = WebDriverPool.BLANK_PAGE;
+
+
+  @Override
+  public synchronized void get(String url)
+  {
+    check("get " + url);
+    currentUrl = url;
+  }
+
+
+  @Override
+  public synchronized String getCurrentUrl()
+  {
+    check("getCurrentUrl");
+    return currentUrl;
+  }
+
+
+  @Override
+  public String getTitle()
+  {
+    check("getTitle");
+    return "";
+  }
+
+
+  @Override
+  public List<WebElement> findElements(By by)
+  {
+    check("findElements " + by);
+    StubWebElement element = elements.get(by.toString());
+
+    return element == null ? Collections.emptyList()
+           : Collections.singletonList(element.asWebElement());
+  }
+
+
+  @Override
+  public WebElement findElement(By by)
+  {
+    check("findElement " + by);
+    StubWebElement element = elements.get(by.toString());
+
+    if(element == null)
+    {
+      throw new NoSuchElementException(by.toString());
+    }
+
+    return element.asWebElement();
+  }
+
+
+  @Override
+  public String getPageSource()
+  {
+    check("getPageSource");
+    return "";
+  }
+
+
+  @Override
+  public void close()
+  {
+    check("close");
+  }
+
+
+  @Override
+  public synchronized void quit()
+  {
+    calls.add("quit");
+    quit = true;
+  }
+
+
+  @Override
+  public Set<String> getWindowHandles()
+  {
+    return Collections.singleton(getWindowHandle());
+  }
+
+
+  @Override
+  public String getWindowHandle()
+  {
+    check("getWindowHandle");
+    return "window";
+  }
+
+
+  @Override
+  public TargetLocator switchTo()
+  {
+    return (TargetLocator) Proxy.newProxyInstance(TargetLocator.class.getClassLoader(),
+                                                  new Class<?>[]{TargetLocator.class},
+                                                  (proxy, method, args) ->
+                                                  {
+                                                    check("switchTo " + method.getName());
+                                                    return this;
+                                                  });
+  }
+
+
+  @Override
+  public Navigation navigate()
+  {
+    throw new UnsupportedOperationException();
+  }
+
+
+  @Override
+  public Options manage()
+  {
+    return (Options) Proxy.newProxyInstance(Options.class.getClassLoader(),
+                                            new Class<?>[]{Options.class},
+                                            (proxy, method, args) ->
+                                            {
+                                              check(method.getName());
+                                              return null;
+                                            });
+  }
+
+
+  @Override
+  public Object executeScript(String script, Object... args)
+  {
+    check("executeScript");
+    scriptArguments = args;
+    return scriptResult;
+  }
+
+
+  @Override
+  public Object executeAsyncScript(String script, Object... args)
+  {
+    check("executeAsyncScript");
+    return null;
+  }
+
+
+  @Override
+  public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException
+  {
+    check("getScreenshotAs");
+    return target.convertFromPngBytes(screenshot);
+  }
+
+
+  /**
+   * Add an element with {@link xpath} to the page
+   *
+   * @param xpath
+   *
+   * @return
+   */
+  public StubWebElement addElement(String xpath)
+  {
+    StubWebElement element = new StubWebElement();
+    elements.put(By.xpath(xpath).toString(), element);
+
+    return element;
+  }
+
+
+  /**
+   * Create a Selenium plug-in with a pool of one session: {@link webDriver}
+   *
+   * @param webDriver
+   * @param timeout wait timeout in milliseconds
+   * @param replaceSleep
+   *
+   * @return
+   */
+  public static Selenium createSelenium(StubWebDriver webDriver, long timeout,
+                                        boolean replaceSleep)
+  {
+    return createSelenium(webDriver, timeout, replaceSleep, false, null);
+  }
+
+
+  /**
+   * Create a Selenium plug-in with a pool of one session: {@link webDriver}
+   *
+   * @param webDriver
+   * @param timeout wait timeout in milliseconds
+   * @param replaceSleep
+   * @param batchForms
+   *
+   * @return
+   */
+  public static Selenium createSelenium(StubWebDriver webDriver, long timeout,
+                                        boolean replaceSleep, boolean batchForms)
+  {
+    return createSelenium(webDriver, timeout, replaceSleep, batchForms, null);
+  }
+
+
+  /**
+   * Create a Selenium plug-in with a pool of one session: {@link webDriver}
+   *
+   * @param webDriver
+   * @param timeout wait timeout in milliseconds
+   * @param replaceSleep
+   * @param batchForms
+   * @param screenshotPipeline
+   *
+   * @return
+   */
+  public static Selenium createSelenium(StubWebDriver webDriver, long timeout,
+                                        boolean replaceSleep, boolean batchForms,
+                                        ScreenshotPipeline screenshotPipeline)
+  {
+    Selenium selenium = new Selenium();
+    selenium.init(new WebDriverPool(() -> webDriver, 0, 1, Integer.MAX_VALUE),
+                  new ElementWait(timeout), screenshotPipeline, replaceSleep, batchForms);
+
+    return selenium;
+  }
+
+
+  /**
+   * Create a PNG image of {@link width} x {@link height} pixels in one colour
+   *
+   * @param width
+   * @param height
+   * @param rgb
+   *
+   * @return
+   */
+  public static byte[] createScreenshot(int width, int height, int rgb)
+  {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+    for(int x = 0; x < width; x++)
+    {
+      for(int y = 0; y < height; y++)
+      {
+        image.setRGB(x, y, rgb);
+      }
+    }
+
+    try
+    {
+      ByteArrayOutputStream png = new ByteArrayOutputStream();
+      ImageIO.write(image, "PNG", png);
+
+      return png.toByteArray();
+    }
+    catch(IOException eX)
+    {
+      throw new UncheckedIOException(eX);
+    }
+  }
+
+
+  /**
+   * Return the number of calls of {@link call}
+   *
+   * @param call
+   *
+   * @return
+   */
+  public synchronized int count(String call)
+  {
+    return Collections.frequency(calls, call);
+  }
+
+
+  private synchronized void check(String call)
+  {
+    calls.add(call);
+
+    if(broken || quit)
+    {
+      throw new WebDriverException("Browser does not respond");
+    }
+  }
+
+}
@@ -0,0 +1,173 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Element of a {@link StubWebDriver} that records the calls made to it. Keys
+ * sent to it are appended to {@link #value}.
+ *
+ * @author Sjoerd Boerhout
+ */
+public class StubWebElement implements InvocationHandler
+{
+
+  public final LinkedList<String> calls = new LinkedList<>();
+  public volatile boolean displayed = true;
+  public volatile boolean enabled = true;
+  public volatile boolean stale = false;
+  public volatile boolean selected = false;
+  public volatile String tagName = "div";
+  public volatile String text = "";
+  public volatile String value = "";
+  private final ConcurrentHashMap<String, StubWebElement> children = new ConcurrentHashMap<>();
+  private final WebElement webElement;
+
+
+  public StubWebElement()
+  {
+    webElement = (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                                                     new Class<?>[]{WebElement.class}, this);
+  }
+
+
+  /**
+   * Return the element as seen by the actions
+   *
+   * @return
+   */
+  public WebElement asWebElement()
+  {
+    return webElement;
+  }
+
+
+  /**
+   * Add a child element with {@link xpath}, relative to this element
+   *
+   * @param xpath
+   *
+   * @return
+   */
+  public StubWebElement addElement(String xpath)
+  {
+    StubWebElement element = new StubWebElement();
+    children.put(By.xpath(xpath).toString(), element);
+
+    return element;
+  }
+
+
+  /**
+   * Return the number of calls of {@link call}
+   *
+   * @param call
+   *
+   * @return
+   */
+  public synchronized int count(String call)
+  {
+    return Collections.frequency(calls, call);
+  }
+
+
+  @Override
+  public synchronized Object invoke(Object proxy, Method method, Object[] args)
+  {
+    calls.add(method.getName());
+
+    if(stale && method.getDeclaringClass() != Object.class)
+    {
+      throw new StaleElementReferenceException("Element is no longer attached to the page");
+    }
+
+    switch(method.getName())
+    {
+      case "isDisplayed":
+        return displayed;
+
+      case "isEnabled":
+        return enabled;
+
+      case "isSelected":
+        return selected;
+
+      case "click":
+        selected = !selected;
+        return null;
+
+      case "getTagName":
+        return tagName;
+
+      case "getText":
+        return text;
+
+      case "clear":
+        value = "";
+        return null;
+
+      case "sendKeys":
+        for(CharSequence keys : (CharSequence[]) args[0])
+        {
+          value += keys;
+        }
+        return null;
+
+      case "findElement":
+        StubWebElement child = children.get(args[0].toString());
+
+        if(child == null)
+        {
+          throw new NoSuchElementException(args[0].toString());
+        }
+
+        return child.asWebElement();
+
+      case "findElements":
+        StubWebElement match = children.get(args[0].toString());
+
+        return match == null ? Collections.emptyList()
+               : Collections.singletonList(match.asWebElement());
+
+      case "hashCode":
+        return System.identityHashCode(proxy);
+
+      case "equals":
+        return proxy == args[0];
+
+      case "toString":
+        return "StubWebElement";
+
+      default:
+        return null;
+    }
+  }
+
+}
@@ -0,0 +1,247 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.security.InvalidParameterException;
+import java.util.LinkedList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class WebDriverPoolTest
+{
+
+  private LinkedList<StubWebDriver> started;
+
+
+  public WebDriverPoolTest()
+  {
+  }
+
+
+  @BeforeClass
+  public static void setUpClass()
+  {
+  }
+
+
+  @AfterClass
+  public static void tearDownClass()
+  {
+  }
+
+
+  @Before
+  public void setUp()
+  {
+    started = new LinkedList<>();
+  }
+
+
+  @After
+  public void tearDown()
+  {
+  }
+
+
+  /**
+   * Test of start and lease methods, of class WebDriverPool.
+   * Sessions are started up front and reset when they are released.
+   */
+  @Test
+  public void testLeaseAndRelease() throws Exception
+  {
+    WebDriverPool webDriverPool = createPool(2, 2, 10);
+    webDriverPool.start();
+
+    assertEquals(2, started.size());
+    assertEquals(2, webDriverPool.numberOfIdleSessions());
+
+    WebDriver webDriver = webDriverPool.lease();
+    webDriver.get("http://localhost/login");
+
+    assertEquals(1, webDriverPool.numberOfLeasedSessions());
+
+    webDriverPool.release(webDriver);
+
+    StubWebDriver stub = (StubWebDriver) webDriver;
+    assertEquals(1, stub.count("deleteAllCookies"));
+    assertEquals(1, stub.count("executeScript"));
+    assertEquals(WebDriverPool.BLANK_PAGE, stub.getCurrentUrl());
+
+    assertSame(webDriver, webDriverPool.lease());
+    assertEquals(2, started.size());
+  }
+
+
+  /**
+   * Test of release method, of class WebDriverPool.
+   * A session is closed after the maximum number of uses and replaced to keep
+   * the minimum number of sessions.
+   */
+  @Test
+  public void testEvictAfterMaxUses() throws Exception
+  {
+    WebDriverPool webDriverPool = createPool(1, 1, 2);
+    webDriverPool.start();
+
+    WebDriver first = webDriverPool.lease();
+    webDriverPool.release(first);
+    assertSame(first, webDriverPool.lease());
+    webDriverPool.release(first);
+
+    assertTrue(started.getFirst().quit);
+    assertEquals(2, started.size());
+    assertEquals(1, webDriverPool.numberOfIdleSessions());
+    assertNotSame(first, webDriverPool.lease());
+  }
+
+
+  /**
+   * Test of lease method, of class WebDriverPool.
+   * Sessions that do not respond are closed and replaced.
+   */
+  @Test
+  public void testHealthCheck() throws Exception
+  {
+    WebDriverPool webDriverPool = createPool(1, 1, 10);
+    webDriverPool.start();
+
+    started.getFirst().broken = true;
+
+    WebDriver webDriver = webDriverPool.lease();
+
+    assertNotSame(started.getFirst(), webDriver);
+    assertTrue(started.getFirst().quit);
+
+    // A session that can not be reset is not reused
+    ((StubWebDriver) webDriver).broken = true;
+    webDriverPool.release(webDriver);
+
+    assertTrue(((StubWebDriver) webDriver).quit);
+    assertEquals(3, started.size());
+  }
+
+
+  /**
+   * Test of lease method, of class WebDriverPool.
+   * When all sessions are in use a lease waits for a release.
+   */
+  @Test
+  public void testMaxSize() throws Exception
+  {
+    WebDriverPool webDriverPool = createPool(0, 1, 10);
+    WebDriver webDriver = webDriverPool.lease();
+    CountDownLatch leased = new CountDownLatch(1);
+
+    Thread thread = new Thread(() ->
+    {
+      try
+      {
+        webDriverPool.release(webDriverPool.lease());
+        leased.countDown();
+      }
+      catch(InterruptedException eX)
+      {
+        // Test fails on the latch
+      }
+    });
+    thread.start();
+
+    assertTrue( !leased.await(100, TimeUnit.MILLISECONDS));
+
+    webDriverPool.release(webDriver);
+
+    assertTrue(leased.await(5, TimeUnit.SECONDS));
+    assertEquals(1, started.size());
+  }
+
+
+  /**
+   * Test of shutDown method, of class WebDriverPool.
+   */
+  @Test
+  public void testShutDown() throws Exception
+  {
+    WebDriverPool webDriverPool = createPool(2, 3, 10);
+    webDriverPool.start();
+
+    WebDriver webDriver = webDriverPool.lease();
+    webDriverPool.shutDown();
+
+    assertEquals(0, webDriverPool.numberOfIdleSessions());
+    assertTrue(started.getLast().quit);
+
+    webDriverPool.release(webDriver);
+
+    assertTrue(((StubWebDriver) webDriver).quit);
+  }
+
+
+  /**
+   * Test of the constructor and release method, of class WebDriverPool,
+   * with invalid parameters.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testInvalidParameters() throws Exception
+  {
+    try
+    {
+      createPool(2, 1, 10);
+      throw new AssertionError("Minimum size larger than maximum size");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Expected
+    }
+
+    createPool(0, 1, 10).release(new StubWebDriver());
+  }
+
+
+  private WebDriverPool createPool(int minSize, int maxSize, int maxUses)
+  {
+    return new WebDriverPool(() ->
+    {
+      StubWebDriver webDriver = new StubWebDriver();
+
+      synchronized(started)
+      {
+        started.add(webDriver);
+      }
+
+      return webDriver;
+    }, minSize, maxSize, maxUses);
+  }
+
+}
@@ -19,11 +19,20 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  *
@@ -32,6 +41,14 @@ import org.junit.Test;
 public class CaptureScreenTest
 {
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private StubWebDriver webDriver;
+  private ScreenshotPipeline screenshotPipeline;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public CaptureScreenTest()
   {
   }
@@ -52,12 +69,19 @@ public class CaptureScreenTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    screenshotPipeline = new ScreenshotPipeline(folder.getRoot(), "png", 1,
+                                                ScreenshotPipeline.Policy.ALWAYS, 1, 4);
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false, false, screenshotPipeline);
+    testCase = new TestCase("CaptureScreen");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -65,8 +89,42 @@ public class CaptureScreenTest
    * Test of execute method, of class CaptureScreen.
    */
   @Test
-  public void testExecute()
+  public void testExecute() throws Exception
   {
+    CaptureScreen login = createCaptureScreen("login");
+    CaptureScreen same = createCaptureScreen("same");
+    CaptureScreen menu = createCaptureScreen("menu");
+    selenium.setUp(testCase);
+
+    assertEquals(TestStatus.PASSED, login.execute());
+    assertEquals(TestStatus.PASSED, same.execute());
+    webDriver.screenshot = StubWebDriver.createScreenshot(8, 8, 0x000000);
+    assertEquals(TestStatus.PASSED, menu.execute());
+    screenshotPipeline.shutDown();
+
+    // The identical second screenshot is not written again
+    assertEquals(3, webDriver.count("getScreenshotAs"));
+    assertEquals(2, screenshotPipeline.getNumberOfWritten());
+    assertEquals(1, screenshotPipeline.getNumberOfSkipped());
+    assertTrue(new File(folder.getRoot(), "CaptureScreen_1_login.png").isFile());
+    assertTrue(new File(folder.getRoot(), "CaptureScreen_3_menu.png").isFile());
+
+    assertEquals(false, new CaptureScreen(4, selenium).isValid());
+  }
+
+
+  /**
+   * Test of execute method, of class CaptureScreen, without screenshot
+   * pipeline
+   */
+  @Test
+  public void testExecuteWithoutPipeline()
+  {
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false);
+    CaptureScreen login = createCaptureScreen("login");
+    selenium.setUp(testCase);
+
+    assertEquals(TestStatus.FAILED, login.execute());
   }
 
 
@@ -76,6 +134,17 @@ public class CaptureScreenTest
   @Test
   public void testToString()
   {
+    assertEquals("CaptureScreen (login)", createCaptureScreen("login").toString());
+  }
+
+
+  private CaptureScreen createCaptureScreen(String name)
+  {
+    CaptureScreen captureScreen = (CaptureScreen) selenium.getTestAction("CaptureScreen");
+    captureScreen.setAttribute(CaptureScreen.ATTR_NAME, name);
+    testCase.addTestAction(captureScreen);
+
+    return captureScreen;
   }
 
 }
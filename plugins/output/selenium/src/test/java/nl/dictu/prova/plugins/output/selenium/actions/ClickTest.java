@@ -19,7 +19,14 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
 import org.junit.After;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -32,6 +39,10 @@ import org.junit.Test;
 public class ClickTest
 {
 
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public ClickTest()
   {
   }
@@ -52,12 +63,17 @@ public class ClickTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 1000, false);
+    testCase = new TestCase("Click");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -67,6 +83,32 @@ public class ClickTest
   @Test
   public void testExecute()
   {
+    Click click = createClick("//button");
+    StubWebElement button = webDriver.addElement("//button");
+    button.enabled = false;
+
+    // The button is enabled while the action waits
+    new Thread(() ->
+    {
+      try
+      {
+        Thread.sleep(100);
+      }
+      catch(InterruptedException eX)
+      {
+        // Stop waiting
+      }
+      button.enabled = true;
+    }).start();
+
+    assertEquals(TestStatus.PASSED, click.execute());
+    assertEquals(1, button.count("click"));
+
+    // The click can change the page, so the button is resolved again
+    assertEquals(TestStatus.PASSED, click.execute());
+    assertEquals(2, webDriver.count("findElement By.xpath: //button"));
+
+    assertEquals(TestStatus.FAILED, createClick("//missing").execute());
   }
 
 
@@ -76,6 +118,19 @@ public class ClickTest
   @Test
   public void testToString()
   {
+    assertEquals("Click (//button)", createClick("//button").toString());
+  }
+
+
+  private Click createClick(String xpath)
+  {
+    Click click = (Click) selenium.getTestAction("Click");
+    click.setAttribute(SeleniumAction.ATTR_XPATH, xpath);
+    testCase.addTestAction(click);
+    selenium.tearDown(testCase);
+    selenium.setUp(testCase);
+
+    return click;
   }
 
 }
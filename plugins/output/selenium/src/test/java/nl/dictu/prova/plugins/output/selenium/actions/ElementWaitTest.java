@@ -0,0 +1,140 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ElementWaitTest
+{
+
+  private StubWebDriver webDriver;
+
+
+  @Before
+  public void setUp()
+  {
+    webDriver = new StubWebDriver();
+  }
+
+
+  /**
+   * Test of waitFor method, of class ElementWait.
+   * An element that is available is returned without waiting.
+   */
+  @Test
+  public void testWaitForAvailable() throws Exception
+  {
+    StubWebElement element = webDriver.addElement("//a");
+    ElementWait elementWait = new ElementWait(1000);
+
+    assertSame(element.asWebElement(), elementWait.waitFor(webDriver, By.xpath("//a"),
+                                                           ElementWait.Condition.CLICKABLE));
+    assertEquals(1, webDriver.count("findElement By.xpath: //a"));
+    assertEquals(1, elementWait.getNumberOfWaits());
+    assertEquals(0, elementWait.getNumberOfTimeouts());
+  }
+
+
+  /**
+   * Test of waitFor method, of class ElementWait.
+   * The wait ends as soon as the element appears.
+   */
+  @Test
+  public void testWaitForAppearing() throws Exception
+  {
+    ElementWait elementWait = new ElementWait(5000);
+
+    new Thread(() ->
+    {
+      try
+      {
+        Thread.sleep(150);
+      }
+      catch(InterruptedException eX)
+      {
+        // Add the element now
+      }
+      webDriver.addElement("//a");
+    }).start();
+
+    elementWait.waitFor(webDriver, By.xpath("//a"), ElementWait.Condition.PRESENT);
+
+    assertTrue(elementWait.getMaxWaitTime() >= 150);
+    assertTrue(elementWait.getMaxWaitTime() < 5000);
+  }
+
+
+  /**
+   * Test of waitFor method, of class ElementWait.
+   * The poll interval grows, so a long wait takes a few polls only.
+   */
+  @Test
+  public void testWaitForTimeout() throws Exception
+  {
+    ElementWait elementWait = new ElementWait(1000);
+    webDriver.addElement("//a").displayed = false;
+
+    try
+    {
+      elementWait.waitFor(webDriver, By.xpath("//a"), ElementWait.Condition.VISIBLE);
+      throw new AssertionError("Element is not visible");
+    }
+    catch(TimeoutException eX)
+    {
+      // Expected
+    }
+
+    int polls = webDriver.count("findElement By.xpath: //a");
+
+    // 25, 50, 100, 200, 400 and 225 ms intervals
+    assertTrue("Polls: " + polls, polls >= 4 && polls <= 8);
+    assertEquals(1, elementWait.getNumberOfTimeouts());
+    assertTrue(elementWait.getTotalWaitTime() >= 1000);
+  }
+
+
+  /**
+   * Test of until method, of class ElementWait.
+   */
+  @Test
+  public void testUntil() throws Exception
+  {
+    ElementWait elementWait = new ElementWait(0);
+    int[] calls = new int[1];
+
+    assertEquals("done", elementWait.until(webDriver, (driver) -> ++calls[0] < 3 ? null : "done",
+                                           1000, "test"));
+    assertEquals(3, calls[0]);
+    assertEquals(Boolean.TRUE, elementWait.until(webDriver, (driver) -> true, 0, "test"));
+  }
+
+}
@@ -0,0 +1,156 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import static org.junit.Assert.assertEquals;
+import java.util.List;
+import nl.dictu.prova.framework.TestAction;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class FormBatchTest
+{
+
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
+
+  @Before
+  public void setUp()
+  {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false, true);
+    testCase = new TestCase("FormBatch");
+  }
+
+
+  @After
+  public void tearDown()
+  {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
+  }
+
+
+  /**
+   * Test of assign method, of class FormBatch.
+   * Only runs of two or more consecutive form actions are batched.
+   */
+  @Test
+  public void testAssign()
+  {
+    testCase.addTestAction(createAction("SetText", "//a"));
+    testCase.addTestAction(createAction("Click", "//b"));
+    testCase.addTestAction(createAction("SetText", "//c"));
+    testCase.addTestAction(createAction("Select", "//d"));
+    testCase.addTestAction(createAction("SetText", "//e"));
+    testCase.addTestAction(createAction("Click", "//f"));
+    testCase.addTestAction(createAction("SetText", "//g"));
+    testCase.addTestAction(createAction("SetText", "//h["));
+    testCase.addTestAction(createAction("SetText", "//i"));
+
+    assertEquals(1, FormBatch.assign(testCase.getTestActions()));
+  }
+
+
+  /**
+   * Test of the execution of a batch, of class FormBatch.
+   * The fields the script applied pass without a round trip; the others are
+   * executed on their own.
+   */
+  @Test
+  public void testExecute()
+  {
+    StubWebElement third = webDriver.addElement("//c");
+
+    testCase.addTestAction(createAction("SetText", "//a"));
+    testCase.addTestAction(createAction("Select", "//b"));
+    testCase.addTestAction(createAction("SetText", "//c"));
+    selenium.setUp(testCase);
+
+    // The script applied the first two fields
+    webDriver.scriptResult = 2L;
+
+    for(TestAction testAction : testCase.getTestActions())
+    {
+      assertEquals(TestStatus.PASSED, testAction.execute());
+    }
+
+    assertEquals(1, webDriver.count("executeScript"));
+    assertEquals(0, webDriver.count("findElement By.xpath: //a"));
+    assertEquals(1, third.count("sendKeys"));
+
+    List<?> fields = (List<?>) webDriver.scriptArguments[0];
+    assertEquals("[[//a, text, value], [//b, check, true], [//c, text, value]]",
+                 fields.toString());
+  }
+
+
+  /**
+   * Test of the execution of a batch, of class FormBatch.
+   * When the script fails, all actions are executed on their own.
+   */
+  @Test
+  public void testExecuteScriptFailed()
+  {
+    webDriver.addElement("//a");
+    webDriver.addElement("//b");
+
+    testCase.addTestAction(createAction("SetText", "//a"));
+    testCase.addTestAction(createAction("SetText", "//b"));
+    selenium.setUp(testCase);
+
+    webDriver.scriptResult = "unexpected";
+
+    for(TestAction testAction : testCase.getTestActions())
+    {
+      assertEquals(TestStatus.PASSED, testAction.execute());
+    }
+
+    assertEquals(1, webDriver.count("findElement By.xpath: //a"));
+    assertEquals(1, webDriver.count("findElement By.xpath: //b"));
+  }
+
+
+  private TestAction createAction(String name, String xpath)
+  {
+    TestAction testAction = selenium.getTestAction(name);
+    testAction.setAttribute(SeleniumAction.ATTR_XPATH, xpath);
+
+    if(testAction instanceof SetText)
+    {
+      testAction.setAttribute(SetText.ATTR_TEXT, "value");
+    }
+
+    return testAction;
+  }
+
+}
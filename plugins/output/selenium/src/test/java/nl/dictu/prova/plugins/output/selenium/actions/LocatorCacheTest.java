@@ -0,0 +1,104 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.security.InvalidParameterException;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class LocatorCacheTest
+{
+
+  private StubWebDriver webDriver;
+  private LocatorCache locatorCache;
+
+
+  @Before
+  public void setUp()
+  {
+    webDriver = new StubWebDriver();
+    locatorCache = new LocatorCache(webDriver);
+  }
+
+
+  /**
+   * Test of findElement method, of class LocatorCache.
+   * An element is resolved once, without asking the browser for the page.
+   */
+  @Test
+  public void testFindElement()
+  {
+    StubWebElement element = webDriver.addElement("//div//a");
+
+    assertSame(element.asWebElement(), locatorCache.findElement("//div//a"));
+    assertSame(element.asWebElement(), locatorCache.findElement("//div//a"));
+
+    assertEquals(1, webDriver.count("findElement By.xpath: //div//a"));
+    assertEquals(1, locatorCache.getHits());
+    assertEquals(1, locatorCache.getMisses());
+    assertEquals(0, webDriver.count("getCurrentUrl"));
+
+    locatorCache.invalidate();
+    locatorCache.findElement("//div//a");
+    assertEquals(2, webDriver.count("findElement By.xpath: //div//a"));
+  }
+
+
+  /**
+   * Test of findElement method, of class LocatorCache, with an invalid xpath.
+   */
+  @Test(expected = InvalidParameterException.class)
+  public void testFindElementInvalidXpath()
+  {
+    locatorCache.findElement("//div[@id='main'");
+  }
+
+
+  /**
+   * Test of the wait on a cached element, of class ElementWait.
+   * A stale element is removed from the cache and resolved again.
+   */
+  @Test
+  public void testStaleElement() throws Exception
+  {
+    StubWebElement element = webDriver.addElement("//a");
+    ElementWait elementWait = new ElementWait(1000);
+
+    assertSame(element.asWebElement(),
+               elementWait.waitFor(locatorCache, "//a", ElementWait.Condition.VISIBLE));
+
+    // The page replaced the element
+    element.stale = true;
+    StubWebElement replacement = webDriver.addElement("//a");
+
+    assertSame(replacement.asWebElement(),
+               elementWait.waitFor(locatorCache, "//a", ElementWait.Condition.VISIBLE));
+    assertEquals(2, locatorCache.getMisses());
+  }
+
+}
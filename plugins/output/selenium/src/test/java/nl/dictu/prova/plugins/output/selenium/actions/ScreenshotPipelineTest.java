@@ -0,0 +1,217 @@
+/**
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ * <p>
+ * http://ec.europa.eu/idabc/eupl
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and
+ * limitations under the Licence.
+ * <p>
+ * Date:      18-10-2026
+ * Author(s): Sjoerd Boerhout
+ * <p>
+ */
+package nl.dictu.prova.plugins.output.selenium.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.security.InvalidParameterException;
+import javax.imageio.ImageIO;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Sjoerd Boerhout
+ */
+public class ScreenshotPipelineTest
+{
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  public ScreenshotPipelineTest()
+  {
+  }
+
+
+  @BeforeClass
+  public static void setUpClass()
+  {
+  }
+
+
+  @AfterClass
+  public static void tearDownClass()
+  {
+  }
+
+
+  @Before
+  public void setUp()
+  {
+  }
+
+
+  @After
+  public void tearDown()
+  {
+  }
+
+
+  /**
+   * Test of the constructor, of class ScreenshotPipeline.
+   */
+  @Test
+  public void testConstructor()
+  {
+    assertInvalid("gif", 1, 1, 1);
+    assertInvalid("png", 0, 1, 1);
+    assertInvalid("png", 1.5, 1, 1);
+    assertInvalid("png", 1, 0, 1);
+    assertInvalid("png", 1, 1, 0);
+  }
+
+
+  /**
+   * Test of submit method, of class ScreenshotPipeline.
+   */
+  @Test
+  public void testSubmit() throws Exception
+  {
+    ScreenshotPipeline screenshotPipeline = createPipeline("png", 1,
+                                                           ScreenshotPipeline.Policy.ALWAYS, 1);
+    byte[] white = StubWebDriver.createScreenshot(8, 8, 0xFFFFFF);
+
+    File first = screenshotPipeline.submit("a", white, "first");
+    assertSame(first, screenshotPipeline.submit("a", white, "second"));
+
+    // Other sessions and forgotten sessions write their own screenshot, a
+    // name used before gets a number
+    assertEquals(new File(folder.getRoot(), "first_2.png"),
+                 screenshotPipeline.submit("b", white, "first"));
+    screenshotPipeline.forget("a");
+    assertEquals(new File(folder.getRoot(), "third.png"),
+                 screenshotPipeline.submit("a", white, "third"));
+
+    // Unsafe characters are removed from the file name
+    assertEquals(new File(folder.getRoot(), "a_b.png"),
+                 screenshotPipeline.submit("a", StubWebDriver.createScreenshot(8, 8, 0), "a/b"));
+
+    screenshotPipeline.shutDown();
+
+    assertEquals(4, screenshotPipeline.getNumberOfWritten());
+    assertEquals(1, screenshotPipeline.getNumberOfSkipped());
+    assertTrue(first.isFile());
+  }
+
+
+  /**
+   * Test of submit method, of class ScreenshotPipeline, with a compressed and
+   * scaled format
+   */
+  @Test
+  public void testSubmitScaled() throws Exception
+  {
+    ScreenshotPipeline screenshotPipeline = createPipeline("jpg", 0.5,
+                                                           ScreenshotPipeline.Policy.ALWAYS, 1);
+
+    File file = screenshotPipeline.submit("a", StubWebDriver.createScreenshot(40, 20, 0xFF0000),
+                                          "scaled");
+    screenshotPipeline.shutDown();
+
+    BufferedImage image = ImageIO.read(file);
+    assertEquals("scaled.jpg", file.getName());
+    assertEquals(20, image.getWidth());
+    assertEquals(10, image.getHeight());
+  }
+
+
+  /**
+   * Test of submit method, of class ScreenshotPipeline, with more screenshots
+   * than fit in the queue
+   */
+  @Test
+  public void testSubmitFullQueue() throws Exception
+  {
+    ScreenshotPipeline screenshotPipeline = new ScreenshotPipeline(
+            folder.getRoot(), "png", 0.5, ScreenshotPipeline.Policy.ALWAYS, 1, 1);
+
+    for(int i = 0; i < 20; i++)
+    {
+      screenshotPipeline.submit("a", StubWebDriver.createScreenshot(64, 64, i), "frame" + i);
+    }
+
+    screenshotPipeline.shutDown();
+
+    assertEquals(20, screenshotPipeline.getNumberOfWritten());
+    assertEquals(20, folder.getRoot().list().length);
+  }
+
+
+  /**
+   * Test of isCaptured and isCapturedOnFailure methods, of class
+   * ScreenshotPipeline.
+   */
+  @Test
+  public void testIsCaptured()
+  {
+    ScreenshotPipeline always = createPipeline("png", 1, ScreenshotPipeline.Policy.ALWAYS, 3);
+    ScreenshotPipeline every = createPipeline("png", 1, ScreenshotPipeline.Policy.EVERY, 3);
+    ScreenshotPipeline failure = createPipeline("png", 1, ScreenshotPipeline.Policy.FAILURE, 3);
+
+    for(int i = 0; i < 6; i++)
+    {
+      assertEquals(true, always.isCaptured("a"));
+      assertEquals(i % 3 == 0, every.isCaptured("a"));
+      assertEquals(false, failure.isCaptured("a"));
+    }
+
+    // Counting restarts for a new test case
+    every.isCaptured("b");
+    every.forget("a");
+    assertEquals(true, every.isCaptured("a"));
+
+    assertEquals(false, always.isCapturedOnFailure());
+    assertEquals(false, every.isCapturedOnFailure());
+    assertEquals(true, failure.isCapturedOnFailure());
+  }
+
+
+  private ScreenshotPipeline createPipeline(String format, double scale,
+                                            ScreenshotPipeline.Policy policy, int every)
+  {
+    return new ScreenshotPipeline(folder.getRoot(), format, scale, policy, every, 4);
+  }
+
+
+  private void assertInvalid(String format, double scale, int every, int queueSize)
+  {
+    try
+    {
+      new ScreenshotPipeline(folder.getRoot(), format, scale, ScreenshotPipeline.Policy.ALWAYS,
+                             every, queueSize);
+      throw new AssertionError("Expected an InvalidParameterException");
+    }
+    catch(InvalidParameterException eX)
+    {
+      // Expected
+    }
+  }
+
+}
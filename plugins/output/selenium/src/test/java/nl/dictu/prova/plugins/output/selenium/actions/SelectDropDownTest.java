@@ -19,6 +19,12 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -32,6 +38,10 @@ import org.junit.Test;
 public class SelectDropDownTest
 {
 
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public SelectDropDownTest()
   {
   }
@@ -52,12 +62,17 @@ public class SelectDropDownTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false);
+    testCase = new TestCase("SelectDropDown");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -67,6 +82,22 @@ public class SelectDropDownTest
   @Test
   public void testExecute()
   {
+    StubWebElement select = webDriver.addElement("//select");
+    select.tagName = "select";
+    StubWebElement blue = select.addElement(".//option[normalize-space(.) = \"Blue\"]");
+
+    assertEquals(TestStatus.PASSED, createSelectDropDown("//select", "Blue").execute());
+    assertEquals(true, blue.selected);
+
+    // An option that is selected already stays selected
+    assertEquals(TestStatus.PASSED, createSelectDropDown("//select", "Blue").execute());
+    assertEquals(true, blue.selected);
+
+    assertEquals(TestStatus.FAILED, createSelectDropDown("//select", "Red").execute());
+
+    webDriver.addElement("//div");
+    assertEquals(TestStatus.FAILED, createSelectDropDown("//div", "Blue").execute());
+    assertEquals(false, createSelectDropDown("//select[", "Blue").isValid());
   }
 
 
@@ -76,6 +107,20 @@ public class SelectDropDownTest
   @Test
   public void testToString()
   {
+    assertEquals("SelectDropDown (//select)", createSelectDropDown("//select", "Blue").toString());
+  }
+
+
+  private SelectDropDown createSelectDropDown(String xpath, String option)
+  {
+    SelectDropDown selectDropDown = (SelectDropDown) selenium.getTestAction("SelectDropDown");
+    selectDropDown.setAttribute(SeleniumAction.ATTR_XPATH, xpath);
+    selectDropDown.setAttribute(SelectDropDown.ATTR_OPTION, option);
+    testCase.addTestAction(selectDropDown);
+    selenium.tearDown(testCase);
+    selenium.setUp(testCase);
+
+    return selectDropDown;
   }
 
 }
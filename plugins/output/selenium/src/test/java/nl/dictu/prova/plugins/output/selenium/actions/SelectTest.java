@@ -19,6 +19,12 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -32,6 +38,10 @@ import org.junit.Test;
 public class SelectTest
 {
 
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public SelectTest()
   {
   }
@@ -52,12 +62,17 @@ public class SelectTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false);
+    testCase = new TestCase("Select");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -67,6 +82,19 @@ public class SelectTest
   @Test
   public void testExecute()
   {
+    StubWebElement checkBox = webDriver.addElement("//input");
+
+    assertEquals(TestStatus.PASSED, createSelect("//input", null).execute());
+    assertEquals(true, checkBox.selected);
+
+    // Already selected: not clicked again
+    assertEquals(TestStatus.PASSED, createSelect("//input", "true").execute());
+    assertEquals(1, checkBox.count("click"));
+
+    assertEquals(TestStatus.PASSED, createSelect("//input", "false").execute());
+    assertEquals(false, checkBox.selected);
+
+    assertEquals(false, createSelect("//input", "maybe").isValid());
   }
 
 
@@ -76,6 +104,25 @@ public class SelectTest
   @Test
   public void testToString()
   {
+    assertEquals("Select (//input)", createSelect("//input", null).toString());
+  }
+
+
+  private Select createSelect(String xpath, String select)
+  {
+    Select action = (Select) selenium.getTestAction("Select");
+    action.setAttribute(SeleniumAction.ATTR_XPATH, xpath);
+
+    if(select != null)
+    {
+      action.setAttribute(Select.ATTR_SELECT, select);
+    }
+
+    testCase.addTestAction(action);
+    selenium.tearDown(testCase);
+    selenium.setUp(testCase);
+
+    return action;
   }
 
 }
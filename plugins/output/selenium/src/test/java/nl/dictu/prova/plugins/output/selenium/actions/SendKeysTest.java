@@ -19,6 +19,13 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
+import org.openqa.selenium.Keys;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -32,6 +39,10 @@ import org.junit.Test;
 public class SendKeysTest
 {
 
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public SendKeysTest()
   {
   }
@@ -52,12 +63,17 @@ public class SendKeysTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false);
+    testCase = new TestCase("SendKeys");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -67,6 +83,15 @@ public class SendKeysTest
   @Test
   public void testExecute()
   {
+    StubWebElement input = webDriver.addElement("//input");
+    input.value = "user";
+
+    assertEquals(TestStatus.PASSED, createSendKeys("//input", "name{TAB}{UNKNOWN}").execute());
+    assertEquals("username" + Keys.TAB + "{UNKNOWN}", input.value);
+    assertEquals(0, input.count("clear"));
+
+    assertEquals(TestStatus.FAILED, createSendKeys("//missing", "name").execute());
+    assertEquals(false, createSendKeys("//input[", "name").isValid());
   }
 
 
@@ -76,6 +101,20 @@ public class SendKeysTest
   @Test
   public void testToString()
   {
+    assertEquals("SendKeys (//input)", createSendKeys("//input", "name").toString());
+  }
+
+
+  private SendKeys createSendKeys(String xpath, String keys)
+  {
+    SendKeys sendKeys = (SendKeys) selenium.getTestAction("SendKeys");
+    sendKeys.setAttribute(SeleniumAction.ATTR_XPATH, xpath);
+    sendKeys.setAttribute(SendKeys.ATTR_KEYS, keys);
+    testCase.addTestAction(sendKeys);
+    selenium.tearDown(testCase);
+    selenium.setUp(testCase);
+
+    return sendKeys;
   }
 
 }
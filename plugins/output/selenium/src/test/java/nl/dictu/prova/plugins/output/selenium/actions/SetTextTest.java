@@ -19,6 +19,12 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -32,6 +38,10 @@ import org.junit.Test;
 public class SetTextTest
 {
 
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public SetTextTest()
   {
   }
@@ -52,12 +62,17 @@ public class SetTextTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false);
+    testCase = new TestCase("SetText");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -67,6 +82,14 @@ public class SetTextTest
   @Test
   public void testExecute()
   {
+    StubWebElement input = webDriver.addElement("//input");
+
+    assertEquals(TestStatus.PASSED, createSetText("//input", "admin").execute());
+    assertEquals(1, input.count("clear"));
+    assertEquals(1, input.count("sendKeys"));
+
+    assertEquals(TestStatus.FAILED, createSetText("//missing", "admin").execute());
+    assertEquals(false, createSetText("//input[", "admin").isValid());
   }
 
 
@@ -76,6 +99,20 @@ public class SetTextTest
   @Test
   public void testToString()
   {
+    assertEquals("SetText (//input)", createSetText("//input", "admin").toString());
+  }
+
+
+  private SetText createSetText(String xpath, String text)
+  {
+    SetText setText = (SetText) selenium.getTestAction("SetText");
+    setText.setAttribute(SeleniumAction.ATTR_XPATH, xpath);
+    setText.setAttribute(SetText.ATTR_TEXT, text);
+    testCase.addTestAction(setText);
+    selenium.tearDown(testCase);
+    selenium.setUp(testCase);
+
+    return setText;
   }
 
 }
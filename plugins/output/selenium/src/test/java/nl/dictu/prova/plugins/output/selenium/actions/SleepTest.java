@@ -19,6 +19,12 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -32,6 +38,10 @@ import org.junit.Test;
 public class SleepTest
 {
 
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public SleepTest()
   {
   }
@@ -52,12 +62,17 @@ public class SleepTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 1000, false);
+    testCase = new TestCase("Sleep");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -67,6 +82,37 @@ public class SleepTest
   @Test
   public void testExecute()
   {
+    Sleep sleep = createSleep("200");
+
+    long start = System.currentTimeMillis();
+    assertEquals(TestStatus.PASSED, sleep.execute());
+    assertTrue(System.currentTimeMillis() - start >= 200);
+
+    assertTrue( !createSleep("soon").isValid());
+    assertEquals(TestStatus.FAILED, createSleep("-1").execute());
+  }
+
+
+  /**
+   * Test of execute method, of class Sleep.
+   * When sleeps are replaced, Sleep only waits until the page is loaded.
+   */
+  @Test
+  public void testExecuteReplaced()
+  {
+    selenium = StubWebDriver.createSelenium(webDriver, 1000, true);
+    webDriver.scriptResult = Boolean.TRUE;
+
+    Sleep sleep = createSleep("5000");
+
+    long start = System.currentTimeMillis();
+    assertEquals(TestStatus.PASSED, sleep.execute());
+    assertTrue(System.currentTimeMillis() - start < 5000);
+    assertEquals(1, webDriver.count("executeScript"));
+
+    // The page doesn't load: wait the sleep time at most
+    webDriver.scriptResult = Boolean.FALSE;
+    assertEquals(TestStatus.PASSED, createSleep("100").execute());
   }
 
 
@@ -76,6 +122,19 @@ public class SleepTest
   @Test
   public void testToString()
   {
+    assertEquals("Sleep (200ms)", createSleep("200").toString());
+  }
+
+
+  private Sleep createSleep(String milliseconds)
+  {
+    Sleep sleep = (Sleep) selenium.getTestAction("Sleep");
+    sleep.setAttribute(Sleep.ATTR_MILLISECONDS, milliseconds);
+    testCase.addTestAction(sleep);
+    selenium.tearDown(testCase);
+    selenium.setUp(testCase);
+
+    return sleep;
   }
 
 }
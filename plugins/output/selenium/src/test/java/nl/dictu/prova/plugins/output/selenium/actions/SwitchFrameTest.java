@@ -19,6 +19,13 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -32,6 +39,10 @@ import org.junit.Test;
 public class SwitchFrameTest
 {
 
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public SwitchFrameTest()
   {
   }
@@ -52,12 +63,17 @@ public class SwitchFrameTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false);
+    testCase = new TestCase("SwitchFrame");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -67,6 +83,25 @@ public class SwitchFrameTest
   @Test
   public void testExecute()
   {
+    StubWebElement frame = webDriver.addElement("//iframe");
+    SwitchFrame switchFrame = createSwitchFrame("//iframe");
+
+    // An element found in the main document
+    LocatorCache locatorCache = selenium.getLocatorCache(testCase);
+    assertSame(frame.asWebElement(), locatorCache.findElement("//iframe"));
+
+    assertEquals(TestStatus.PASSED, switchFrame.execute());
+    assertEquals(1, webDriver.count("switchTo frame"));
+
+    // The cache is cleared: the element is resolved again in the frame
+    long misses = locatorCache.getMisses();
+    locatorCache.findElement("//iframe");
+    assertEquals(misses + 1, locatorCache.getMisses());
+
+    assertEquals(TestStatus.PASSED, createSwitchFrame(null).execute());
+    assertEquals(1, webDriver.count("switchTo defaultContent"));
+
+    assertEquals(TestStatus.FAILED, createSwitchFrame("//missing").execute());
   }
 
 
@@ -76,6 +111,25 @@ public class SwitchFrameTest
   @Test
   public void testToString()
   {
+    assertEquals("SwitchFrame (//iframe)", createSwitchFrame("//iframe").toString());
+    assertEquals("SwitchFrame (default)", createSwitchFrame(null).toString());
+  }
+
+
+  private SwitchFrame createSwitchFrame(String xpath)
+  {
+    SwitchFrame switchFrame = (SwitchFrame) selenium.getTestAction("SwitchFrame");
+
+    if(xpath != null)
+    {
+      switchFrame.setAttribute(SeleniumAction.ATTR_XPATH, xpath);
+    }
+
+    testCase.addTestAction(switchFrame);
+    selenium.tearDown(testCase);
+    selenium.setUp(testCase);
+
+    return switchFrame;
   }
 
 }
@@ -19,7 +19,14 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
 import org.junit.After;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -32,6 +39,10 @@ import org.junit.Test;
 public class ValidateElementTest
 {
 
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public ValidateElementTest()
   {
   }
@@ -52,12 +63,17 @@ public class ValidateElementTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false);
+    testCase = new TestCase("ValidateElement");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -67,6 +83,33 @@ public class ValidateElementTest
   @Test
   public void testExecute()
   {
+    ValidateElement validateElement = createValidateElement("//div");
+    StubWebElement div = webDriver.addElement("//div");
+
+    assertEquals(TestStatus.PASSED, validateElement.execute());
+
+    div.displayed = false;
+
+    assertEquals(TestStatus.FAILED, validateElement.execute());
+    assertTrue(selenium.getElementWait().getNumberOfTimeouts() > 0);
+  }
+
+
+  /**
+   * Test of execute method, of class ValidateElement, with a cached element
+   * that no longer matches the xpath.
+   */
+  @Test
+  public void testExecuteSkipsCache()
+  {
+    ValidateElement validateElement = createValidateElement("//div");
+    webDriver.addElement("//div");
+    selenium.getLocatorCache(testCase).findElement("//div");
+
+    // Another element matches the xpath now; the cached one is still attached
+    webDriver.addElement("//div").displayed = false;
+
+    assertEquals(TestStatus.FAILED, validateElement.execute());
   }
 
 
@@ -76,6 +119,19 @@ public class ValidateElementTest
   @Test
   public void testToString()
   {
+    assertEquals("ValidateElement (//div)", createValidateElement("//div").toString());
+  }
+
+
+  private ValidateElement createValidateElement(String xpath)
+  {
+    ValidateElement validateElement = (ValidateElement) selenium.getTestAction("ValidateElement");
+    validateElement.setAttribute(SeleniumAction.ATTR_XPATH, xpath);
+    testCase.addTestAction(validateElement);
+    selenium.tearDown(testCase);
+    selenium.setUp(testCase);
+
+    return validateElement;
   }
 
 }
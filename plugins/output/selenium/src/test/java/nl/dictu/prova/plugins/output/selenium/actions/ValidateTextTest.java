@@ -19,6 +19,12 @@
  */
 package nl.dictu.prova.plugins.output.selenium.actions;
 
+import static org.junit.Assert.assertEquals;
+import nl.dictu.prova.framework.TestCase;
+import nl.dictu.prova.framework.TestStatus;
+import nl.dictu.prova.plugins.output.selenium.Selenium;
+import nl.dictu.prova.plugins.output.selenium.StubWebDriver;
+import nl.dictu.prova.plugins.output.selenium.StubWebElement;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -32,6 +38,10 @@ import org.junit.Test;
 public class ValidateTextTest
 {
 
+  private StubWebDriver webDriver;
+  private Selenium selenium;
+  private TestCase testCase;
+
   public ValidateTextTest()
   {
   }
@@ -52,12 +62,17 @@ public class ValidateTextTest
   @Before
   public void setUp()
   {
+    webDriver = new StubWebDriver();
+    selenium = StubWebDriver.createSelenium(webDriver, 200, false);
+    testCase = new TestCase("ValidateText");
   }
 
 
   @After
   public void tearDown()
   {
+    selenium.tearDown(testCase);
+    selenium.shutDown();
   }
 
 
@@ -67,6 +82,15 @@ public class ValidateTextTest
   @Test
   public void testExecute()
   {
+    StubWebElement title = webDriver.addElement("//h1");
+    title.text = "Welcome, admin";
+
+    assertEquals(TestStatus.PASSED, createValidateText("//h1", "admin").execute());
+    assertEquals(TestStatus.FAILED, createValidateText("//h1", "guest").execute());
+
+    title.displayed = false;
+    assertEquals(TestStatus.FAILED, createValidateText("//h1", "admin").execute());
+    assertEquals(false, createValidateText("//h1[", "admin").isValid());
   }
 
 
@@ -76,6 +100,20 @@ public class ValidateTextTest
   @Test
   public void testToString()
   {
+    assertEquals("ValidateText (//h1)", createValidateText("//h1", "admin").toString());
+  }
+
+
+  private ValidateText createValidateText(String xpath, String text)
+  {
+    ValidateText validateText = (ValidateText) selenium.getTestAction("ValidateText");
+    validateText.setAttribute(SeleniumAction.ATTR_XPATH, xpath);
+    validateText.setAttribute(ValidateText.ATTR_TEXT, text);
+    testCase.addTestAction(validateText);
+    selenium.tearDown(testCase);
+    selenium.setUp(testCase);
+
+    return validateText;
   }
 
 }